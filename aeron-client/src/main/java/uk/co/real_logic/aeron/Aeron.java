@@ -98,6 +98,7 @@ public final class Aeron implements AutoCloseable
             ctx.errorHandler,
             ctx.newConnectionHandler,
             ctx.inactiveConnectionHandler,
+            ctx.registrationHandler,
             ctx.mediaDriverTimeout());
 
         conductorRunner = new AgentRunner(ctx.idleStrategy, ctx.errorHandler, null, conductor);
@@ -175,6 +176,20 @@ public final class Aeron implements AutoCloseable
         return conductor.addPublication(channel, streamId, sessionIdToRequest);
     }
 
+    /**
+     * Add an {@link ExclusivePublication} for publishing messages to subscribers from a single thread.
+     * <p>
+     * A new session id will be generated for this publication so its log is not shared with other publishers.
+     *
+     * @param channel  for receiving the messages known to the media layer.
+     * @param streamId within the channel scope.
+     * @return the new ExclusivePublication.
+     */
+    public ExclusivePublication addExclusivePublication(final String channel, final int streamId)
+    {
+        return conductor.addExclusivePublication(channel, streamId, BitUtil.generateRandomisedId());
+    }
+
     /**
      * Add a new {@link Subscription} for subscribing to messages from publishers.
      *
@@ -188,6 +203,70 @@ public final class Aeron implements AutoCloseable
         return conductor.addSubscription(channel, streamId, handler);
     }
 
+    /**
+     * Asynchronously add a {@link Publication} for publishing messages to subscribers. This does not wait for the
+     * media driver to respond so many registrations can be in flight at once.
+     * <p>
+     * The result is collected with {@link #getPublication(long)} which can be polled, or called when notified via
+     * the {@link RegistrationHandler} set on the {@link Context}. Each asynchronous registration returns its own
+     * {@link Publication} which must be closed.
+     *
+     * @param channel  for receiving the messages known to the media layer.
+     * @param streamId within the channel scope.
+     * @return the registration id to be used to collect the {@link Publication}.
+     */
+    public long asyncAddPublication(final String channel, final int streamId)
+    {
+        return conductor.asyncAddPublication(channel, streamId, BitUtil.generateRandomisedId());
+    }
+
+    /**
+     * Asynchronously add a {@link Subscription} for subscribing to messages from publishers. This does not wait for
+     * the media driver to respond so many registrations can be in flight at once.
+     * <p>
+     * The result is collected with {@link #getSubscription(long)} which can be polled, or called when notified via
+     * the {@link RegistrationHandler} set on the {@link Context}.
+     *
+     * @param channel  for receiving the messages known to the media layer.
+     * @param streamId within the channel scope.
+     * @param handler  to be called back for each message received.
+     * @return the registration id to be used to collect the {@link Subscription}.
+     */
+    public long asyncAddSubscription(final String channel, final int streamId, final DataHandler handler)
+    {
+        return conductor.asyncAddSubscription(channel, streamId, handler);
+    }
+
+    /**
+     * Get the {@link Publication} for an asynchronous registration if it has completed. Once returned the
+     * registration is no longer tracked.
+     *
+     * @param registrationId returned from {@link #asyncAddPublication(String, int)}.
+     * @return the {@link Publication} if the registration has completed otherwise null.
+     * @throws uk.co.real_logic.aeron.exceptions.RegistrationException if the media driver rejected the registration.
+     * @throws DriverTimeoutException if the media driver did not respond in time.
+     * @throws IllegalArgumentException if the registration id is not known.
+     */
+    public Publication getPublication(final long registrationId)
+    {
+        return conductor.getPublication(registrationId);
+    }
+
+    /**
+     * Get the {@link Subscription} for an asynchronous registration if it has completed. Once returned the
+     * registration is no longer tracked.
+     *
+     * @param registrationId returned from {@link #asyncAddSubscription(String, int, DataHandler)}.
+     * @return the {@link Subscription} if the registration has completed otherwise null.
+     * @throws uk.co.real_logic.aeron.exceptions.RegistrationException if the media driver rejected the registration.
+     * @throws DriverTimeoutException if the media driver did not respond in time.
+     * @throws IllegalArgumentException if the registration id is not known.
+     */
+    public Subscription getSubscription(final long registrationId)
+    {
+        return conductor.getSubscription(registrationId);
+    }
+
     private Aeron start()
     {
         final Thread thread = new Thread(conductorRunner);
@@ -225,6 +304,7 @@ public final class Aeron implements AutoCloseable
         private Consumer<Throwable> errorHandler;
         private NewConnectionHandler newConnectionHandler;
         private InactiveConnectionHandler inactiveConnectionHandler;
+        private RegistrationHandler registrationHandler;
         private long mediaDriverTimeoutMs = NULL_TIMEOUT;
 
         /**
@@ -385,6 +465,17 @@ public final class Aeron implements AutoCloseable
             return this;
         }
 
+        /**
+         * Set up a callback for when an asynchronous registration completes.
+         * @param handler Callback method for handling registration completion notifications.
+         * @return this Aeron.Context for method chaining.
+         */
+        public Context registrationHandler(final RegistrationHandler handler)
+        {
+            this.registrationHandler = handler;
+            return this;
+        }
+
         /**
          * Set the amount of time, in milliseconds, that this client will wait until it determines the
          * Media Driver is unavailable. When this happens a
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+/**
+ * State of an asynchronous registration with the media driver which is in flight or awaiting collection.
+ * <p>
+ * All fields other than the identity are guarded by the map of registrations in the {@link ClientConductor}.
+ */
+class AsyncRegistration
+{
+    private final long registrationId;
+    private final long deadlineMs;
+    private Publication publication;
+    private Subscription subscription;
+    private RuntimeException error;
+    private boolean isComplete = false;
+
+    AsyncRegistration(final long registrationId, final long deadlineMs)
+    {
+        this.registrationId = registrationId;
+        this.deadlineMs = deadlineMs;
+    }
+
+    AsyncRegistration(final long registrationId, final long deadlineMs, final Subscription subscription)
+    {
+        this(registrationId, deadlineMs);
+        this.subscription = subscription;
+    }
+
+    public long registrationId()
+    {
+        return registrationId;
+    }
+
+    public long deadlineMs()
+    {
+        return deadlineMs;
+    }
+
+    public Publication publication()
+    {
+        return publication;
+    }
+
+    public Subscription subscription()
+    {
+        return subscription;
+    }
+
+    public RuntimeException error()
+    {
+        return error;
+    }
+
+    public boolean isComplete()
+    {
+        return isComplete;
+    }
+
+    public void onPublication(final Publication publication)
+    {
+        this.publication = publication;
+        isComplete = true;
+    }
+
+    public void onSuccess()
+    {
+        isComplete = true;
+    }
+
+    public void onError(final RuntimeException error)
+    {
+        this.error = error;
+        isComplete = true;
+    }
+}
@@ -19,18 +19,23 @@ import uk.co.real_logic.aeron.common.ErrorCode;
 import uk.co.real_logic.aeron.common.collections.ConnectionMap;
 import uk.co.real_logic.aeron.common.command.ConnectionBuffersReadyFlyweight;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.DataHandler;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.ExclusiveTermAppender;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.TermAppender;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.TermReader;
 import uk.co.real_logic.aeron.exceptions.DriverTimeoutException;
 import uk.co.real_logic.aeron.exceptions.RegistrationException;
 import uk.co.real_logic.agrona.TimerWheel;
+import uk.co.real_logic.agrona.collections.Long2ObjectHashMap;
 import uk.co.real_logic.agrona.concurrent.Agent;
 import uk.co.real_logic.agrona.concurrent.Signal;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.agrona.concurrent.broadcast.CopyBroadcastReceiver;
 import uk.co.real_logic.agrona.concurrent.status.UnsafeBufferPosition;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -51,6 +56,10 @@ class ClientConductor implements Agent, DriverListener
     private final LogBuffersFactory logBuffersFactory;
     private final ConnectionMap<String, Publication> publicationMap = new ConnectionMap<>(); // Guarded by this
     private final ActiveSubscriptions activeSubscriptions = new ActiveSubscriptions();
+    private final Map<String, LogBuffers> connectionLogBuffersByFileName = new HashMap<>();
+    private final Long2ObjectHashMap<AsyncRegistration> asyncRegistrationByIdMap = new Long2ObjectHashMap<>();
+    private final Long2ObjectHashMap<AsyncRegistration> timedOutRegistrationByIdMap = new Long2ObjectHashMap<>();
+    private final ArrayList<AsyncRegistration> timedOutAsyncRegistrations = new ArrayList<>();
 
     private final UnsafeBuffer counterValuesBuffer;
     private final DriverProxy driverProxy;
@@ -60,11 +69,14 @@ class ClientConductor implements Agent, DriverListener
     private final Consumer<Throwable> errorHandler;
     private final NewConnectionHandler newConnectionHandler;
     private final InactiveConnectionHandler inactiveConnectionHandler;
+    private final RegistrationHandler registrationHandler;
 
     private long activeCorrelationId = -1; // Guarded by this
     private boolean operationSucceeded = false; // Guarded by this
     private volatile boolean driverActive = true;
+    private boolean isAddingExclusivePublication = false; // Guarded by this
     private Publication addedPublication; // Guarded by this
+    private ExclusivePublication addedExclusivePublication; // Guarded by this
     private RegistrationException registrationException; // Guarded by this
 
     public ClientConductor(
@@ -77,6 +89,7 @@ class ClientConductor implements Agent, DriverListener
         final Consumer<Throwable> errorHandler,
         final NewConnectionHandler newConnectionHandler,
         final InactiveConnectionHandler inactiveConnectionHandler,
+        final RegistrationHandler registrationHandler,
         final long driverTimeoutMs)
     {
         this.errorHandler = errorHandler;
@@ -87,6 +100,7 @@ class ClientConductor implements Agent, DriverListener
         this.timerWheel = timerWheel;
         this.newConnectionHandler = newConnectionHandler;
         this.inactiveConnectionHandler = inactiveConnectionHandler;
+        this.registrationHandler = registrationHandler;
         this.driverTimeoutMs = driverTimeoutMs;
         this.driverTimeoutNs = TimeUnit.MILLISECONDS.toNanos(driverTimeoutMs);
 
@@ -142,7 +156,45 @@ class ClientConductor implements Agent, DriverListener
         verifyDriverIsActive();
 
         activeCorrelationId = driverProxy.removePublication(publication.registrationId());
-        publicationMap.remove(publication.channel(), publication.sessionId(), publication.streamId());
+        if (publication == publicationMap.get(publication.channel(), publication.sessionId(), publication.streamId()))
+        {
+            publicationMap.remove(publication.channel(), publication.sessionId(), publication.streamId());
+        }
+
+        awaitOperationSucceeded();
+    }
+
+    public synchronized ExclusivePublication addExclusivePublication(
+        final String channel, final int streamId, final int sessionId)
+    {
+        verifyDriverIsActive();
+
+        isAddingExclusivePublication = true;
+        try
+        {
+            activeCorrelationId = driverProxy.addPublication(channel, streamId, sessionId);
+
+            final long startTime = System.currentTimeMillis();
+            while (addedExclusivePublication == null)
+            {
+                await(startTime);
+            }
+
+            return addedExclusivePublication;
+        }
+        finally
+        {
+            addedExclusivePublication = null;
+            isAddingExclusivePublication = false;
+            activeCorrelationId = NO_CORRELATION_ID;
+        }
+    }
+
+    public synchronized void releasePublication(final ExclusivePublication publication)
+    {
+        verifyDriverIsActive();
+
+        activeCorrelationId = driverProxy.removePublication(publication.registrationId());
 
         awaitOperationSucceeded();
     }
@@ -174,6 +226,101 @@ class ClientConductor implements Agent, DriverListener
         awaitOperationSucceeded();
     }
 
+    public long asyncAddPublication(final String channel, final int streamId, final int sessionId)
+    {
+        verifyDriverIsActive();
+
+        synchronized (asyncRegistrationByIdMap)
+        {
+            final long registrationId = driverProxy.addPublication(channel, streamId, sessionId);
+            asyncRegistrationByIdMap.put(
+                registrationId, new AsyncRegistration(registrationId, System.currentTimeMillis() + driverTimeoutMs));
+
+            return registrationId;
+        }
+    }
+
+    public long asyncAddSubscription(final String channel, final int streamId, final DataHandler handler)
+    {
+        verifyDriverIsActive();
+
+        synchronized (activeSubscriptions)
+        {
+            synchronized (asyncRegistrationByIdMap)
+            {
+                final long registrationId = driverProxy.addSubscription(channel, streamId);
+                final Subscription subscription = new Subscription(this, handler, channel, streamId, registrationId);
+                activeSubscriptions.add(subscription);
+                asyncRegistrationByIdMap.put(
+                    registrationId,
+                    new AsyncRegistration(registrationId, System.currentTimeMillis() + driverTimeoutMs, subscription));
+
+                return registrationId;
+            }
+        }
+    }
+
+    public Publication getPublication(final long registrationId)
+    {
+        final AsyncRegistration registration = pollAsyncRegistration(registrationId);
+
+        return null == registration ? null : registration.publication();
+    }
+
+    public Subscription getSubscription(final long registrationId)
+    {
+        final AsyncRegistration registration = pollAsyncRegistration(registrationId);
+
+        return null == registration ? null : registration.subscription();
+    }
+
+    public boolean isAsyncRegistration(final long correlationId)
+    {
+        synchronized (asyncRegistrationByIdMap)
+        {
+            final AsyncRegistration registration = asyncRegistrationByIdMap.get(correlationId);
+
+            return (null != registration && !registration.isComplete()) ||
+                null != timedOutRegistrationByIdMap.get(correlationId);
+        }
+    }
+
+    public void onAsyncOperationSucceeded(final long correlationId)
+    {
+        if (removeTimedOutRegistration(correlationId))
+        {
+            driverProxy.removeSubscription(correlationId);
+            return;
+        }
+
+        final AsyncRegistration registration;
+        synchronized (asyncRegistrationByIdMap)
+        {
+            registration = asyncRegistrationByIdMap.get(correlationId);
+            registration.onSuccess();
+        }
+
+        onAsyncRegistrationComplete(registration);
+    }
+
+    public void onAsyncError(final ErrorCode errorCode, final String message, final long correlationId)
+    {
+        if (removeTimedOutRegistration(correlationId))
+        {
+            return;
+        }
+
+        final AsyncRegistration registration;
+        synchronized (asyncRegistrationByIdMap)
+        {
+            registration = asyncRegistrationByIdMap.get(correlationId);
+            registration.onError(new RegistrationException(errorCode, message));
+        }
+
+        removeSubscription(registration);
+        onAsyncRegistrationComplete(registration);
+    }
+
     public void onNewPublication(
         final String channel,
         final int streamId,
@@ -182,24 +329,64 @@ class ClientConductor implements Agent, DriverListener
         final String logFileName,
         final long correlationId)
     {
+        if (activeCorrelationId != correlationId && removeTimedOutRegistration(correlationId))
+        {
+            driverProxy.removePublication(correlationId);
+            return;
+        }
+
         final LogBuffers logBuffers = logBuffersFactory.map(logFileName);
         final UnsafeBuffer[] buffers = logBuffers.atomicBuffers();
-        final TermAppender[] appenders = new TermAppender[PARTITION_COUNT];
         final UnsafeBuffer logMetaDataBuffer = logBuffers.atomicBuffers()[LogBufferDescriptor.LOG_META_DATA_SECTION_INDEX];
         final UnsafeBuffer[] defaultFrameHeaders = LogBufferDescriptor.defaultFrameHeaders(logMetaDataBuffer);
         final int mtuLength = LogBufferDescriptor.mtuLength(logMetaDataBuffer);
+        final UnsafeBufferPosition publicationLimit = new UnsafeBufferPosition(counterValuesBuffer, publicationLimitId);
+
+        final AsyncRegistration asyncRegistration =
+            activeCorrelationId != correlationId ? asyncRegistration(correlationId) : null;
 
-        for (int i = 0; i < PARTITION_COUNT; i++)
+        if (null == asyncRegistration && isAddingExclusivePublication)
         {
-            appenders[i] = new TermAppender(buffers[i], buffers[i + PARTITION_COUNT], defaultFrameHeaders[i], mtuLength);
+            final ExclusiveTermAppender[] appenders = new ExclusiveTermAppender[PARTITION_COUNT];
+            for (int i = 0; i < PARTITION_COUNT; i++)
+            {
+                appenders[i] = new ExclusiveTermAppender(
+                    buffers[i], buffers[i + PARTITION_COUNT], defaultFrameHeaders[i], mtuLength);
+            }
+
+            addedExclusivePublication = new ExclusivePublication(
+                this, channel, streamId, sessionId, appenders, publicationLimit, logBuffers, logMetaDataBuffer, correlationId);
         }
+        else
+        {
+            final TermAppender[] appenders = new TermAppender[PARTITION_COUNT];
+            for (int i = 0; i < PARTITION_COUNT; i++)
+            {
+                appenders[i] = new TermAppender(buffers[i], buffers[i + PARTITION_COUNT], defaultFrameHeaders[i], mtuLength);
+            }
 
-        final UnsafeBufferPosition publicationLimit = new UnsafeBufferPosition(counterValuesBuffer, publicationLimitId);
+            final Publication publication = new Publication(
+                this, channel, streamId, sessionId, appenders, publicationLimit, logBuffers, logMetaDataBuffer, correlationId);
 
-        addedPublication = new Publication(
-            this, channel, streamId, sessionId, appenders, publicationLimit, logBuffers, logMetaDataBuffer, correlationId);
+            if (null != asyncRegistration)
+            {
+                synchronized (asyncRegistrationByIdMap)
+                {
+                    asyncRegistration.onPublication(publication);
+                }
 
-        correlationSignal.signal();
+                onAsyncRegistrationComplete(asyncRegistration);
+            }
+            else
+            {
+                addedPublication = publication;
+            }
+        }
+
+        if (null == asyncRegistration)
+        {
+            correlationSignal.signal();
+        }
     }
 
     public void onNewConnection(
@@ -225,7 +412,7 @@ class ClientConductor implements Agent, DriverListener
                             final UnsafeBufferPosition position = new UnsafeBufferPosition(
                                 counterValuesBuffer, msg.subscriberPositionId(i));
 
-                            final LogBuffers logBuffers = logBuffersFactory.map(logFileName);
+                            final LogBuffers logBuffers = connectionLogBuffers(logFileName);
                             final UnsafeBuffer[] buffers = logBuffers.atomicBuffers();
                             final TermReader[] readers = new TermReader[PARTITION_COUNT];
                             final int initialTermId = LogBufferDescriptor.initialTermId(buffers[buffers.length - 1]);
@@ -330,10 +517,115 @@ class ClientConductor implements Agent, DriverListener
         return workCount;
     }
 
+    private LogBuffers connectionLogBuffers(final String logFileName)
+    {
+        LogBuffers logBuffers = connectionLogBuffersByFileName.get(logFileName);
+        if (null == logBuffers || !logBuffers.retain())
+        {
+            logBuffers = logBuffersFactory.map(logFileName);
+            connectionLogBuffersByFileName.put(logFileName, logBuffers);
+        }
+
+        return logBuffers;
+    }
+
+    private void removeClosedConnectionLogBuffers()
+    {
+        connectionLogBuffersByFileName.values().removeIf(LogBuffers::isClosed);
+    }
+
+    private AsyncRegistration asyncRegistration(final long registrationId)
+    {
+        synchronized (asyncRegistrationByIdMap)
+        {
+            return asyncRegistrationByIdMap.get(registrationId);
+        }
+    }
+
+    private AsyncRegistration pollAsyncRegistration(final long registrationId)
+    {
+        AsyncRegistration registration;
+        synchronized (asyncRegistrationByIdMap)
+        {
+            registration = asyncRegistrationByIdMap.get(registrationId);
+            if (null == registration)
+            {
+                throw new IllegalArgumentException("Unknown registration id: " + registrationId);
+            }
+
+            if (registration.isComplete())
+            {
+                asyncRegistrationByIdMap.remove(registrationId);
+            }
+            else
+            {
+                registration = null;
+            }
+        }
+
+        if (null != registration && null != registration.error())
+        {
+            throw registration.error();
+        }
+
+        return registration;
+    }
+
+    private boolean removeTimedOutRegistration(final long registrationId)
+    {
+        synchronized (asyncRegistrationByIdMap)
+        {
+            return null != timedOutRegistrationByIdMap.remove(registrationId);
+        }
+    }
+
+    private void removeSubscription(final AsyncRegistration registration)
+    {
+        if (null != registration.subscription())
+        {
+            activeSubscriptions.remove(registration.subscription());
+        }
+    }
+
+    private void onAsyncRegistrationComplete(final AsyncRegistration registration)
+    {
+        if (null != registrationHandler)
+        {
+            registrationHandler.onRegistrationComplete(registration.registrationId());
+        }
+    }
+
+    private void checkAsyncRegistrationTimeouts()
+    {
+        final long now = System.currentTimeMillis();
+        synchronized (asyncRegistrationByIdMap)
+        {
+            for (final AsyncRegistration registration : asyncRegistrationByIdMap.values())
+            {
+                if (!registration.isComplete() && now > registration.deadlineMs())
+                {
+                    final String msg = String.format("No response from media driver within %d ms", driverTimeoutMs);
+                    registration.onError(new DriverTimeoutException(msg));
+                    timedOutRegistrationByIdMap.put(registration.registrationId(), registration);
+                    timedOutAsyncRegistrations.add(registration);
+                }
+            }
+        }
+
+        for (final AsyncRegistration registration : timedOutAsyncRegistrations)
+        {
+            removeSubscription(registration);
+            onAsyncRegistrationComplete(registration);
+        }
+        timedOutAsyncRegistrations.clear();
+    }
+
     private void onKeepalive()
     {
         driverProxy.sendClientKeepalive();
         checkDriverHeartbeat();
+        removeClosedConnectionLogBuffers();
+        checkAsyncRegistrationTimeouts();
 
         timerWheel.rescheduleTimeout(KEEPALIVE_TIMEOUT_MS, TimeUnit.MILLISECONDS, keepaliveTimer);
     }
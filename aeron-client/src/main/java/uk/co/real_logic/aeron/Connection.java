@@ -15,11 +15,22 @@
  */
 package uk.co.real_logic.aeron;
 
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.BlockHandler;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.ControlledDataHandler;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.ControlledDataHandler.Action;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.DataHandler;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.Header;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.TermBlockScanner;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.TermReader;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.agrona.concurrent.status.Position;
 
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.*;
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
+import static uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight.TERM_ID_FIELD_OFFSET;
+import static uk.co.real_logic.agrona.BitUtil.align;
 
 /**
  * Represents an incoming Connection from a publisher to a {@link Subscription}. Each connection identifies source publisher
@@ -31,6 +42,7 @@ class Connection
     private final TermReader[] termReaders;
     private final DataHandler dataHandler;
     private final Position subscriberPosition;
+    private final Header header;
     private final long correlationId;
     private final int positionBitsToShift;
     private final int termLengthMask;
@@ -54,6 +66,7 @@ class Connection
         final int capacity = termReaders[0].termBuffer().capacity();
         this.termLengthMask = capacity - 1;
         this.positionBitsToShift = Integer.numberOfTrailingZeros(capacity);
+        this.header = new Header(termReaders[0].initialTermId(), termReaders[0].termBuffer());
 
         subscriberPosition.setOrdered(initialPosition);
     }
@@ -86,6 +99,91 @@ class Connection
         return messagesRead;
     }
 
+    public int controlledPoll(final ControlledDataHandler dataHandler, final int fragmentCountLimit)
+    {
+        long position = subscriberPosition.get();
+        int termOffset = (int)position & termLengthMask;
+        int offset = termOffset;
+        int fragmentsRead = 0;
+
+        final UnsafeBuffer termBuffer = termReaders[indexByPosition(position, positionBitsToShift)].termBuffer();
+        final int capacity = termBuffer.capacity();
+        final Header header = this.header;
+        header.buffer(termBuffer);
+
+        while (fragmentsRead < fragmentCountLimit && offset < capacity)
+        {
+            final int frameLength = frameLengthVolatile(termBuffer, offset);
+            if (frameLength <= 0)
+            {
+                break;
+            }
+
+            final int frameOffset = offset;
+            final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+            offset += alignedFrameLength;
+
+            if (!isPaddingFrame(termBuffer, frameOffset))
+            {
+                header.offset(frameOffset);
+
+                final Action action = dataHandler.onData(
+                    termBuffer, frameOffset + HEADER_LENGTH, frameLength - HEADER_LENGTH, header);
+
+                if (Action.ABORT == action)
+                {
+                    offset -= alignedFrameLength;
+                    break;
+                }
+
+                ++fragmentsRead;
+
+                if (Action.BREAK == action)
+                {
+                    break;
+                }
+                else if (Action.COMMIT == action)
+                {
+                    position += (offset - termOffset);
+                    termOffset = offset;
+                    subscriberPosition.setOrdered(position);
+                }
+            }
+        }
+
+        final long newPosition = position + (offset - termOffset);
+        if (newPosition > position)
+        {
+            subscriberPosition.setOrdered(newPosition);
+        }
+
+        return fragmentsRead;
+    }
+
+    public int blockPoll(final BlockHandler blockHandler, final int blockLengthLimit)
+    {
+        final long position = subscriberPosition.get();
+        final int termOffset = (int)position & termLengthMask;
+        final UnsafeBuffer termBuffer = termReaders[indexByPosition(position, positionBitsToShift)].termBuffer();
+        final int limitOffset = (int)Math.min((long)termOffset + blockLengthLimit, termBuffer.capacity());
+
+        final int resultingOffset = TermBlockScanner.scan(termBuffer, termOffset, limitOffset);
+        final int bytesConsumed = resultingOffset - termOffset;
+
+        if (bytesConsumed > 0)
+        {
+            if (!isPaddingFrame(termBuffer, termOffset))
+            {
+                final int termId = termBuffer.getInt(termOffset + TERM_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+                blockHandler.onBlock(termBuffer, termOffset, bytesConsumed, sessionId, termId);
+            }
+
+            subscriberPosition.setOrdered(position + bytesConsumed);
+        }
+
+        return bytesConsumed;
+    }
+
     public void close()
     {
         logBuffers.close();
@@ -50,4 +50,10 @@ interface DriverListener
     void onError(ErrorCode errorCode, String message);
 
     void operationSucceeded();
+
+    boolean isAsyncRegistration(long correlationId);
+
+    void onAsyncOperationSucceeded(long correlationId);
+
+    void onAsyncError(ErrorCode errorCode, String message, long correlationId);
 }
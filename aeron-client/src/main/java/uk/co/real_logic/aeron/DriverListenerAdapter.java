@@ -66,7 +66,7 @@ class DriverListenerAdapter implements MessageHandler
 
                 final long correlationId = publicationReady.correlationId();
 
-                if (activeCorrelationId == correlationId)
+                if (activeCorrelationId == correlationId || listener.isAsyncRegistration(correlationId))
                 {
                     final int sessionId = publicationReady.sessionId();
                     final int streamId = publicationReady.streamId();
@@ -98,12 +98,20 @@ class DriverListenerAdapter implements MessageHandler
             }
 
             case ON_OPERATION_SUCCESS:
+            {
                 correlatedMessage.wrap(buffer, index);
-                if (correlatedMessage.correlationId() == activeCorrelationId)
+
+                final long correlationId = correlatedMessage.correlationId();
+                if (correlationId == activeCorrelationId)
                 {
                     listener.operationSucceeded();
                 }
+                else if (listener.isAsyncRegistration(correlationId))
+                {
+                    listener.onAsyncOperationSucceeded(correlationId);
+                }
                 break;
+            }
 
             case ON_INACTIVE_CONNECTION:
                 connectionMessage.wrap(buffer, index);
@@ -129,10 +137,15 @@ class DriverListenerAdapter implements MessageHandler
     {
         errorHeader.wrap(buffer, index);
         final ErrorCode errorCode = errorHeader.errorCode();
-        if (activeCorrelationId == correlationId(buffer, errorHeader.offendingHeaderOffset()))
+        final long correlationId = correlationId(buffer, errorHeader.offendingHeaderOffset());
+        if (activeCorrelationId == correlationId)
         {
             listener.onError(errorCode, errorHeader.errorMessage());
         }
+        else if (listener.isAsyncRegistration(correlationId))
+        {
+            listener.onAsyncError(errorCode, errorHeader.errorMessage(), correlationId);
+        }
     }
 
     private long correlationId(final MutableDirectBuffer buffer, final int offset)
@@ -29,7 +29,8 @@ import static uk.co.real_logic.aeron.common.command.ControlProtocolEvents.*;
 /**
  * Separates the concern of communicating with the client conductor away from the rest of the client.
  *
- * Writes messages into the client conductor buffer.
+ * Writes messages into the client conductor buffer. Commands share a write buffer so are synchronized, as
+ * asynchronous registrations do not hold the {@link ClientConductor} lock.
  */
 class DriverProxy
 {
@@ -67,12 +68,12 @@ class DriverProxy
         return toDriverCommandBuffer.consumerHeartbeatTimeNs();
     }
 
-    public long addPublication(final String channel, final int streamId, final int sessionId)
+    public synchronized long addPublication(final String channel, final int streamId, final int sessionId)
     {
         return sendPublicationMessage(channel, streamId, sessionId, ADD_PUBLICATION);
     }
 
-    public long removePublication(final long registrationId)
+    public synchronized long removePublication(final long registrationId)
     {
         final long correlationId = toDriverCommandBuffer.nextCorrelationId();
         removeMessage.correlationId(correlationId);
@@ -86,12 +87,12 @@ class DriverProxy
         return correlationId;
     }
 
-    public long addSubscription(final String channel, final int streamId)
+    public synchronized long addSubscription(final String channel, final int streamId)
     {
         return sendSubscriptionMessage(ADD_SUBSCRIPTION, channel, streamId, -1);
     }
 
-    public long removeSubscription(final long registrationId)
+    public synchronized long removeSubscription(final long registrationId)
     {
         final long correlationId = toDriverCommandBuffer.nextCorrelationId();
         removeMessage.correlationId(correlationId);
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.BufferClaim;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.DirectBufferVector;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.ExclusiveTermAppender;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.FragmentedBufferClaim;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.MessageBatch;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.TermAppender;
+import uk.co.real_logic.agrona.DirectBuffer;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.agrona.concurrent.status.ReadOnlyPosition;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
+import static uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight.TERM_ID_FIELD_OFFSET;
+
+/**
+ * Aeron Publisher API for sending messages to subscribers from a single producer thread. Exclusive publications
+ * are created via an {@link Aeron} object, and messages are sent via an offer method or a claim and commit
+ * method combination.
+ * <p>
+ * Unlike a {@link Publication} the tail of the log is owned by this instance so appends do not require an atomic
+ * increment. Each exclusive publication has its own session and is not shared with other publishers.
+ * <p>
+ * The APIs used to send are all non-blocking.
+ * <p>
+ * Note: ExclusivePublication instances are NOT threadsafe and must only be used from a single publisher thread.
+ * @see Aeron#addExclusivePublication(String, int)
+ */
+public class ExclusivePublication implements AutoCloseable
+{
+    private static final long APPENDABLE = 0;
+
+    private final long registrationId;
+    private final int streamId;
+    private final int sessionId;
+    private final int initialTermId;
+    private final int positionBitsToShift;
+    private final String channel;
+    private final ClientConductor clientConductor;
+    private final LogBuffers logBuffers;
+    private final ExclusiveTermAppender[] termAppenders;
+    private final ReadOnlyPosition publicationLimit;
+    private final UnsafeBuffer logMetaDataBuffer;
+
+    private int activeTermId;
+    private int activeIndex;
+    private boolean isActiveTermReady = true;
+    private volatile boolean isClosed = false;
+
+    ExclusivePublication(
+        final ClientConductor clientConductor,
+        final String channel,
+        final int streamId,
+        final int sessionId,
+        final ExclusiveTermAppender[] termAppenders,
+        final ReadOnlyPosition publicationLimit,
+        final LogBuffers logBuffers,
+        final UnsafeBuffer logMetaDataBuffer,
+        final long registrationId)
+    {
+        this.clientConductor = clientConductor;
+        this.channel = channel;
+        this.streamId = streamId;
+        this.sessionId = sessionId;
+        this.logBuffers = logBuffers;
+        this.logMetaDataBuffer = logMetaDataBuffer;
+        this.registrationId = registrationId;
+        this.termAppenders = termAppenders;
+        this.publicationLimit = publicationLimit;
+
+        initialTermId = initialTermId(logMetaDataBuffer);
+        activeTermId = initialTermId;
+        activeIndex = indexByTerm(initialTermId, activeTermId);
+        activeTermId(logMetaDataBuffer, activeTermId);
+        this.positionBitsToShift = Integer.numberOfTrailingZeros(termAppenders[0].termBuffer().capacity());
+    }
+
+    /**
+     * Media address for delivery to the channel.
+     *
+     * @return Media address for delivery to the channel.
+     */
+    public String channel()
+    {
+        return channel;
+    }
+
+    /**
+     * Stream identity for scoping within the channel media address.
+     *
+     * @return Stream identity for scoping within the channel media address.
+     */
+    public int streamId()
+    {
+        return streamId;
+    }
+
+    /**
+     * Session under which messages are published. Identifies this ExclusivePublication instance.
+     *
+     * @return the session id for this publication.
+     */
+    public int sessionId()
+    {
+        return sessionId;
+    }
+
+    /**
+     * Maximum message length supported in bytes.
+     *
+     * @return maximum message length supported in bytes.
+     */
+    public int maxMessageLength()
+    {
+        return termAppenders[0].maxMessageLength();
+    }
+
+    /**
+     * Release resources used by this ExclusivePublication.
+     */
+    public void close()
+    {
+        synchronized (clientConductor)
+        {
+            if (!isClosed)
+            {
+                isClosed = true;
+                logBuffers.close();
+                clientConductor.releasePublication(this);
+            }
+        }
+    }
+
+    /**
+     * Get the current position to which the publication has advanced for this stream.
+     *
+     * @return the current position to which the publication has advanced for this stream.
+     * @throws IllegalStateException if the publication is closed.
+     */
+    public long position()
+    {
+        ensureOpen();
+
+        final int currentTail = isActiveTermReady ? termAppenders[activeIndex].localTail() : 0;
+
+        return computePosition(activeTermId, currentTail, positionBitsToShift, initialTermId);
+    }
+
+    /**
+     * Non-blocking publish of a buffer containing a message.
+     *
+     * @param buffer containing message.
+     * @return The new stream position on success, otherwise {@link Publication#BACK_PRESSURE} or
+     * {@link Publication#NOT_CONNECTED}.
+     */
+    public long offer(final DirectBuffer buffer)
+    {
+        return offer(buffer, 0, buffer.capacity());
+    }
+
+    /**
+     * Non-blocking publish of a partial buffer containing a message.
+     *
+     * @param buffer containing message.
+     * @param offset offset in the buffer at which the encoded message begins.
+     * @param length in bytes of the encoded message.
+     * @return The new stream position on success, otherwise {@link Publication#BACK_PRESSURE} or
+     * {@link Publication#NOT_CONNECTED}.
+     * @throws IllegalStateException if the publication is closed.
+     */
+    public long offer(final DirectBuffer buffer, final int offset, final int length)
+    {
+        final ExclusiveTermAppender termAppender = termAppenders[activeIndex];
+        final long status = appendStatus(termAppender);
+        if (APPENDABLE != status)
+        {
+            return status;
+        }
+
+        return newPosition(termAppender.append(buffer, offset, length));
+    }
+
+    /**
+     * Non-blocking publish by gathering buffer vectors into a message.
+     *
+     * @param vectors which make up the message.
+     * @return The new stream position on success, otherwise {@link Publication#BACK_PRESSURE} or
+     * {@link Publication#NOT_CONNECTED}.
+     * @throws IllegalStateException if the publication is closed.
+     */
+    public long offer(final DirectBufferVector[] vectors)
+    {
+        final ExclusiveTermAppender termAppender = termAppenders[activeIndex];
+        final long status = appendStatus(termAppender);
+        if (APPENDABLE != status)
+        {
+            return status;
+        }
+
+        return newPosition(termAppender.append(vectors));
+    }
+
+    /**
+     * Non-blocking publish of a batch of messages with a single reservation in the log. Each message in the batch
+     * must fit within an MTU. The batch is published in full or not at all.
+     *
+     * @param batch of messages to be published.
+     * @return The new stream position on success, otherwise {@link Publication#BACK_PRESSURE} or
+     * {@link Publication#NOT_CONNECTED}.
+     * @throws IllegalArgumentException if a message is greater than max payload length within an MTU or the batch
+     * is greater than {@link #maxMessageLength()}.
+     * @throws IllegalStateException if the publication is closed.
+     */
+    public long offerBatch(final MessageBatch batch)
+    {
+        final ExclusiveTermAppender termAppender = termAppenders[activeIndex];
+        final long status = appendStatus(termAppender);
+        if (APPENDABLE != status)
+        {
+            return status;
+        }
+
+        return newPosition(termAppender.appendBatch(batch));
+    }
+
+    /**
+     * Try to claim a range in the publication log into which a message can be written with zero copy semantics.
+     * Once the message has been written then {@link BufferClaim#commit()} should be called thus making it available.
+     * <p>
+     * <b>Note:</b> This method can only be used for message lengths less than MTU length minus header.
+     *
+     * @param length      of the range to claim, in bytes..
+     * @param bufferClaim to be populate if the claim succeeds.
+     * @return The new stream position on success, otherwise {@link Publication#BACK_PRESSURE} or
+     * {@link Publication#NOT_CONNECTED}.
+     * @throws IllegalArgumentException if the length is greater than max payload length within an MTU.
+     * @throws IllegalStateException if the publication is closed.
+     * @see Publication#tryClaim(int, BufferClaim)
+     */
+    public long tryClaim(final int length, final BufferClaim bufferClaim)
+    {
+        final ExclusiveTermAppender termAppender = termAppenders[activeIndex];
+        final long status = appendStatus(termAppender);
+        if (APPENDABLE != status)
+        {
+            return status;
+        }
+
+        return newPosition(termAppender.claim(length, bufferClaim));
+    }
+
+    /**
+     * Try to claim a range in the publication log, which may span multiple fragments, into which a message can be
+     * written with zero copy semantics. Once the message has been written then {@link FragmentedBufferClaim#commit()}
+     * should be called thus making it available.
+     * <p>
+     * Unlike {@link #tryClaim(int, BufferClaim)} this method supports messages up to {@link #maxMessageLength()}.
+     *
+     * @param length      of the range to claim, in bytes..
+     * @param bufferClaim to be populate if the claim succeeds.
+     * @return The new stream position on success, otherwise {@link Publication#BACK_PRESSURE} or
+     * {@link Publication#NOT_CONNECTED}.
+     * @throws IllegalArgumentException if the length is greater than {@link #maxMessageLength()}.
+     * @throws IllegalStateException if the publication is closed.
+     * @see FragmentedBufferClaim#commit()
+     */
+    public long tryClaim(final int length, final FragmentedBufferClaim bufferClaim)
+    {
+        final ExclusiveTermAppender termAppender = termAppenders[activeIndex];
+        final long status = appendStatus(termAppender);
+        if (APPENDABLE != status)
+        {
+            return status;
+        }
+
+        return newPosition(termAppender.claim(length, bufferClaim));
+    }
+
+    long registrationId()
+    {
+        return registrationId;
+    }
+
+    private boolean isActiveTermReady(final ExclusiveTermAppender termAppender)
+    {
+        if (!isActiveTermReady)
+        {
+            isActiveTermReady = termAppender.tryActivate();
+        }
+
+        return isActiveTermReady;
+    }
+
+    private long appendStatus(final ExclusiveTermAppender termAppender)
+    {
+        ensureOpen();
+
+        if (!isActiveTermReady(termAppender))
+        {
+            return Publication.BACK_PRESSURE;
+        }
+
+        final int currentTail = termAppender.localTail();
+        final long position = computePosition(activeTermId, currentTail, positionBitsToShift, initialTermId);
+        if (currentTail >= termAppender.termBuffer().capacity() || position >= publicationLimit.getVolatile())
+        {
+            return Publication.NOT_CONNECTED;
+        }
+
+        return APPENDABLE;
+    }
+
+    private long newPosition(final int nextOffset)
+    {
+        if (nextOffset >= 0)
+        {
+            return computePosition(activeTermId, nextOffset, positionBitsToShift, initialTermId);
+        }
+
+        if (TermAppender.TRIPPED == nextOffset)
+        {
+            rotateTerm();
+        }
+
+        return Publication.BACK_PRESSURE;
+    }
+
+    private void rotateTerm()
+    {
+        final int newTermId = activeTermId + 1;
+        final int nextIndex = nextPartitionIndex(activeIndex);
+
+        final ExclusiveTermAppender[] termAppenders = this.termAppenders;
+        termAppenders[nextIndex].defaultHeader().putInt(TERM_ID_FIELD_OFFSET, newTermId, LITTLE_ENDIAN);
+        termAppenders[previousPartitionIndex(activeIndex)].statusOrdered(NEEDS_CLEANING);
+        LogBufferDescriptor.activeTermId(logMetaDataBuffer, newTermId);
+
+        activeTermId = newTermId;
+        activeIndex = nextIndex;
+        isActiveTermReady = false;
+    }
+
+    private void ensureOpen()
+    {
+        if (isClosed)
+        {
+            throw new IllegalStateException(String.format(
+                "ExclusivePublication is closed: channel=%s streamId=%d sessionId=%d registrationId=%d",
+                channel, streamId, sessionId, registrationId));
+        }
+    }
+}
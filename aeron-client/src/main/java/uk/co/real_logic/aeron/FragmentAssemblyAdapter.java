@@ -18,7 +18,6 @@ package uk.co.real_logic.aeron;
 import uk.co.real_logic.aeron.common.BufferBuilder;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.DataHandler;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.Header;
-import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.agrona.DirectBuffer;
 import uk.co.real_logic.agrona.collections.Int2ObjectHashMap;
 
@@ -117,35 +116,4 @@ public class FragmentAssemblyAdapter implements DataHandler
     {
         return null != builderBySessionIdMap.remove(sessionId);
     }
-
-    private static class AssemblyHeader extends Header
-    {
-        private int frameLength;
-
-        public AssemblyHeader reset(final Header base, final int msgLength)
-        {
-            positionBitsToShift(base.positionBitsToShift());
-            initialTermId(base.initialTermId());
-            offset(base.offset());
-            buffer(base.buffer());
-            frameLength = msgLength + DataHeaderFlyweight.HEADER_LENGTH;
-
-            return this;
-        }
-
-        public int frameLength()
-        {
-            return frameLength;
-        }
-
-        public byte flags()
-        {
-            return (byte)(super.flags() | UNFRAGMENTED);
-        }
-
-        public int termOffset()
-        {
-            return offset() - (frameLength - super.frameLength());
-        }
-    }
 }
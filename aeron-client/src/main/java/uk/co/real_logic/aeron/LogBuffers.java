@@ -29,12 +29,16 @@ import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescri
 /**
  * Takes a log file name and maps the file into memory and wraps it with {@link UnsafeBuffer}s as appropriate.
  *
+ * The mapping is reference counted so it can be shared. Each {@link #retain()} must be matched with a {@link #close()}
+ * and the file is unmapped when the last reference is closed.
+ *
  * @see uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor
  */
 public class LogBuffers implements AutoCloseable
 {
     private final MappedByteBuffer[] mappedByteBuffers;
     private final UnsafeBuffer[] atomicBuffers = new UnsafeBuffer[(PARTITION_COUNT * 2) + 1];
+    private int refCount = 1; // Guarded by this
 
     public LogBuffers(final String logFileName)
     {
@@ -95,11 +99,44 @@ public class LogBuffers implements AutoCloseable
         return atomicBuffers;
     }
 
-    public void close()
+    /**
+     * Take an additional reference to the mapped log if it has not already been unmapped.
+     *
+     * @return true if a reference was taken or false if the log has been unmapped.
+     */
+    public synchronized boolean retain()
+    {
+        boolean isRetained = false;
+        if (refCount > 0)
+        {
+            ++refCount;
+            isRetained = true;
+        }
+
+        return isRetained;
+    }
+
+    /**
+     * Has the last reference been closed and the log unmapped?
+     *
+     * @return true if the log has been unmapped.
+     */
+    public synchronized boolean isClosed()
+    {
+        return refCount <= 0;
+    }
+
+    /**
+     * Release a reference to the mapped log and unmap it when the last reference is released.
+     */
+    public synchronized void close()
     {
-        for (final MappedByteBuffer buffer : mappedByteBuffers)
+        if (refCount > 0 && --refCount == 0)
         {
-            IoUtil.unmap(buffer);
+            for (final MappedByteBuffer buffer : mappedByteBuffers)
+            {
+                IoUtil.unmap(buffer);
+            }
         }
     }
 }
@@ -16,6 +16,9 @@
 package uk.co.real_logic.aeron;
 
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.BufferClaim;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.DirectBufferVector;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.FragmentedBufferClaim;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.MessageBatch;
 import uk.co.real_logic.agrona.DirectBuffer;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.TermAppender;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor;
@@ -49,9 +52,12 @@ public class Publication implements AutoCloseable
      */
     public static final long BACK_PRESSURE = -2;
 
+    private static final long APPENDABLE = 0;
+
     private final long registrationId;
     private final int streamId;
     private final int sessionId;
+    private final int initialTermId;
     private final String channel;
     private final ClientConductor clientConductor;
     private final LogBuffers logBuffers;
@@ -84,7 +90,8 @@ public class Publication implements AutoCloseable
         this.termAppenders = termAppenders;
         this.publicationLimit = publicationLimit;
 
-        activeTermId(logMetaDataBuffer, initialTermId(logMetaDataBuffer));
+        this.initialTermId = initialTermId(logMetaDataBuffer);
+        activeTermId(logMetaDataBuffer, initialTermId);
         this.positionBitsToShift = Integer.numberOfTrailingZeros(termAppenders[0].termBuffer().capacity());
     }
 
@@ -156,11 +163,8 @@ public class Publication implements AutoCloseable
     {
         ensureOpen();
 
-        final int initialTermId = initialTermId(logMetaDataBuffer);
         final int activeTermId = activeTermId(logMetaDataBuffer);
-        final int activeIndex = indexByTerm(initialTermId, activeTermId);
-        final TermAppender termAppender = termAppenders[activeIndex];
-        final int currentTail = termAppender.tailVolatile();
+        final int currentTail = termAppenders[indexByTerm(initialTermId, activeTermId)].tailVolatile();
 
         return computePosition(activeTermId, currentTail, positionBitsToShift, initialTermId);
     }
@@ -189,22 +193,62 @@ public class Publication implements AutoCloseable
     {
         ensureOpen();
 
-        long newPosition = NOT_CONNECTED;
-        final int initialTermId = initialTermId(logMetaDataBuffer);
         final int activeTermId = activeTermId(logMetaDataBuffer);
-        final int activeIndex = indexByTerm(initialTermId, activeTermId);
-        final TermAppender termAppender = termAppenders[activeIndex];
-        final int currentTail = termAppender.tailVolatile();
-        final long position = computePosition(activeTermId, currentTail, positionBitsToShift, initialTermId);
-        final int capacity = termAppender.termBuffer().capacity();
+        final TermAppender termAppender = termAppenders[indexByTerm(initialTermId, activeTermId)];
+        final long status = appendStatus(activeTermId, termAppender);
+        if (APPENDABLE != status)
+        {
+            return status;
+        }
+
+        return newPosition(activeTermId, termAppender.append(buffer, offset, length));
+    }
 
-        if (currentTail < capacity && position < publicationLimit.getVolatile())
+    /**
+     * Non-blocking publish by gathering buffer vectors into a message.
+     *
+     * @param vectors which make up the message.
+     * @return The new stream position on success, otherwise {@link #BACK_PRESSURE} or {@link #NOT_CONNECTED}.
+     * @throws IllegalStateException if the publication is closed.
+     */
+    public long offer(final DirectBufferVector[] vectors)
+    {
+        ensureOpen();
+
+        final int activeTermId = activeTermId(logMetaDataBuffer);
+        final TermAppender termAppender = termAppenders[indexByTerm(initialTermId, activeTermId)];
+        final long status = appendStatus(activeTermId, termAppender);
+        if (APPENDABLE != status)
         {
-            final int nextOffset = termAppender.append(buffer, offset, length);
-            newPosition = newPosition(activeTermId, activeIndex, currentTail, position, nextOffset);
+            return status;
         }
 
-        return newPosition;
+        return newPosition(activeTermId, termAppender.append(vectors));
+    }
+
+    /**
+     * Non-blocking publish of a batch of messages with a single reservation in the log. Each message in the batch
+     * must fit within an MTU. The batch is published in full or not at all.
+     *
+     * @param batch of messages to be published.
+     * @return The new stream position on success, otherwise {@link #BACK_PRESSURE} or {@link #NOT_CONNECTED}.
+     * @throws IllegalArgumentException if a message is greater than max payload length within an MTU or the batch
+     * is greater than {@link #maxMessageLength()}.
+     * @throws IllegalStateException if the publication is closed.
+     */
+    public long offerBatch(final MessageBatch batch)
+    {
+        ensureOpen();
+
+        final int activeTermId = activeTermId(logMetaDataBuffer);
+        final TermAppender termAppender = termAppenders[indexByTerm(initialTermId, activeTermId)];
+        final long status = appendStatus(activeTermId, termAppender);
+        if (APPENDABLE != status)
+        {
+            return status;
+        }
+
+        return newPosition(activeTermId, termAppender.appendBatch(batch));
     }
 
     /**
@@ -243,22 +287,44 @@ public class Publication implements AutoCloseable
     {
         ensureOpen();
 
-        long newPosition = NOT_CONNECTED;
-        final int initialTermId = initialTermId(logMetaDataBuffer);
         final int activeTermId = activeTermId(logMetaDataBuffer);
-        final int activeIndex = indexByTerm(initialTermId, activeTermId);
-        final TermAppender termAppender = termAppenders[activeIndex];
-        final int currentTail = termAppender.tailVolatile();
-        final long position = computePosition(activeTermId, currentTail, positionBitsToShift, initialTermId);
-        final int capacity = termAppender.termBuffer().capacity();
+        final TermAppender termAppender = termAppenders[indexByTerm(initialTermId, activeTermId)];
+        final long status = appendStatus(activeTermId, termAppender);
+        if (APPENDABLE != status)
+        {
+            return status;
+        }
+
+        return newPosition(activeTermId, termAppender.claim(length, bufferClaim));
+    }
+
+    /**
+     * Try to claim a range in the publication log, which may span multiple fragments, into which a message can be
+     * written with zero copy semantics. Once the message has been written then {@link FragmentedBufferClaim#commit()}
+     * should be called thus making it available.
+     * <p>
+     * Unlike {@link #tryClaim(int, BufferClaim)} this method supports messages up to {@link #maxMessageLength()}.
+     *
+     * @param length      of the range to claim, in bytes..
+     * @param bufferClaim to be populate if the claim succeeds.
+     * @return The new stream position on success, otherwise {@link #BACK_PRESSURE} or {@link #NOT_CONNECTED}.
+     * @throws IllegalArgumentException if the length is greater than {@link #maxMessageLength()}.
+     * @throws IllegalStateException if the publication is closed.
+     * @see FragmentedBufferClaim#commit()
+     */
+    public long tryClaim(final int length, final FragmentedBufferClaim bufferClaim)
+    {
+        ensureOpen();
 
-        if (currentTail < capacity && position < publicationLimit.getVolatile())
+        final int activeTermId = activeTermId(logMetaDataBuffer);
+        final TermAppender termAppender = termAppenders[indexByTerm(initialTermId, activeTermId)];
+        final long status = appendStatus(activeTermId, termAppender);
+        if (APPENDABLE != status)
         {
-            final int nextOffset = termAppender.claim(length, bufferClaim);
-            newPosition = newPosition(activeTermId, activeIndex, currentTail, position, nextOffset);
+            return status;
         }
 
-        return newPosition;
+        return newPosition(activeTermId, termAppender.claim(length, bufferClaim));
     }
 
     long registrationId()
@@ -274,39 +340,53 @@ public class Publication implements AutoCloseable
         }
     }
 
-    private long newPosition(
-        final int activeTermId, final int activeIndex, final int currentTail, final long position, final int nextOffset)
+    private long appendStatus(final int activeTermId, final TermAppender termAppender)
+    {
+        if (CLEAN != termAppender.status())
+        {
+            return BACK_PRESSURE;
+        }
+
+        final int currentTail = termAppender.tailVolatile();
+        final long position = computePosition(activeTermId, currentTail, positionBitsToShift, initialTermId);
+        if (currentTail >= termAppender.termBuffer().capacity() || position >= publicationLimit.getVolatile())
+        {
+            return NOT_CONNECTED;
+        }
+
+        return APPENDABLE;
+    }
+
+    private long newPosition(final int activeTermId, final int nextOffset)
     {
-        final long newPosition;
-        switch (nextOffset)
+        if (nextOffset >= 0)
+        {
+            return computePosition(activeTermId, nextOffset, positionBitsToShift, initialTermId);
+        }
+
+        if (TermAppender.TRIPPED == nextOffset)
         {
-            case TermAppender.TRIPPED:
-                final int newTermId = activeTermId + 1;
-                final int nextIndex = nextPartitionIndex(activeIndex);
-
-                final TermAppender[] termAppenders = this.termAppenders;
-                termAppenders[nextIndex].defaultHeader().putInt(TERM_ID_FIELD_OFFSET, newTermId, LITTLE_ENDIAN);
-
-                final int previousIndex = previousPartitionIndex(activeIndex);
-                final TermAppender previousAppender = termAppenders[previousIndex];
-
-                // Need to advance the term id in case a publication takes an interrupt between reading the active term
-                // and incrementing the tail. This covers the case of interrupt talking over one term in duration.
-                previousAppender.defaultHeader().putInt(TERM_ID_FIELD_OFFSET, newTermId + 1, LITTLE_ENDIAN);
-                previousAppender.statusOrdered(NEEDS_CLEANING);
-                LogBufferDescriptor.activeTermId(logMetaDataBuffer, newTermId);
-
-                // fall through
-            case TermAppender.FAILED:
-                newPosition = BACK_PRESSURE;
-                break;
-
-            default:
-                newPosition = (position - currentTail) + nextOffset;
-                break;
+            rotateTerm(activeTermId);
         }
 
-        return newPosition;
+        return BACK_PRESSURE;
+    }
+
+    private void rotateTerm(final int activeTermId)
+    {
+        final int newTermId = activeTermId + 1;
+        final int activeIndex = indexByTerm(initialTermId, activeTermId);
+
+        final TermAppender[] termAppenders = this.termAppenders;
+        termAppenders[nextPartitionIndex(activeIndex)].defaultHeader().putInt(TERM_ID_FIELD_OFFSET, newTermId, LITTLE_ENDIAN);
+
+        final TermAppender previousAppender = termAppenders[previousPartitionIndex(activeIndex)];
+
+        // Need to advance the term id in case a publication takes an interrupt between reading the active term
+        // and incrementing the tail. This covers the case of interrupt talking over one term in duration.
+        previousAppender.defaultHeader().putInt(TERM_ID_FIELD_OFFSET, newTermId + 1, LITTLE_ENDIAN);
+        previousAppender.statusOrdered(NEEDS_CLEANING);
+        LogBufferDescriptor.activeTermId(logMetaDataBuffer, newTermId);
     }
 
     private void ensureOpen()
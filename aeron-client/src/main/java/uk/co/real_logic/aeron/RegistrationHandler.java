@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+/**
+ * Interface for delivery of completion events for asynchronous registrations made via
+ * {@link Aeron#asyncAddPublication(String, int)} and {@link Aeron#asyncAddSubscription(String, int,
+ * uk.co.real_logic.aeron.common.concurrent.logbuffer.DataHandler)}.
+ */
+@FunctionalInterface
+public interface RegistrationHandler
+{
+    /**
+     * Method called by Aeron on the client conductor thread when an asynchronous registration has completed either
+     * successfully or with an error. The result can then be collected without waiting via
+     * {@link Aeron#getPublication(long)} or {@link Aeron#getSubscription(long)}.
+     *
+     * @param registrationId of the completed registration.
+     */
+    void onRegistrationComplete(long registrationId);
+}
@@ -16,6 +16,8 @@
 package uk.co.real_logic.aeron;
 
 import uk.co.real_logic.agrona.concurrent.AtomicArray;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.BlockHandler;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.ControlledDataHandler;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.DataHandler;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.TermReader;
 import uk.co.real_logic.agrona.concurrent.status.Position;
@@ -43,7 +45,11 @@ public class Subscription implements AutoCloseable
     private final ClientConductor clientConductor;
     private final AtomicArray<Connection> connections = new AtomicArray<>();
     private final DataHandler dataHandler;
+    private final AtomicArray.ToIntLimitedFunction<Connection> controlledPollFunc = this::controlledPollConnection;
+    private final AtomicArray.ToIntLimitedFunction<Connection> blockPollFunc = this::blockPollConnection;
 
+    private ControlledDataHandler controlledDataHandler;
+    private BlockHandler blockHandler;
     private int roundRobinIndex = 0;
     private volatile boolean isClosed = false;
 
@@ -103,6 +109,66 @@ public class Subscription implements AutoCloseable
         return connections.doLimitedAction(roundRobinIndex, fragmentCountLimit, Connection::poll);
     }
 
+    /**
+     * Read waiting data and deliver to a {@link ControlledDataHandler} which controls whether each fragment is
+     * consumed and when the subscriber position is committed.
+     *
+     * A fragment for which the handler returns {@link ControlledDataHandler.Action#ABORT} is not consumed and will be
+     * delivered again on the next poll. Once all connections have been polled
+     * {@link ControlledDataHandler#onBatchEnd(int)} is called with the total number of fragments read.
+     *
+     * @param dataHandler        to receive the fragments and control the position.
+     * @param fragmentCountLimit number of message fragments to limit for a single poll operation.
+     * @return the number of fragments received
+     * @throws IllegalStateException if the subscription is closed.
+     */
+    public int controlledPoll(final ControlledDataHandler dataHandler, final int fragmentCountLimit)
+    {
+        ensureOpen();
+
+        if (connections.size() >= ++roundRobinIndex)
+        {
+            roundRobinIndex = 0;
+        }
+
+        controlledDataHandler = dataHandler;
+
+        final int fragmentsRead = connections.doLimitedAction(roundRobinIndex, fragmentCountLimit, controlledPollFunc);
+
+        dataHandler.onBatchEnd(fragmentsRead);
+
+        return fragmentsRead;
+    }
+
+    /**
+     * Read waiting data as blocks of contiguous frames and deliver them to a {@link BlockHandler}.
+     *
+     * Each block is the largest run of committed frames, including headers, available in the current term of a
+     * connection up to the remaining byte limit. The subscriber position is advanced by the whole block so this is
+     * suited to consumers which archive or forward the bytes rather than processing each message.
+     *
+     * A block always contains at least one whole frame, so a frame longer than the byte limit is still delivered on
+     * its own and the limit may be exceeded by up to one frame, which is at most the MTU length.
+     *
+     * @param blockHandler to receive the blocks of frames.
+     * @param byteLimit    number of bytes to limit for a single poll operation across all connections.
+     * @return the number of bytes consumed.
+     * @throws IllegalStateException if the subscription is closed.
+     */
+    public int blockPoll(final BlockHandler blockHandler, final int byteLimit)
+    {
+        ensureOpen();
+
+        if (connections.size() >= ++roundRobinIndex)
+        {
+            roundRobinIndex = 0;
+        }
+
+        this.blockHandler = blockHandler;
+
+        return connections.doLimitedAction(roundRobinIndex, byteLimit, blockPollFunc);
+    }
+
     /**
      * Release the Subscription so that associated buffers can be released.
      */
@@ -154,6 +220,16 @@ public class Subscription implements AutoCloseable
         return connections.isEmpty();
     }
 
+    private int controlledPollConnection(final Connection connection, final int fragmentCountLimit)
+    {
+        return connection.controlledPoll(controlledDataHandler, fragmentCountLimit);
+    }
+
+    private int blockPollConnection(final Connection connection, final int byteLimit)
+    {
+        return connection.blockPoll(blockHandler, byteLimit);
+    }
+
     private void ensureOpen()
     {
         if (isClosed)
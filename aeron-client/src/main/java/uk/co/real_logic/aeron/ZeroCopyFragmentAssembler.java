@@ -0,0 +1,410 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.DataHandler;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.Header;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.MessageFragments;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.MessageFragmentsHandler;
+import uk.co.real_logic.agrona.BitUtil;
+import uk.co.real_logic.agrona.DirectBuffer;
+import uk.co.real_logic.agrona.collections.BiInt2ObjectMap;
+import uk.co.real_logic.agrona.concurrent.NanoClock;
+import uk.co.real_logic.agrona.concurrent.SystemNanoClock;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.*;
+import static uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static uk.co.real_logic.agrona.BitUtil.align;
+
+/**
+ * A {@link DataHandler} that reassembles fragmented messages and delegates whole messages to a
+ * {@link MessageFragmentsHandler} as a scatter view.
+ * <p>
+ * Fragments of a message are normally appended contiguously in a single term with only the frame headers between
+ * them. In this case the message is delegated as a view over the fragments in the term without copy. If the
+ * fragments are not contiguous then the message is copied to an off-heap buffer for reassembly.
+ * <p>
+ * Partial messages are tracked by session id and stream id. Off-heap reassembly buffers are pooled for reuse and the
+ * total bytes allocated is capped, messages which would exceed the cap are dropped. Partial messages which have not
+ * completed within a timeout can be evicted by calling {@link #evictStalePartialMessages()}.
+ * <p>
+ * <b>Note:</b> This class is NOT threadsafe.
+ */
+public class ZeroCopyFragmentAssembler implements DataHandler
+{
+    /**
+     * Default maximum bytes that can be allocated for reassembly buffers when fragments are not contiguous.
+     */
+    public static final int DEFAULT_MAX_ASSEMBLY_BYTES = 64 * 1024 * 1024;
+
+    /**
+     * Default timeout after which a partial message is considered stale.
+     */
+    public static final long DEFAULT_STALE_TIMEOUT_NS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final int MIN_ASSEMBLY_BUFFER_CAPACITY = 4096;
+
+    private final MessageFragmentsHandler delegate;
+    private final int maxAssemblyBytes;
+    private final long staleTimeoutNs;
+    private final NanoClock clock;
+    private final AssemblyHeader assemblyHeader = new AssemblyHeader();
+    private final MessageFragments messageFragments = new MessageFragments();
+    private final BiInt2ObjectMap<PartialMessage> partialMessageBySessionAndStreamMap = new BiInt2ObjectMap<>();
+    private final ArrayDeque<PartialMessage> partialMessagePool = new ArrayDeque<>();
+    private final ArrayList<PartialMessage> stalePartialMessages = new ArrayList<>();
+    private int assemblyBytes = 0;
+    private long droppedMessageCount = 0;
+
+    /**
+     * Construct an assembler to reassemble message fragments and delegate on only whole messages.
+     *
+     * @param delegate onto which whole messages are forwarded.
+     */
+    public ZeroCopyFragmentAssembler(final MessageFragmentsHandler delegate)
+    {
+        this(delegate, DEFAULT_MAX_ASSEMBLY_BYTES, DEFAULT_STALE_TIMEOUT_NS, new SystemNanoClock());
+    }
+
+    /**
+     * Construct an assembler to reassemble message fragments and delegate on only whole messages.
+     *
+     * @param delegate         onto which whole messages are forwarded.
+     * @param maxAssemblyBytes that can be allocated for reassembly buffers across all partial messages.
+     * @param staleTimeoutNs   after which a partial message can be evicted.
+     * @param clock            for tracking the age of partial messages.
+     */
+    public ZeroCopyFragmentAssembler(
+        final MessageFragmentsHandler delegate,
+        final int maxAssemblyBytes,
+        final long staleTimeoutNs,
+        final NanoClock clock)
+    {
+        this.delegate = delegate;
+        this.maxAssemblyBytes = maxAssemblyBytes;
+        this.staleTimeoutNs = staleTimeoutNs;
+        this.clock = clock;
+    }
+
+    /**
+     * The implementation of {@link DataHandler} that reassembles and forwards whole messages.
+     *
+     * @param buffer containing the data.
+     * @param offset at which the data begins.
+     * @param length of the data in bytes.
+     * @param header representing the meta data for the data.
+     */
+    public void onData(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        final byte flags = header.flags();
+
+        if ((flags & UNFRAGMENTED) == UNFRAGMENTED)
+        {
+            delegate.onMessage(messageFragments.wrap(buffer, offset, length), header);
+        }
+        else if ((flags & BEGIN_FRAG) == BEGIN_FRAG)
+        {
+            onBeginFragment(buffer, offset, length, header);
+        }
+        else
+        {
+            final PartialMessage partialMessage = partialMessageBySessionAndStreamMap.get(
+                header.sessionId(), header.streamId());
+
+            if (null != partialMessage && onFragment(partialMessage, buffer, offset, length, header))
+            {
+                if ((flags & END_FRAG) == END_FRAG)
+                {
+                    onEndFragment(partialMessage, header);
+                }
+            }
+        }
+    }
+
+    /**
+     * Evict partial messages for which the final fragment has not arrived within the stale timeout so their
+     * reassembly buffers can be reused.
+     *
+     * @return the number of partial messages evicted.
+     */
+    public int evictStalePartialMessages()
+    {
+        final long now = clock.time();
+        partialMessageBySessionAndStreamMap.forEach(
+            (final PartialMessage partialMessage) ->
+            {
+                if (now - partialMessage.beginTimeNs > staleTimeoutNs)
+                {
+                    stalePartialMessages.add(partialMessage);
+                }
+            });
+
+        final int evictedCount = stalePartialMessages.size();
+        for (int i = 0; i < evictedCount; i++)
+        {
+            release(stalePartialMessages.get(i));
+        }
+
+        stalePartialMessages.clear();
+        droppedMessageCount += evictedCount;
+
+        return evictedCount;
+    }
+
+    /**
+     * Free a partial message, if any, when a connection goes inactive.
+     *
+     * @param sessionId of the connection.
+     * @param streamId  of the connection.
+     * @return true if a partial message has been freed otherwise false.
+     */
+    public boolean freePartialMessage(final int sessionId, final int streamId)
+    {
+        final PartialMessage partialMessage = partialMessageBySessionAndStreamMap.get(sessionId, streamId);
+        if (null != partialMessage)
+        {
+            release(partialMessage);
+        }
+
+        return null != partialMessage;
+    }
+
+    /**
+     * Total bytes currently allocated to off-heap reassembly buffers including those in the pool.
+     *
+     * @return total bytes currently allocated to off-heap reassembly buffers.
+     */
+    public int assemblyBytes()
+    {
+        return assemblyBytes;
+    }
+
+    /**
+     * Number of partial messages which have been dropped due to eviction or exceeding the assembly bytes cap.
+     *
+     * @return number of partial messages which have been dropped.
+     */
+    public long droppedMessageCount()
+    {
+        return droppedMessageCount;
+    }
+
+    private void onBeginFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        final int sessionId = header.sessionId();
+        final int streamId = header.streamId();
+
+        PartialMessage partialMessage = partialMessageBySessionAndStreamMap.get(sessionId, streamId);
+        if (null == partialMessage)
+        {
+            partialMessage = partialMessagePool.poll();
+            if (null == partialMessage)
+            {
+                partialMessage = new PartialMessage();
+            }
+
+            partialMessageBySessionAndStreamMap.put(sessionId, streamId, partialMessage);
+        }
+
+        partialMessage.begin(sessionId, streamId, buffer, offset, length, header.termId(), header.offset(), clock.time());
+    }
+
+    private boolean onFragment(
+        final PartialMessage partialMessage,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final Header header)
+    {
+        boolean isAssembling = true;
+
+        if (!partialMessage.isCopying && partialMessage.isContiguous(buffer, header.termId(), header.offset()))
+        {
+            partialMessage.extend(length, header.offset());
+        }
+        else if (ensureCopyCapacity(partialMessage, partialMessage.length + length))
+        {
+            if (!partialMessage.isCopying)
+            {
+                partialMessage.wrapFragmentsInTerm(messageFragments);
+                messageFragments.getBytes(0, partialMessage.copyBuffer, 0, partialMessage.length);
+                partialMessage.isCopying = true;
+            }
+
+            partialMessage.copyBuffer.putBytes(partialMessage.length, buffer, offset, length);
+            partialMessage.length += length;
+        }
+        else
+        {
+            release(partialMessage);
+            droppedMessageCount++;
+            isAssembling = false;
+        }
+
+        return isAssembling;
+    }
+
+    private void onEndFragment(final PartialMessage partialMessage, final Header header)
+    {
+        final int msgLength = partialMessage.length;
+
+        if (partialMessage.isCopying)
+        {
+            messageFragments.wrap(partialMessage.copyBuffer, 0, msgLength);
+        }
+        else
+        {
+            partialMessage.wrapFragmentsInTerm(messageFragments);
+        }
+
+        try
+        {
+            delegate.onMessage(messageFragments, assemblyHeader.reset(header, msgLength));
+        }
+        finally
+        {
+            release(partialMessage);
+        }
+    }
+
+    private boolean ensureCopyCapacity(final PartialMessage partialMessage, final int requiredCapacity)
+    {
+        final UnsafeBuffer copyBuffer = partialMessage.copyBuffer;
+        final int capacity = null == copyBuffer ? 0 : copyBuffer.capacity();
+        boolean hasCapacity = true;
+
+        if (requiredCapacity > capacity)
+        {
+            final int newCapacity =
+                Math.max(MIN_ASSEMBLY_BUFFER_CAPACITY, BitUtil.findNextPositivePowerOfTwo(requiredCapacity));
+
+            if (assemblyBytes + (newCapacity - capacity) > maxAssemblyBytes)
+            {
+                trimPool();
+            }
+
+            if (requiredCapacity < 0 || assemblyBytes + (newCapacity - capacity) > maxAssemblyBytes)
+            {
+                hasCapacity = false;
+            }
+            else
+            {
+                final UnsafeBuffer newBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(newCapacity));
+                if (partialMessage.isCopying)
+                {
+                    newBuffer.putBytes(0, copyBuffer, 0, partialMessage.length);
+                }
+
+                partialMessage.copyBuffer = newBuffer;
+                assemblyBytes += newCapacity - capacity;
+            }
+        }
+
+        return hasCapacity;
+    }
+
+    private void trimPool()
+    {
+        for (final PartialMessage partialMessage : partialMessagePool)
+        {
+            if (null != partialMessage.copyBuffer)
+            {
+                assemblyBytes -= partialMessage.copyBuffer.capacity();
+                partialMessage.copyBuffer = null;
+            }
+        }
+    }
+
+    private void release(final PartialMessage partialMessage)
+    {
+        partialMessageBySessionAndStreamMap.remove(partialMessage.sessionId, partialMessage.streamId);
+        partialMessage.reset();
+        partialMessagePool.add(partialMessage);
+    }
+
+    private static class PartialMessage
+    {
+        private int sessionId;
+        private int streamId;
+        private int termId;
+        private int firstFragmentOffset;
+        private int firstFragmentLength;
+        private int lastFragmentLength;
+        private int nextFrameOffset;
+        private int length;
+        private long beginTimeNs;
+        private boolean isCopying;
+        private DirectBuffer termBuffer;
+        private UnsafeBuffer copyBuffer;
+
+        public void begin(
+            final int sessionId,
+            final int streamId,
+            final DirectBuffer termBuffer,
+            final int offset,
+            final int length,
+            final int termId,
+            final int frameOffset,
+            final long nowNs)
+        {
+            this.sessionId = sessionId;
+            this.streamId = streamId;
+            this.termBuffer = termBuffer;
+            this.termId = termId;
+            this.firstFragmentOffset = offset;
+            this.firstFragmentLength = length;
+            this.lastFragmentLength = length;
+            this.nextFrameOffset = frameOffset + align(length + HEADER_LENGTH, FRAME_ALIGNMENT);
+            this.length = length;
+            this.beginTimeNs = nowNs;
+            this.isCopying = false;
+        }
+
+        public boolean isContiguous(final DirectBuffer buffer, final int termId, final int frameOffset)
+        {
+            return buffer == termBuffer &&
+                termId == this.termId &&
+                frameOffset == nextFrameOffset &&
+                lastFragmentLength == firstFragmentLength;
+        }
+
+        public void extend(final int length, final int frameOffset)
+        {
+            this.length += length;
+            lastFragmentLength = length;
+            nextFrameOffset = frameOffset + align(length + HEADER_LENGTH, FRAME_ALIGNMENT);
+        }
+
+        public void wrapFragmentsInTerm(final MessageFragments messageFragments)
+        {
+            final int stride = align(firstFragmentLength + HEADER_LENGTH, FRAME_ALIGNMENT);
+            messageFragments.wrap(termBuffer, firstFragmentOffset, length, firstFragmentLength, stride);
+        }
+
+        public void reset()
+        {
+            termBuffer = null;
+            length = 0;
+            isCopying = false;
+        }
+    }
+}
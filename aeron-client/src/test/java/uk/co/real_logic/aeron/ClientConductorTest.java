@@ -17,8 +17,10 @@ package uk.co.real_logic.aeron;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import uk.co.real_logic.agrona.TimerWheel;
 import uk.co.real_logic.aeron.common.command.ConnectionBuffersReadyFlyweight;
+import uk.co.real_logic.aeron.common.command.CorrelatedMessageFlyweight;
 import uk.co.real_logic.aeron.common.command.PublicationBuffersReadyFlyweight;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.DataHandler;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor;
@@ -37,12 +39,14 @@ import uk.co.real_logic.agrona.concurrent.broadcast.CopyBroadcastReceiver;
 import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 import static uk.co.real_logic.aeron.common.ErrorCode.INVALID_CHANNEL;
 import static uk.co.real_logic.aeron.common.command.ControlProtocolEvents.ON_CONNECTION_READY;
+import static uk.co.real_logic.aeron.common.command.ControlProtocolEvents.ON_OPERATION_SUCCESS;
 import static uk.co.real_logic.aeron.common.command.ControlProtocolEvents.ON_PUBLICATION_READY;
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
 
@@ -71,6 +75,7 @@ public class ClientConductorTest
     private final PublicationBuffersReadyFlyweight publicationReady = new PublicationBuffersReadyFlyweight();
     private final ConnectionBuffersReadyFlyweight connectionReady = new ConnectionBuffersReadyFlyweight();
     private final ErrorFlyweight errorHeader = new ErrorFlyweight();
+    private final CorrelatedMessageFlyweight correlatedMessage = new CorrelatedMessageFlyweight();
 
     private final ByteBuffer sendBuffer = ByteBuffer.allocate(SEND_BUFFER_CAPACITY);
     private final UnsafeBuffer atomicSendBuffer = new UnsafeBuffer(sendBuffer);
@@ -89,7 +94,10 @@ public class ClientConductorTest
     private ClientConductor conductor;
     private DataHandler dataHandler = mock(DataHandler.class);
     private InactiveConnectionHandler mockInactiveConnectionHandler = mock(InactiveConnectionHandler.class);
+    private RegistrationHandler mockRegistrationHandler = mock(RegistrationHandler.class);
     private LogBuffersFactory logBuffersFactory = mock(LogBuffersFactory.class);
+    private LogBuffers logBuffersSession1 = mock(LogBuffers.class);
+    private LogBuffers logBuffersSession2 = mock(LogBuffers.class);
 
     @Before
     public void setUp() throws Exception
@@ -113,11 +121,13 @@ public class ClientConductorTest
             mockClientErrorHandler,
             null,
             mockInactiveConnectionHandler,
+            mockRegistrationHandler,
             AWAIT_TIMEOUT);
 
         publicationReady.wrap(atomicSendBuffer, 0);
         connectionReady.wrap(atomicSendBuffer, 0);
         errorHeader.wrap(atomicSendBuffer, 0);
+        correlatedMessage.wrap(atomicSendBuffer, 0);
 
         final UnsafeBuffer[] atomicBuffersSession1 = new UnsafeBuffer[NUM_BUFFERS];
         final UnsafeBuffer[] atomicBuffersSession2 = new UnsafeBuffer[NUM_BUFFERS];
@@ -144,9 +154,6 @@ public class ClientConductorTest
         LogBufferDescriptor.storeDefaultFrameHeaders(atomicBuffersSession1[LOG_META_DATA_SECTION_INDEX], header1);
         LogBufferDescriptor.storeDefaultFrameHeaders(atomicBuffersSession2[LOG_META_DATA_SECTION_INDEX], header2);
 
-        final LogBuffers logBuffersSession1 = mock(LogBuffers.class);
-        final LogBuffers logBuffersSession2 = mock(LogBuffers.class);
-
         when(logBuffersFactory.map(eq(SESSION_ID_1 + "-log"))).thenReturn(logBuffersSession1);
         when(logBuffersFactory.map(eq(SESSION_ID_2 + "-log"))).thenReturn(logBuffersSession2);
 
@@ -253,6 +260,35 @@ public class ClientConductorTest
         verify(driverProxy, never()).removePublication(CORRELATION_ID_2);
     }
 
+    @Test
+    public void conductorDoesNotCacheExclusivePublicationInstances()
+    {
+        final ExclusivePublication firstPublication = conductor.addExclusivePublication(CHANNEL, STREAM_ID_1, SESSION_ID_1);
+        final ExclusivePublication secondPublication = conductor.addExclusivePublication(CHANNEL, STREAM_ID_1, SESSION_ID_1);
+
+        assertThat(firstPublication, not(sameInstance(secondPublication)));
+        verify(driverProxy, times(2)).addPublication(CHANNEL, STREAM_ID_1, SESSION_ID_1);
+    }
+
+    @Test
+    public void closingExclusivePublicationShouldNotifyMediaDriver() throws Exception
+    {
+        final ExclusivePublication publication = conductor.addExclusivePublication(CHANNEL, STREAM_ID_1, SESSION_ID_1);
+        willNotifyOperationSucceeded();
+
+        publication.close();
+
+        verify(driverProxy).removePublication(CORRELATION_ID);
+    }
+
+    @Test
+    public void addingPublicationAfterExclusivePublicationShouldNotBeExclusive()
+    {
+        conductor.addExclusivePublication(CHANNEL, STREAM_ID_1, SESSION_ID_1);
+
+        assertNotNull(addPublication());
+    }
+
     // ---------------------------------
     // Subscription related interactions
     // ---------------------------------
@@ -320,11 +356,161 @@ public class ClientConductorTest
         assertFalse(subscription.isConnected(SESSION_ID_1));
     }
 
+    @Test
+    public void subscriptionsShouldShareMappedConnectionLog()
+    {
+        willNotifyOperationSucceeded();
+        when(logBuffersSession1.retain()).thenReturn(true);
+
+        final Subscription subscriptionOne = addSubscription();
+        final Subscription subscriptionTwo = addSubscription();
+
+        sendConnectionReady(SESSION_ID_1, STREAM_ID_1, CORRELATION_ID);
+        conductor.doWork();
+
+        assertTrue(subscriptionOne.isConnected(SESSION_ID_1));
+        assertTrue(subscriptionTwo.isConnected(SESSION_ID_1));
+        verify(logBuffersFactory, times(1)).map(SESSION_ID_1 + "-log");
+        verify(logBuffersSession1, times(1)).retain();
+    }
+
+    @Test
+    public void shouldRemapConnectionLogOnceClosed()
+    {
+        willNotifyOperationSucceeded();
+        when(logBuffersSession1.retain()).thenReturn(false);
+
+        final Subscription subscriptionOne = addSubscription();
+        final Subscription subscriptionTwo = addSubscription();
+
+        sendConnectionReady(SESSION_ID_1, STREAM_ID_1, CORRELATION_ID);
+        conductor.doWork();
+
+        assertTrue(subscriptionOne.isConnected(SESSION_ID_1));
+        assertTrue(subscriptionTwo.isConnected(SESSION_ID_1));
+        verify(logBuffersFactory, times(2)).map(SESSION_ID_1 + "-log");
+    }
+
+    // ------------------------------------
+    // Asynchronous registration interactions
+    // ------------------------------------
+
+    @Test
+    public void asyncPublicationShouldCompleteWhenBuffersReady()
+    {
+        final long registrationId = conductor.asyncAddPublication(CHANNEL, STREAM_ID_2, SESSION_ID_2);
+
+        assertThat(registrationId, is(CORRELATION_ID_2));
+        assertNull(conductor.getPublication(registrationId));
+        verify(signal, never()).await(anyLong());
+
+        sendPublicationReady(SESSION_ID_2, STREAM_ID_2, CORRELATION_ID_2);
+        conductor.doWork();
+
+        verify(mockRegistrationHandler).onRegistrationComplete(CORRELATION_ID_2);
+
+        final Publication publication = conductor.getPublication(registrationId);
+        assertNotNull(publication);
+        assertThat(publication.sessionId(), is(SESSION_ID_2));
+        assertThat(publication.streamId(), is(STREAM_ID_2));
+    }
+
+    @Test
+    public void asyncSubscriptionShouldCompleteOnOperationSuccess()
+    {
+        final long registrationId = conductor.asyncAddSubscription(CHANNEL, STREAM_ID_1, dataHandler);
+
+        assertNull(conductor.getSubscription(registrationId));
+
+        sendOperationSucceeded(registrationId);
+        conductor.doWork();
+
+        verify(mockRegistrationHandler).onRegistrationComplete(registrationId);
+
+        final Subscription subscription = conductor.getSubscription(registrationId);
+        assertNotNull(subscription);
+        assertThat(subscription.streamId(), is(STREAM_ID_1));
+    }
+
+    @Test(expected = RegistrationException.class)
+    public void asyncSubscriptionShouldFailOnMediaDriverError()
+    {
+        final long registrationId = conductor.asyncAddSubscription(CHANNEL, STREAM_ID_1, dataHandler);
+
+        conductor.onAsyncError(INVALID_CHANNEL, "Multicast data address must be odd", registrationId);
+
+        verify(mockRegistrationHandler).onRegistrationComplete(registrationId);
+
+        conductor.getSubscription(registrationId);
+    }
+
+    @Test
+    public void asyncSubscriptionShouldNotReceiveConnectionsAfterError()
+    {
+        final long registrationId = conductor.asyncAddSubscription(CHANNEL, STREAM_ID_1, dataHandler);
+
+        conductor.onAsyncError(INVALID_CHANNEL, "Multicast data address must be odd", registrationId);
+
+        sendConnectionReady(SESSION_ID_1, STREAM_ID_1, registrationId);
+        conductor.doWork();
+
+        verify(logBuffersFactory, never()).map(SESSION_ID_1 + "-log");
+    }
+
+    @Test
+    public void asyncSubscriptionShouldBeRemovedWhenSucceededAfterTimeout() throws Exception
+    {
+        final long registrationId = conductor.asyncAddSubscription(CHANNEL, STREAM_ID_1, dataHandler);
+
+        expireAsyncRegistrations();
+        verify(mockRegistrationHandler).onRegistrationComplete(registrationId);
+
+        sendOperationSucceeded(registrationId);
+        conductor.doWork();
+
+        verify(driverProxy).removeSubscription(registrationId);
+
+        sendConnectionReady(SESSION_ID_1, STREAM_ID_1, registrationId);
+        conductor.doWork();
+
+        verify(logBuffersFactory, never()).map(SESSION_ID_1 + "-log");
+    }
+
+    @Test
+    public void asyncPublicationShouldBeRemovedWhenReadyAfterTimeout() throws Exception
+    {
+        final long registrationId = conductor.asyncAddPublication(CHANNEL, STREAM_ID_2, SESSION_ID_2);
+
+        expireAsyncRegistrations();
+
+        sendPublicationReady(SESSION_ID_2, STREAM_ID_2, CORRELATION_ID_2);
+        conductor.doWork();
+
+        verify(driverProxy).removePublication(registrationId);
+        verify(logBuffersFactory, never()).map(SESSION_ID_2 + "-log");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnknownAsyncRegistration()
+    {
+        conductor.getPublication(CORRELATION_ID);
+    }
+
     private Subscription addSubscription()
     {
         return conductor.addSubscription(CHANNEL, STREAM_ID_1, dataHandler);
     }
 
+    private void expireAsyncRegistrations() throws Exception
+    {
+        final ArgumentCaptor<Runnable> keepaliveCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(timerWheel).newTimeout(anyLong(), any(), keepaliveCaptor.capture());
+        when(timerWheel.clock()).thenReturn(() -> 0L);
+
+        Thread.sleep(AWAIT_TIMEOUT * 2);
+        keepaliveCaptor.getValue().run();
+    }
+
     private void sendPublicationReady(final int sessionId, final int streamId, final long correlationId)
     {
         publicationReady.streamId(streamId)
@@ -354,6 +540,13 @@ public class ClientConductorTest
         toClientTransmitter.transmit(ON_CONNECTION_READY, atomicSendBuffer, 0, connectionReady.length());
     }
 
+    private void sendOperationSucceeded(final long correlationId)
+    {
+        correlatedMessage.correlationId(correlationId);
+
+        toClientTransmitter.transmit(ON_OPERATION_SUCCESS, atomicSendBuffer, 0, CorrelatedMessageFlyweight.LENGTH);
+    }
+
     private void willSignalTimeOut()
     {
         doAnswer(
@@ -31,10 +31,12 @@ import java.nio.ByteBuffer;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
 import static uk.co.real_logic.agrona.BitUtil.align;
 
@@ -62,6 +64,8 @@ public class ConnectionTest
     private final UnsafeBuffer rcvBuffer = new UnsafeBuffer(new byte[ALIGNED_FRAME_LENGTH]);
     private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
     private final DataHandler mockDataHandler = mock(DataHandler.class);
+    private final BlockHandler mockBlockHandler = mock(BlockHandler.class);
+    private final ControlledDataHandler mockControlledDataHandler = mock(ControlledDataHandler.class);
     private final Position position = spy(new AtomicLongPosition());
     private final LogBuffers logBuffers = mock(LogBuffers.class);
 
@@ -157,6 +161,157 @@ public class ConnectionTest
         inOrder.verify(position).setOrdered(initialPosition + ALIGNED_FRAME_LENGTH);
     }
 
+    @Test
+    public void shouldNotAdvancePositionOnAbortInControlledPoll()
+    {
+        final long initialPosition = computePosition(INITIAL_TERM_ID, 0, POSITION_BITS_TO_SHIFT, INITIAL_TERM_ID);
+        final Connection connection = createConnection(initialPosition);
+
+        when(mockControlledDataHandler.onData(any(UnsafeBuffer.class), anyInt(), anyInt(), any(Header.class)))
+            .thenReturn(ControlledDataHandler.Action.ABORT);
+
+        insertDataFrame(INITIAL_TERM_ID, offsetOfFrame(0));
+
+        final int fragmentsRead = connection.controlledPoll(mockControlledDataHandler, Integer.MAX_VALUE);
+        assertThat(fragmentsRead, is(0));
+        assertThat(position.get(), is(initialPosition));
+
+        verify(mockControlledDataHandler).onData(
+            any(UnsafeBuffer.class),
+            eq(DataHeaderFlyweight.HEADER_LENGTH),
+            eq(DATA.length),
+            any(Header.class));
+    }
+
+    @Test
+    public void shouldPollOneFragmentToControlledDataHandlerOnBreak()
+    {
+        final long initialPosition = computePosition(INITIAL_TERM_ID, 0, POSITION_BITS_TO_SHIFT, INITIAL_TERM_ID);
+        final Connection connection = createConnection(initialPosition);
+
+        when(mockControlledDataHandler.onData(any(UnsafeBuffer.class), anyInt(), anyInt(), any(Header.class)))
+            .thenReturn(ControlledDataHandler.Action.BREAK);
+
+        insertDataFrame(INITIAL_TERM_ID, offsetOfFrame(0));
+        insertDataFrame(INITIAL_TERM_ID, offsetOfFrame(1));
+
+        final int fragmentsRead = connection.controlledPoll(mockControlledDataHandler, Integer.MAX_VALUE);
+        assertThat(fragmentsRead, is(1));
+
+        verify(mockControlledDataHandler).onData(
+            any(UnsafeBuffer.class),
+            eq(DataHeaderFlyweight.HEADER_LENGTH),
+            eq(DATA.length),
+            any(Header.class));
+
+        final InOrder inOrder = Mockito.inOrder(position);
+        inOrder.verify(position).setOrdered(initialPosition);
+        inOrder.verify(position).setOrdered(initialPosition + ALIGNED_FRAME_LENGTH);
+    }
+
+    @Test
+    public void shouldPollFragmentsToControlledDataHandlerOnCommit()
+    {
+        final long initialPosition = computePosition(INITIAL_TERM_ID, 0, POSITION_BITS_TO_SHIFT, INITIAL_TERM_ID);
+        final Connection connection = createConnection(initialPosition);
+
+        when(mockControlledDataHandler.onData(any(UnsafeBuffer.class), anyInt(), anyInt(), any(Header.class)))
+            .thenReturn(ControlledDataHandler.Action.COMMIT);
+
+        insertDataFrame(INITIAL_TERM_ID, offsetOfFrame(0));
+        insertDataFrame(INITIAL_TERM_ID, offsetOfFrame(1));
+
+        final int fragmentsRead = connection.controlledPoll(mockControlledDataHandler, Integer.MAX_VALUE);
+        assertThat(fragmentsRead, is(2));
+
+        final InOrder inOrder = Mockito.inOrder(position, mockControlledDataHandler);
+        inOrder.verify(position).setOrdered(initialPosition);
+        inOrder.verify(mockControlledDataHandler).onData(
+            any(UnsafeBuffer.class),
+            eq(DataHeaderFlyweight.HEADER_LENGTH),
+            eq(DATA.length),
+            any(Header.class));
+        inOrder.verify(position).setOrdered(initialPosition + ALIGNED_FRAME_LENGTH);
+        inOrder.verify(mockControlledDataHandler).onData(
+            any(UnsafeBuffer.class),
+            eq(ALIGNED_FRAME_LENGTH + DataHeaderFlyweight.HEADER_LENGTH),
+            eq(DATA.length),
+            any(Header.class));
+        inOrder.verify(position).setOrdered(initialPosition + (ALIGNED_FRAME_LENGTH * 2));
+    }
+
+    @Test
+    public void shouldCommitPositionBeforeAbortInControlledPoll()
+    {
+        final long initialPosition = computePosition(INITIAL_TERM_ID, 0, POSITION_BITS_TO_SHIFT, INITIAL_TERM_ID);
+        final Connection connection = createConnection(initialPosition);
+
+        when(mockControlledDataHandler.onData(any(UnsafeBuffer.class), anyInt(), anyInt(), any(Header.class)))
+            .thenReturn(ControlledDataHandler.Action.CONTINUE)
+            .thenReturn(ControlledDataHandler.Action.ABORT);
+
+        insertDataFrame(INITIAL_TERM_ID, offsetOfFrame(0));
+        insertDataFrame(INITIAL_TERM_ID, offsetOfFrame(1));
+
+        final int fragmentsRead = connection.controlledPoll(mockControlledDataHandler, Integer.MAX_VALUE);
+        assertThat(fragmentsRead, is(1));
+        assertThat(position.get(), is(initialPosition + ALIGNED_FRAME_LENGTH));
+    }
+
+    @Test
+    public void shouldPollBlockOfContiguousFramesAndAdvancePosition()
+    {
+        final long initialPosition = computePosition(INITIAL_TERM_ID, 0, POSITION_BITS_TO_SHIFT, INITIAL_TERM_ID);
+        final Connection connection = createConnection(initialPosition);
+
+        insertDataFrame(INITIAL_TERM_ID, offsetOfFrame(0));
+        insertDataFrame(INITIAL_TERM_ID, offsetOfFrame(1));
+
+        final int bytesConsumed = connection.blockPoll(mockBlockHandler, Integer.MAX_VALUE);
+        assertThat(bytesConsumed, is(ALIGNED_FRAME_LENGTH * 2));
+
+        verify(mockBlockHandler).onBlock(
+            termBuffers[indexByTerm(INITIAL_TERM_ID, INITIAL_TERM_ID)], 0, ALIGNED_FRAME_LENGTH * 2, SESSION_ID, INITIAL_TERM_ID);
+
+        final InOrder inOrder = Mockito.inOrder(position);
+        inOrder.verify(position).setOrdered(initialPosition);
+        inOrder.verify(position).setOrdered(initialPosition + (ALIGNED_FRAME_LENGTH * 2));
+    }
+
+    @Test
+    public void shouldLimitBlockPollToWholeFrames()
+    {
+        final long initialPosition = computePosition(INITIAL_TERM_ID, 0, POSITION_BITS_TO_SHIFT, INITIAL_TERM_ID);
+        final Connection connection = createConnection(initialPosition);
+
+        insertDataFrame(INITIAL_TERM_ID, offsetOfFrame(0));
+        insertDataFrame(INITIAL_TERM_ID, offsetOfFrame(1));
+
+        final int bytesConsumed = connection.blockPoll(mockBlockHandler, ALIGNED_FRAME_LENGTH + 1);
+        assertThat(bytesConsumed, is(ALIGNED_FRAME_LENGTH));
+
+        verify(mockBlockHandler).onBlock(
+            termBuffers[indexByTerm(INITIAL_TERM_ID, INITIAL_TERM_ID)], 0, ALIGNED_FRAME_LENGTH, SESSION_ID, INITIAL_TERM_ID);
+        verify(position).setOrdered(initialPosition + ALIGNED_FRAME_LENGTH);
+    }
+
+    @Test
+    public void shouldDeliverFirstFrameWhenBlockPollLimitIsSmallerThanFrame()
+    {
+        final long initialPosition = computePosition(INITIAL_TERM_ID, 0, POSITION_BITS_TO_SHIFT, INITIAL_TERM_ID);
+        final Connection connection = createConnection(initialPosition);
+
+        insertDataFrame(INITIAL_TERM_ID, offsetOfFrame(0));
+        insertDataFrame(INITIAL_TERM_ID, offsetOfFrame(1));
+
+        final int bytesConsumed = connection.blockPoll(mockBlockHandler, ALIGNED_FRAME_LENGTH - 1);
+        assertThat(bytesConsumed, is(ALIGNED_FRAME_LENGTH));
+
+        verify(mockBlockHandler).onBlock(
+            termBuffers[indexByTerm(INITIAL_TERM_ID, INITIAL_TERM_ID)], 0, ALIGNED_FRAME_LENGTH, SESSION_ID, INITIAL_TERM_ID);
+        verify(position).setOrdered(initialPosition + ALIGNED_FRAME_LENGTH);
+    }
+
     public Connection createConnection(final long initialPosition)
     {
         return new Connection(
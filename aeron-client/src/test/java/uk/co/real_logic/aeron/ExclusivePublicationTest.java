@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.*;
+import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.agrona.MutableDirectBuffer;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.agrona.concurrent.status.ReadOnlyPosition;
+
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
+import static uk.co.real_logic.agrona.concurrent.broadcast.RecordDescriptor.RECORD_ALIGNMENT;
+
+public class ExclusivePublicationTest
+{
+    private static final String CHANNEL = "udp://localhost:40124";
+    private static final int STREAM_ID_1 = 2;
+    private static final int SESSION_ID_1 = 13;
+    private static final int TERM_ID_1 = 1;
+    private static final int CORRELATION_ID = 2000;
+    private static final int SEND_BUFFER_CAPACITY = 1024;
+
+    private final ByteBuffer sendBuffer = ByteBuffer.allocate(SEND_BUFFER_CAPACITY);
+    private final UnsafeBuffer atomicSendBuffer = new UnsafeBuffer(sendBuffer);
+    private final DataHeaderFlyweight dataHeaderFlyweight = new DataHeaderFlyweight();
+
+    private final UnsafeBuffer logMetaDataBuffer = spy(new UnsafeBuffer(new byte[LOG_META_DATA_LENGTH]));
+
+    private ExclusivePublication publication;
+    private ReadOnlyPosition limit;
+    private ExclusiveTermAppender[] appenders;
+    private MutableDirectBuffer[] headers;
+    private ClientConductor conductor = mock(ClientConductor.class);
+    private LogBuffers logBuffers = mock(LogBuffers.class);
+    private UnsafeBuffer termBuffer = mock(UnsafeBuffer.class);
+
+    @Before
+    public void setUp()
+    {
+        limit = mock(ReadOnlyPosition.class);
+        when(limit.getVolatile()).thenReturn(2L * SEND_BUFFER_CAPACITY);
+        when(termBuffer.capacity()).thenReturn(TERM_MIN_LENGTH);
+
+        appenders = new ExclusiveTermAppender[PARTITION_COUNT];
+        headers = new MutableDirectBuffer[PARTITION_COUNT];
+        for (int i = 0; i < PARTITION_COUNT; i++)
+        {
+            appenders[i] = mock(ExclusiveTermAppender.class);
+            final MutableDirectBuffer header = DataHeaderFlyweight.createDefaultHeader(0, 0, 0);
+            headers[i] = header;
+
+            when(appenders[i].defaultHeader()).thenReturn(header);
+            when(appenders[i].termBuffer()).thenReturn(termBuffer);
+            when(appenders[i].tryActivate()).thenReturn(true);
+        }
+
+        initialTermId(logMetaDataBuffer, TERM_ID_1);
+
+        publication = new ExclusivePublication(
+            conductor,
+            CHANNEL,
+            STREAM_ID_1,
+            SESSION_ID_1,
+            appenders,
+            limit,
+            logBuffers,
+            logMetaDataBuffer,
+            CORRELATION_ID);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldEnsureThePublicationIsOpenBeforeOffer()
+    {
+        publication.close();
+        publication.offer(atomicSendBuffer);
+    }
+
+    @Test
+    public void shouldReportInitialPosition()
+    {
+        assertThat(publication.position(), is(0L));
+    }
+
+    @Test
+    public void shouldOfferAMessageUponConstruction()
+    {
+        final long expectedPosition = (long)atomicSendBuffer.capacity();
+        when(appenders[0].append(atomicSendBuffer, 0, atomicSendBuffer.capacity())).thenReturn(atomicSendBuffer.capacity());
+        when(appenders[0].localTail()).thenReturn(0).thenReturn((int)expectedPosition);
+
+        assertThat(publication.offer(atomicSendBuffer), is(expectedPosition));
+        assertThat(publication.position(), is(expectedPosition));
+        verify(appenders[0], never()).tailVolatile();
+    }
+
+    @Test
+    public void shouldFailToOfferAMessageWhenLimited()
+    {
+        when(limit.getVolatile()).thenReturn(0L);
+        assertThat(publication.offer(atomicSendBuffer), is(Publication.NOT_CONNECTED));
+    }
+
+    @Test
+    public void shouldRotateWhenAppendTrips()
+    {
+        when(appenders[indexByTerm(TERM_ID_1, TERM_ID_1)].append(any(), anyInt(), anyInt())).thenReturn(TermAppender.TRIPPED);
+        when(appenders[indexByTerm(TERM_ID_1, TERM_ID_1)].localTail()).thenReturn(TERM_MIN_LENGTH - RECORD_ALIGNMENT);
+        when(limit.getVolatile()).thenReturn(Long.MAX_VALUE);
+
+        assertThat(publication.offer(atomicSendBuffer), is(Publication.BACK_PRESSURE));
+        assertThat(publication.offer(atomicSendBuffer), greaterThan(0L));
+
+        final ExclusiveTermAppender nextAppender = appenders[indexByTerm(TERM_ID_1, TERM_ID_1 + 1)];
+        final InOrder inOrder = inOrder(appenders[0], appenders[1], appenders[2], logMetaDataBuffer);
+        inOrder.verify(appenders[indexByTerm(TERM_ID_1, TERM_ID_1 + 2)]).statusOrdered(NEEDS_CLEANING);
+        inOrder.verify(logMetaDataBuffer).putIntOrdered(LOG_ACTIVE_TERM_ID_OFFSET, TERM_ID_1 + 1);
+        inOrder.verify(nextAppender).tryActivate();
+        inOrder.verify(nextAppender).append(atomicSendBuffer, 0, atomicSendBuffer.capacity());
+
+        dataHeaderFlyweight.wrap(headers[indexByTerm(TERM_ID_1, TERM_ID_1 + 1)]);
+        assertThat(dataHeaderFlyweight.termId(), is(TERM_ID_1 + 1));
+    }
+
+    @Test
+    public void shouldBackPressureUntilNextTermIsCleaned()
+    {
+        final ExclusiveTermAppender nextAppender = appenders[indexByTerm(TERM_ID_1, TERM_ID_1 + 1)];
+        when(appenders[indexByTerm(TERM_ID_1, TERM_ID_1)].append(any(), anyInt(), anyInt())).thenReturn(TermAppender.TRIPPED);
+        when(nextAppender.tryActivate()).thenReturn(false).thenReturn(true);
+        when(limit.getVolatile()).thenReturn(Long.MAX_VALUE);
+
+        assertThat(publication.offer(atomicSendBuffer), is(Publication.BACK_PRESSURE));
+        assertThat(publication.offer(atomicSendBuffer), is(Publication.BACK_PRESSURE));
+        verify(nextAppender, never()).append(any(), anyInt(), anyInt());
+
+        assertThat(publication.offer(atomicSendBuffer), greaterThan(0L));
+        verify(nextAppender, times(2)).tryActivate();
+    }
+
+    @Test
+    public void shouldReleaseAndUnmapBuffersWhenClosed() throws Exception
+    {
+        publication.close();
+        publication.close();
+
+        verify(logBuffers, times(1)).close();
+        verify(conductor, times(1)).releasePublication(publication);
+    }
+}
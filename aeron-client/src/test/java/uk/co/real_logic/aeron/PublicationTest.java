@@ -135,6 +135,22 @@ public class PublicationTest
         assertThat(publication.position(), is(expectedPosition));
     }
 
+    @Test
+    public void shouldOfferVectorsAsAMessage()
+    {
+        final DirectBufferVector[] vectors =
+        {
+            new DirectBufferVector(atomicSendBuffer, 0, 64),
+            new DirectBufferVector(atomicSendBuffer, 64, atomicSendBuffer.capacity() - 64)
+        };
+        final long expectedPosition = (long)atomicSendBuffer.capacity();
+        when(appenders[0].append(vectors)).thenReturn(atomicSendBuffer.capacity());
+        when(appenders[0].tailVolatile()).thenReturn(0).thenReturn((int)expectedPosition);
+
+        assertThat(publication.offer(vectors), is(expectedPosition));
+        assertThat(publication.position(), is(expectedPosition));
+    }
+
     @Test
     public void shouldFailToOfferAMessageWhenLimited()
     {
@@ -169,10 +185,28 @@ public class PublicationTest
         assertThat(dataHeaderFlyweight.termId(), is(TERM_ID_1 + 1));
     }
 
+    @Test
+    public void shouldBackPressureWhenRotatingIntoTermBeingCleaned()
+    {
+        final TermAppender nextAppender = appenders[indexByTerm(TERM_ID_1, TERM_ID_1 + 1)];
+        when(appenders[indexByTerm(TERM_ID_1, TERM_ID_1)].append(any(), anyInt(), anyInt())).thenReturn(TermAppender.TRIPPED);
+        when(nextAppender.status()).thenReturn(IN_CLEANING).thenReturn(CLEAN);
+        when(limit.getVolatile()).thenReturn(Long.MAX_VALUE);
+
+        assertThat(publication.offer(atomicSendBuffer), is(Publication.BACK_PRESSURE));
+        assertThat(publication.offer(atomicSendBuffer), is(Publication.BACK_PRESSURE));
+        verify(nextAppender, never()).append(any(), anyInt(), anyInt());
+        verify(nextAppender, never()).tailVolatile();
+
+        assertThat(publication.offer(atomicSendBuffer), greaterThan(0L));
+        verify(nextAppender).append(atomicSendBuffer, 0, atomicSendBuffer.capacity());
+    }
+
     @Test
     public void shouldRotateWhenClaimTrips()
     {
-        when(appenders[indexByTerm(TERM_ID_1, TERM_ID_1)].claim(anyInt(), any())).thenReturn(TermAppender.TRIPPED);
+        when(appenders[indexByTerm(TERM_ID_1, TERM_ID_1)].claim(anyInt(), any(BufferClaim.class)))
+            .thenReturn(TermAppender.TRIPPED);
         when(appenders[indexByTerm(TERM_ID_1, TERM_ID_1)].tailVolatile()).thenReturn(TERM_MIN_LENGTH - RECORD_ALIGNMENT);
         when(limit.getVolatile()).thenReturn(Long.MAX_VALUE);
 
@@ -189,6 +223,32 @@ public class PublicationTest
         assertThat(dataHeaderFlyweight.termId(), is(TERM_ID_1 + 1));
     }
 
+    @Test
+    public void shouldRotateWhenBatchTrips()
+    {
+        final MessageBatch batch = new MessageBatch(SEND_BUFFER_CAPACITY);
+        when(appenders[indexByTerm(TERM_ID_1, TERM_ID_1)].appendBatch(batch)).thenReturn(TermAppender.TRIPPED);
+        when(limit.getVolatile()).thenReturn(Long.MAX_VALUE);
+
+        assertThat(publication.offerBatch(batch), is(Publication.BACK_PRESSURE));
+        assertThat(publication.offerBatch(batch), greaterThan(0L));
+
+        final InOrder inOrder = inOrder(appenders[0], appenders[1], appenders[2], logMetaDataBuffer);
+        inOrder.verify(appenders[indexByTerm(TERM_ID_1, TERM_ID_1 + 2)]).statusOrdered(NEEDS_CLEANING);
+        inOrder.verify(logMetaDataBuffer).putIntOrdered(LOG_ACTIVE_TERM_ID_OFFSET, TERM_ID_1 + 1);
+        inOrder.verify(appenders[indexByTerm(TERM_ID_1, TERM_ID_1 + 1)]).appendBatch(batch);
+    }
+
+    @Test
+    public void shouldFailToClaimFragmentedWhenLimited()
+    {
+        when(limit.getVolatile()).thenReturn(0L);
+
+        final FragmentedBufferClaim bufferClaim = new FragmentedBufferClaim();
+        assertThat(publication.tryClaim(SEND_BUFFER_CAPACITY, bufferClaim), is(Publication.NOT_CONNECTED));
+        verify(appenders[indexByTerm(TERM_ID_1, TERM_ID_1)], never()).claim(anyInt(), any(FragmentedBufferClaim.class));
+    }
+
     @Test
     public void shouldUnmapBuffersWhenReleased() throws Exception
     {
@@ -137,6 +137,17 @@ public class SubscriptionTest
         assertThat(subscription.poll(FRAGMENT_COUNT_LIMIT), is(2));
     }
 
+    @Test
+    public void shouldNotifyBatchEndOncePerControlledPoll()
+    {
+        final ControlledDataHandler controlledDataHandler = mock(ControlledDataHandler.class);
+        onTermBuffersMapped(SESSION_ID_1);
+        onTermBuffersMapped(SESSION_ID_2);
+
+        assertThat(subscription.controlledPoll(controlledDataHandler, FRAGMENT_COUNT_LIMIT), is(0));
+        verify(controlledDataHandler, times(1)).onBatchEnd(0);
+    }
+
     private void onTermBuffersMapped(final int sessionId)
     {
         subscription.onConnectionReady(sessionId, 0, CONNECTION_CORRELATION_ID, readers, position, logBuffers);
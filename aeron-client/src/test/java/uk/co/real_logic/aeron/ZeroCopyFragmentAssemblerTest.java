@@ -0,0 +1,228 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.Header;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.MessageFragments;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.MessageFragmentsHandler;
+import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.aeron.common.protocol.HeaderFlyweight;
+import uk.co.real_logic.agrona.DirectBuffer;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
+import static uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static uk.co.real_logic.agrona.BitUtil.align;
+
+public class ZeroCopyFragmentAssemblerTest
+{
+    private static final int SESSION_ID = 777;
+    private static final int STREAM_ID = 3;
+    private static final int TERM_ID = 5;
+    private static final int FRAGMENT_LENGTH = 1000;
+    private static final int FRAME_LENGTH = align(FRAGMENT_LENGTH + HEADER_LENGTH, FrameDescriptor.FRAME_ALIGNMENT);
+    private static final long STALE_TIMEOUT_NS = 1000;
+
+    private final UnsafeBuffer termBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_MIN_LENGTH));
+    private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+    private final Header header = new Header(TERM_ID, termBuffer);
+    private final MessageFragmentsHandler delegate = mock(MessageFragmentsHandler.class);
+    private final UnsafeBuffer assembledBuffer = new UnsafeBuffer(new byte[FRAGMENT_LENGTH * 4]);
+    private long currentTime = 0;
+    private ZeroCopyFragmentAssembler assembler;
+    private MessageFragments delivered;
+    private DirectBuffer deliveredBuffer;
+    private int deliveredLength;
+    private int deliveredFragmentCount;
+    private byte deliveredFlags;
+
+    @Before
+    public void setUp()
+    {
+        assembler = new ZeroCopyFragmentAssembler(delegate, FRAGMENT_LENGTH * 8, STALE_TIMEOUT_NS, () -> currentTime);
+
+        doAnswer(
+            (invocation) ->
+            {
+                delivered = (MessageFragments)invocation.getArguments()[0];
+                deliveredBuffer = delivered.buffer();
+                deliveredLength = delivered.length();
+                deliveredFragmentCount = delivered.fragmentCount();
+                deliveredFlags = ((Header)invocation.getArguments()[1]).flags();
+                delivered.getBytes(0, assembledBuffer, 0, delivered.length());
+                return null;
+            }).when(delegate).onMessage(any(MessageFragments.class), any(Header.class));
+    }
+
+    @Test
+    public void shouldPassThroughUnfragmentedMessageWithoutCopy()
+    {
+        final int frameOffset = writeFrame(0, FRAGMENT_LENGTH, FrameDescriptor.UNFRAGMENTED, (byte)'A');
+
+        onFrame(frameOffset, FRAGMENT_LENGTH);
+
+        verify(delegate, times(1)).onMessage(any(MessageFragments.class), eq(header));
+        assertThat(deliveredBuffer, sameInstance(termBuffer));
+        assertThat(deliveredLength, is(FRAGMENT_LENGTH));
+        assertThat(deliveredFragmentCount, is(1));
+    }
+
+    @Test
+    public void shouldAssembleContiguousFragmentsWithoutCopy()
+    {
+        final int lastLength = 100;
+        writeFrame(0, FRAGMENT_LENGTH, FrameDescriptor.BEGIN_FRAG, (byte)'A');
+        writeFrame(FRAME_LENGTH, FRAGMENT_LENGTH, (byte)0, (byte)'B');
+        writeFrame(FRAME_LENGTH * 2, lastLength, FrameDescriptor.END_FRAG, (byte)'C');
+
+        onFrame(0, FRAGMENT_LENGTH);
+        onFrame(FRAME_LENGTH, FRAGMENT_LENGTH);
+        onFrame(FRAME_LENGTH * 2, lastLength);
+
+        verify(delegate, times(1)).onMessage(any(MessageFragments.class), any(Header.class));
+        assertThat(deliveredBuffer, sameInstance(termBuffer));
+        assertThat(deliveredLength, is((FRAGMENT_LENGTH * 2) + lastLength));
+        assertThat(deliveredFragmentCount, is(3));
+        assertThat(deliveredFlags, is(FrameDescriptor.UNFRAGMENTED));
+        assertThat(assembler.assemblyBytes(), is(0));
+
+        assertAssembledBytes(0, FRAGMENT_LENGTH, (byte)'A');
+        assertAssembledBytes(FRAGMENT_LENGTH, FRAGMENT_LENGTH, (byte)'B');
+        assertAssembledBytes(FRAGMENT_LENGTH * 2, lastLength, (byte)'C');
+    }
+
+    @Test
+    public void shouldCopyFragmentsWhichAreNotContiguous()
+    {
+        final int lastLength = 100;
+        writeFrame(0, FRAGMENT_LENGTH, FrameDescriptor.BEGIN_FRAG, (byte)'A');
+        writeFrame(FRAME_LENGTH * 2, lastLength, FrameDescriptor.END_FRAG, (byte)'B');
+
+        onFrame(0, FRAGMENT_LENGTH);
+        onFrame(FRAME_LENGTH * 2, lastLength);
+
+        verify(delegate, times(1)).onMessage(any(MessageFragments.class), any(Header.class));
+        assertThat(deliveredBuffer, not(sameInstance(termBuffer)));
+        assertThat(deliveredLength, is(FRAGMENT_LENGTH + lastLength));
+        assertThat(deliveredFragmentCount, is(1));
+        assertTrue(assembler.assemblyBytes() > 0);
+
+        assertAssembledBytes(0, FRAGMENT_LENGTH, (byte)'A');
+        assertAssembledBytes(FRAGMENT_LENGTH, lastLength, (byte)'B');
+    }
+
+    @Test
+    public void shouldDropMessageWhenAssemblyBytesWouldExceedCap()
+    {
+        assembler = new ZeroCopyFragmentAssembler(delegate, FRAGMENT_LENGTH, STALE_TIMEOUT_NS, () -> currentTime);
+
+        writeFrame(0, FRAGMENT_LENGTH, FrameDescriptor.BEGIN_FRAG, (byte)'A');
+        writeFrame(FRAME_LENGTH * 2, FRAGMENT_LENGTH, FrameDescriptor.END_FRAG, (byte)'B');
+
+        onFrame(0, FRAGMENT_LENGTH);
+        onFrame(FRAME_LENGTH * 2, FRAGMENT_LENGTH);
+
+        verify(delegate, never()).onMessage(any(MessageFragments.class), any(Header.class));
+        assertThat(assembler.droppedMessageCount(), is(1L));
+        assertFalse(assembler.freePartialMessage(SESSION_ID, STREAM_ID));
+    }
+
+    @Test
+    public void shouldEvictStalePartialMessage()
+    {
+        writeFrame(0, FRAGMENT_LENGTH, FrameDescriptor.BEGIN_FRAG, (byte)'A');
+        writeFrame(FRAME_LENGTH, FRAGMENT_LENGTH, FrameDescriptor.END_FRAG, (byte)'B');
+
+        onFrame(0, FRAGMENT_LENGTH);
+
+        assertThat(assembler.evictStalePartialMessages(), is(0));
+
+        currentTime += STALE_TIMEOUT_NS + 1;
+        assertThat(assembler.evictStalePartialMessages(), is(1));
+
+        onFrame(FRAME_LENGTH, FRAGMENT_LENGTH);
+
+        verify(delegate, never()).onMessage(any(MessageFragments.class), any(Header.class));
+        assertThat(assembler.droppedMessageCount(), is(1L));
+    }
+
+    @Test
+    public void shouldFreePartialMessage()
+    {
+        writeFrame(0, FRAGMENT_LENGTH, FrameDescriptor.BEGIN_FRAG, (byte)'A');
+
+        assertFalse(assembler.freePartialMessage(SESSION_ID, STREAM_ID));
+
+        onFrame(0, FRAGMENT_LENGTH);
+
+        assertTrue(assembler.freePartialMessage(SESSION_ID, STREAM_ID));
+        assertFalse(assembler.freePartialMessage(SESSION_ID, STREAM_ID));
+    }
+
+    @Test
+    public void shouldDoNothingIfEndArrivesWithoutBegin()
+    {
+        writeFrame(0, FRAGMENT_LENGTH, FrameDescriptor.END_FRAG, (byte)'A');
+
+        onFrame(0, FRAGMENT_LENGTH);
+
+        verify(delegate, never()).onMessage(any(MessageFragments.class), any(Header.class));
+    }
+
+    private int writeFrame(final int frameOffset, final int length, final byte flags, final byte value)
+    {
+        dataHeader.wrap(termBuffer, frameOffset);
+        dataHeader.termId(TERM_ID)
+                  .streamId(STREAM_ID)
+                  .sessionId(SESSION_ID)
+                  .termOffset(frameOffset)
+                  .frameLength(length + HEADER_LENGTH)
+                  .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+                  .flags(flags)
+                  .version(HeaderFlyweight.CURRENT_VERSION);
+
+        termBuffer.setMemory(frameOffset + HEADER_LENGTH, length, value);
+
+        return frameOffset;
+    }
+
+    private void onFrame(final int frameOffset, final int length)
+    {
+        header.offset(frameOffset);
+        assembler.onData(termBuffer, frameOffset + HEADER_LENGTH, length, header);
+    }
+
+    private void assertAssembledBytes(final int index, final int length, final byte value)
+    {
+        for (int i = index; i < index + length; i++)
+        {
+            assertThat("same at i=" + i, assembledBuffer.getByte(i), is(value));
+        }
+    }
+}
@@ -39,6 +39,10 @@ public class CommonContext implements AutoCloseable
     public static final String AERON_DIR_PROP_DEFAULT;
     /** Name of the default multicast interface */
     public static final String MULTICAST_DEFAULT_INTERFACE_PROP_NAME = "aeron.multicast.default.interface";
+    /** Channel for publications and subscriptions which share the publication log on the same media driver */
+    public static final String IPC_CHANNEL = "aeron:ipc";
+    /** Prefix to a channel for subscriptions which spy on the log of a publication in the same media driver */
+    public static final String SPY_PREFIX = "aeron-spy:";
 
     private String dirName;
     private File cncFile;
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.concurrent.logbuffer;
+
+import uk.co.real_logic.agrona.DirectBuffer;
+
+/**
+ * Handler for reading data that is coming from a log buffer where the handler controls whether each fragment is
+ * consumed and when the position is committed. This allows back pressure to be applied to a publisher when a
+ * consumer cannot process a message, rather than buffering it within the application.
+ */
+@FunctionalInterface
+public interface ControlledDataHandler
+{
+    /**
+     * Action to be taken on return from {@link #onData(DirectBuffer, int, int, Header)}.
+     */
+    enum Action
+    {
+        /**
+         * Abort the current polling operation and do not advance the position for this fragment.
+         */
+        ABORT,
+
+        /**
+         * Break from the current polling operation and commit the position as of the end of the current fragment
+         * being handled.
+         */
+        BREAK,
+
+        /**
+         * Continue processing but commit the position as of the end of the current fragment so that
+         * flow control is applied to this point.
+         */
+        COMMIT,
+
+        /**
+         * Continue processing until the fragment limit or no fragments with position commit at end of poll.
+         */
+        CONTINUE
+    }
+
+    /**
+     * Callback for handling data being read from a log.
+     *
+     * @param buffer containing the data.
+     * @param offset at which the data begins.
+     * @param length of the data in bytes.
+     * @param header representing the meta data for the data.
+     * @return The action to be taken with regard to the stream position after the callback.
+     */
+    Action onData(DirectBuffer buffer, int offset, int length, Header header);
+
+    /**
+     * Callback at the end of a polling operation so that work can be batched, for example flushing downstream,
+     * once per poll rather than once per message.
+     *
+     * @param fragmentsRead in the polling operation which has just completed.
+     */
+    default void onBatchEnd(final int fragmentsRead)
+    {
+    }
+}
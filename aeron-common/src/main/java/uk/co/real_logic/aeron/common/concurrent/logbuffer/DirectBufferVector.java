@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.concurrent.logbuffer;
+
+import uk.co.real_logic.agrona.DirectBuffer;
+
+/**
+ * Vector into a {@link DirectBuffer} to be used for gathering IO as an offset and length. An array of vectors
+ * describes the parts of a message which are appended in order to compose a single message.
+ */
+public final class DirectBufferVector
+{
+    private DirectBuffer buffer;
+    private int offset;
+    private int length;
+
+    /**
+     * Default constructor so the fluent API can be used.
+     */
+    public DirectBufferVector()
+    {
+    }
+
+    /**
+     * Construct a new vector as a subset of a buffer.
+     *
+     * @param buffer which is the super set.
+     * @param offset at which the vector begins.
+     * @param length of the vector.
+     */
+    public DirectBufferVector(final DirectBuffer buffer, final int offset, final int length)
+    {
+        reset(buffer, offset, length);
+    }
+
+    /**
+     * Reset the values of the vector so it can be reused.
+     *
+     * @param buffer which is the super set.
+     * @param offset at which the vector begins.
+     * @param length of the vector.
+     * @return this for a fluent API.
+     */
+    public DirectBufferVector reset(final DirectBuffer buffer, final int offset, final int length)
+    {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+
+        return this;
+    }
+
+    /**
+     * The buffer which the vector applies to.
+     *
+     * @return buffer which the vector applies to.
+     */
+    public DirectBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Offset in the buffer at which the vector begins.
+     *
+     * @return offset in the buffer at which the vector begins.
+     */
+    public int offset()
+    {
+        return offset;
+    }
+
+    /**
+     * Length of the vector in the buffer starting at the offset.
+     *
+     * @return length of the vector in the buffer starting at the offset.
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * Ensure the vector is valid for the buffer.
+     *
+     * @return this for a fluent API.
+     * @throws IllegalArgumentException if the offset or length are outside the bounds of the buffer.
+     */
+    public DirectBufferVector validate()
+    {
+        final int capacity = buffer.capacity();
+        if (offset < 0 || offset > capacity)
+        {
+            throw new IllegalArgumentException(String.format("offset=%d capacity=%d", offset, capacity));
+        }
+
+        if (length < 0 || length > (capacity - offset))
+        {
+            throw new IllegalArgumentException(String.format("offset=%d capacity=%d length=%d", offset, capacity, length));
+        }
+
+        return this;
+    }
+
+    /**
+     * Validate an array of vectors to make up a message and compute the total length.
+     *
+     * @param vectors to be validated and summed.
+     * @return the sum of the vector lengths.
+     * @throws IllegalStateException if the total length of the message overflows.
+     */
+    public static int validateAndComputeLength(final DirectBufferVector[] vectors)
+    {
+        int messageLength = 0;
+        for (final DirectBufferVector vector : vectors)
+        {
+            vector.validate();
+            messageLength += vector.length;
+
+            if (messageLength < 0)
+            {
+                throw new IllegalStateException("length overflow: " + messageLength);
+            }
+        }
+
+        return messageLength;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.concurrent.logbuffer;
+
+import uk.co.real_logic.agrona.MutableDirectBuffer;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.CLEAN;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.TERM_TAIL_COUNTER_OFFSET;
+
+/**
+ * Term buffer appender which supports a single exclusive producer writing an append-only log.
+ *
+ * <b>Note:</b> This class is NOT threadsafe.
+ *
+ * The tail is tracked in a local field and published to the meta data with ordered stores rather than being
+ * advanced with an atomic increment. Framing is the same as for {@link TermAppender}.
+ */
+public class ExclusiveTermAppender extends TermAppender
+{
+    private int tail;
+
+    /**
+     * Construct a view over a term buffer and state buffer for appending frames from a single producer.
+     *
+     * @param termBuffer     for where messages are stored.
+     * @param metaDataBuffer for where the state of the producer is published.
+     * @param defaultHeader  to be applied for each frame logged.
+     * @param maxFrameLength maximum frame length supported by the underlying transport.
+     */
+    public ExclusiveTermAppender(
+        final UnsafeBuffer termBuffer,
+        final UnsafeBuffer metaDataBuffer,
+        final MutableDirectBuffer defaultHeader,
+        final int maxFrameLength)
+    {
+        super(termBuffer, metaDataBuffer, defaultHeader, maxFrameLength);
+
+        tail = metaDataBuffer.getIntVolatile(TERM_TAIL_COUNTER_OFFSET);
+    }
+
+    /**
+     * Get the current tail value as tracked by the producer without reading the meta data.
+     *
+     * @return the current tail value.
+     */
+    public int localTail()
+    {
+        return Math.min(tail, termBuffer().capacity());
+    }
+
+    /**
+     * Activate the term for appending after rotation by reloading the tail from the meta data. This can only
+     * happen once the term has been cleaned for reuse.
+     *
+     * @return true if the term is clean and has been activated otherwise false.
+     */
+    public boolean tryActivate()
+    {
+        boolean isActivated = false;
+        if (status() == CLEAN)
+        {
+            tail = metaDataBuffer().getIntVolatile(TERM_TAIL_COUNTER_OFFSET);
+            isActivated = true;
+        }
+
+        return isActivated;
+    }
+
+    protected int getAndAddTail(final int length)
+    {
+        final int tail = this.tail;
+        final int newTail = tail + length;
+
+        this.tail = newTail;
+        metaDataBuffer().putIntOrdered(TERM_TAIL_COUNTER_OFFSET, newTail);
+
+        return tail;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.concurrent.logbuffer;
+
+import uk.co.real_logic.agrona.DirectBuffer;
+import uk.co.real_logic.agrona.MutableDirectBuffer;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.frameLengthOrdered;
+import static uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+
+/**
+ * Represents a claimed range in a term, which may span multiple fragments, to be used for recording a message
+ * without copy semantics for later commit.
+ * <p>
+ * The fragment headers are written when the claim is made. The message payload is presented as a contiguous view
+ * from index 0 to {@link #length()} which is mapped onto the payload of each fragment. Alternatively each fragment
+ * can be encoded directly via {@link #buffer()} using {@link #fragmentOffset(int)} and {@link #fragmentLength(int)}.
+ * When the message has been written use {@link #commit()} to make all fragments available to subscribers.
+ */
+public class FragmentedBufferClaim
+{
+    private UnsafeBuffer buffer;
+    private int frameOffset;
+    private int length;
+    private int maxPayloadLength;
+    private int fragmentCount;
+
+    /**
+     * The referenced term buffer in which the fragments are claimed.
+     *
+     * @return the referenced term buffer in which the fragments are claimed.
+     */
+    public MutableDirectBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * The length of the claimed message payload across all fragments.
+     *
+     * @return length of the claimed message payload across all fragments.
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * The number of fragments the claimed message spans.
+     *
+     * @return the number of fragments the claimed message spans.
+     */
+    public int fragmentCount()
+    {
+        return fragmentCount;
+    }
+
+    /**
+     * The offset in the {@link #buffer()} at which the payload of a fragment begins.
+     *
+     * @param fragmentIndex of the fragment within the message.
+     * @return offset in the buffer at which the payload of the fragment begins.
+     */
+    public int fragmentOffset(final int fragmentIndex)
+    {
+        return frameOffset(fragmentIndex) + HEADER_LENGTH;
+    }
+
+    /**
+     * The length of the payload of a fragment.
+     *
+     * @param fragmentIndex of the fragment within the message.
+     * @return length of the payload of the fragment.
+     */
+    public int fragmentLength(final int fragmentIndex)
+    {
+        return Math.min(maxPayloadLength, length - (fragmentIndex * maxPayloadLength));
+    }
+
+    /**
+     * Put bytes into the claimed message at an index in the contiguous view of the payload.
+     *
+     * @param index     in the message payload at which the bytes should be written.
+     * @param srcBuffer from which the bytes will be copied.
+     * @param srcIndex  in the source buffer from which the copy begins.
+     * @param length    of the bytes to be copied.
+     * @throws IndexOutOfBoundsException if the range is outside the claimed message.
+     */
+    public void putBytes(final int index, final DirectBuffer srcBuffer, final int srcIndex, final int length)
+    {
+        if (index < 0 || length < 0 || index > (this.length - length))
+        {
+            throw new IndexOutOfBoundsException(
+                String.format("index=%d length=%d claimed length=%d", index, length, this.length));
+        }
+
+        int fragmentIndex = index / maxPayloadLength;
+        int fragmentPosition = index - (fragmentIndex * maxPayloadLength);
+        int remaining = length;
+        int srcPosition = srcIndex;
+
+        while (remaining > 0)
+        {
+            final int bytesToWrite = Math.min(remaining, maxPayloadLength - fragmentPosition);
+            buffer.putBytes(fragmentOffset(fragmentIndex) + fragmentPosition, srcBuffer, srcPosition, bytesToWrite);
+
+            remaining -= bytesToWrite;
+            srcPosition += bytesToWrite;
+            fragmentIndex++;
+            fragmentPosition = 0;
+        }
+    }
+
+    /**
+     * Commit the message to the log buffer by publishing the length of each fragment in order so that it is
+     * available to subscribers.
+     */
+    public void commit()
+    {
+        for (int i = 0; i < fragmentCount; i++)
+        {
+            frameLengthOrdered(buffer, frameOffset(i), fragmentLength(i) + HEADER_LENGTH);
+        }
+    }
+
+    /**
+     * Set the claimed range in the term buffer.
+     *
+     * @param buffer           the term buffer in which the fragments are claimed.
+     * @param frameOffset      at which the first fragment begins.
+     * @param length           of the message payload across all fragments.
+     * @param maxPayloadLength of each fragment.
+     * @return this instance for fluent API usage.
+     */
+    FragmentedBufferClaim wrap(
+        final UnsafeBuffer buffer, final int frameOffset, final int length, final int maxPayloadLength)
+    {
+        this.buffer = buffer;
+        this.frameOffset = frameOffset;
+        this.length = length;
+        this.maxPayloadLength = maxPayloadLength;
+        this.fragmentCount = Math.max(1, (length + maxPayloadLength - 1) / maxPayloadLength);
+
+        return this;
+    }
+
+    private int frameOffset(final int fragmentIndex)
+    {
+        return frameOffset + (fragmentIndex * (maxPayloadLength + HEADER_LENGTH));
+    }
+}
@@ -56,6 +56,12 @@ public class FrameDescriptor
      */
     public static final int FRAME_ALIGNMENT = 8;
 
+    /**
+     * Largest frame that can be carried in a single UDP datagram over IPv4, 65535 less IP and UDP headers,
+     * rounded down to {@link #FRAME_ALIGNMENT}.
+     */
+    public static final int MAX_UDP_PAYLOAD_LENGTH = (65535 - 20 - 8) & ~(FRAME_ALIGNMENT - 1);
+
     /**
      * Beginning fragment of a frame.
      */
@@ -139,10 +145,11 @@ public class FrameDescriptor
     }
 
     /**
-     * Check the max frame length is a multiple of {@link #FRAME_ALIGNMENT}
+     * Check the max frame length is a multiple of {@link #FRAME_ALIGNMENT} and no greater than
+     * {@link #MAX_UDP_PAYLOAD_LENGTH}
      *
      * @param length to be applied to all logged frames.
-     * @throws IllegalStateException if not a multiple of {@link #FRAME_ALIGNMENT}
+     * @throws IllegalStateException if not a multiple of {@link #FRAME_ALIGNMENT} or too large for a datagram.
      */
     public static void checkMaxFrameLength(final int length)
     {
@@ -154,6 +161,15 @@ public class FrameDescriptor
                 length);
             throw new IllegalStateException(s);
         }
+
+        if (length > MAX_UDP_PAYLOAD_LENGTH)
+        {
+            final String s = String.format(
+                "Max frame length must be no greater than %d, length=%d",
+                MAX_UDP_PAYLOAD_LENGTH,
+                length);
+            throw new IllegalStateException(s);
+        }
     }
 
     /**
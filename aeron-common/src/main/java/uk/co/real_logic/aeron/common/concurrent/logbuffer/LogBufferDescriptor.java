@@ -71,6 +71,11 @@ public class LogBufferDescriptor
      */
     public static final int NEEDS_CLEANING = 1;
 
+    /**
+     * A term is being cleaned incrementally and is not yet available for reuse.
+     */
+    public static final int IN_CLEANING = 2;
+
     /**
      * Offset within the term meta data where the tail value is stored.
      */
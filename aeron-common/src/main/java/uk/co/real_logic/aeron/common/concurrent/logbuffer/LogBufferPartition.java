@@ -60,13 +60,37 @@ public class LogBufferPartition
 
 
     /**
-     * Clean down the buffers for reuse by zeroing them out.
+     * Clean down the buffers for reuse by zeroing them out up to the tail as the rest of the term has never been written.
      */
     public void clean()
     {
-        termBuffer.setMemory(0, termBuffer.capacity(), (byte)0);
-        metaDataBuffer.setMemory(0, metaDataBuffer.capacity(), (byte)0);
-        statusOrdered(CLEAN);
+        clean(0, termBuffer.capacity());
+    }
+
+    /**
+     * Clean down a range of the term buffer for reuse by zeroing it out so a term can be cleaned in chunks.
+     * Only the term up to the tail is cleaned as bytes beyond it have never been written and are already zero, which
+     * keeps unused pages of a sparse log from being populated. When the range reaches the tail the meta data is also
+     * cleaned and the status becomes {@link LogBufferDescriptor#CLEAN}.
+     *
+     * @param termOffset at which the range to be cleaned begins.
+     * @param length     of the range to be cleaned which will be limited to the tail of the term.
+     * @return the term offset up to which the term has been cleaned.
+     */
+    public int clean(final int termOffset, final int length)
+    {
+        final int tail = tail();
+        final int limit = (int)Math.min((long)termOffset + length, tail);
+
+        termBuffer.setMemory(termOffset, limit - termOffset, (byte)0);
+
+        if (limit == tail)
+        {
+            metaDataBuffer.setMemory(0, metaDataBuffer.capacity(), (byte)0);
+            statusOrdered(CLEAN);
+        }
+
+        return limit;
     }
 
     /**
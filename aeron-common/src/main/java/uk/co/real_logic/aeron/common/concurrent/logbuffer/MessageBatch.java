@@ -0,0 +1,168 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.concurrent.logbuffer;
+
+import uk.co.real_logic.agrona.DirectBuffer;
+
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static uk.co.real_logic.agrona.BitUtil.align;
+
+/**
+ * Batch of small messages to be appended to a term with a single reservation of the tail. Each message is
+ * recorded as its own unfragmented frame.
+ * <p>
+ * Messages are referenced rather than copied so the source buffers must not be modified until the batch has been
+ * successfully offered. A batch can be reused by calling {@link #reset()}.
+ * <p>
+ * <b>Note:</b> This class is NOT threadsafe.
+ */
+public class MessageBatch
+{
+    private final DirectBuffer[] buffers;
+    private final int[] offsets;
+    private final int[] lengths;
+
+    private int size = 0;
+    private int maxMessageLength = 0;
+    private int alignedLength = 0;
+
+    /**
+     * Construct a batch which can hold up to a given number of messages.
+     *
+     * @param capacity in number of messages the batch can hold.
+     */
+    public MessageBatch(final int capacity)
+    {
+        buffers = new DirectBuffer[capacity];
+        offsets = new int[capacity];
+        lengths = new int[capacity];
+    }
+
+    /**
+     * Add a message to the end of the batch.
+     *
+     * @param buffer containing the encoded message.
+     * @param offset at which the encoded message begins.
+     * @param length of the message in bytes.
+     * @return true if the message was added or false if the batch is full.
+     */
+    public boolean add(final DirectBuffer buffer, final int offset, final int length)
+    {
+        boolean isAdded = false;
+        if (size < buffers.length)
+        {
+            buffers[size] = buffer;
+            offsets[size] = offset;
+            lengths[size] = length;
+            size++;
+
+            maxMessageLength = Math.max(maxMessageLength, length);
+            alignedLength += align(length + HEADER_LENGTH, FRAME_ALIGNMENT);
+            isAdded = true;
+        }
+
+        return isAdded;
+    }
+
+    /**
+     * Remove all messages from the batch so it can be reused.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < size; i++)
+        {
+            buffers[i] = null;
+        }
+
+        size = 0;
+        maxMessageLength = 0;
+        alignedLength = 0;
+    }
+
+    /**
+     * The number of messages in the batch.
+     *
+     * @return the number of messages in the batch.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * The maximum number of messages the batch can hold.
+     *
+     * @return the maximum number of messages the batch can hold.
+     */
+    public int capacity()
+    {
+        return buffers.length;
+    }
+
+    /**
+     * Length of the longest message in the batch.
+     *
+     * @return length of the longest message in the batch.
+     */
+    public int maxMessageLength()
+    {
+        return maxMessageLength;
+    }
+
+    /**
+     * Total length required in the term to record all messages in the batch including headers and alignment.
+     *
+     * @return total length required in the term to record all messages in the batch.
+     */
+    public int alignedLength()
+    {
+        return alignedLength;
+    }
+
+    /**
+     * Buffer containing a message in the batch.
+     *
+     * @param index of the message in the batch.
+     * @return the buffer containing the message.
+     */
+    public DirectBuffer buffer(final int index)
+    {
+        return buffers[index];
+    }
+
+    /**
+     * Offset in the buffer at which a message in the batch begins.
+     *
+     * @param index of the message in the batch.
+     * @return offset in the buffer at which the message begins.
+     */
+    public int offset(final int index)
+    {
+        return offsets[index];
+    }
+
+    /**
+     * Length of a message in the batch.
+     *
+     * @param index of the message in the batch.
+     * @return length of the message in bytes.
+     */
+    public int length(final int index)
+    {
+        return lengths[index];
+    }
+}
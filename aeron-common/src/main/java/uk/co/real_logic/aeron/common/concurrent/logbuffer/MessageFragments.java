@@ -0,0 +1,164 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.concurrent.logbuffer;
+
+import uk.co.real_logic.agrona.DirectBuffer;
+import uk.co.real_logic.agrona.MutableDirectBuffer;
+
+/**
+ * Scatter view over a whole message which may be made up of multiple fragments in a buffer. When the fragments of
+ * a message are contiguous in a term then the view references the payload of each fragment in place without a copy.
+ * <p>
+ * The payload of each fragment is a full stride apart except for the last so the message can be read as a contiguous
+ * range from index 0 to {@link #length()} via {@link #getBytes(int, MutableDirectBuffer, int, int)}, or fragment by
+ * fragment using {@link #fragmentOffset(int)} and {@link #fragmentLength(int)}.
+ * <p>
+ * The view is only valid for the duration of the callback in which it is passed.
+ */
+public class MessageFragments
+{
+    private DirectBuffer buffer;
+    private int offset;
+    private int length;
+    private int fragmentLength;
+    private int stride;
+    private int fragmentCount;
+
+    /**
+     * Wrap a message which is contiguous within a buffer as a single fragment.
+     *
+     * @param buffer containing the message.
+     * @param offset at which the message begins.
+     * @param length of the message in bytes.
+     * @return this instance for fluent API usage.
+     */
+    public MessageFragments wrap(final DirectBuffer buffer, final int offset, final int length)
+    {
+        return wrap(buffer, offset, length, length, length);
+    }
+
+    /**
+     * Wrap a message which is made up of fragments that are laid out at a fixed stride in a buffer.
+     *
+     * @param buffer         containing the fragments.
+     * @param offset         at which the payload of the first fragment begins.
+     * @param length         of the whole message in bytes.
+     * @param fragmentLength of the payload of each fragment other than the last.
+     * @param stride         in bytes between the beginning of the payload of each fragment.
+     * @return this instance for fluent API usage.
+     */
+    public MessageFragments wrap(
+        final DirectBuffer buffer, final int offset, final int length, final int fragmentLength, final int stride)
+    {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.fragmentLength = fragmentLength;
+        this.stride = stride;
+        this.fragmentCount = fragmentLength > 0 ? Math.max(1, (length + fragmentLength - 1) / fragmentLength) : 1;
+
+        return this;
+    }
+
+    /**
+     * The buffer containing the fragments of the message.
+     *
+     * @return the buffer containing the fragments of the message.
+     */
+    public DirectBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * The length of the whole message in bytes.
+     *
+     * @return length of the whole message in bytes.
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * The number of fragments which make up the message.
+     *
+     * @return the number of fragments which make up the message.
+     */
+    public int fragmentCount()
+    {
+        return fragmentCount;
+    }
+
+    /**
+     * The offset in the {@link #buffer()} at which the payload of a fragment begins.
+     *
+     * @param fragmentIndex of the fragment within the message.
+     * @return offset in the buffer at which the payload of the fragment begins.
+     */
+    public int fragmentOffset(final int fragmentIndex)
+    {
+        return offset + (fragmentIndex * stride);
+    }
+
+    /**
+     * The length of the payload of a fragment.
+     *
+     * @param fragmentIndex of the fragment within the message.
+     * @return length of the payload of the fragment.
+     */
+    public int fragmentLength(final int fragmentIndex)
+    {
+        return Math.min(fragmentLength, length - (fragmentIndex * fragmentLength));
+    }
+
+    /**
+     * Get bytes from an index in the contiguous view of the message.
+     *
+     * @param index     in the message from which the bytes should be copied.
+     * @param dstBuffer into which the bytes will be copied.
+     * @param dstIndex  in the destination buffer at which the copy begins.
+     * @param length    of the bytes to be copied.
+     * @throws IndexOutOfBoundsException if the range is outside the message.
+     */
+    public void getBytes(final int index, final MutableDirectBuffer dstBuffer, final int dstIndex, final int length)
+    {
+        if (index < 0 || length < 0 || index > (this.length - length))
+        {
+            throw new IndexOutOfBoundsException(
+                String.format("index=%d length=%d message length=%d", index, length, this.length));
+        }
+
+        if (length > 0)
+        {
+            int fragmentIndex = index / fragmentLength;
+            int fragmentPosition = index - (fragmentIndex * fragmentLength);
+            int remaining = length;
+            int dstPosition = dstIndex;
+
+            while (remaining > 0)
+            {
+                final int bytesToCopy = Math.min(remaining, fragmentLength - fragmentPosition);
+                dstBuffer.putBytes(dstPosition, buffer, fragmentOffset(fragmentIndex) + fragmentPosition, bytesToCopy);
+
+                remaining -= bytesToCopy;
+                dstPosition += bytesToCopy;
+                fragmentIndex++;
+                fragmentPosition = 0;
+            }
+        }
+    }
+}
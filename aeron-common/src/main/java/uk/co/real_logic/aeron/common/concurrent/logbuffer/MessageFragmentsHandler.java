@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.concurrent.logbuffer;
+
+/**
+ * Handler for whole messages which are presented as a scatter view over their fragments.
+ */
+@FunctionalInterface
+public interface MessageFragmentsHandler
+{
+    /**
+     * Callback for handling a whole message which may have been made up of multiple fragments.
+     *
+     * @param message view over the fragments of the message which is only valid for the duration of the callback.
+     * @param header  representing the meta data for the message.
+     */
+    void onMessage(MessageFragments message, Header header);
+}
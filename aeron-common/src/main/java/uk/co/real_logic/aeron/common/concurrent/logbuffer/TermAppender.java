@@ -154,6 +154,86 @@ public class TermAppender extends LogBufferPartition
         return resultingOffset;
     }
 
+    /**
+     * Append a message composed of a number of vectors to the term if sufficient capacity exists. The vectors are
+     * gathered directly into the term without first being copied into a contiguous buffer.
+     *
+     * @param vectors which make up the message in order.
+     * @return the resulting termOffset on success otherwise {@link #FAILED} if beyond end of the term, or
+     * {@link #TRIPPED if first failure.
+     * @throws IllegalArgumentException if the length is greater than {@link #maxMessageLength()}
+     */
+    public int append(final DirectBufferVector[] vectors)
+    {
+        final int length = DirectBufferVector.validateAndComputeLength(vectors);
+        final int resultingOffset;
+        if (length <= maxPayloadLength)
+        {
+            resultingOffset = appendUnfragmentedMessage(vectors, length);
+        }
+        else
+        {
+            if (length > maxMessageLength)
+            {
+                throw new IllegalArgumentException(
+                    String.format("Encoded message exceeds maxMessageLength of %d, length=%d", maxMessageLength, length));
+            }
+
+            resultingOffset = appendFragmentedMessage(vectors, length);
+        }
+
+        return resultingOffset;
+    }
+
+    /**
+     * Append a batch of messages to the term with a single reservation if sufficient capacity exists. Each message
+     * is recorded as an unfragmented frame and committed in order.
+     *
+     * @param batch of messages to be appended.
+     * @return the resulting termOffset on success otherwise {@link #FAILED} if beyond end of the term, or
+     * {@link #TRIPPED if first failure.
+     * @throws IllegalArgumentException if any message is greater than {@link #maxPayloadLength()} or the batch
+     * is greater than {@link #maxMessageLength()}.
+     */
+    public int appendBatch(final MessageBatch batch)
+    {
+        if (batch.maxMessageLength() > maxPayloadLength)
+        {
+            throw new IllegalArgumentException(String.format(
+                "Batched message exceeds maxPayloadLength of %d, length=%d", maxPayloadLength, batch.maxMessageLength()));
+        }
+
+        final int requiredLength = batch.alignedLength();
+        if (requiredLength > maxMessageLength)
+        {
+            throw new IllegalArgumentException(
+                String.format("Batch exceeds maxMessageLength of %d, length=%d", maxMessageLength, requiredLength));
+        }
+
+        int frameOffset = getAndAddTail(requiredLength);
+        final UnsafeBuffer termBuffer = termBuffer();
+
+        final int resultingOffset = resultingOffset(termBuffer, frameOffset, requiredLength, termBuffer.capacity());
+        if (resultingOffset > 0)
+        {
+            for (int i = 0, size = batch.size(); i < size; i++)
+            {
+                final int length = batch.length(i);
+                final int frameLength = length + HEADER_LENGTH;
+
+                termBuffer.putBytes(frameOffset, defaultHeader, 0, HEADER_LENGTH);
+                termBuffer.putBytes(frameOffset + HEADER_LENGTH, batch.buffer(i), batch.offset(i), length);
+
+                frameTermOffset(termBuffer, frameOffset, frameOffset);
+                frameLengthOrdered(termBuffer, frameOffset, frameLength);
+
+                frameOffset += align(frameLength, FRAME_ALIGNMENT);
+            }
+        }
+
+        return resultingOffset;
+    }
+
     /**
      * Claim a range within the buffer for recording a message payload.
      *
@@ -172,7 +252,7 @@ public class TermAppender extends LogBufferPartition
 
         final int frameLength = length + HEADER_LENGTH;
         final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
-        final int frameOffset = metaDataBuffer().getAndAddInt(TERM_TAIL_COUNTER_OFFSET, alignedLength);
+        final int frameOffset = getAndAddTail(alignedLength);
         final UnsafeBuffer termBuffer = termBuffer();
 
         final int resultingOffset = resultingOffset(termBuffer, frameOffset, alignedLength, termBuffer.capacity());
@@ -192,11 +272,78 @@ public class TermAppender extends LogBufferPartition
         return resultingOffset;
     }
 
+    /**
+     * Claim a range within the buffer for recording a message payload which may span multiple fragments. The
+     * fragment headers are written with the appropriate flags so only the payload needs to be encoded before commit.
+     *
+     * @param length      of the message payload
+     * @param bufferClaim to be completed for the claim if successful.
+     * @return the resulting termOffset on success otherwise {@link #FAILED} if beyond end of the term, or
+     * {@link #TRIPPED if first failure.
+     * @throws IllegalArgumentException if the length is greater than {@link #maxMessageLength()}
+     */
+    public int claim(final int length, final FragmentedBufferClaim bufferClaim)
+    {
+        if (length > maxMessageLength)
+        {
+            throw new IllegalArgumentException(
+                String.format("Claim exceeds maxMessageLength of %d, length=%d", maxMessageLength, length));
+        }
+
+        final int numMaxPayloads = length / maxPayloadLength;
+        final int remainingPayload = length % maxPayloadLength;
+        final int lastFrameLength =
+            (remainingPayload > 0 || 0 == length) ? align(remainingPayload + HEADER_LENGTH, FRAME_ALIGNMENT) : 0;
+        final int requiredLength = (numMaxPayloads * maxFrameLength) + lastFrameLength;
+        final int frameOffset = getAndAddTail(requiredLength);
+        final UnsafeBuffer termBuffer = termBuffer();
+
+        final int resultingOffset = resultingOffset(termBuffer, frameOffset, requiredLength, termBuffer.capacity());
+        if (resultingOffset > 0)
+        {
+            byte flags = BEGIN_FRAG;
+            int offset = frameOffset;
+            int remaining = length;
+            do
+            {
+                termBuffer.putBytes(offset, defaultHeader, 0, HEADER_LENGTH);
+
+                if (remaining <= maxPayloadLength)
+                {
+                    flags |= END_FRAG;
+                }
+
+                frameFlags(termBuffer, offset, flags);
+                frameTermOffset(termBuffer, offset, offset);
+
+                flags = 0;
+                offset += maxFrameLength;
+                remaining -= maxPayloadLength;
+            }
+            while (remaining > 0);
+
+            bufferClaim.wrap(termBuffer, frameOffset, length, maxPayloadLength);
+        }
+
+        return resultingOffset;
+    }
+
+    /**
+     * Reserve space at the tail of the term by advancing the tail counter.
+     *
+     * @param length to be reserved in bytes.
+     * @return the term offset of the tail before it was advanced.
+     */
+    protected int getAndAddTail(final int length)
+    {
+        return metaDataBuffer().getAndAddInt(TERM_TAIL_COUNTER_OFFSET, length);
+    }
+
     private int appendUnfragmentedMessage(final DirectBuffer srcBuffer, final int srcOffset, final int length)
     {
         final int frameLength = length + HEADER_LENGTH;
         final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
-        final int frameOffset = metaDataBuffer().getAndAddInt(TERM_TAIL_COUNTER_OFFSET, alignedLength);
+        final int frameOffset = getAndAddTail(alignedLength);
         final UnsafeBuffer termBuffer = termBuffer();
 
         final int resultingOffset = resultingOffset(termBuffer, frameOffset, alignedLength, termBuffer.capacity());
@@ -218,7 +365,7 @@ public class TermAppender extends LogBufferPartition
         final int remainingPayload = length % maxPayloadLength;
         final int lastFrameLength = (remainingPayload > 0) ? align(remainingPayload + HEADER_LENGTH, FRAME_ALIGNMENT) : 0;
         final int requiredLength = (numMaxPayloads * maxFrameLength) + lastFrameLength;
-        int frameOffset = metaDataBuffer().getAndAddInt(TERM_TAIL_COUNTER_OFFSET, requiredLength);
+        int frameOffset = getAndAddTail(requiredLength);
         final UnsafeBuffer termBuffer = termBuffer();
 
         final int resultingOffset = resultingOffset(termBuffer, frameOffset, requiredLength, termBuffer.capacity());
@@ -258,6 +405,97 @@ public class TermAppender extends LogBufferPartition
         return resultingOffset;
     }
 
+    private int appendUnfragmentedMessage(final DirectBufferVector[] vectors, final int length)
+    {
+        final int frameLength = length + HEADER_LENGTH;
+        final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
+        final int frameOffset = getAndAddTail(alignedLength);
+        final UnsafeBuffer termBuffer = termBuffer();
+
+        final int resultingOffset = resultingOffset(termBuffer, frameOffset, alignedLength, termBuffer.capacity());
+        if (resultingOffset > 0)
+        {
+            termBuffer.putBytes(frameOffset, defaultHeader, 0, HEADER_LENGTH);
+
+            int offset = frameOffset + HEADER_LENGTH;
+            for (final DirectBufferVector vector : vectors)
+            {
+                termBuffer.putBytes(offset, vector.buffer(), vector.offset(), vector.length());
+                offset += vector.length();
+            }
+
+            frameTermOffset(termBuffer, frameOffset, frameOffset);
+            frameLengthOrdered(termBuffer, frameOffset, frameLength);
+        }
+
+        return resultingOffset;
+    }
+
+    private int appendFragmentedMessage(final DirectBufferVector[] vectors, final int length)
+    {
+        final int numMaxPayloads = length / maxPayloadLength;
+        final int remainingPayload = length % maxPayloadLength;
+        final int lastFrameLength = (remainingPayload > 0) ? align(remainingPayload + HEADER_LENGTH, FRAME_ALIGNMENT) : 0;
+        final int requiredLength = (numMaxPayloads * maxFrameLength) + lastFrameLength;
+        int frameOffset = getAndAddTail(requiredLength);
+        final UnsafeBuffer termBuffer = termBuffer();
+
+        final int resultingOffset = resultingOffset(termBuffer, frameOffset, requiredLength, termBuffer.capacity());
+        if (resultingOffset > 0)
+        {
+            byte flags = BEGIN_FRAG;
+            int remaining = length;
+            int vectorIndex = 0;
+            int vectorOffset = 0;
+            do
+            {
+                final int bytesToWrite = Math.min(remaining, maxPayloadLength);
+                final int frameLength = bytesToWrite + HEADER_LENGTH;
+                final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
+
+                termBuffer.putBytes(frameOffset, defaultHeader, 0, HEADER_LENGTH);
+
+                int bytesWritten = 0;
+                int payloadOffset = frameOffset + HEADER_LENGTH;
+                do
+                {
+                    final DirectBufferVector vector = vectors[vectorIndex];
+                    final int vectorRemaining = vector.length() - vectorOffset;
+                    final int numBytes = Math.min(bytesToWrite - bytesWritten, vectorRemaining);
+
+                    termBuffer.putBytes(payloadOffset, vector.buffer(), vector.offset() + vectorOffset, numBytes);
+
+                    bytesWritten += numBytes;
+                    payloadOffset += numBytes;
+                    vectorOffset += numBytes;
+
+                    if (vectorRemaining <= numBytes)
+                    {
+                        vectorIndex++;
+                        vectorOffset = 0;
+                    }
+                }
+                while (bytesWritten < bytesToWrite);
+
+                if (remaining <= maxPayloadLength)
+                {
+                    flags |= END_FRAG;
+                }
+
+                frameFlags(termBuffer, frameOffset, flags);
+                frameTermOffset(termBuffer, frameOffset, frameOffset);
+                frameLengthOrdered(termBuffer, frameOffset, frameLength);
+
+                flags = 0;
+                frameOffset += alignedLength;
+                remaining -= bytesToWrite;
+            }
+            while (remaining > 0);
+        }
+
+        return resultingOffset;
+    }
+
     private int resultingOffset(final UnsafeBuffer termBuffer, final int frameOffset, final int length, final int capacity)
     {
         int resultingOffset = frameOffset + length;
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.concurrent.logbuffer;
+
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.frameLengthVolatile;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.isPaddingFrame;
+import static uk.co.real_logic.agrona.BitUtil.align;
+
+/**
+ * Scans a term buffer for a block of contiguous committed frames which can be consumed in one operation.
+ *
+ * This can be used to concurrently read a term buffer which is being appended to.
+ */
+public final class TermBlockScanner
+{
+    /**
+     * Scan a term buffer for a block of committed frames from an offset up to a limit offset.
+     *
+     * A padding frame ends a block so it is never mixed with data. If the padding frame is at the beginning of the scan
+     * then it is returned as a block on its own so the consumer can skip over it.
+     *
+     * The first committed frame is always included in the block even if it extends beyond the limit offset, otherwise
+     * a limit smaller than a frame would never make progress. Subsequent frames are only included if they fit.
+     *
+     * @param termBuffer  to scan for frames.
+     * @param termOffset  at which the scan should begin.
+     * @param limitOffset at which the scan should stop unless the first frame extends beyond it.
+     * @return the offset at which the scan terminated which is the end of the block.
+     */
+    public static int scan(final UnsafeBuffer termBuffer, final int termOffset, final int limitOffset)
+    {
+        int offset = termOffset;
+
+        while (offset < limitOffset)
+        {
+            final int frameLength = frameLengthVolatile(termBuffer, offset);
+            if (frameLength <= 0)
+            {
+                break;
+            }
+
+            final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+
+            if (isPaddingFrame(termBuffer, offset))
+            {
+                if (termOffset == offset)
+                {
+                    offset += alignedFrameLength;
+                }
+
+                break;
+            }
+
+            if (offset + alignedFrameLength > limitOffset)
+            {
+                if (termOffset == offset)
+                {
+                    offset += alignedFrameLength;
+                }
+
+                break;
+            }
+
+            offset += alignedFrameLength;
+        }
+
+        return offset;
+    }
+}
@@ -58,42 +58,80 @@ public class TermGapScanner
      * @return offset of last contiguous frame
      */
     public static int scanForGap(
-        final UnsafeBuffer termBuffer, final int termId, int rebuildOffset, final int hwmOffset, final GapHandler handler)
+        final UnsafeBuffer termBuffer, final int termId, final int rebuildOffset, final int hwmOffset, final GapHandler handler)
     {
-        do
+        return scanForGaps(termBuffer, termId, rebuildOffset, hwmOffset, 1, handler);
+    }
+
+    /**
+     * Scan for up to maxGaps gaps from the rebuildOffset up to the high-water-mark. Each gap will be reported to the
+     * {@link GapHandler} in order of term offset.
+     *
+     * @param termBuffer    to be scanned for gaps.
+     * @param termId        of the current term buffer.
+     * @param rebuildOffset at which to start scanning.
+     * @param hwmOffset     at which to stop scanning.
+     * @param maxGaps       to be reported before the scan stops.
+     * @param handler       to call for each gap found.
+     * @return offset of last contiguous frame
+     */
+    public static int scanForGaps(
+        final UnsafeBuffer termBuffer,
+        final int termId,
+        final int rebuildOffset,
+        final int hwmOffset,
+        final int maxGaps,
+        final GapHandler handler)
+    {
+        final int contiguousOffset = scanFrames(termBuffer, rebuildOffset, hwmOffset);
+
+        int gapBeginOffset = contiguousOffset;
+        int gapCount = 0;
+        while (gapBeginOffset < hwmOffset && gapCount < maxGaps)
         {
-            final int frameLength = frameLengthVolatile(termBuffer, rebuildOffset);
+            final int gapLength = scanGap(termBuffer, gapBeginOffset, hwmOffset);
+            handler.onGap(termId, termBuffer, gapBeginOffset, gapLength);
+            gapCount++;
+
+            gapBeginOffset = scanFrames(termBuffer, gapBeginOffset + gapLength, hwmOffset);
+        }
+
+        return contiguousOffset;
+    }
+
+    private static int scanFrames(final UnsafeBuffer termBuffer, int offset, final int hwmOffset)
+    {
+        while (offset < hwmOffset)
+        {
+            final int frameLength = frameLengthVolatile(termBuffer, offset);
             if (0 == frameLength)
             {
                 break;
             }
 
-            rebuildOffset += align(frameLength, FRAME_ALIGNMENT);
+            offset += align(frameLength, FRAME_ALIGNMENT);
         }
-        while (rebuildOffset < hwmOffset);
 
-        final int gapBeginOffset = rebuildOffset;
-        if (rebuildOffset < hwmOffset)
+        return offset;
+    }
+
+    private static int scanGap(final UnsafeBuffer termBuffer, final int gapBeginOffset, final int hwmOffset)
+    {
+        final int limit = hwmOffset - HEADER_LENGTH;
+        int offset = gapBeginOffset + FRAME_LENGTH_FIELD_OFFSET;
+
+        while (offset < limit)
         {
-            final int limit = hwmOffset - HEADER_LENGTH;
-            rebuildOffset += FRAME_LENGTH_FIELD_OFFSET;
+            offset += FRAME_ALIGNMENT;
+            final int frameLength = termBuffer.getIntVolatile(offset);
 
-            while (rebuildOffset < limit)
+            if (0 != frameLength)
             {
-                rebuildOffset += FRAME_ALIGNMENT;
-                final int frameLength = termBuffer.getIntVolatile(rebuildOffset);
-
-                if (0 != frameLength)
-                {
-                    rebuildOffset -= HEADER_LENGTH;
-                    break;
-                }
+                offset -= HEADER_LENGTH;
+                break;
             }
-
-            final int gapLength = ((rebuildOffset - FRAME_LENGTH_FIELD_OFFSET) - gapBeginOffset) + HEADER_LENGTH;
-            handler.onGap(termId, termBuffer, gapBeginOffset, gapLength);
         }
 
-        return gapBeginOffset;
+        return ((offset - FRAME_LENGTH_FIELD_OFFSET) - gapBeginOffset) + HEADER_LENGTH;
     }
 }
@@ -58,6 +58,16 @@ public class TermReader
         return termBuffer;
     }
 
+    /**
+     * The initial term id of the stream from which the term is read.
+     *
+     * @return the initial term id of the stream from which the term is read.
+     */
+    public int initialTermId()
+    {
+        return header.initialTermId();
+    }
+
     /**
      * Return the read offset
      *
@@ -20,6 +20,10 @@ import static java.nio.ByteOrder.LITTLE_ENDIAN;
 /**
  * Flyweight for a Nak Packet
  *
+ * The term offset and length fields hold the first range of missing data. A multi-range NAK carries further ranges
+ * in the same term, each as a term offset and length pair following the header, with the frame length indicating
+ * the number of ranges.
+ *
  * <a href="https://github.com/real-logic/Aeron/wiki/Protocol-Specification#data-recovery-via-retransmit-request">
  *     Data Recovery
  * </a>
@@ -28,11 +32,29 @@ public class NakFlyweight extends HeaderFlyweight
 {
     public static final int HEADER_LENGTH = 28;
 
+    /**
+     * Length of each additional range in a multi-range NAK.
+     */
+    public static final int RANGE_LENGTH = 8;
+
     private static final int SESSION_ID_FIELD_OFFSET = 8;
     private static final int STREAM_ID_FIELD_OFFSET = 12;
     private static final int TERM_ID_FIELD_OFFSET = 16;
     private static final int TERM_OFFSET_FIELD_OFFSET = 20;
     private static final int LENGTH_FIELD_OFFSET = 24;
+    private static final int RANGE_TERM_OFFSET_FIELD_OFFSET = 0;
+    private static final int RANGE_LENGTH_FIELD_OFFSET = 4;
+
+    /**
+     * The frame length of a NAK carrying a number of ranges.
+     *
+     * @param rangeCount of ranges in the NAK.
+     * @return frame length of a NAK carrying the ranges.
+     */
+    public static int frameLengthForRanges(final int rangeCount)
+    {
+        return HEADER_LENGTH + ((rangeCount - 1) * RANGE_LENGTH);
+    }
 
     /**
      * return session id field
@@ -141,4 +163,65 @@ public class NakFlyweight extends HeaderFlyweight
 
         return this;
     }
+
+    /**
+     * The number of ranges in the NAK as indicated by the frame length.
+     *
+     * @return number of ranges in the NAK.
+     */
+    public int rangeCount()
+    {
+        return 1 + ((frameLength() - HEADER_LENGTH) / RANGE_LENGTH);
+    }
+
+    /**
+     * The term offset of a range.
+     *
+     * @param index of the range with 0 being the range held in the term offset and length fields.
+     * @return term offset of the range.
+     */
+    public int rangeTermOffset(final int index)
+    {
+        return 0 == index ? termOffset() : buffer().getInt(rangeOffset(index) + RANGE_TERM_OFFSET_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * The length of a range.
+     *
+     * @param index of the range with 0 being the range held in the term offset and length fields.
+     * @return length of the range.
+     */
+    public int rangeLength(final int index)
+    {
+        return 0 == index ? length() : buffer().getInt(rangeOffset(index) + RANGE_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * Set a range. The frame length should be set with {@link #frameLengthForRanges(int)} for the number of ranges.
+     *
+     * @param index      of the range with 0 being the range held in the term offset and length fields.
+     * @param termOffset of the range.
+     * @param length     of the range.
+     * @return flyweight
+     */
+    public NakFlyweight range(final int index, final int termOffset, final int length)
+    {
+        if (0 == index)
+        {
+            termOffset(termOffset);
+            length(length);
+        }
+        else
+        {
+            buffer().putInt(rangeOffset(index) + RANGE_TERM_OFFSET_FIELD_OFFSET, termOffset, LITTLE_ENDIAN);
+            buffer().putInt(rangeOffset(index) + RANGE_LENGTH_FIELD_OFFSET, length, LITTLE_ENDIAN);
+        }
+
+        return this;
+    }
+
+    private int rangeOffset(final int index)
+    {
+        return offset() + HEADER_LENGTH + ((index - 1) * RANGE_LENGTH);
+    }
 }
@@ -81,6 +81,18 @@ public class AeronUri
         return defaultValue;
     }
 
+    public int getInt(String key, int defaultValue)
+    {
+        final String value = params.get(key);
+
+        if (null != value)
+        {
+            return Integer.parseInt(value);
+        }
+
+        return defaultValue;
+    }
+
     public InetAddress getInetAddress(String key) throws UnknownHostException
     {
         return InetAddress.getByName(get(key));
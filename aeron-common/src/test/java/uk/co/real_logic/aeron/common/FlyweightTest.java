@@ -160,6 +160,28 @@ public class FlyweightTest
         assertThat(decodeNakHeader.length(), is(512));
     }
 
+    @Test
+    public void shouldEncodeAndDecodeMultiRangeNakCorrectly()
+    {
+        encodeNakHeader.wrap(aBuff, 0);
+        encodeNakHeader.headerType(HeaderFlyweight.HDR_TYPE_NAK);
+        encodeNakHeader.frameLength(NakFlyweight.frameLengthForRanges(3));
+        encodeNakHeader.termId(0x99887766);
+        encodeNakHeader.range(0, 0x100, 64);
+        encodeNakHeader.range(1, 0x200, 128);
+        encodeNakHeader.range(2, 0x400, 256);
+
+        decodeNakHeader.wrap(aBuff, 0);
+        assertThat(decodeNakHeader.frameLength(), is(NakFlyweight.HEADER_LENGTH + (2 * NakFlyweight.RANGE_LENGTH)));
+        assertThat(decodeNakHeader.rangeCount(), is(3));
+        assertThat(decodeNakHeader.termOffset(), is(0x100));
+        assertThat(decodeNakHeader.length(), is(64));
+        assertThat(decodeNakHeader.rangeTermOffset(1), is(0x200));
+        assertThat(decodeNakHeader.rangeLength(1), is(128));
+        assertThat(decodeNakHeader.rangeTermOffset(2), is(0x400));
+        assertThat(decodeNakHeader.rangeLength(2), is(256));
+    }
+
     @Test
     public void shouldEncodeAndDecodeStringsCorrectly()
     {
@@ -108,6 +108,13 @@ public class TermAppenderTest
         termAppender = new TermAppender(termBuffer, metaDataBuffer, DEFAULT_HEADER, maxFrameLength);
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowExceptionOnMaxFrameSizeGreaterThanMaxUdpPayload()
+    {
+        final int maxFrameLength = FrameDescriptor.MAX_UDP_PAYLOAD_LENGTH + FRAME_ALIGNMENT;
+        termAppender = new TermAppender(termBuffer, metaDataBuffer, DEFAULT_HEADER, maxFrameLength);
+    }
+
     @Test
     public void shouldReportCurrentTail()
     {
@@ -269,6 +276,155 @@ public class TermAppenderTest
         inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tail), frameLength);
     }
 
+    @Test
+    public void shouldAppendVectorsAsSingleFrame()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final UnsafeBuffer headerBuffer = new UnsafeBuffer(new byte[16]);
+        final UnsafeBuffer payloadBuffer = new UnsafeBuffer(new byte[128]);
+        final DirectBufferVector[] vectors =
+        {
+            new DirectBufferVector(headerBuffer, 0, 12),
+            new DirectBufferVector(payloadBuffer, 8, 20)
+        };
+        final int msgLength = 32;
+        final int frameLength = msgLength + headerLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        final int tail = 0;
+
+        when(metaDataBuffer.getAndAddInt(TERM_TAIL_COUNTER_OFFSET, alignedFrameLength)).thenReturn(0);
+
+        assertThat(termAppender.append(vectors), is(alignedFrameLength));
+
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).getAndAddInt(TERM_TAIL_COUNTER_OFFSET, alignedFrameLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(tail, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(headerLength, headerBuffer, 0, 12);
+        inOrder.verify(termBuffer, times(1)).putBytes(headerLength + 12, payloadBuffer, 8, 20);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tail), frameLength);
+    }
+
+    @Test
+    public void shouldFragmentVectorsOverTwoFrames()
+    {
+        final int msgLength = termAppender.maxPayloadLength() + 1;
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int frameLength = headerLength + 1;
+        final int requiredCapacity = align(headerLength + 1, FRAME_ALIGNMENT) + termAppender.maxFrameLength();
+        final int firstVectorLength = 16;
+        final UnsafeBuffer headerBuffer = new UnsafeBuffer(new byte[firstVectorLength]);
+        final UnsafeBuffer payloadBuffer = new UnsafeBuffer(new byte[msgLength]);
+        final DirectBufferVector[] vectors =
+        {
+            new DirectBufferVector(headerBuffer, 0, firstVectorLength),
+            new DirectBufferVector(payloadBuffer, 0, msgLength - firstVectorLength)
+        };
+
+        when(metaDataBuffer.getAndAddInt(TERM_TAIL_COUNTER_OFFSET, requiredCapacity))
+            .thenReturn(0);
+
+        assertThat(termAppender.append(vectors), is(requiredCapacity));
+
+        int tail  = 0;
+        final int secondVectorLengthInFirstFrame = termAppender.maxPayloadLength() - firstVectorLength;
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).getAndAddInt(TERM_TAIL_COUNTER_OFFSET, requiredCapacity);
+
+        inOrder.verify(termBuffer, times(1)).putBytes(tail, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(tail + headerLength, headerBuffer, 0, firstVectorLength);
+        inOrder.verify(termBuffer, times(1))
+            .putBytes(tail + headerLength + firstVectorLength, payloadBuffer, 0, secondVectorLengthInFirstFrame);
+        inOrder.verify(termBuffer, times(1)).putByte(flagsOffset(tail), BEGIN_FRAG);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tail), termAppender.maxFrameLength());
+
+        tail = termAppender.maxFrameLength();
+        inOrder.verify(termBuffer, times(1)).putBytes(tail, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(tail + headerLength, payloadBuffer, secondVectorLengthInFirstFrame, 1);
+        inOrder.verify(termBuffer, times(1)).putByte(flagsOffset(tail), END_FRAG);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tail), frameLength);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionWhenVectorExceedsBuffer()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[16]);
+        final DirectBufferVector[] vectors = { new DirectBufferVector(buffer, 8, 16) };
+
+        termAppender.append(vectors);
+    }
+
+    @Test
+    public void shouldAppendBatchWithSingleTailIncrement()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int msgLength = 20;
+        final int frameLength = msgLength + headerLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        final MessageBatch batch = new MessageBatch(2);
+        int tail = 0;
+
+        batch.add(buffer, 0, msgLength);
+        batch.add(buffer, msgLength, msgLength);
+
+        when(metaDataBuffer.getAndAddInt(TERM_TAIL_COUNTER_OFFSET, alignedFrameLength * 2)).thenReturn(0);
+
+        assertThat(termAppender.appendBatch(batch), is(alignedFrameLength * 2));
+
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).getAndAddInt(TERM_TAIL_COUNTER_OFFSET, alignedFrameLength * 2);
+        inOrder.verify(termBuffer, times(1)).putBytes(tail, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(headerLength, buffer, 0, msgLength);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tail), frameLength);
+
+        tail = alignedFrameLength;
+        inOrder.verify(termBuffer, times(1)).putBytes(tail, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(tail + headerLength, buffer, msgLength, msgLength);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tail), frameLength);
+        verify(metaDataBuffer, times(1)).getAndAddInt(anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldPadLogAndTripWhenAppendingBatchWithInsufficientRemainingCapacity()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int msgLength = 120;
+        final int requiredFrameSize = align(headerLength + msgLength, FRAME_ALIGNMENT);
+        final int tailValue = TERM_BUFFER_LENGTH - requiredFrameSize;
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final MessageBatch batch = new MessageBatch(2);
+
+        batch.add(buffer, 0, msgLength);
+        batch.add(buffer, 0, msgLength);
+
+        when(metaDataBuffer.getAndAddInt(TERM_TAIL_COUNTER_OFFSET, requiredFrameSize * 2)).thenReturn(tailValue);
+
+        assertThat(termAppender.appendBatch(batch), is(TermAppender.TRIPPED));
+
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).getAndAddInt(TERM_TAIL_COUNTER_OFFSET, requiredFrameSize * 2);
+        inOrder.verify(termBuffer, times(1)).putBytes(tailValue, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putShort(typeOffset(tailValue), (short)PADDING_FRAME_TYPE, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tailValue), tailValue, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tailValue), TERM_BUFFER_LENGTH - tailValue);
+        verify(termBuffer, never()).putBytes(anyInt(), eq(buffer), anyInt(), anyInt());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionWhenBatchedMessageExceedsMaxPayloadLength()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[MAX_FRAME_LENGTH]);
+        final MessageBatch batch = new MessageBatch(1);
+        batch.add(buffer, 0, termAppender.maxPayloadLength() + 1);
+
+        termAppender.appendBatch(batch);
+    }
+
     @Test
     public void shouldClaimRegionForZeroCopyEncoding()
     {
@@ -296,4 +452,54 @@ public class TermAppenderTest
         inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
         inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tail), frameLength);
     }
+
+    @Test
+    public void shouldClaimFragmentedRegionOverTwoFrames()
+    {
+        final int msgLength = termAppender.maxPayloadLength() + 1;
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int frameLength = headerLength + 1;
+        final int requiredCapacity = align(headerLength + 1, FRAME_ALIGNMENT) + termAppender.maxFrameLength();
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[msgLength]);
+        final FragmentedBufferClaim bufferClaim = new FragmentedBufferClaim();
+
+        when(metaDataBuffer.getAndAddInt(TERM_TAIL_COUNTER_OFFSET, requiredCapacity))
+            .thenReturn(0);
+
+        assertThat(termAppender.claim(msgLength, bufferClaim), is(requiredCapacity));
+
+        assertThat(bufferClaim.buffer(), is(termBuffer));
+        assertThat(bufferClaim.length(), is(msgLength));
+        assertThat(bufferClaim.fragmentCount(), is(2));
+        assertThat(bufferClaim.fragmentOffset(1), is(termAppender.maxFrameLength() + headerLength));
+        assertThat(bufferClaim.fragmentLength(1), is(1));
+
+        bufferClaim.putBytes(0, buffer, 0, msgLength);
+        bufferClaim.commit();
+
+        int tail  = 0;
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).getAndAddInt(TERM_TAIL_COUNTER_OFFSET, requiredCapacity);
+
+        inOrder.verify(termBuffer, times(1)).putBytes(tail, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putByte(flagsOffset(tail), BEGIN_FRAG);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+
+        tail = termAppender.maxFrameLength();
+        inOrder.verify(termBuffer, times(1)).putBytes(tail, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putByte(flagsOffset(tail), END_FRAG);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+
+        inOrder.verify(termBuffer, times(1)).putBytes(headerLength, buffer, 0, termAppender.maxPayloadLength());
+        inOrder.verify(termBuffer, times(1)).putBytes(tail + headerLength, buffer, termAppender.maxPayloadLength(), 1);
+
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(0), termAppender.maxFrameLength());
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tail), frameLength);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionWhenFragmentedClaimExceedsMaxMessageLength()
+    {
+        termAppender.claim(termAppender.maxMessageLength() + 1, new FragmentedBufferClaim());
+    }
 }
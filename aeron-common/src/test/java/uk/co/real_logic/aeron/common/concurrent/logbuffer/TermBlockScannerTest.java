@@ -0,0 +1,161 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.concurrent.logbuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.*;
+import static uk.co.real_logic.aeron.common.protocol.HeaderFlyweight.HDR_TYPE_DATA;
+import static uk.co.real_logic.agrona.BitUtil.align;
+
+public class TermBlockScannerTest
+{
+    private static final int TERM_BUFFER_CAPACITY = LogBufferDescriptor.TERM_MIN_LENGTH;
+    private static final int HEADER_LENGTH = DataHeaderFlyweight.HEADER_LENGTH;
+
+    private final UnsafeBuffer termBuffer = mock(UnsafeBuffer.class);
+
+    @Before
+    public void setUp()
+    {
+        when(termBuffer.capacity()).thenReturn(TERM_BUFFER_CAPACITY);
+    }
+
+    @Test
+    public void shouldScanEmptyBuffer()
+    {
+        final int offset = 0;
+        final int limit = termBuffer.capacity();
+
+        assertThat(TermBlockScanner.scan(termBuffer, offset, limit), is(offset));
+    }
+
+    @Test
+    public void shouldReadFirstMessage()
+    {
+        final int offset = 0;
+        final int limit = termBuffer.capacity();
+        final int messageLength = 50;
+        final int alignedMessageLength = align(messageLength, FRAME_ALIGNMENT);
+
+        when(termBuffer.getIntVolatile(lengthOffset(0))).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(0))).thenReturn((short)HDR_TYPE_DATA);
+
+        assertThat(TermBlockScanner.scan(termBuffer, offset, limit), is(alignedMessageLength));
+    }
+
+    @Test
+    public void shouldReadBlockOfTwoMessages()
+    {
+        final int offset = 0;
+        final int limit = termBuffer.capacity();
+        final int messageLength = 50;
+        final int alignedMessageLength = align(messageLength, FRAME_ALIGNMENT);
+
+        when(termBuffer.getIntVolatile(lengthOffset(0))).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(0))).thenReturn((short)HDR_TYPE_DATA);
+        when(termBuffer.getIntVolatile(lengthOffset(alignedMessageLength))).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(alignedMessageLength))).thenReturn((short)HDR_TYPE_DATA);
+
+        assertThat(TermBlockScanner.scan(termBuffer, offset, limit), is(alignedMessageLength * 2));
+    }
+
+    @Test
+    public void shouldReadBlockOfThreeMessagesThatFillBuffer()
+    {
+        final int offset = 0;
+        final int limit = termBuffer.capacity();
+        final int messageLength = 50;
+        final int alignedMessageLength = align(messageLength, FRAME_ALIGNMENT);
+        final int thirdMessageLength = limit - (alignedMessageLength * 2);
+
+        when(termBuffer.getIntVolatile(lengthOffset(0))).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(0))).thenReturn((short)HDR_TYPE_DATA);
+        when(termBuffer.getIntVolatile(lengthOffset(alignedMessageLength))).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(alignedMessageLength))).thenReturn((short)HDR_TYPE_DATA);
+        when(termBuffer.getIntVolatile(lengthOffset(alignedMessageLength * 2))).thenReturn(thirdMessageLength);
+        when(termBuffer.getShort(typeOffset(alignedMessageLength * 2))).thenReturn((short)HDR_TYPE_DATA);
+
+        assertThat(TermBlockScanner.scan(termBuffer, offset, limit), is(limit));
+    }
+
+    @Test
+    public void shouldReadBlockOfOneMessageThatFitsWithinLimit()
+    {
+        final int offset = 0;
+        final int messageLength = 50;
+        final int alignedMessageLength = align(messageLength, FRAME_ALIGNMENT);
+        final int limit = alignedMessageLength + 1;
+
+        when(termBuffer.getIntVolatile(lengthOffset(0))).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(0))).thenReturn((short)HDR_TYPE_DATA);
+        when(termBuffer.getIntVolatile(lengthOffset(alignedMessageLength))).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(alignedMessageLength))).thenReturn((short)HDR_TYPE_DATA);
+
+        assertThat(TermBlockScanner.scan(termBuffer, offset, limit), is(alignedMessageLength));
+    }
+
+    @Test
+    public void shouldReadFirstMessageWhenLongerThanLimit()
+    {
+        final int offset = 0;
+        final int messageLength = 50;
+        final int alignedMessageLength = align(messageLength, FRAME_ALIGNMENT);
+        final int limit = alignedMessageLength - 1;
+
+        when(termBuffer.getIntVolatile(lengthOffset(0))).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(0))).thenReturn((short)HDR_TYPE_DATA);
+        when(termBuffer.getIntVolatile(lengthOffset(alignedMessageLength))).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(alignedMessageLength))).thenReturn((short)HDR_TYPE_DATA);
+
+        assertThat(TermBlockScanner.scan(termBuffer, offset, limit), is(alignedMessageLength));
+    }
+
+    @Test
+    public void shouldReadBlockUpToPaddingFrame()
+    {
+        final int offset = 0;
+        final int limit = termBuffer.capacity();
+        final int messageLength = 50;
+        final int alignedMessageLength = align(messageLength, FRAME_ALIGNMENT);
+        final int paddingOffset = alignedMessageLength;
+
+        when(termBuffer.getIntVolatile(lengthOffset(0))).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(0))).thenReturn((short)HDR_TYPE_DATA);
+        when(termBuffer.getIntVolatile(lengthOffset(paddingOffset))).thenReturn(limit - paddingOffset);
+        when(termBuffer.getShort(typeOffset(paddingOffset))).thenReturn((short)PADDING_FRAME_TYPE);
+
+        assertThat(TermBlockScanner.scan(termBuffer, offset, limit), is(alignedMessageLength));
+    }
+
+    @Test
+    public void shouldReadPaddingFrameAsBlockOnItsOwn()
+    {
+        final int limit = termBuffer.capacity();
+        final int paddingOffset = limit - (HEADER_LENGTH * 4);
+
+        when(termBuffer.getIntVolatile(lengthOffset(paddingOffset))).thenReturn(limit - paddingOffset);
+        when(termBuffer.getShort(typeOffset(paddingOffset))).thenReturn((short)PADDING_FRAME_TYPE);
+
+        assertThat(TermBlockScanner.scan(termBuffer, paddingOffset, limit), is(limit));
+    }
+}
@@ -17,6 +17,7 @@ package uk.co.real_logic.aeron.common.concurrent.logbuffer;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 
@@ -97,4 +98,22 @@ public class TermGapScannerTest
 
         verifyZeroInteractions(gapHandler);
     }
+
+    @Test
+    public void shouldReportMultipleGapsUpToMaxGaps()
+    {
+        final int highWaterMark = HEADER_LENGTH * 7;
+
+        when(termBuffer.getIntVolatile(lengthOffset(0))).thenReturn(HEADER_LENGTH);
+        when(termBuffer.getIntVolatile(lengthOffset(HEADER_LENGTH * 2))).thenReturn(HEADER_LENGTH);
+        when(termBuffer.getIntVolatile(lengthOffset(HEADER_LENGTH * 4))).thenReturn(HEADER_LENGTH);
+        when(termBuffer.getIntVolatile(lengthOffset(HEADER_LENGTH * 6))).thenReturn(HEADER_LENGTH);
+
+        assertThat(TermGapScanner.scanForGaps(termBuffer, TERM_ID, 0, highWaterMark, 2, gapHandler), is(HEADER_LENGTH));
+
+        final InOrder inOrder = inOrder(gapHandler);
+        inOrder.verify(gapHandler).onGap(TERM_ID, termBuffer, HEADER_LENGTH, HEADER_LENGTH);
+        inOrder.verify(gapHandler).onGap(TERM_ID, termBuffer, HEADER_LENGTH * 3, HEADER_LENGTH);
+        verifyNoMoreInteractions(gapHandler);
+    }
 }
@@ -47,6 +47,15 @@ public class AeronUriTest
         assertInvalid("aeron:udp:");
     }
 
+    @Test
+    public void shouldGetIntParameterOrDefault() throws Exception
+    {
+        final AeronUri uri = AeronUri.parse("aeron:udp?term-length=65536");
+
+        assertThat(uri.getInt("term-length", 0), is(65536));
+        assertThat(uri.getInt("mtu", 4096), is(4096));
+    }
+
     @Test
     public void shouldParseWithSingleParameter() throws Exception
     {
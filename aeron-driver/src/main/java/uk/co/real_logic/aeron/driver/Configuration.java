@@ -18,6 +18,7 @@ package uk.co.real_logic.aeron.driver;
 import uk.co.real_logic.aeron.common.FeedbackDelayGenerator;
 import uk.co.real_logic.aeron.common.OptimalMulticastDelayGenerator;
 import uk.co.real_logic.aeron.common.StaticDelayGenerator;
+import uk.co.real_logic.aeron.common.protocol.NakFlyweight;
 import uk.co.real_logic.agrona.concurrent.BackoffIdleStrategy;
 import uk.co.real_logic.agrona.BitUtil;
 import uk.co.real_logic.agrona.concurrent.IdleStrategy;
@@ -137,7 +138,8 @@ public class Configuration
     public static final String CONTROL_LOSS_SEED_PROP_NAME = "aeron.debug.control.loss.seed";
 
     /**
-     * Default byte buffer length for reads
+     * Default initial byte buffer length for reads. Receivers grow the buffer to the largest sender MTU seen in setup
+     * frames up to {@link uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor#MAX_UDP_PAYLOAD_LENGTH}.
      */
     public static final int READ_BYTE_BUFFER_LENGTH_DEFAULT = 4096;
     public static final int READ_BYTE_BUFFER_LENGTH = getInteger(READ_BUFFER_LENGTH_PROP_NAME, READ_BYTE_BUFFER_LENGTH_DEFAULT);
@@ -297,6 +299,65 @@ public class Configuration
     public static final long AGENT_IDLE_MIN_PARK_NS = TimeUnit.NANOSECONDS.toNanos(1);
     public static final long AGENT_IDLE_MAX_PARK_NS = TimeUnit.MICROSECONDS.toNanos(100);
 
+    /**
+     * Maximum number of bytes of rotated terms the conductor will clean per duty cycle.
+     */
+    public static final String TERM_CLEANING_BUDGET_PROP_NAME = "aeron.term.cleaning.budget";
+    public static final int TERM_CLEANING_BUDGET_DEFAULT = 256 * 1024;
+    public static final int TERM_CLEANING_BUDGET = getInteger(TERM_CLEANING_BUDGET_PROP_NAME, TERM_CLEANING_BUDGET_DEFAULT);
+
+    /**
+     * Number of idle log buffers to keep pre-created for each term length. 0 disables pooling.
+     */
+    public static final String LOG_BUFFER_POOL_SIZE_PROP_NAME = "aeron.log.buffer.pool.size";
+    public static final int LOG_BUFFER_POOL_SIZE_DEFAULT = 0;
+    public static final int LOG_BUFFER_POOL_SIZE = getInteger(LOG_BUFFER_POOL_SIZE_PROP_NAME, LOG_BUFFER_POOL_SIZE_DEFAULT);
+
+    /**
+     * Delay before a closed log buffer is reclaimed by the pool. Must be longer than the client liveness timeout so no
+     * client still has the file mapped when it is reused.
+     */
+    public static final String LOG_BUFFER_POOL_RECYCLE_DELAY_PROP_NAME = "aeron.log.buffer.pool.recycle.delay";
+    public static final long LOG_BUFFER_POOL_RECYCLE_DELAY_NS = getLong(
+        LOG_BUFFER_POOL_RECYCLE_DELAY_PROP_NAME, CLIENT_LIVENESS_TIMEOUT_NS * 2);
+
+    /**
+     * Should log buffer files be created sparse so pages are only populated as terms are written.
+     */
+    public static final String LOG_BUFFER_SPARSE_PROP_NAME = "aeron.log.buffer.sparse";
+    public static final boolean LOG_BUFFER_SPARSE = Boolean.getBoolean(LOG_BUFFER_SPARSE_PROP_NAME);
+
+    /**
+     * Number of bytes a publication may send per sender duty cycle. At least one MTU is always attempted so the budget
+     * bounds how many further MTU sized datagrams follow before the sender moves on to the next publication.
+     */
+    public static final String PUBLICATION_SEND_BUDGET_PROP_NAME = "aeron.publication.send.budget";
+    public static final int PUBLICATION_SEND_BUDGET_DEFAULT = 64 * 1024;
+    public static final int PUBLICATION_SEND_BUDGET =
+        getInteger(PUBLICATION_SEND_BUDGET_PROP_NAME, PUBLICATION_SEND_BUDGET_DEFAULT);
+
+    /**
+     * Maximum number of datagrams the receiver will read from a ready transport in a single poll.
+     */
+    public static final String RECEIVE_BATCH_DATAGRAMS_PROP_NAME = "aeron.rcv.batch.datagrams";
+    public static final int RECEIVE_BATCH_DATAGRAMS_DEFAULT = 16;
+    public static final int RECEIVE_BATCH_DATAGRAMS =
+        getInteger(RECEIVE_BATCH_DATAGRAMS_PROP_NAME, RECEIVE_BATCH_DATAGRAMS_DEFAULT);
+
+    /**
+     * Number of bytes after which the receiver stops reading from a ready transport in a single poll.
+     */
+    public static final String RECEIVE_BATCH_BYTES_PROP_NAME = "aeron.rcv.batch.bytes";
+    public static final int RECEIVE_BATCH_BYTES_DEFAULT = 128 * 1024;
+    public static final int RECEIVE_BATCH_BYTES = getInteger(RECEIVE_BATCH_BYTES_PROP_NAME, RECEIVE_BATCH_BYTES_DEFAULT);
+
+    /**
+     * Maximum number of gaps in a term a receiver tracks and NAKs together in a single multi-range NAK frame.
+     */
+    public static final String LOSS_MAX_GAPS_PROP_NAME = "aeron.rcv.loss.max.gaps";
+    public static final int LOSS_MAX_GAPS_DEFAULT = 8;
+    public static final int LOSS_MAX_GAPS = getInteger(LOSS_MAX_GAPS_PROP_NAME, LOSS_MAX_GAPS_DEFAULT);
+
     /** Capacity for the command queues used between driver agents. */
     public static final int CMD_QUEUE_CAPACITY = 1024;
 
@@ -325,6 +386,43 @@ public class Configuration
     public static final String MULTICAST_FLOW_CONTROL_STRATEGY = getProperty(
         MULTICAST_FLOW_CONTROL_STRATEGY_PROP_NAME, "uk.co.real_logic.aeron.driver.MaxMulticastFlowControl");
 
+    /**
+     * {@link FlowControl} to be employed for unicast channels with multiple destinations. Defaults to
+     * {@link MinMulticastFlowControl} so the publication is not run ahead of a destination that is falling behind.
+     */
+    public static final String MULTI_DESTINATION_FLOW_CONTROL_STRATEGY_PROP_NAME =
+        "aeron.multi.destination.flow.control.strategy";
+    public static final String MULTI_DESTINATION_FLOW_CONTROL_STRATEGY = getProperty(
+        MULTI_DESTINATION_FLOW_CONTROL_STRATEGY_PROP_NAME, "uk.co.real_logic.aeron.driver.MinMulticastFlowControl");
+
+    /**
+     * Should spy subscriptions hold back the publisher limit of the network publications they spy on.
+     */
+    public static final String SPIES_FLOW_CONTROL_PROP_NAME = "aeron.spies.flow.control";
+    public static final boolean SPIES_FLOW_CONTROL = Boolean.getBoolean(SPIES_FLOW_CONTROL_PROP_NAME);
+
+    /**
+     * Timeout after which a receiver that has not sent a status message is dropped by {@link MinMulticastFlowControl}.
+     */
+    public static final String MIN_FLOW_CONTROL_RECEIVER_TIMEOUT_PROP_NAME = "aeron.min.flow.control.receiver.timeout";
+    public static final long MIN_FLOW_CONTROL_RECEIVER_TIMEOUT_DEFAULT_NS = TimeUnit.SECONDS.toNanos(2);
+    public static final long MIN_FLOW_CONTROL_RECEIVER_TIMEOUT_NS = getLong(
+        MIN_FLOW_CONTROL_RECEIVER_TIMEOUT_PROP_NAME, MIN_FLOW_CONTROL_RECEIVER_TIMEOUT_DEFAULT_NS);
+
+    /**
+     * Number of {@link Receiver} agents the receive channel endpoints are sharded across.
+     */
+    public static final String RECEIVER_COUNT_PROP_NAME = "aeron.receiver.count";
+    public static final int RECEIVER_COUNT_DEFAULT = 1;
+    public static final int RECEIVER_COUNT = getInteger(RECEIVER_COUNT_PROP_NAME, RECEIVER_COUNT_DEFAULT);
+
+    /**
+     * {@link ReceiverShardPolicy} to be employed for assigning receive channel endpoints to {@link Receiver} agents.
+     */
+    public static final String RECEIVER_SHARD_POLICY_PROP_NAME = "aeron.receiver.shard.policy";
+    public static final String RECEIVER_SHARD_POLICY = getProperty(
+        RECEIVER_SHARD_POLICY_PROP_NAME, "uk.co.real_logic.aeron.driver.RoundRobinReceiverShardPolicy");
+
     /** Length of the maximum transport unit of the media driver's protocol */
     public static final String MTU_LENGTH_PROP_NAME = "aeron.mtu.length";
     public static final int MTU_LENGTH_DEFAULT = 4096;
@@ -386,6 +484,41 @@ public class Configuration
         }
     }
 
+    /**
+     * Validate that there is at least one receiver to service the receive channel endpoints.
+     *
+     * @param receiverCount to be validated.
+     */
+    public static void validateReceiverCount(final int receiverCount)
+    {
+        if (receiverCount < 1)
+        {
+            throw new IllegalStateException("Receiver count must be >= 1: " + receiverCount);
+        }
+    }
+
+    /**
+     * Validate that at least one gap is tracked and a NAK carrying a range for every tracked gap fits in an MTU.
+     *
+     * @param lossMaxGaps to be validated.
+     * @param mtuLength   within which a NAK frame must fit.
+     */
+    public static void validateLossMaxGaps(final int lossMaxGaps, final int mtuLength)
+    {
+        if (lossMaxGaps < 1)
+        {
+            throw new IllegalStateException("Loss max gaps must be >= 1: " + lossMaxGaps);
+        }
+
+        final int maxGaps = ((mtuLength - NakFlyweight.HEADER_LENGTH) / NakFlyweight.RANGE_LENGTH) + 1;
+        if (lossMaxGaps > maxGaps)
+        {
+            throw new IllegalStateException(
+                "Loss max gaps must be <= " + maxGaps + " for NAK frame to fit in MTU length " + mtuLength + ": " +
+                lossMaxGaps);
+        }
+    }
+
     public static IdleStrategy eventReaderIdleStrategy()
     {
         return new BackoffIdleStrategy(0, 0, AGENT_IDLE_MIN_PARK_NS, AGENT_IDLE_MAX_PARK_NS);
@@ -446,6 +579,36 @@ public class Configuration
         return flowControl;
     }
 
+    public static FlowControl multiDestinationFlowControlStrategy()
+    {
+        FlowControl flowControl = null;
+        try
+        {
+            flowControl = (FlowControl)Class.forName(MULTI_DESTINATION_FLOW_CONTROL_STRATEGY).newInstance();
+        }
+        catch (final Exception ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        return flowControl;
+    }
+
+    public static ReceiverShardPolicy receiverShardPolicy()
+    {
+        ReceiverShardPolicy shardPolicy = null;
+        try
+        {
+            shardPolicy = (ReceiverShardPolicy)Class.forName(RECEIVER_SHARD_POLICY).newInstance();
+        }
+        catch (final Exception ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        return shardPolicy;
+    }
+
     public static TimerWheel newConductorTimerWheel()
     {
         return new TimerWheel(CONDUCTOR_TICK_DURATION_US, TimeUnit.MICROSECONDS, CONDUCTOR_TICKS_PER_WHEEL);
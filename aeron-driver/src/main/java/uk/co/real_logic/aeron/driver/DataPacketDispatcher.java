@@ -17,6 +17,7 @@ package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.agrona.collections.BiInt2ObjectMap;
 import uk.co.real_logic.agrona.collections.Int2ObjectHashMap;
+import uk.co.real_logic.agrona.collections.Long2ObjectHashMap;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.aeron.common.protocol.SetupFlyweight;
@@ -29,6 +30,10 @@ import static uk.co.real_logic.aeron.driver.NetworkConnection.Status.INACTIVE;
 /**
  * Handling of dispatching data packets to {@link NetworkConnection}s streams.
  *
+ * Data packets are dispatched with a single lookup on the combined session and stream id, with the last connection
+ * hit cached for runs of packets from the same session. Connections are also held by stream so subscriptions can be
+ * managed, which is off the hot path.
+ *
  * All methods should be called via {@link Receiver} thread
  */
 public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHandler
@@ -38,10 +43,14 @@ public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHand
 
     private final BiInt2ObjectMap<Integer> initialisationInProgressMap = new BiInt2ObjectMap<>();
     private final Int2ObjectHashMap<Int2ObjectHashMap<NetworkConnection>> sessionsByStreamIdMap = new Int2ObjectHashMap<>();
+    private final Long2ObjectHashMap<NetworkConnection> connectionBySessionAndStreamIdMap = new Long2ObjectHashMap<>();
     private final DriverConductorProxy conductorProxy;
     private final Receiver receiver;
     private final ReceiveChannelEndpoint channelEndpoint;
 
+    private long lastConnectionKey;
+    private NetworkConnection lastConnection;
+
     public DataPacketDispatcher(
         final DriverConductorProxy conductorProxy, final Receiver receiver, final ReceiveChannelEndpoint channelEndpoint)
     {
@@ -66,7 +75,12 @@ public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHand
             throw new UnknownSubscriptionException("No subscription registered on stream " + streamId);
         }
 
-        connectionBySessionIdMap.values().forEach((connection) -> connection.status(INACTIVE));
+        connectionBySessionIdMap.values().forEach(
+            (connection) ->
+            {
+                removeFromLookup(connection.sessionId(), connection.streamId());
+                connection.status(INACTIVE);
+            });
     }
 
     public void addConnection(final NetworkConnection connection)
@@ -81,6 +95,7 @@ public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHand
         }
 
         connectionByteSessionIdMap.put(sessionId, connection);
+        connectionBySessionAndStreamIdMap.put(compoundKey(sessionId, streamId), connection);
         initialisationInProgressMap.remove(sessionId, streamId);
 
         connection.status(NetworkConnection.Status.ACTIVE);
@@ -95,6 +110,7 @@ public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHand
         if (null != connectionBySessionIdMap)
         {
             connectionBySessionIdMap.remove(sessionId);
+            removeFromLookup(sessionId, streamId);
             initialisationInProgressMap.remove(sessionId, streamId);
         }
     }
@@ -110,28 +126,43 @@ public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHand
     public int onDataPacket(
         final DataHeaderFlyweight header, final UnsafeBuffer buffer, final int length, final InetSocketAddress srcAddress)
     {
+        final int sessionId = header.sessionId();
         final int streamId = header.streamId();
-        final Int2ObjectHashMap<NetworkConnection> connectionBySessionIdMap = sessionsByStreamIdMap.get(streamId);
+        final long key = compoundKey(sessionId, streamId);
 
-        if (null != connectionBySessionIdMap)
+        NetworkConnection connection = lastConnection;
+        if (null == connection || key != lastConnectionKey)
         {
-            final int sessionId = header.sessionId();
-            final int termId = header.termId();
-            final NetworkConnection connection = connectionBySessionIdMap.get(sessionId);
-
+            connection = connectionBySessionAndStreamIdMap.get(key);
             if (null != connection)
             {
-                return connection.insertPacket(termId, header.termOffset(), buffer, length);
-            }
-            else if (null == initialisationInProgressMap.get(sessionId, streamId))
-            {
-                elicitSetupMessageFromSource(srcAddress, streamId, sessionId);
+                lastConnectionKey = key;
+                lastConnection = connection;
             }
         }
 
+        if (null != connection)
+        {
+            return connection.insertPacket(header.termId(), header.termOffset(), buffer, length);
+        }
+        else if (null != sessionsByStreamIdMap.get(streamId) && null == initialisationInProgressMap.get(sessionId, streamId))
+        {
+            elicitSetupMessageFromSource(srcAddress, streamId, sessionId);
+        }
+
         return 0;
     }
 
+    /**
+     * The connection that received the last data packet, as runs of packets are typically from the same session.
+     *
+     * @return the connection that received the last data packet or null if not known.
+     */
+    public NetworkConnection nextPacketConnection()
+    {
+        return lastConnection;
+    }
+
     public void onSetupMessage(
         final SetupFlyweight header, final UnsafeBuffer buffer, final int length, final InetSocketAddress srcAddress)
     {
@@ -160,6 +191,22 @@ public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHand
         }
     }
 
+    private static long compoundKey(final int sessionId, final int streamId)
+    {
+        return ((long)streamId << 32) | (sessionId & 0xFFFF_FFFFL);
+    }
+
+    private void removeFromLookup(final int sessionId, final int streamId)
+    {
+        final long key = compoundKey(sessionId, streamId);
+        connectionBySessionAndStreamIdMap.remove(key);
+
+        if (key == lastConnectionKey)
+        {
+            lastConnection = null;
+        }
+    }
+
     private boolean isNotAlreadyInProgress(final int streamId, final int sessionId)
     {
         return !INIT_IN_PROGRESS.equals(initialisationInProgressMap.get(sessionId, streamId));
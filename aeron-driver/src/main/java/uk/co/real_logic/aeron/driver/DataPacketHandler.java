@@ -33,4 +33,14 @@ public interface DataPacketHandler
      * @return the number of bytes received.
      */
     int onDataPacket(DataHeaderFlyweight header, UnsafeBuffer buffer, int length, InetSocketAddress srcAddress);
+
+    /**
+     * The connection most likely to receive the next data packet so it can be received directly into its term.
+     *
+     * @return the connection most likely to receive the next data packet or null if unknown.
+     */
+    default NetworkConnection nextPacketConnection()
+    {
+        return null;
+    }
 }
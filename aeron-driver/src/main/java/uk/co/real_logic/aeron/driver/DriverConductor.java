@@ -34,6 +34,7 @@ import uk.co.real_logic.agrona.TimerWheel;
 import uk.co.real_logic.agrona.concurrent.*;
 import uk.co.real_logic.agrona.concurrent.ringbuffer.RingBuffer;
 import uk.co.real_logic.agrona.concurrent.status.Position;
+import uk.co.real_logic.agrona.concurrent.status.ReadOnlyPosition;
 import uk.co.real_logic.agrona.concurrent.status.UnsafeBufferPosition;
 
 import java.net.InetSocketAddress;
@@ -42,7 +43,10 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
+import static uk.co.real_logic.aeron.common.CommonContext.IPC_CHANNEL;
+import static uk.co.real_logic.aeron.common.CommonContext.SPY_PREFIX;
 import static uk.co.real_logic.aeron.common.ErrorCode.*;
 import static uk.co.real_logic.aeron.common.command.ControlProtocolEvents.*;
 import static uk.co.real_logic.aeron.common.event.EventConfiguration.EVENT_READER_FRAME_LIMIT;
@@ -54,6 +58,8 @@ import static uk.co.real_logic.aeron.driver.MediaDriver.Context;
  */
 public class DriverConductor implements Agent
 {
+    private static final String IPC_CANONICAL_FORM = "IPC";
+
     private final long dataLossSeed;
     private final long controlLossSeed;
     private final double dataLossRate;
@@ -63,19 +69,23 @@ public class DriverConductor implements Agent
     private final int initialWindowLength;
 
     private final RawLogFactory rawLogFactory;
-    private final ReceiverProxy receiverProxy;
+    private final ReceiverProxy[] receiverProxies;
+    private final ReceiverShardPolicy receiverShardPolicy;
     private final SenderProxy senderProxy;
     private final ClientProxy clientProxy;
     private final DriverConductorProxy conductorProxy;
     private final RingBuffer toDriverCommands;
     private final RingBuffer toEventReader;
-    private final OneToOneConcurrentArrayQueue<DriverConductorCmd> driverConductorCmdQueue;
+    private final ManyToOneConcurrentArrayQueue<DriverConductorCmd> driverConductorCmdQueue;
     private final Supplier<FlowControl> unicastFlowControl;
     private final Supplier<FlowControl> multicastFlowControl;
+    private final Supplier<FlowControl> multiDestinationFlowControl;
     private final HashMap<String, SendChannelEndpoint> sendChannelEndpointByChannelMap = new HashMap<>();
     private final HashMap<String, ReceiveChannelEndpoint> receiveChannelEndpointByChannelMap = new HashMap<>();
+    private final HashMap<String, ReceiverProxy> receiverProxyByChannelMap = new HashMap<>();
     private final ArrayList<PublicationLink> publicationLinks = new ArrayList<>();
     private final ArrayList<NetworkPublication> publications = new ArrayList<>();
+    private final ArrayList<IpcPublication> ipcPublications = new ArrayList<>();
     private final ArrayList<SubscriptionLink> subscriptionLinks = new ArrayList<>();
     private final ArrayList<NetworkConnection> connections = new ArrayList<>();
     private final ArrayList<AeronClient> clients = new ArrayList<>();
@@ -96,10 +106,13 @@ public class DriverConductor implements Agent
     private final MessageHandler onClientCommandFunc = this::onClientCommand;
     private final MessageHandler onEventFunc;
 
+    private long lastCleaningLag = 0;
+
     public DriverConductor(final Context ctx)
     {
         driverConductorCmdQueue = ctx.conductorCommandQueue();
-        receiverProxy = ctx.receiverProxy();
+        receiverProxies = ctx.receiverProxies();
+        receiverShardPolicy = ctx.receiverShardPolicy();
         senderProxy = ctx.senderProxy();
         rawLogFactory = ctx.rawLogBuffersFactory();
         mtuLength = ctx.mtuLength();
@@ -107,6 +120,7 @@ public class DriverConductor implements Agent
         termBufferLength = ctx.termBufferLength();
         unicastFlowControl = ctx.unicastSenderFlowControl();
         multicastFlowControl = ctx.multicastSenderFlowControl();
+        multiDestinationFlowControl = ctx.multiDestinationSenderFlowControl();
         countersManager = ctx.countersManager();
         countersBuffer = ctx.countersBuffer();
         timerWheel = ctx.conductorTimerWheel();
@@ -171,6 +185,24 @@ public class DriverConductor implements Agent
         return publicationLink;
     }
 
+    private static IpcPublication findIpcPublication(
+        final ArrayList<IpcPublication> ipcPublications, final int sessionId, final int streamId)
+    {
+        IpcPublication ipcPublication = null;
+
+        for (int i = 0, size = ipcPublications.size(); i < size; i++)
+        {
+            final IpcPublication publication = ipcPublications.get(i);
+            if (sessionId == publication.sessionId() && streamId == publication.streamId() && !publication.isLingering())
+            {
+                ipcPublication = publication;
+                break;
+            }
+        }
+
+        return ipcPublication;
+    }
+
     private static String generateSourceInfo(final InetSocketAddress address)
     {
         return String.format("%s:%d", address.getHostString(), address.getPort());
@@ -195,11 +227,12 @@ public class DriverConductor implements Agent
 
     public void onClose()
     {
-        rawLogFactory.close();
         publications.forEach(NetworkPublication::close);
+        ipcPublications.forEach(IpcPublication::close);
         connections.forEach(NetworkConnection::close);
         sendChannelEndpointByChannelMap.values().forEach(SendChannelEndpoint::close);
         receiveChannelEndpointByChannelMap.values().forEach(ReceiveChannelEndpoint::close);
+        rawLogFactory.close();
     }
 
     public String roleName()
@@ -226,18 +259,55 @@ public class DriverConductor implements Agent
         workCount += toEventReader.read(onEventFunc, EVENT_READER_FRAME_LIMIT);
         workCount += processTimers();
 
+        int cleaningBudget = TERM_CLEANING_BUDGET;
+        long cleaningLag = 0;
+
         final ArrayList<NetworkConnection> connections = this.connections;
         for (int i = 0, size = connections.size(); i < size; i++)
         {
             final NetworkConnection connection = connections.get(i);
             workCount += connection.trackRebuild();
+            cleaningBudget -= connection.cleanLogBuffer(cleaningBudget);
+            cleaningLag += connection.cleaningLag();
         }
 
         final ArrayList<NetworkPublication> publications = this.publications;
         for (int i = 0, size = publications.size(); i < size; i++)
         {
             final NetworkPublication publication = publications.get(i);
-            workCount += publication.updatePublishersLimit() + publication.cleanLogBuffer();
+            workCount += publication.updatePublishersLimit();
+            workCount += onCheckLappedSpies(publication);
+            cleaningBudget -= publication.cleanLogBuffer(cleaningBudget);
+            cleaningLag += publication.cleaningLag();
+        }
+
+        final ArrayList<IpcPublication> ipcPublications = this.ipcPublications;
+        for (int i = 0, size = ipcPublications.size(); i < size; i++)
+        {
+            final IpcPublication publication = ipcPublications.get(i);
+            workCount += publication.updatePublishersLimit();
+            cleaningBudget -= publication.cleanLogBuffer(cleaningBudget);
+            cleaningLag += publication.cleaningLag();
+        }
+
+        workCount += updateCleaningCounters(TERM_CLEANING_BUDGET - cleaningBudget, cleaningLag);
+
+        return workCount;
+    }
+
+    private int updateCleaningCounters(final int bytesCleaned, final long cleaningLag)
+    {
+        int workCount = 0;
+        if (bytesCleaned > 0)
+        {
+            systemCounters.termBytesCleaned().addOrdered(bytesCleaned);
+            workCount = 1;
+        }
+
+        if (cleaningLag != lastCleaningLag)
+        {
+            systemCounters.termCleaningLag().setOrdered(cleaningLag);
+            lastCleaningLag = cleaningLag;
         }
 
         return workCount;
@@ -251,6 +321,7 @@ public class DriverConductor implements Agent
 
         onCheckClients(now);
         onCheckPublications(now);
+        onCheckIpcPublications(now);
         onCheckPublicationLinks(now);
         onCheckConnections(now);
         onCheckSubscriptionLinks(now);
@@ -301,6 +372,7 @@ public class DriverConductor implements Agent
             udpChannel.isMulticast() ? NAK_MULTICAST_DELAY_GENERATOR : NAK_UNICAST_DELAY_GENERATOR,
             subscriberPositions.stream().map(SubscriberPosition::position).collect(toList()),
             newPosition("receiver hwm", channel, sessionId, streamId, correlationId),
+            newPosition("log resident bytes", channel, sessionId, streamId, correlationId),
             clock,
             systemCounters,
             sourceAddress,
@@ -310,7 +382,7 @@ public class DriverConductor implements Agent
             (subscriberPosition) -> subscriberPosition.subscription().addConnection(connection, subscriberPosition.position()));
 
         connections.add(connection);
-        receiverProxy.newConnection(channelEndpoint, connection);
+        receiverProxy(channelEndpoint).newConnection(channelEndpoint, connection);
 
         clientProxy.onConnectionReady(
             channel,
@@ -451,6 +523,12 @@ public class DriverConductor implements Agent
     private void onAddPublication(
         final String channel, final int sessionId, final int streamId, final long correlationId, final long clientId)
     {
+        if (IPC_CHANNEL.equals(channel))
+        {
+            onAddIpcPublication(sessionId, streamId, correlationId, clientId);
+            return;
+        }
+
         final UdpChannel udpChannel = UdpChannel.parse(channel);
         final SendChannelEndpoint channelEndpoint = getOrCreateSendChannelEndpoint(udpChannel);
 
@@ -458,24 +536,49 @@ public class DriverConductor implements Agent
         if (null == publication)
         {
             final int initialTermId = BitUtil.generateRandomisedId();
-            final FlowControl flowControl = udpChannel.isMulticast() ? multicastFlowControl.get() : unicastFlowControl.get();
+            final int pubTermBufferLength = udpChannel.termLength(termBufferLength);
+            final int pubMtuLength = udpChannel.mtuLength(mtuLength);
+            final FlowControl flowControl = newFlowControl(udpChannel);
+
+            channelEndpoint.validateMtuLength(pubMtuLength);
 
             publication = new NetworkPublication(
                 channelEndpoint,
                 clock,
-                newPublicationLog(sessionId, streamId, initialTermId, udpChannel, correlationId),
+                newPublicationLog(
+                    sessionId,
+                    streamId,
+                    initialTermId,
+                    pubTermBufferLength,
+                    pubMtuLength,
+                    udpChannel.canonicalForm(),
+                    correlationId),
                 newPosition("sender pos", channel, sessionId, streamId, correlationId),
                 newPosition("publisher limit", channel, sessionId, streamId, correlationId),
+                newPosition("log resident bytes", channel, sessionId, streamId, correlationId),
                 sessionId,
                 streamId,
                 initialTermId,
-                mtuLength,
-                flowControl.initialPositionLimit(initialTermId, termBufferLength),
+                pubMtuLength,
+                flowControl.initialPositionLimit(initialTermId, pubTermBufferLength),
                 systemCounters);
 
             channelEndpoint.addPublication(publication);
             publications.add(publication);
-            senderProxy.newPublication(publication, newRetransmitHandler(publication, initialTermId), flowControl);
+            senderProxy.newPublication(
+                publication, newRetransmitHandler(publication, initialTermId, pubTermBufferLength), flowControl);
+
+            for (final SubscriptionLink subscription : subscriptionLinks)
+            {
+                if (subscription.matchesSpy(udpChannel, streamId))
+                {
+                    linkSpy(publication, subscription);
+                }
+            }
+        }
+        else
+        {
+            validateMatchingParams(udpChannel, publication);
         }
 
         final AeronClient client = getOrAddClient(clientId);
@@ -492,7 +595,105 @@ public class DriverConductor implements Agent
             publication.publisherLimitId());
     }
 
-    private void linkPublication(final long correlationId, final NetworkPublication publication, final AeronClient client)
+    private FlowControl newFlowControl(final UdpChannel udpChannel)
+    {
+        if (udpChannel.isMulticast())
+        {
+            return multicastFlowControl.get();
+        }
+
+        return udpChannel.isMultiDestination() ? multiDestinationFlowControl.get() : unicastFlowControl.get();
+    }
+
+    private static void validateMatchingParams(final UdpChannel udpChannel, final NetworkPublication publication)
+    {
+        final int existingTermLength = publication.termBufferLength();
+        final int termLength = udpChannel.termLength(existingTermLength);
+        if (termLength != existingTermLength)
+        {
+            throw new ControlProtocolException(
+                INVALID_CHANNEL,
+                format("Existing publication has different term length: existing=%d requested=%d",
+                    existingTermLength, termLength));
+        }
+
+        final int existingMtuLength = publication.mtuLength();
+        final int mtuLength = udpChannel.mtuLength(existingMtuLength);
+        if (mtuLength != existingMtuLength)
+        {
+            throw new ControlProtocolException(
+                INVALID_CHANNEL,
+                format("Existing publication has different MTU length: existing=%d requested=%d",
+                    existingMtuLength, mtuLength));
+        }
+    }
+
+    private void onAddIpcPublication(final int sessionId, final int streamId, final long correlationId, final long clientId)
+    {
+        IpcPublication publication = findIpcPublication(ipcPublications, sessionId, streamId);
+        if (null == publication)
+        {
+            final int initialTermId = BitUtil.generateRandomisedId();
+
+            publication = new IpcPublication(
+                correlationId,
+                newPublicationLog(
+                    sessionId, streamId, initialTermId, termBufferLength, mtuLength, IPC_CANONICAL_FORM, correlationId),
+                newPosition("publisher limit", IPC_CHANNEL, sessionId, streamId, correlationId),
+                sessionId,
+                streamId,
+                initialTermId);
+
+            ipcPublications.add(publication);
+
+            final long joiningPosition = publication.producerPosition();
+            for (final SubscriptionLink subscription : subscriptionLinks)
+            {
+                if (subscription.matchesIpc(streamId))
+                {
+                    linkIpcSubscription(publication, subscription, joiningPosition);
+                }
+            }
+        }
+
+        final AeronClient client = getOrAddClient(clientId);
+        linkPublication(correlationId, publication, client);
+
+        publication.incRef();
+
+        clientProxy.onPublicationReady(
+            IPC_CHANNEL,
+            streamId,
+            sessionId,
+            publication.rawLog(),
+            correlationId,
+            publication.publisherLimitId());
+    }
+
+    private void linkIpcSubscription(
+        final IpcPublication publication, final SubscriptionLink subscription, final long joiningPosition)
+    {
+        final int sessionId = publication.sessionId();
+        final int streamId = publication.streamId();
+        final Position position = newPosition(
+            "subscriber pos", IPC_CHANNEL, sessionId, streamId, subscription.registrationId());
+
+        position.setOrdered(joiningPosition);
+        publication.addSubscriber(position);
+        subscription.addIpcPublication(publication, position);
+
+        clientProxy.onConnectionReady(
+            IPC_CHANNEL,
+            streamId,
+            sessionId,
+            joiningPosition,
+            publication.rawLog(),
+            publication.correlationId(),
+            Collections.singletonList(new SubscriberPosition(subscription, position)),
+            IPC_CHANNEL);
+    }
+
+    private void linkPublication(final long correlationId, final DriverPublication publication, final AeronClient client)
     {
         if (null != findPublicationLink(publicationLinks, correlationId))
         {
@@ -502,7 +703,8 @@ public class DriverConductor implements Agent
         publicationLinks.add(new PublicationLink(correlationId, publication, client));
     }
 
-    private RetransmitHandler newRetransmitHandler(final NetworkPublication publication, final int initialTermId)
+    private RetransmitHandler newRetransmitHandler(
+        final NetworkPublication publication, final int initialTermId, final int termBufferLength)
     {
         return new RetransmitHandler(
             timerWheel,
@@ -515,15 +717,21 @@ public class DriverConductor implements Agent
     }
 
     private RawLog newPublicationLog(
-        final int sessionId, final int streamId, final int initialTermId, final UdpChannel udpChannel, final long correlationId)
+        final int sessionId,
+        final int streamId,
+        final int initialTermId,
+        final int termBufferLength,
+        final int mtuLength,
+        final String canonicalForm,
+        final long correlationId)
     {
-        final String canonicalForm = udpChannel.canonicalForm();
-        final RawLog rawLog = rawLogFactory.newPublication(canonicalForm, sessionId, streamId, correlationId);
+        final RawLog rawLog = rawLogFactory.newPublication(canonicalForm, sessionId, streamId, correlationId, termBufferLength);
 
         final MutableDirectBuffer header = DataHeaderFlyweight.createDefaultHeader(sessionId, streamId, initialTermId);
         final UnsafeBuffer logMetaData = rawLog.logMetaData();
         LogBufferDescriptor.storeDefaultFrameHeaders(logMetaData, header);
         LogBufferDescriptor.initialTermId(logMetaData, initialTermId);
+        LogBufferDescriptor.activeTermId(logMetaData, initialTermId);
         LogBufferDescriptor.mtuLength(logMetaData, mtuLength);
 
         return rawLog;
@@ -597,10 +805,22 @@ public class DriverConductor implements Agent
 
     private void onAddSubscription(final String channel, final int streamId, final long correlationId, final long clientId)
     {
+        if (IPC_CHANNEL.equals(channel))
+        {
+            onAddIpcSubscription(streamId, correlationId, clientId);
+            return;
+        }
+
+        if (channel.startsWith(SPY_PREFIX))
+        {
+            onAddSpySubscription(channel, streamId, correlationId, clientId);
+            return;
+        }
+
         final ReceiveChannelEndpoint channelEndpoint = getOrCreateReceiveChannelEndpoint(UdpChannel.parse(channel));
 
         channelEndpoint.incRefToStream(streamId);
-        receiverProxy.addSubscription(channelEndpoint, streamId);
+        receiverProxy(channelEndpoint).addSubscription(channelEndpoint, streamId);
 
         final AeronClient client = getOrAddClient(clientId);
         final SubscriptionLink subscription = new SubscriptionLink(correlationId, channelEndpoint, streamId, client);
@@ -632,22 +852,97 @@ public class DriverConductor implements Agent
                 });
     }
 
+    private void onAddIpcSubscription(final int streamId, final long correlationId, final long clientId)
+    {
+        final AeronClient client = getOrAddClient(clientId);
+        final SubscriptionLink subscription = new SubscriptionLink(correlationId, streamId, client);
+
+        subscriptionLinks.add(subscription);
+        clientProxy.operationSucceeded(correlationId);
+
+        for (final IpcPublication publication : ipcPublications)
+        {
+            if (streamId == publication.streamId() && !publication.isLingering())
+            {
+                linkIpcSubscription(publication, subscription, publication.producerPosition());
+            }
+        }
+    }
+
+    private void onAddSpySubscription(
+        final String channel, final int streamId, final long correlationId, final long clientId)
+    {
+        final UdpChannel udpChannel = UdpChannel.parse(channel.substring(SPY_PREFIX.length()));
+        final AeronClient client = getOrAddClient(clientId);
+        final SubscriptionLink subscription = new SubscriptionLink(correlationId, udpChannel, streamId, client);
+
+        subscriptionLinks.add(subscription);
+        clientProxy.operationSucceeded(correlationId);
+
+        for (final NetworkPublication publication : publications)
+        {
+            if (streamId == publication.streamId() && udpChannel.equals(publication.sendChannelEndpoint().udpChannel()))
+            {
+                linkSpy(publication, subscription);
+            }
+        }
+    }
+
+    private void linkSpy(final NetworkPublication publication, final SubscriptionLink subscription)
+    {
+        final String channel = spyChannel(subscription);
+        final int sessionId = publication.sessionId();
+        final int streamId = publication.streamId();
+        final long joiningPosition = publication.producerPosition();
+        final Position position = newPosition("spy pos", channel, sessionId, streamId, subscription.registrationId());
+
+        position.setOrdered(joiningPosition);
+        publication.addSpy(position);
+        subscription.addSpiedPublication(publication, position);
+
+        clientProxy.onConnectionReady(
+            channel,
+            streamId,
+            sessionId,
+            joiningPosition,
+            publication.rawLog(),
+            subscription.registrationId(),
+            Collections.singletonList(new SubscriberPosition(subscription, position)),
+            channel);
+    }
+
     private ReceiveChannelEndpoint getOrCreateReceiveChannelEndpoint(final UdpChannel udpChannel)
     {
         ReceiveChannelEndpoint channelEndpoint = receiveChannelEndpointByChannelMap.get(udpChannel.canonicalForm());
         if (null == channelEndpoint)
         {
             final LossGenerator lossGenerator = Configuration.createLossGenerator(dataLossRate, dataLossSeed);
+            final ReceiverProxy receiverProxy =
+                receiverProxies[receiverShardPolicy.shardIndex(udpChannel, receiverProxies.length)];
             channelEndpoint = new ReceiveChannelEndpoint(
                 udpChannel, conductorProxy, receiverProxy.receiver(), logger, systemCounters, lossGenerator);
 
             receiveChannelEndpointByChannelMap.put(udpChannel.canonicalForm(), channelEndpoint);
+            receiverProxyByChannelMap.put(udpChannel.canonicalForm(), receiverProxy);
             receiverProxy.registerReceiveChannelEndpoint(channelEndpoint);
         }
 
         return channelEndpoint;
     }
 
+    private ReceiverProxy receiverProxy(final ReceiveChannelEndpoint channelEndpoint)
+    {
+        return receiverProxyByChannelMap.get(channelEndpoint.udpChannel().canonicalForm());
+    }
+
+    private void closeReceiveChannelEndpoint(final ReceiveChannelEndpoint channelEndpoint)
+    {
+        final String canonicalForm = channelEndpoint.udpChannel().canonicalForm();
+
+        receiveChannelEndpointByChannelMap.remove(canonicalForm);
+        receiverProxyByChannelMap.remove(canonicalForm).closeReceiveChannelEndpoint(channelEndpoint);
+    }
+
     private void onRemoveSubscription(final long registrationId, final long correlationId)
     {
         final SubscriptionLink subscription = removeSubscription(subscriptionLinks, registrationId);
@@ -657,22 +952,25 @@ public class DriverConductor implements Agent
         }
 
         subscription.close();
-        final ReceiveChannelEndpoint channelEndpoint = subscription.channelEndpoint();
 
-        final int refCount = channelEndpoint.decRefToStream(subscription.streamId());
-        if (0 == refCount)
+        if (null != subscription.channelEndpoint())
         {
-            receiverProxy.removeSubscription(channelEndpoint, subscription.streamId());
-        }
+            final ReceiveChannelEndpoint channelEndpoint = subscription.channelEndpoint();
 
-        if (0 == channelEndpoint.streamCount())
-        {
-            receiveChannelEndpointByChannelMap.remove(channelEndpoint.udpChannel().canonicalForm());
-            receiverProxy.closeReceiveChannelEndpoint(channelEndpoint);
+            final int refCount = channelEndpoint.decRefToStream(subscription.streamId());
+            if (0 == refCount)
+            {
+                receiverProxy(channelEndpoint).removeSubscription(channelEndpoint, subscription.streamId());
+            }
 
-            while (!channelEndpoint.isClosed())
+            if (0 == channelEndpoint.streamCount())
             {
-                Thread.yield();
+                closeReceiveChannelEndpoint(channelEndpoint);
+
+                while (!channelEndpoint.isClosed())
+                {
+                    Thread.yield();
+                }
             }
         }
 
@@ -709,6 +1007,7 @@ public class DriverConductor implements Agent
         for (int i = publications.size() - 1; i >= 0; i--)
         {
             final NetworkPublication publication = publications.get(i);
+            publication.updateResidentBytes();
 
             if (publication.isUnreferencedAndFlushed(now) && now > (publication.timeOfFlush() + PUBLICATION_LINGER_NS))
             {
@@ -720,6 +1019,20 @@ public class DriverConductor implements Agent
                 channelEndpoint.removePublication(publication);
                 publications.remove(i);
 
+                final long producerPosition = publication.producerPosition();
+                for (final SubscriptionLink subscription : subscriptionLinks)
+                {
+                    if (subscription.removeSpiedPublication(publication))
+                    {
+                        clientProxy.onInactiveConnection(
+                            subscription.registrationId(),
+                            publication.sessionId(),
+                            publication.streamId(),
+                            producerPosition,
+                            spyChannel(subscription));
+                    }
+                }
+
                 senderProxy.closePublication(publication);
 
                 if (channelEndpoint.sessionCount() == 0)
@@ -731,6 +1044,68 @@ public class DriverConductor implements Agent
         }
     }
 
+    private int onCheckLappedSpies(final NetworkPublication publication)
+    {
+        int workCount = 0;
+
+        if (!SPIES_FLOW_CONTROL && publication.hasLappedSpy())
+        {
+            for (final SubscriptionLink subscription : subscriptionLinks)
+            {
+                final ReadOnlyPosition spyPosition = subscription.spiedPosition(publication);
+                if (null != spyPosition && publication.isSpyLapped(spyPosition))
+                {
+                    subscription.removeSpiedPublication(publication);
+                    publication.removeSpy(spyPosition);
+
+                    clientProxy.onInactiveConnection(
+                        subscription.registrationId(),
+                        publication.sessionId(),
+                        publication.streamId(),
+                        publication.producerPosition(),
+                        spyChannel(subscription));
+
+                    workCount++;
+                }
+            }
+        }
+
+        return workCount;
+    }
+
+    private void onCheckIpcPublications(final long now)
+    {
+        final ArrayList<IpcPublication> ipcPublications = this.ipcPublications;
+        for (int i = ipcPublications.size() - 1; i >= 0; i--)
+        {
+            final IpcPublication publication = ipcPublications.get(i);
+
+            if (publication.isLingering())
+            {
+                if (now > (publication.timeOfLinger() + CONNECTION_LIVENESS_TIMEOUT_NS))
+                {
+                    logger.logPublicationRemoval(IPC_CHANNEL, publication.sessionId(), publication.streamId());
+
+                    ipcPublications.remove(i);
+                    publication.close();
+                }
+            }
+            else if (publication.isUnreferencedAndDrained(now) && now > (publication.timeOfDrain() + PUBLICATION_LINGER_NS))
+            {
+                subscriptionLinks.forEach((subscription) -> subscription.removeIpcPublication(publication));
+
+                clientProxy.onInactiveConnection(
+                    publication.correlationId(),
+                    publication.sessionId(),
+                    publication.streamId(),
+                    publication.producerPosition(),
+                    IPC_CHANNEL);
+
+                publication.linger(now);
+            }
+        }
+    }
+
     private void onCheckSubscriptionLinks(final long now)
     {
         final ArrayList<SubscriptionLink> subscriptions = this.subscriptionLinks;
@@ -744,20 +1119,24 @@ public class DriverConductor implements Agent
                 final int streamId = subscription.streamId();
 
                 logger.logSubscriptionRemoval(
-                    channelEndpoint.originalUriString(), subscription.streamId(), subscription.registrationId());
+                    subscriptionChannel(subscription), subscription.streamId(), subscription.registrationId());
 
                 subscriptions.remove(i);
                 subscription.close();
 
+                if (null == channelEndpoint)
+                {
+                    continue;
+                }
+
                 if (0 == channelEndpoint.decRefToStream(subscription.streamId()))
                 {
-                    receiverProxy.removeSubscription(channelEndpoint, streamId);
+                    receiverProxy(channelEndpoint).removeSubscription(channelEndpoint, streamId);
                 }
 
                 if (channelEndpoint.streamCount() == 0)
                 {
-                    receiveChannelEndpointByChannelMap.remove(channelEndpoint.udpChannel().canonicalForm());
-                    receiverProxy.closeReceiveChannelEndpoint(channelEndpoint);
+                    closeReceiveChannelEndpoint(channelEndpoint);
                 }
             }
         }
@@ -769,6 +1148,7 @@ public class DriverConductor implements Agent
         for (int i = connections.size() - 1; i >= 0; i--)
         {
             final NetworkConnection conn = connections.get(i);
+            conn.updateResidentBytes();
 
             switch (conn.status())
             {
@@ -812,6 +1192,26 @@ public class DriverConductor implements Agent
         }
     }
 
+    private static String spyChannel(final SubscriptionLink subscription)
+    {
+        return SPY_PREFIX + subscription.spiedChannel().originalUriString();
+    }
+
+    private static String subscriptionChannel(final SubscriptionLink subscription)
+    {
+        if (subscription.isIpc())
+        {
+            return IPC_CHANNEL;
+        }
+
+        if (subscription.isSpy())
+        {
+            return spyChannel(subscription);
+        }
+
+        return subscription.channelEndpoint().originalUriString();
+    }
+
     private void onDriverConductorCmd(final DriverConductorCmd cmd)
     {
         cmd.execute(this);
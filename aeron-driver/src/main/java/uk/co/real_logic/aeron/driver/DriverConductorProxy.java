@@ -99,7 +99,7 @@ public class DriverConductorProxy
     {
         while (!commandQueue.offer(cmd))
         {
-            failCount.orderedIncrement();
+            failCount.increment();
             Thread.yield();
         }
     }
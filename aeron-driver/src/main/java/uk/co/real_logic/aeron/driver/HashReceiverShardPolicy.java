@@ -0,0 +1,28 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+/**
+ * Assign receive channel endpoints to {@link Receiver} shards by the hash of the channel canonical form so a channel
+ * is always serviced by the same shard.
+ */
+public class HashReceiverShardPolicy implements ReceiverShardPolicy
+{
+    public int shardIndex(final UdpChannel udpChannel, final int shardCount)
+    {
+        return (udpChannel.canonicalForm().hashCode() & Integer.MAX_VALUE) % shardCount;
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferPartition;
+import uk.co.real_logic.aeron.driver.buffer.RawLog;
+import uk.co.real_logic.agrona.concurrent.status.Position;
+import uk.co.real_logic.agrona.concurrent.status.ReadOnlyPosition;
+
+import java.util.ArrayList;
+
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
+
+/**
+ * Publication on the {@link uk.co.real_logic.aeron.common.CommonContext#IPC_CHANNEL} which subscribers on the same
+ * media driver consume directly from its log buffer with no {@link Sender} or {@link Receiver} involvement.
+ *
+ * The publisher limit is driven by the slowest subscriber position. When there are no subscribers the publisher limit
+ * follows the producer position so publishers are not blocked.
+ */
+public class IpcPublication implements DriverPublication, AutoCloseable
+{
+    private final RawLog rawLog;
+    private final LogBufferPartition[] logPartitions;
+    private final Position publisherLimit;
+    private final ArrayList<ReadOnlyPosition> subscriberPositions = new ArrayList<>();
+    private final long correlationId;
+    private final int sessionId;
+    private final int streamId;
+    private final int positionBitsToShift;
+    private final int initialTermId;
+    private final int termWindowLength;
+
+    private long timeOfDrain = 0;
+    private long timeOfLinger = 0;
+    private boolean isLingering = false;
+    private int refCount = 0;
+    private boolean isActive = true;
+    private LogBufferPartition cleaningPartition;
+    private int cleanOffset;
+
+    public IpcPublication(
+        final long correlationId,
+        final RawLog rawLog,
+        final Position publisherLimit,
+        final int sessionId,
+        final int streamId,
+        final int initialTermId)
+    {
+        this.correlationId = correlationId;
+        this.rawLog = rawLog;
+        this.publisherLimit = publisherLimit;
+        this.sessionId = sessionId;
+        this.streamId = streamId;
+        this.initialTermId = initialTermId;
+
+        logPartitions = rawLog
+            .stream()
+            .map((partition) -> new LogBufferPartition(partition.termBuffer(), partition.metaDataBuffer()))
+            .toArray(LogBufferPartition[]::new);
+
+        final int termLength = logPartitions[0].termBuffer().capacity();
+        positionBitsToShift = Integer.numberOfTrailingZeros(termLength);
+        termWindowLength = Configuration.publicationTermWindowLength(termLength);
+        publisherLimit.setOrdered(termWindowLength);
+    }
+
+    public void close()
+    {
+        rawLog.close();
+        publisherLimit.close();
+        subscriberPositions.forEach(ReadOnlyPosition::close);
+    }
+
+    public long correlationId()
+    {
+        return correlationId;
+    }
+
+    public int sessionId()
+    {
+        return sessionId;
+    }
+
+    public int streamId()
+    {
+        return streamId;
+    }
+
+    public RawLog rawLog()
+    {
+        return rawLog;
+    }
+
+    public int publisherLimitId()
+    {
+        return publisherLimit.id();
+    }
+
+    public int decRef()
+    {
+        return --refCount;
+    }
+
+    public int incRef()
+    {
+        final int i = ++refCount;
+
+        if (i == 1)
+        {
+            timeOfDrain = 0;
+            isActive = true;
+        }
+
+        return i;
+    }
+
+    public long timeOfDrain()
+    {
+        return timeOfDrain;
+    }
+
+    /**
+     * Start lingering once subscribers have been told the publication is inactive so the log is not closed while they
+     * may still have it mapped.
+     *
+     * @param now time in nanoseconds.
+     */
+    public void linger(final long now)
+    {
+        timeOfLinger = now;
+        isLingering = true;
+    }
+
+    /**
+     * Is the publication lingering before being closed so it can no longer be linked to.
+     *
+     * @return true if the publication is lingering before being closed.
+     */
+    public boolean isLingering()
+    {
+        return isLingering;
+    }
+
+    public long timeOfLinger()
+    {
+        return timeOfLinger;
+    }
+
+    /**
+     * Add a new subscriber to this publication so their position can be tracked for flow control.
+     *
+     * @param subscriberPosition for the subscriber to be added.
+     */
+    public void addSubscriber(final ReadOnlyPosition subscriberPosition)
+    {
+        subscriberPositions.add(subscriberPosition);
+    }
+
+    /**
+     * Remove a subscriber from this publication so their position is no longer tracked for flow control.
+     *
+     * @param subscriberPosition for the subscriber to be removed.
+     */
+    public void removeSubscriber(final ReadOnlyPosition subscriberPosition)
+    {
+        subscriberPositions.remove(subscriberPosition);
+        subscriberPosition.close();
+    }
+
+    /**
+     * The position up to which publishers have appended to the log.
+     *
+     * @return the position up to which publishers have appended to the log.
+     */
+    public long producerPosition()
+    {
+        final int activeTermId = activeTermId(rawLog.logMetaData());
+        final LogBufferPartition partition = logPartitions[indexByTerm(initialTermId, activeTermId)];
+        final int tail = Math.min(partition.tailVolatile(), partition.termBuffer().capacity());
+
+        return computePosition(activeTermId, tail, positionBitsToShift, initialTermId);
+    }
+
+    /**
+     * Update the publishers limit from the slowest subscriber as part of the conductor duty cycle.
+     *
+     * @return 1 if the limit has been updated otherwise 0.
+     */
+    public int updatePublishersLimit()
+    {
+        long consumerPosition = Long.MAX_VALUE;
+        final ArrayList<ReadOnlyPosition> subscriberPositions = this.subscriberPositions;
+        for (int i = 0, size = subscriberPositions.size(); i < size; i++)
+        {
+            consumerPosition = Math.min(consumerPosition, subscriberPositions.get(i).getVolatile());
+        }
+
+        if (subscriberPositions.isEmpty())
+        {
+            consumerPosition = producerPosition();
+        }
+
+        int workCount = 0;
+        if (publisherLimit.proposeMaxOrdered(consumerPosition + termWindowLength))
+        {
+            workCount = 1;
+        }
+
+        return workCount;
+    }
+
+    /**
+     * Has the publication no publishers left and have all subscribers consumed up to the producer position.
+     *
+     * @param now time in nanoseconds.
+     * @return true if the publication is unreferenced and drained by all subscribers.
+     */
+    public boolean isUnreferencedAndDrained(final long now)
+    {
+        boolean isDrained = false;
+        if (0 == refCount)
+        {
+            final long producerPosition = producerPosition();
+            isDrained = true;
+
+            for (final ReadOnlyPosition position : subscriberPositions)
+            {
+                if (position.getVolatile() < producerPosition)
+                {
+                    isDrained = false;
+                    break;
+                }
+            }
+
+            if (isDrained && isActive)
+            {
+                timeOfDrain = now;
+                isActive = false;
+            }
+        }
+
+        return isDrained;
+    }
+
+    /**
+     * Clean terms which publishers have rotated out of use in chunks as per {@link NetworkPublication#cleanLogBuffer(int)}.
+     *
+     * This is performed on the {@link DriverConductor} thread
+     *
+     * @param budget of bytes which can be cleaned.
+     * @return number of bytes cleaned.
+     */
+    public int cleanLogBuffer(final int budget)
+    {
+        int bytesCleaned = 0;
+
+        if (budget > 0)
+        {
+            if (null == cleaningPartition)
+            {
+                for (final LogBufferPartition partition : logPartitions)
+                {
+                    if (partition.status() == NEEDS_CLEANING)
+                    {
+                        partition.statusOrdered(IN_CLEANING);
+                        cleaningPartition = partition;
+                        cleanOffset = 0;
+                        break;
+                    }
+                }
+            }
+
+            final LogBufferPartition partition = cleaningPartition;
+            if (null != partition)
+            {
+                final int newCleanOffset = partition.clean(cleanOffset, budget);
+                bytesCleaned = newCleanOffset - cleanOffset;
+                cleanOffset = newCleanOffset;
+
+                if (CLEAN == partition.status())
+                {
+                    cleaningPartition = null;
+                }
+            }
+        }
+
+        return bytesCleaned;
+    }
+
+    /**
+     * The number of bytes of the term currently being cleaned still to be cleaned.
+     *
+     * @return the number of bytes of the term currently being cleaned still to be cleaned.
+     */
+    public int cleaningLag()
+    {
+        final LogBufferPartition partition = cleaningPartition;
+
+        return null == partition ? 0 : partition.tail() - cleanOffset;
+    }
+}
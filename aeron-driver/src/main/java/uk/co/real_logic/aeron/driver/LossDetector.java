@@ -22,12 +22,13 @@ import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import java.util.concurrent.TimeUnit;
 
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.TermGapScanner.GapHandler;
-import static uk.co.real_logic.aeron.common.concurrent.logbuffer.TermGapScanner.scanForGap;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.TermGapScanner.scanForGaps;
 
 /**
  * Detecting and handling of gaps in a stream
  * <p>
- * This detector only notifies a single NAK at a time.
+ * This detector tracks up to a max number of gaps in the active term and notifies them together so they can be
+ * NAKed in a single frame. The NAK timer is keyed on the first gap.
  */
 public class LossDetector
 {
@@ -35,15 +36,16 @@ public class LossDetector
     private final NakMessageSender nakMessageSender;
     private final TimerWheel.Timer timer;
     private final TimerWheel wheel;
-    private final Gap scannedGap = new Gap();
-    private final Gap activeGap = new Gap();
+    private final Gaps scannedGaps;
+    private final Gaps activeGaps;
+    private final int maxGaps;
     private final GapHandler onGapFunc = this::onGap;
     private final Runnable onTimerExpireFunc = this::onTimerExpire;
 
     private int rebuildOffset = 0;
 
     /**
-     * Create a loss handler for a channel.
+     * Create a loss handler for a channel that tracks {@link Configuration#LOSS_MAX_GAPS} gaps.
      *
      * @param wheel            for timer management
      * @param delayGenerator   to use for delay determination
@@ -51,11 +53,31 @@ public class LossDetector
      */
     public LossDetector(
         final TimerWheel wheel, final FeedbackDelayGenerator delayGenerator, final NakMessageSender nakMessageSender)
+    {
+        this(wheel, delayGenerator, nakMessageSender, Configuration.LOSS_MAX_GAPS);
+    }
+
+    /**
+     * Create a loss handler for a channel.
+     *
+     * @param wheel            for timer management
+     * @param delayGenerator   to use for delay determination
+     * @param nakMessageSender to call when sending a NAK is indicated
+     * @param maxGaps          to track and NAK together
+     */
+    public LossDetector(
+        final TimerWheel wheel,
+        final FeedbackDelayGenerator delayGenerator,
+        final NakMessageSender nakMessageSender,
+        final int maxGaps)
     {
         this.wheel = wheel;
         this.timer = wheel.newBlankTimer();
         this.delayGenerator = delayGenerator;
         this.nakMessageSender = nakMessageSender;
+        this.maxGaps = maxGaps;
+        this.scannedGaps = new Gaps(maxGaps);
+        this.activeGaps = new Gaps(maxGaps);
     }
 
     /**
@@ -97,17 +119,22 @@ public class LossDetector
             final int activeTermLimit = (rebuildTermsCount == hwmTermsCount) ? hwmTermOffset : termBuffer.capacity();
             rebuildOffset = activeTermLimit;
 
-            rebuildOffset = scanForGap(termBuffer, activeTermId, rebuildTermOffset, activeTermLimit, onGapFunc);
+            scannedGaps.count = 0;
+            rebuildOffset = scanForGaps(termBuffer, activeTermId, rebuildTermOffset, activeTermLimit, maxGaps, onGapFunc);
             if (rebuildOffset < activeTermLimit)
             {
-                final Gap gap = scannedGap;
-                if (!timer.isActive() || !gap.matches(activeGap.termId, activeGap.termOffset))
+                final Gaps gaps = scannedGaps;
+                if (!timer.isActive() || !activeGaps.matches(gaps.termId, gaps.termOffsets[0]))
                 {
-                    activateGap(gap.termId, gap.termOffset, gap.length);
+                    activateGaps();
                     workCount = 0;
                 }
+                else
+                {
+                    activeGaps.copyFrom(gaps);
+                }
 
-                rebuildOffset = gap.termOffset;
+                rebuildOffset = gaps.termOffsets[0];
             }
         }
         else
@@ -132,7 +159,7 @@ public class LossDetector
      */
     public void onNak(final int termId, final int termOffset)
     {
-        if (timer.isActive() && activeGap.matches(termId, termOffset))
+        if (timer.isActive() && activeGaps.matches(termId, termOffset))
         {
             suppressNak();
         }
@@ -145,12 +172,12 @@ public class LossDetector
 
     private void onGap(final int termId, final UnsafeBuffer buffer, final int offset, final int length)
     {
-        scannedGap.reset(termId, offset, length);
+        scannedGaps.add(termId, offset, length);
     }
 
-    private void activateGap(final int termId, final int termOffset, final int length)
+    private void activateGaps()
     {
-        activeGap.reset(termId, termOffset, length);
+        activeGaps.copyFrom(scannedGaps);
         scheduleTimer();
 
         if (delayGenerator.shouldFeedbackImmediately())
@@ -167,7 +194,15 @@ public class LossDetector
 
     private void sendNakMessage()
     {
-        nakMessageSender.onLossDetected(activeGap.termId, activeGap.termOffset, activeGap.length);
+        final Gaps gaps = activeGaps;
+        if (1 == gaps.count)
+        {
+            nakMessageSender.onLossDetected(gaps.termId, gaps.termOffsets[0], gaps.lengths[0]);
+        }
+        else
+        {
+            nakMessageSender.onLossDetected(gaps.termId, gaps.termOffsets, gaps.lengths, gaps.count);
+        }
     }
 
     private long determineNakDelay()
@@ -187,22 +222,38 @@ public class LossDetector
         wheel.rescheduleTimeout(delay, TimeUnit.NANOSECONDS, timer, onTimerExpireFunc);
     }
 
-    static final class Gap
+    static final class Gaps
     {
+        final int[] termOffsets;
+        final int[] lengths;
         int termId;
-        int termOffset;
-        int length;
+        int count;
 
-        public void reset(final int termId, final int termOffset, final int length)
+        Gaps(final int maxGaps)
+        {
+            termOffsets = new int[maxGaps];
+            lengths = new int[maxGaps];
+        }
+
+        public void add(final int termId, final int termOffset, final int length)
         {
             this.termId = termId;
-            this.termOffset = termOffset;
-            this.length = length;
+            termOffsets[count] = termOffset;
+            lengths[count] = length;
+            count++;
+        }
+
+        public void copyFrom(final Gaps gaps)
+        {
+            termId = gaps.termId;
+            count = gaps.count;
+            System.arraycopy(gaps.termOffsets, 0, termOffsets, 0, count);
+            System.arraycopy(gaps.lengths, 0, lengths, 0, count);
         }
 
         public boolean matches(final int termId, final int termOffset)
         {
-            return termId == this.termId && termOffset == this.termOffset;
+            return count > 0 && termId == this.termId && termOffset == termOffsets[0];
         }
     }
 }
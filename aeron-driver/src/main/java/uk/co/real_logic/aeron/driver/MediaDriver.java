@@ -16,6 +16,7 @@
 package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.aeron.common.*;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor;
 import uk.co.real_logic.aeron.common.event.EventConfiguration;
 import uk.co.real_logic.aeron.common.event.EventLogger;
 import uk.co.real_logic.aeron.driver.buffer.RawLogFactory;
@@ -60,6 +61,8 @@ import static uk.co.real_logic.agrona.IoUtil.mapNewFile;
  * <li><code>aeron.conductor.buffer.length</code>: Use int value as length of the conductor buffers between the media
  * driver and the client.</li>
  * <li><code>aeron.dir.delete.on.exit</code>: Attempt to delete Aeron directories on exit.</li>
+ * <li><code>aeron.receiver.count</code>: Use int value as the number of receivers the channel endpoints are sharded
+ * across.</li>
  * </ul>
  */
 public final class MediaDriver implements AutoCloseable
@@ -70,6 +73,7 @@ public final class MediaDriver implements AutoCloseable
 
     private final File parentDirectory;
     private final List<AgentRunner> runners;
+    private final Receiver[] receivers;
     private final Context ctx;
 
     /**
@@ -102,19 +106,18 @@ public final class MediaDriver implements AutoCloseable
 
         ctx.unicastSenderFlowControl(Configuration::unicastFlowControlStrategy)
            .multicastSenderFlowControl(Configuration::multicastFlowControlStrategy)
+           .multiDestinationSenderFlowControl(Configuration::multiDestinationFlowControlStrategy)
            .conductorTimerWheel(Configuration.newConductorTimerWheel())
-           .conductorCommandQueue(new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
-           .receiverCommandQueue(new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
+           .conductorCommandQueue(new ManyToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
            .senderCommandQueue(new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
            .conclude();
 
         final AtomicCounter driverExceptions = ctx.systemCounters().driverExceptions();
 
-        final Receiver receiver = new Receiver(ctx);
+        receivers = newReceivers(ctx);
         final Sender sender = new Sender(ctx);
         final DriverConductor driverConductor = new DriverConductor(ctx);
 
-        ctx.receiverProxy().receiver(receiver);
         ctx.senderProxy().sender(sender);
         ctx.driverConductorProxy().driverConductor(driverConductor);
 
@@ -123,30 +126,65 @@ public final class MediaDriver implements AutoCloseable
             case SHARED:
                 runners = Collections.singletonList(
                     new AgentRunner(ctx.sharedIdleStrategy, ctx.exceptionConsumer(), driverExceptions,
-                        new CompositeAgent(sender, new CompositeAgent(receiver, driverConductor)))
+                        new CompositeAgent(sender, new CompositeAgent(compositeOf(receivers), driverConductor)))
                 );
                 break;
 
             case SHARED_NETWORK:
                 runners = Arrays.asList(
                     new AgentRunner(ctx.sharedNetworkIdleStrategy, ctx.exceptionConsumer(), driverExceptions,
-                                    new CompositeAgent(sender, receiver)),
+                                    new CompositeAgent(sender, compositeOf(receivers))),
                     new AgentRunner(ctx.conductorIdleStrategy, ctx.exceptionConsumer(), driverExceptions, driverConductor)
                 );
                 break;
 
             default:
             case DEDICATED:
-                runners = Arrays.asList(
-                    new AgentRunner(ctx.senderIdleStrategy, ctx.exceptionConsumer(), driverExceptions, sender),
-                    new AgentRunner(ctx.receiverIdleStrategy, ctx.exceptionConsumer(), driverExceptions, receiver),
-                    new AgentRunner(ctx.conductorIdleStrategy, ctx.exceptionConsumer(), driverExceptions, driverConductor)
-                );
+                runners = new ArrayList<>();
+                runners.add(new AgentRunner(ctx.senderIdleStrategy, ctx.exceptionConsumer(), driverExceptions, sender));
+                for (final Receiver receiver : receivers)
+                {
+                    runners.add(new AgentRunner(ctx.receiverIdleStrategy, ctx.exceptionConsumer(), driverExceptions, receiver));
+                }
+                runners.add(
+                    new AgentRunner(ctx.conductorIdleStrategy, ctx.exceptionConsumer(), driverExceptions, driverConductor));
                 break;
         }
 
     }
 
+    private static Receiver[] newReceivers(final Context ctx)
+    {
+        final int receiverCount = ctx.receiverCount();
+        final Receiver[] receivers = new Receiver[receiverCount];
+        final ReceiverProxy[] receiverProxies = new ReceiverProxy[receiverCount];
+
+        for (int i = 0; i < receiverCount; i++)
+        {
+            final OneToOneConcurrentArrayQueue<ReceiverCmd> commandQueue =
+                new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY);
+
+            receivers[i] = new Receiver(ctx, i, new TransportPoller(), commandQueue);
+            receiverProxies[i] = new ReceiverProxy(ctx.threadingMode, commandQueue, ctx.systemCounters().receiverProxyFails());
+            receiverProxies[i].receiver(receivers[i]);
+        }
+
+        ctx.receiverProxies(receiverProxies);
+
+        return receivers;
+    }
+
+    private static Agent compositeOf(final Receiver[] receivers)
+    {
+        Agent agent = receivers[0];
+        for (int i = 1; i < receivers.length; i++)
+        {
+            agent = new CompositeAgent(agent, receivers[i]);
+        }
+
+        return agent;
+    }
+
     /**
      * Launch an isolated MediaDriver embedded in the current process with a generated dirName that can be retrieved
      * by calling contextDirName.
@@ -223,7 +261,10 @@ public final class MediaDriver implements AutoCloseable
 
     private void freeSocketsForReuseOnWindows()
     {
-        ctx.receiverNioSelector().selectNowWithoutProcessing();
+        for (final Receiver receiver : receivers)
+        {
+            receiver.transportPoller().selectNowWithoutProcessing();
+        }
         ctx.senderNioSelector().selectNowWithoutProcessing();
     }
 
@@ -265,15 +306,15 @@ public final class MediaDriver implements AutoCloseable
     public static class Context extends CommonContext
     {
         private RawLogFactory rawLogFactory;
-        private TransportPoller receiverTransportPoller;
         private TransportPoller senderTransportPoller;
         private Supplier<FlowControl> unicastSenderFlowControl;
         private Supplier<FlowControl> multicastSenderFlowControl;
+        private Supplier<FlowControl> multiDestinationSenderFlowControl;
         private TimerWheel conductorTimerWheel;
-        private OneToOneConcurrentArrayQueue<DriverConductorCmd> conductorCommandQueue;
-        private OneToOneConcurrentArrayQueue<ReceiverCmd> receiverCommandQueue;
+        private ManyToOneConcurrentArrayQueue<DriverConductorCmd> conductorCommandQueue;
         private OneToOneConcurrentArrayQueue<SenderCmd> senderCommandQueue;
-        private ReceiverProxy receiverProxy;
+        private ReceiverProxy[] receiverProxies;
+        private ReceiverShardPolicy receiverShardPolicy;
         private SenderProxy senderProxy;
         private DriverConductorProxy driverConductorProxy;
         private IdleStrategy conductorIdleStrategy;
@@ -301,6 +342,7 @@ public final class MediaDriver implements AutoCloseable
         private double dataLossRate;
         private double controlLossRate;
         private int mtuLength;
+        private int receiverCount;
 
         private boolean warnIfDirectoriesExist;
         private EventLogger eventLogger;
@@ -318,6 +360,8 @@ public final class MediaDriver implements AutoCloseable
             dataLossSeed(Configuration.dataLossSeed());
             controlLossRate(Configuration.controlLossRate());
             controlLossSeed(Configuration.controlLossSeed());
+            receiverCount(Configuration.RECEIVER_COUNT);
+            receiverShardPolicy(Configuration.receiverShardPolicy());
 
             eventConsumer = System.out::println;
             eventBufferLength = EventConfiguration.bufferLength();
@@ -349,11 +393,13 @@ public final class MediaDriver implements AutoCloseable
 
                 toEventReader(new ManyToOneRingBuffer(new UnsafeBuffer(eventByteBuffer)));
 
-                receiverNioSelector(new TransportPoller());
                 senderNioSelector(new TransportPoller());
 
                 Configuration.validateTermBufferLength(termBufferLength());
                 Configuration.validateInitialWindowLength(initialWindowLength(), mtuLength());
+                Configuration.validateReceiverCount(receiverCount);
+                Configuration.validateLossMaxGaps(LOSS_MAX_GAPS, mtuLength());
+                FrameDescriptor.checkMaxFrameLength(mtuLength());
 
                 deleteIfExists(cncFile());
 
@@ -386,13 +432,20 @@ public final class MediaDriver implements AutoCloseable
 
                 concludeCounters();
 
-                receiverProxy(new ReceiverProxy(threadingMode, receiverCommandQueue(), systemCounters.receiverProxyFails()));
                 senderProxy(new SenderProxy(threadingMode, senderCommandQueue(), systemCounters.senderProxyFails()));
                 driverConductorProxy(new DriverConductorProxy(
                     threadingMode, conductorCommandQueue, systemCounters.conductorProxyFails()));
 
                 rawLogBuffersFactory(new RawLogFactory(
-                    dirName(), publicationTermBufferLength, maxConnectionTermBufferLength, eventLogger));
+                    dirName(),
+                    publicationTermBufferLength,
+                    maxConnectionTermBufferLength,
+                    LOG_BUFFER_SPARSE,
+                    LOG_BUFFER_POOL_SIZE,
+                    LOG_BUFFER_POOL_RECYCLE_DELAY_NS,
+                    systemCounters.logBufferPoolHits(),
+                    systemCounters.logBufferPoolMisses(),
+                    eventLogger));
 
                 concludeIdleStrategies();
             }
@@ -404,7 +457,7 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
-        public Context conductorCommandQueue(final OneToOneConcurrentArrayQueue<DriverConductorCmd> conductorCommandQueue)
+        public Context conductorCommandQueue(final ManyToOneConcurrentArrayQueue<DriverConductorCmd> conductorCommandQueue)
         {
             this.conductorCommandQueue = conductorCommandQueue;
             return this;
@@ -416,12 +469,6 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
-        public Context receiverNioSelector(final TransportPoller transportPoller)
-        {
-            this.receiverTransportPoller = transportPoller;
-            return this;
-        }
-
         public Context senderNioSelector(final TransportPoller transportPoller)
         {
             this.senderTransportPoller = transportPoller;
@@ -440,15 +487,15 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
-        public Context conductorTimerWheel(final TimerWheel timerWheel)
+        public Context multiDestinationSenderFlowControl(final Supplier<FlowControl> senderFlowControl)
         {
-            this.conductorTimerWheel = timerWheel;
+            this.multiDestinationSenderFlowControl = senderFlowControl;
             return this;
         }
 
-        public Context receiverCommandQueue(final OneToOneConcurrentArrayQueue<ReceiverCmd> receiverCommandQueue)
+        public Context conductorTimerWheel(final TimerWheel timerWheel)
         {
-            this.receiverCommandQueue = receiverCommandQueue;
+            this.conductorTimerWheel = timerWheel;
             return this;
         }
 
@@ -458,9 +505,21 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
-        public Context receiverProxy(final ReceiverProxy receiverProxy)
+        public Context receiverProxies(final ReceiverProxy... receiverProxies)
         {
-            this.receiverProxy = receiverProxy;
+            this.receiverProxies = receiverProxies;
+            return this;
+        }
+
+        public Context receiverShardPolicy(final ReceiverShardPolicy receiverShardPolicy)
+        {
+            this.receiverShardPolicy = receiverShardPolicy;
+            return this;
+        }
+
+        public Context receiverCount(final int receiverCount)
+        {
+            this.receiverCount = receiverCount;
             return this;
         }
 
@@ -625,7 +684,7 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
-        public OneToOneConcurrentArrayQueue<DriverConductorCmd> conductorCommandQueue()
+        public ManyToOneConcurrentArrayQueue<DriverConductorCmd> conductorCommandQueue()
         {
             return conductorCommandQueue;
         }
@@ -635,11 +694,6 @@ public final class MediaDriver implements AutoCloseable
             return rawLogFactory;
         }
 
-        public TransportPoller receiverNioSelector()
-        {
-            return receiverTransportPoller;
-        }
-
         public TransportPoller senderNioSelector()
         {
             return senderTransportPoller;
@@ -655,14 +709,14 @@ public final class MediaDriver implements AutoCloseable
             return multicastSenderFlowControl;
         }
 
-        public TimerWheel conductorTimerWheel()
+        public Supplier<FlowControl> multiDestinationSenderFlowControl()
         {
-            return conductorTimerWheel;
+            return multiDestinationSenderFlowControl;
         }
 
-        public OneToOneConcurrentArrayQueue<ReceiverCmd> receiverCommandQueue()
+        public TimerWheel conductorTimerWheel()
         {
-            return receiverCommandQueue;
+            return conductorTimerWheel;
         }
 
         public OneToOneConcurrentArrayQueue<SenderCmd> senderCommandQueue()
@@ -670,9 +724,19 @@ public final class MediaDriver implements AutoCloseable
             return senderCommandQueue;
         }
 
-        public ReceiverProxy receiverProxy()
+        public ReceiverProxy[] receiverProxies()
+        {
+            return receiverProxies;
+        }
+
+        public ReceiverShardPolicy receiverShardPolicy()
+        {
+            return receiverShardPolicy;
+        }
+
+        public int receiverCount()
         {
-            return receiverProxy;
+            return receiverCount;
         }
 
         public SenderProxy senderProxy()
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import uk.co.real_logic.agrona.concurrent.NanoClock;
+import uk.co.real_logic.agrona.concurrent.SystemNanoClock;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.computePosition;
+
+/**
+ * Multicast sender flow control strategy that limits the sender to the slowest receiver.
+ *
+ * Min of right edges.
+ * Receivers are tracked by the source address of their status messages and dropped when they have not sent one
+ * within {@link Configuration#MIN_FLOW_CONTROL_RECEIVER_TIMEOUT_NS}.
+ *
+ * This is the default for unicast channels with multiple destinations and can be selected for multicast by
+ * setting {@link Configuration#MULTICAST_FLOW_CONTROL_STRATEGY_PROP_NAME} to this class name.
+ */
+public class MinMulticastFlowControl implements FlowControl
+{
+    private final ArrayList<ReceiverTracker> receivers = new ArrayList<>();
+    private final NanoClock clock;
+    private final long receiverTimeoutNs;
+
+    private long positionLimit = 0;
+    private int positionBitsToShift;
+    private int initialTermId;
+
+    public MinMulticastFlowControl()
+    {
+        this(new SystemNanoClock(), Configuration.MIN_FLOW_CONTROL_RECEIVER_TIMEOUT_NS);
+    }
+
+    public MinMulticastFlowControl(final NanoClock clock, final long receiverTimeoutNs)
+    {
+        this.clock = clock;
+        this.receiverTimeoutNs = receiverTimeoutNs;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long onStatusMessage(
+        final int termId, final int rebuildTermOffset, final int receiverWindowLength, final InetSocketAddress address)
+    {
+        final long now = clock.time();
+        final long position = computePosition(termId, rebuildTermOffset, positionBitsToShift, initialTermId);
+        final long newPositionLimit = position + receiverWindowLength;
+
+        boolean isExisting = false;
+        long minPositionLimit = newPositionLimit;
+
+        for (int i = receivers.size() - 1; i >= 0; i--)
+        {
+            final ReceiverTracker receiver = receivers.get(i);
+
+            if (receiver.address.equals(address))
+            {
+                receiver.positionLimit = newPositionLimit;
+                receiver.timeOfLastStatusMessage = now;
+                isExisting = true;
+            }
+            else if (now > (receiver.timeOfLastStatusMessage + receiverTimeoutNs))
+            {
+                receivers.remove(i);
+                continue;
+            }
+
+            minPositionLimit = Math.min(minPositionLimit, receiver.positionLimit);
+        }
+
+        if (!isExisting)
+        {
+            receivers.add(new ReceiverTracker(address, newPositionLimit, now));
+        }
+
+        positionLimit = minPositionLimit;
+
+        return positionLimit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long initialPositionLimit(final int initialTermId, final int termBufferCapacity)
+    {
+        this.initialTermId = initialTermId;
+        positionBitsToShift = Long.numberOfTrailingZeros(termBufferCapacity);
+
+        positionLimit = computePosition(initialTermId, 0, positionBitsToShift, initialTermId);
+
+        return positionLimit;
+    }
+
+    /**
+     * The number of receivers currently being tracked.
+     *
+     * @return the number of receivers currently being tracked.
+     */
+    public int receiverCount()
+    {
+        return receivers.size();
+    }
+
+    static final class ReceiverTracker
+    {
+        final InetSocketAddress address;
+        long positionLimit;
+        long timeOfLastStatusMessage;
+
+        ReceiverTracker(final InetSocketAddress address, final long positionLimit, final long now)
+        {
+            this.address = address;
+            this.positionLimit = positionLimit;
+            this.timeOfLastStatusMessage = now;
+        }
+    }
+}
@@ -29,4 +29,21 @@ public interface NakMessageSender
      * @param length     of the gap
      */
     void onLossDetected(int termId, int termOffset, int length);
+
+    /**
+     * Called when several gaps in a term have not been filled so they can be NAKed together. The arrays are only
+     * valid for the duration of the call.
+     *
+     * @param termId      for the gaps
+     * @param termOffsets for the beginning of each gap
+     * @param lengths     of each gap
+     * @param gapCount    number of gaps held in the arrays
+     */
+    default void onLossDetected(final int termId, final int[] termOffsets, final int[] lengths, final int gapCount)
+    {
+        for (int i = 0; i < gapCount; i++)
+        {
+            onLossDetected(termId, termOffsets[i], lengths[i]);
+        }
+    }
 }
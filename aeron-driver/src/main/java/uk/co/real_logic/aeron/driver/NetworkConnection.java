@@ -28,8 +28,10 @@ import uk.co.real_logic.agrona.concurrent.status.Position;
 import uk.co.real_logic.agrona.concurrent.status.ReadOnlyPosition;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.List;
 
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.lengthOffset;
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
 import static uk.co.real_logic.aeron.driver.NetworkConnection.Status.ACTIVE;
@@ -48,8 +50,11 @@ class NetworkConnectionConductorFields extends NetworkConnectionPadding1
     protected volatile long beginLossChange = -1;
     protected volatile long endLossChange = -1;
     protected int lossTermId;
-    protected int lossTermOffset;
-    protected int lossLength;
+    protected int lossGapCount;
+    protected int[] lossTermOffsets;
+    protected int[] lossLengths;
+    protected UnsafeBuffer dirtyTermBuffer;
+    protected int dirtyTermCleanOffset;
 }
 
 class NetworkConnectionPadding2 extends NetworkConnectionConductorFields
@@ -102,6 +107,7 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
     private final int initialTermId;
     private final int currentWindowLength;
     private final int currentGain;
+    private final long initialPosition;
 
     private final RawLog rawLog;
     private final EventLogger logger;
@@ -111,9 +117,13 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
     private final SystemCounters systemCounters;
     private final NanoClock clock;
     private final UnsafeBuffer[] termBuffers;
+    private final ByteBuffer[] termByteBuffers;
     private final Position hwmPosition;
+    private final Position residentBytes;
     private final List<ReadOnlyPosition> subscriberPositions;
     private final LossDetector lossDetector;
+    private final int[] nakTermOffsets = new int[Configuration.LOSS_MAX_GAPS];
+    private final int[] nakLengths = new int[Configuration.LOSS_MAX_GAPS];
 
     public NetworkConnection(
         final long correlationId,
@@ -130,6 +140,7 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         final FeedbackDelayGenerator lossFeedbackDelayGenerator,
         final List<ReadOnlyPosition> subscriberPositions,
         final Position hwmPosition,
+        final Position residentBytes,
         final NanoClock clock,
         final SystemCounters systemCounters,
         final InetSocketAddress sourceAddress,
@@ -143,6 +154,7 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         this.rawLog = rawLog;
         this.subscriberPositions = subscriberPositions;
         this.hwmPosition = hwmPosition;
+        this.residentBytes = residentBytes;
         this.systemCounters = systemCounters;
         this.sourceAddress = sourceAddress;
         this.logger = logger;
@@ -153,7 +165,10 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         this.lastPacketTimestamp = time;
 
         termBuffers = rawLog.stream().map(RawLogPartition::termBuffer).toArray(UnsafeBuffer[]::new);
-        this.lossDetector = new LossDetector(timerwheel, lossFeedbackDelayGenerator, this);
+        termByteBuffers = rawLog.sliceTerms();
+        this.lossTermOffsets = new int[Configuration.LOSS_MAX_GAPS];
+        this.lossLengths = new int[Configuration.LOSS_MAX_GAPS];
+        this.lossDetector = new LossDetector(timerwheel, lossFeedbackDelayGenerator, this, Configuration.LOSS_MAX_GAPS);
 
         final int termCapacity = termBuffers[0].capacity();
 
@@ -164,11 +179,12 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         this.positionBitsToShift = Integer.numberOfTrailingZeros(termCapacity);
         this.initialTermId = initialTermId;
 
-        final long initialPosition = computePosition(activeTermId, initialTermOffset, positionBitsToShift, initialTermId);
+        initialPosition = computePosition(activeTermId, initialTermOffset, positionBitsToShift, initialTermId);
         this.lastStatusMessagePosition = initialPosition - (currentGain + 1);
         this.newStatusMessagePosition = this.lastStatusMessagePosition;
         this.rebuildPosition = initialPosition;
         this.hwmPosition.setOrdered(initialPosition);
+        this.residentBytes.setOrdered(rawLog.residentBytes(0));
     }
 
     /**
@@ -177,6 +193,7 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
     public void close()
     {
         hwmPosition.close();
+        residentBytes.close();
         rawLog.close();
         subscriberPositions.forEach(ReadOnlyPosition::close);
     }
@@ -316,8 +333,28 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         beginLossChange = changeNumber;
 
         lossTermId = termId;
-        lossTermOffset = termOffset;
-        lossLength = length;
+        lossTermOffsets[0] = termOffset;
+        lossLengths[0] = length;
+        lossGapCount = 1;
+
+        endLossChange = changeNumber;
+    }
+
+    /**
+     * Called from the {@link LossDetector} when several gaps are detected in a term.
+     *
+     * @see NakMessageSender
+     */
+    public void onLossDetected(final int termId, final int[] termOffsets, final int[] lengths, final int gapCount)
+    {
+        final long changeNumber = beginLossChange + 1;
+
+        beginLossChange = changeNumber;
+
+        lossTermId = termId;
+        System.arraycopy(termOffsets, 0, lossTermOffsets, 0, gapCount);
+        System.arraycopy(lengths, 0, lossLengths, 0, gapCount);
+        lossGapCount = gapCount;
 
         endLossChange = changeNumber;
     }
@@ -357,9 +394,19 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         final int oldTermCount = (int)(oldRebuildPosition >>> positionBitsToShift);
         if (newTermCount > oldTermCount)
         {
-            final int oldTermCountIndex = indexByTermCount(oldTermCount);
-            final UnsafeBuffer termBuffer = termBuffers[previousPartitionIndex(oldTermCountIndex)];
-            termBuffer.setMemory(0, termBuffer.capacity(), (byte)0);
+            if (null != dirtyTermBuffer)
+            {
+                cleanLogBuffer(Integer.MAX_VALUE);
+            }
+
+            final int dirtyTermCount = oldTermCount - 1;
+            final int joinTermCount = (int)(initialPosition >>> positionBitsToShift);
+            if (dirtyTermCount >= joinTermCount)
+            {
+                final int oldTermCountIndex = indexByTermCount(oldTermCount);
+                dirtyTermBuffer = termBuffers[previousPartitionIndex(oldTermCountIndex)];
+                dirtyTermCleanOffset = dirtyTermCount == joinTermCount ? (int)initialPosition & termLengthMask : 0;
+            }
         }
 
         if (minSubscriberPosition > (newStatusMessagePosition + currentGain))
@@ -370,6 +417,61 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         return workCount;
     }
 
+    /**
+     * Clean the term rotated out by rebuild tracking in chunks so the {@link DriverConductor} duty cycle is not
+     * stalled by zeroing a whole term at once. A term still being cleaned on the next rotation is finished first.
+     * Terms, or the part of a term, before the join position have never been written so are not cleaned.
+     *
+     * This is performed on the {@link DriverConductor} thread
+     *
+     * @param budget of bytes which can be cleaned.
+     * @return number of bytes cleaned.
+     */
+    public int cleanLogBuffer(final int budget)
+    {
+        int bytesCleaned = 0;
+        final UnsafeBuffer termBuffer = dirtyTermBuffer;
+        if (null != termBuffer && budget > 0)
+        {
+            final int capacity = termBuffer.capacity();
+            final int offset = dirtyTermCleanOffset;
+            bytesCleaned = Math.min(budget, capacity - offset);
+
+            termBuffer.setMemory(offset, bytesCleaned, (byte)0);
+
+            final int newOffset = offset + bytesCleaned;
+            dirtyTermCleanOffset = newOffset;
+            if (newOffset == capacity)
+            {
+                dirtyTermBuffer = null;
+            }
+        }
+
+        return bytesCleaned;
+    }
+
+    /**
+     * The number of bytes of a rotated term still to be cleaned.
+     *
+     * @return the number of bytes of a rotated term still to be cleaned.
+     */
+    public int cleaningLag()
+    {
+        final UnsafeBuffer termBuffer = dirtyTermBuffer;
+
+        return null == termBuffer ? 0 : termBuffer.capacity() - dirtyTermCleanOffset;
+    }
+
+    /**
+     * Update the estimate of the resident bytes of the log from the highest position received.
+     *
+     * This is performed on the {@link DriverConductor} thread
+     */
+    public void updateResidentBytes()
+    {
+        residentBytes.setOrdered(rawLog.residentBytes(hwmPosition.getVolatile() - initialPosition));
+    }
+
     /**
      * Insert frame into term buffer.
      *
@@ -388,7 +490,7 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         if (isHeartbeat(buffer, length))
         {
             hwmCandidate(packetPosition);
-            systemCounters.heartbeatsReceived().orderedIncrement();
+            systemCounters.heartbeatsReceived().increment();
         }
         else if (isFlowControlUnderRun(windowPosition, packetPosition) || isFlowControlOverRun(windowPosition, proposedPosition))
         {
@@ -405,6 +507,96 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         return bytesReceived;
     }
 
+    /**
+     * Prepare a view of the term into which the next in order packet, being the one which begins at the aligned high
+     * water mark, can be received directly so its payload is not copied. The view begins after the header of the first
+     * frame so that the header can be received separately and written last by {@link #insertNextPacket(UnsafeBuffer, int)}.
+     *
+     * Space beyond the high water mark has not been written so the view can be used until a packet is inserted.
+     *
+     * @param maxPacketLength of the packets that may be received into the view.
+     * @return view of the term positioned for the payload of the next packet or null if it may not fit in the term.
+     */
+    public ByteBuffer nextPacketBuffer(final int maxPacketLength)
+    {
+        final long position = nextPacketPosition();
+        final int termOffset = (int)position & termLengthMask;
+        final ByteBuffer termByteBuffer = termByteBuffers[indexByPosition(position, positionBitsToShift)];
+
+        ByteBuffer buffer = null;
+        if (termOffset + maxPacketLength <= termByteBuffer.capacity())
+        {
+            termByteBuffer.clear();
+            termByteBuffer.limit(termOffset + maxPacketLength).position(termOffset + DataHeaderFlyweight.HEADER_LENGTH);
+            buffer = termByteBuffer;
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Is a packet the next in order packet for this connection so it can be inserted where it was received by
+     * {@link #nextPacketBuffer(int)}.
+     *
+     * @param header of the first frame in the packet.
+     * @return true if the packet is the next in order data packet for this connection.
+     */
+    public boolean isNextPacket(final DataHeaderFlyweight header)
+    {
+        return header.headerType() == DataHeaderFlyweight.HDR_TYPE_DATA &&
+            header.sessionId() == sessionId &&
+            header.streamId() == streamId &&
+            computePosition(header.termId(), header.termOffset(), positionBitsToShift, initialTermId) == nextPacketPosition();
+    }
+
+    /**
+     * Insert the next in order packet, whose payload has been received into the view from {@link #nextPacketBuffer(int)},
+     * by writing its header to make it available to subscribers. If flow control rejects the packet then the
+     * received payload is cleared.
+     *
+     * @param headerBuffer holding the header of the first frame in the packet at index 0.
+     * @param length       of the packet including the header.
+     * @return the number of bytes received.
+     */
+    public int insertNextPacket(final UnsafeBuffer headerBuffer, final int length)
+    {
+        int bytesReceived = length;
+        final long packetPosition = nextPacketPosition();
+        final long proposedPosition = packetPosition + length;
+        final long windowPosition = lastStatusMessagePosition;
+        final UnsafeBuffer termBuffer = termBuffers[indexByPosition(packetPosition, positionBitsToShift)];
+        final int termOffset = (int)packetPosition & termLengthMask;
+
+        if (isFlowControlUnderRun(windowPosition, packetPosition) || isFlowControlOverRun(windowPosition, proposedPosition))
+        {
+            clearNextPacket(length);
+            bytesReceived = 0;
+        }
+        else
+        {
+            TermRebuilder.insert(termBuffer, termOffset, headerBuffer, 0, DataHeaderFlyweight.HEADER_LENGTH);
+
+            hwmCandidate(proposedPosition);
+        }
+
+        return bytesReceived;
+    }
+
+    /**
+     * Clear the payload of a packet received into the view from {@link #nextPacketBuffer(int)} that is not to be
+     * inserted.
+     *
+     * @param length of the packet including the header.
+     */
+    public void clearNextPacket(final int length)
+    {
+        final long position = nextPacketPosition();
+        final UnsafeBuffer termBuffer = termBuffers[indexByPosition(position, positionBitsToShift)];
+        final int payloadOffset = ((int)position & termLengthMask) + DataHeaderFlyweight.HEADER_LENGTH;
+
+        termBuffer.setMemory(payloadOffset, length - DataHeaderFlyweight.HEADER_LENGTH, (byte)0);
+    }
+
     /**
      * To be called from the {@link Receiver} to see if a connection should be garbage collected.
      *
@@ -449,7 +641,7 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
 
                 lastStatusMessageTimestamp = now;
                 lastStatusMessagePosition = statusMessagePosition;
-                systemCounters.statusMessagesSent().orderedIncrement();
+                systemCounters.statusMessagesSent().increment();
                 workCount = 1;
             }
         }
@@ -470,14 +662,16 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         if (changeNumber != lastChangeNumber)
         {
             final int termId = lossTermId;
-            final int termOffset = lossTermOffset;
-            final int length = lossLength;
+            final int gapCount = lossGapCount;
+            System.arraycopy(lossTermOffsets, 0, nakTermOffsets, 0, gapCount);
+            System.arraycopy(lossLengths, 0, nakLengths, 0, gapCount);
 
             if (changeNumber == beginLossChange)
             {
-                channelEndpoint.sendNakMessage(controlAddress, sessionId, streamId, termId, termOffset, length);
+                channelEndpoint.sendNakMessage(
+                    controlAddress, sessionId, streamId, termId, nakTermOffsets, nakLengths, gapCount);
                 lastChangeNumber = changeNumber;
-                systemCounters.nakMessagesSent().orderedIncrement();
+                systemCounters.nakMessagesSent().increment();
                 workCount = 1;
             }
         }
@@ -521,6 +715,11 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         return length == DataHeaderFlyweight.HEADER_LENGTH && buffer.getInt(lengthOffset(0)) == 0;
     }
 
+    private long nextPacketPosition()
+    {
+        return (hwmPosition.get() + (FRAME_ALIGNMENT - 1)) & ~(FRAME_ALIGNMENT - 1);
+    }
+
     private void hwmCandidate(final long proposedPosition)
     {
         lastPacketTimestamp = clock.time();
@@ -533,7 +732,7 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
 
         if (isFlowControlUnderRun)
         {
-            systemCounters.flowControlUnderRuns().orderedIncrement();
+            systemCounters.flowControlUnderRuns().increment();
         }
 
         return isFlowControlUnderRun;
@@ -546,7 +745,7 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         if (isFlowControlOverRun)
         {
             logger.logOverRun(proposedPosition, windowPosition, currentWindowLength);
-            systemCounters.flowControlOverRuns().orderedIncrement();
+            systemCounters.flowControlOverRuns().increment();
         }
 
         return isFlowControlOverRun;
@@ -21,19 +21,23 @@ import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.agrona.concurrent.NanoClock;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferPartition;
 import uk.co.real_logic.agrona.concurrent.status.Position;
+import uk.co.real_logic.agrona.concurrent.status.ReadOnlyPosition;
 import uk.co.real_logic.aeron.driver.buffer.RawLog;
 
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
 import static uk.co.real_logic.aeron.driver.Configuration.PUBLICATION_HEARTBEAT_TIMEOUT_NS;
+import static uk.co.real_logic.aeron.driver.Configuration.PUBLICATION_SEND_BUDGET;
 import static uk.co.real_logic.aeron.driver.Configuration.PUBLICATION_SETUP_TIMEOUT_NS;
+import static uk.co.real_logic.aeron.driver.Configuration.SPIES_FLOW_CONTROL;
 
 /**
  * Publication to be sent to registered subscribers.
  */
-public class NetworkPublication implements RetransmitSender, AutoCloseable
+public class NetworkPublication implements DriverPublication, RetransmitSender, AutoCloseable
 {
     private final RawLog rawLog;
     private final NanoClock clock;
@@ -46,9 +50,11 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
     private final ByteBuffer[] sendBuffers;
     private final Position publisherLimit;
     private final Position senderPosition;
+    private final Position residentBytes;
     private final SendChannelEndpoint channelEndpoint;
-    private final InetSocketAddress dstAddress;
+    private final InetSocketAddress[] dstAddresses;
     private final SystemCounters systemCounters;
+    private final ArrayList<ReadOnlyPosition> spyPositions = new ArrayList<>();
 
     private final int positionBitsToShift;
     private final int initialTermId;
@@ -60,6 +66,8 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
     private long timeOfFlush = 0;
     private int statusMessagesReceivedCount = 0;
     private int refCount = 0;
+    private LogBufferPartition cleaningPartition;
+    private int cleanOffset;
 
     private volatile long senderPositionLimit;
     private boolean trackSenderLimits = true;
@@ -72,6 +80,7 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
         final RawLog rawLog,
         final Position senderPosition,
         final Position publisherLimit,
+        final Position residentBytes,
         final int sessionId,
         final int streamId,
         final int initialTermId,
@@ -83,9 +92,10 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
         this.rawLog = rawLog;
         this.senderPosition = senderPosition;
         this.systemCounters = systemCounters;
-        this.dstAddress = channelEndpoint.udpChannel().remoteData();
+        this.dstAddresses = channelEndpoint.udpChannel().destinations();
         this.clock = clock;
         this.publisherLimit = publisherLimit;
+        this.residentBytes = residentBytes;
         this.mtuLength = mtuLength;
 
         logPartitions = rawLog
@@ -111,6 +121,8 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
 
         dataHeader.wrap(new UnsafeBuffer(heartbeatFrameBuffer), 0);
         initHeartBeatFrame(sessionId, streamId);
+
+        residentBytes.setOrdered(rawLog.residentBytes(0));
     }
 
     public void close()
@@ -118,6 +130,8 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
         rawLog.close();
         publisherLimit.close();
         senderPosition.close();
+        residentBytes.close();
+        spyPositions.forEach(ReadOnlyPosition::close);
     }
 
     public int send()
@@ -169,22 +183,170 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
     }
 
     /**
+     * Clean terms which publishers have rotated out of use in chunks so the {@link DriverConductor} duty cycle is not
+     * stalled by zeroing a whole term at once. Only the term up to its tail is cleaned. The partition status is
+     * IN_CLEANING until the final chunk is cleaned.
+     *
      * This is performed on the {@link DriverConductor} thread
+     *
+     * @param budget of bytes which can be cleaned.
+     * @return number of bytes cleaned.
      */
-    public int cleanLogBuffer()
+    public int cleanLogBuffer(final int budget)
     {
-        int workCount = 0;
+        int bytesCleaned = 0;
 
-        for (final LogBufferPartition partition : logPartitions)
+        if (budget > 0)
         {
-            if (partition.status() == NEEDS_CLEANING)
+            if (null == cleaningPartition)
+            {
+                for (final LogBufferPartition partition : logPartitions)
+                {
+                    if (partition.status() == NEEDS_CLEANING)
+                    {
+                        partition.statusOrdered(IN_CLEANING);
+                        cleaningPartition = partition;
+                        cleanOffset = 0;
+                        break;
+                    }
+                }
+            }
+
+            final LogBufferPartition partition = cleaningPartition;
+            if (null != partition)
             {
-                partition.clean();
-                workCount = 1;
+                final int newCleanOffset = partition.clean(cleanOffset, budget);
+                bytesCleaned = newCleanOffset - cleanOffset;
+                cleanOffset = newCleanOffset;
+
+                if (CLEAN == partition.status())
+                {
+                    cleaningPartition = null;
+                }
             }
         }
 
-        return workCount;
+        return bytesCleaned;
+    }
+
+    /**
+     * The number of bytes of the term currently being cleaned still to be cleaned.
+     *
+     * @return the number of bytes of the term currently being cleaned still to be cleaned.
+     */
+    public int cleaningLag()
+    {
+        final LogBufferPartition partition = cleaningPartition;
+
+        return null == partition ? 0 : partition.tail() - cleanOffset;
+    }
+
+    /**
+     * Update the estimate of the resident bytes of the log from the position publishers have appended up to.
+     *
+     * This is performed on the {@link DriverConductor} thread
+     */
+    public void updateResidentBytes()
+    {
+        residentBytes.setOrdered(rawLog.residentBytes(producerPosition()));
+    }
+
+    /**
+     * The length of each term in the log.
+     *
+     * @return the length of each term in the log.
+     */
+    public int termBufferLength()
+    {
+        return termLengthMask + 1;
+    }
+
+    /**
+     * The MTU length used when sending data frames.
+     *
+     * @return the MTU length used when sending data frames.
+     */
+    public int mtuLength()
+    {
+        return mtuLength;
+    }
+
+    /**
+     * The position up to which publishers have appended to the log.
+     *
+     * @return the position up to which publishers have appended to the log.
+     */
+    public long producerPosition()
+    {
+        final int activeTermId = activeTermId(rawLog.logMetaData());
+        final LogBufferPartition partition = logPartitions[indexByTerm(initialTermId, activeTermId)];
+        final int tail = Math.min(partition.tailVolatile(), partition.termBuffer().capacity());
+
+        return computePosition(activeTermId, tail, positionBitsToShift, initialTermId);
+    }
+
+    /**
+     * Has a spy fallen so far behind the producer that the term it is reading may be cleaned or overwritten. This can
+     * only happen when {@link Configuration#SPIES_FLOW_CONTROL} is not set so spies do not hold back the publisher limit.
+     *
+     * A publisher rotating into a new term marks the term two behind it for cleaning, so a spy is only safe while it
+     * is reading the producer's active term or the one before it.
+     *
+     * @param spyPosition of the spy subscriber.
+     * @return true if the spy is reading a term the producer has moved on from for cleaning.
+     */
+    public boolean isSpyLapped(final ReadOnlyPosition spyPosition)
+    {
+        final long producerPosition = producerPosition();
+        final long previousTermPosition = (producerPosition - (producerPosition & termLengthMask)) - termBufferLength();
+
+        return spyPosition.getVolatile() < previousTermPosition;
+    }
+
+    /**
+     * Have any of the spy subscribers been lapped by the producer.
+     *
+     * @return true if any of the spy subscribers have been lapped by the producer.
+     * @see #isSpyLapped(ReadOnlyPosition)
+     */
+    public boolean hasLappedSpy()
+    {
+        final ArrayList<ReadOnlyPosition> spyPositions = this.spyPositions;
+        for (int i = 0, size = spyPositions.size(); i < size; i++)
+        {
+            if (isSpyLapped(spyPositions.get(i)))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Add a spy subscriber which reads the log directly. The spy position holds back the publisher limit when
+     * {@link Configuration#SPIES_FLOW_CONTROL} is set.
+     *
+     * This is performed on the {@link DriverConductor} thread
+     *
+     * @param spyPosition for the spy subscriber to be added.
+     */
+    public void addSpy(final ReadOnlyPosition spyPosition)
+    {
+        spyPositions.add(spyPosition);
+    }
+
+    /**
+     * Remove a spy subscriber so its position is no longer tracked.
+     *
+     * This is performed on the {@link DriverConductor} thread
+     *
+     * @param spyPosition for the spy subscriber to be removed.
+     */
+    public void removeSpy(final ReadOnlyPosition spyPosition)
+    {
+        spyPositions.remove(spyPosition);
+        spyPosition.close();
     }
 
     public long timeOfFlush()
@@ -217,7 +379,7 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
 
                 sendBuffer.limit(termOffset + available).position(termOffset);
 
-                if (available != channelEndpoint.sendTo(sendBuffer, dstAddress))
+                if (available != sendToDestinations(sendBuffer))
                 {
                     systemCounters.dataPacketShortSends().orderedIncrement();
                     break;
@@ -292,7 +454,18 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
     public int updatePublishersLimit()
     {
         int workCount = 0;
-        final long candidatePublisherLimit = senderPosition.getVolatile() + termWindowLength;
+        long consumerPosition = senderPosition.getVolatile();
+
+        if (SPIES_FLOW_CONTROL)
+        {
+            final ArrayList<ReadOnlyPosition> spyPositions = this.spyPositions;
+            for (int i = 0, size = spyPositions.size(); i < size; i++)
+            {
+                consumerPosition = Math.min(consumerPosition, spyPositions.get(i).getVolatile());
+            }
+        }
+
+        final long candidatePublisherLimit = consumerPosition + termWindowLength;
         if (publisherLimit.proposeMaxOrdered(candidatePublisherLimit))
         {
             workCount = 1;
@@ -304,30 +477,46 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
     private int sendData(final long now, final long senderPosition, final int termOffset)
     {
         int bytesSent = 0;
-        final int availableWindow = (int)(senderPositionLimit - senderPosition);
+        final long positionLimit = senderPositionLimit;
+        int availableWindow = (int)(positionLimit - senderPosition);
         if (availableWindow > 0)
         {
-            final int scanLimit = Math.min(availableWindow, mtuLength);
-            final int activeIndex = indexByPosition(senderPosition, positionBitsToShift);
+            long position = senderPosition;
+            int offset = termOffset;
 
-            final int available = scanner.scanForAvailability(logPartitions[activeIndex].termBuffer(), termOffset, scanLimit);
-            if (available > 0)
+            do
             {
-                final ByteBuffer sendBuffer = sendBuffers[activeIndex];
-                sendBuffer.limit(termOffset + available).position(termOffset);
+                final int scanLimit = Math.min(availableWindow, mtuLength);
+                final int activeIndex = indexByPosition(position, positionBitsToShift);
 
-                if (available == channelEndpoint.sendTo(sendBuffer, dstAddress))
+                final int available = scanner.scanForAvailability(logPartitions[activeIndex].termBuffer(), offset, scanLimit);
+                if (0 == available)
                 {
-                    timeOfLastSendOrHeartbeat = now;
-                    trackSenderLimits = true;
-
-                    bytesSent = available;
-                    this.senderPosition.setOrdered(senderPosition + bytesSent + scanner.padding());
+                    break;
                 }
-                else
+
+                final ByteBuffer sendBuffer = sendBuffers[activeIndex];
+                sendBuffer.limit(offset + available).position(offset);
+
+                if (available != sendToDestinations(sendBuffer))
                 {
                     systemCounters.dataPacketShortSends().orderedIncrement();
+                    break;
                 }
+
+                timeOfLastSendOrHeartbeat = now;
+                trackSenderLimits = true;
+
+                bytesSent += available;
+                position += available + scanner.padding();
+                offset = (int)position & termLengthMask;
+                availableWindow = (int)(positionLimit - position);
+            }
+            while (bytesSent < PUBLICATION_SEND_BUDGET && availableWindow > 0);
+
+            if (position != senderPosition)
+            {
+                this.senderPosition.setOrdered(position);
             }
         }
         else if (trackSenderLimits)
@@ -339,6 +528,27 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
         return bytesSent;
     }
 
+    /**
+     * Send the remaining bytes of a buffer to each destination of the channel.
+     *
+     * @param buffer to be sent which has its position and limit restored for each destination.
+     * @return the least number of bytes sent to any destination.
+     */
+    private int sendToDestinations(final ByteBuffer buffer)
+    {
+        final int position = buffer.position();
+        final int limit = buffer.limit();
+        int minBytesSent = limit - position;
+
+        for (final InetSocketAddress dstAddress : dstAddresses)
+        {
+            buffer.limit(limit).position(position);
+            minBytesSent = Math.min(minBytesSent, channelEndpoint.sendTo(buffer, dstAddress));
+        }
+
+        return minBytesSent;
+    }
+
     private void setupMessageCheck(final long now, final int activeTermId, final int termOffset, final long senderPosition)
     {
         if (0 != senderPosition || (now > (timeOfLastSendOrHeartbeat + PUBLICATION_SETUP_TIMEOUT_NS)))
@@ -346,7 +556,7 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
             setupFrameBuffer.clear();
             setupHeader.activeTermId(activeTermId).termOffset(termOffset);
 
-            final int bytesSent = channelEndpoint.sendTo(setupFrameBuffer, dstAddress);
+            final int bytesSent = sendToDestinations(setupFrameBuffer);
             if (SetupFlyweight.HEADER_LENGTH != bytesSent)
             {
                 systemCounters.setupMessageShortSends().orderedIncrement();
@@ -370,7 +580,7 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
             heartbeatFrameBuffer.clear();
             dataHeader.termId(activeTermId).termOffset(termOffset);
 
-            final int bytesSent = channelEndpoint.sendTo(heartbeatFrameBuffer, dstAddress);
+            final int bytesSent = sendToDestinations(heartbeatFrameBuffer);
             if (DataHeaderFlyweight.HEADER_LENGTH != bytesSent)
             {
                 systemCounters.dataPacketShortSends().orderedIncrement();
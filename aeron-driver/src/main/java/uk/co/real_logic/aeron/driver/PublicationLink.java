@@ -16,15 +16,15 @@
 package uk.co.real_logic.aeron.driver;
 
 /**
- * Tracks a aeron client interest registration in a {@link NetworkPublication}.
+ * Tracks a aeron client interest registration in a {@link DriverPublication}.
  */
 public class PublicationLink
 {
     private final long registrationId;
-    private final NetworkPublication publication;
+    private final DriverPublication publication;
     private final AeronClient client;
 
-    public PublicationLink(final long registrationId, final NetworkPublication publication, final AeronClient client)
+    public PublicationLink(final long registrationId, final DriverPublication publication, final AeronClient client)
     {
         this.registrationId = registrationId;
         this.publication = publication;
@@ -38,7 +38,8 @@ public class ReceiveChannelEndpoint implements AutoCloseable
     private final Int2ObjectHashMap<MutableInteger> refCountByStreamIdMap = new Int2ObjectHashMap<>();
 
     private final ByteBuffer smBuffer = ByteBuffer.allocateDirect(StatusMessageFlyweight.HEADER_LENGTH);
-    private final ByteBuffer nakBuffer = ByteBuffer.allocateDirect(NakFlyweight.HEADER_LENGTH);
+    private final ByteBuffer nakBuffer =
+        ByteBuffer.allocateDirect(NakFlyweight.frameLengthForRanges(Configuration.LOSS_MAX_GAPS));
     private final StatusMessageFlyweight smHeader = new StatusMessageFlyweight();
     private final NakFlyweight nakHeader = new NakFlyweight();
 
@@ -68,7 +69,8 @@ public class ReceiveChannelEndpoint implements AutoCloseable
 
         this.systemCounters = systemCounters;
         dispatcher = new DataPacketDispatcher(conductorProxy, receiver, this);
-        transport = new ReceiverUdpChannelTransport(udpChannel, dispatcher, dispatcher, logger, lossGenerator);
+        transport = new ReceiverUdpChannelTransport(
+            udpChannel, dispatcher, dispatcher, logger, lossGenerator, systemCounters.portUnreachableErrors());
     }
 
     public UdpChannelTransport transport()
@@ -218,7 +220,7 @@ public class ReceiveChannelEndpoint implements AutoCloseable
             final int bytesSent = transport.sendTo(smBuffer, controlAddress);
             if (StatusMessageFlyweight.HEADER_LENGTH != bytesSent)
             {
-                systemCounters.statusMessageShortSends().orderedIncrement();
+                systemCounters.statusMessageShortSends().increment();
             }
         }
     }
@@ -228,23 +230,29 @@ public class ReceiveChannelEndpoint implements AutoCloseable
         final int sessionId,
         final int streamId,
         final int termId,
-        final int termOffset,
-        final int length)
+        final int[] termOffsets,
+        final int[] lengths,
+        final int gapCount)
     {
         if (!closed)
         {
-            nakBuffer.clear();
+            final int frameLength = NakFlyweight.frameLengthForRanges(gapCount);
             nakHeader.streamId(streamId)
                      .sessionId(sessionId)
                      .termId(termId)
-                     .termOffset(termOffset)
-                     .length(length);
+                     .frameLength(frameLength);
+
+            for (int i = 0; i < gapCount; i++)
+            {
+                nakHeader.range(i, termOffsets[i], lengths[i]);
+            }
 
+            nakBuffer.clear().limit(frameLength);
             final int bytesSent = transport.sendTo(nakBuffer, controlAddress);
-            if (NakFlyweight.HEADER_LENGTH != bytesSent)
+            if (frameLength != bytesSent)
             {
-                systemCounters.nakMessageShortSends().orderedIncrement();
+                systemCounters.nakMessageShortSends().increment();
             }
         }
     }
-}
\ No newline at end of file
+}
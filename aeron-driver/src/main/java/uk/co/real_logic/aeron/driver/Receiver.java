@@ -22,36 +22,47 @@ import java.util.ArrayList;
 import java.util.function.Consumer;
 
 /**
- * Receiver agent for JVM based media driver, uses an event loop with command buffer
+ * Receiver agent for JVM based media driver, uses an event loop with command buffer.
+ *
+ * A media driver may run multiple receivers with each servicing its own shard of the receive channel endpoints.
  */
 public class Receiver implements Agent, Consumer<ReceiverCmd>
 {
     private final long statusMessageTimeout;
+    private final String roleName;
     private final TransportPoller transportPoller;
     private final OneToOneConcurrentArrayQueue<ReceiverCmd> commandQueue;
     private final AtomicCounter totalBytesReceived;
+    private final AtomicCounter receiveBatchLimitHits;
     private final NanoClock clock;
     private final ArrayList<NetworkConnection> connections = new ArrayList<>();
     private final ArrayList<PendingSetupMessageFromSource> pendingSetupMessages = new ArrayList<>();
 
-    public Receiver(final MediaDriver.Context ctx)
+    public Receiver(
+        final MediaDriver.Context ctx,
+        final int shardIndex,
+        final TransportPoller transportPoller,
+        final OneToOneConcurrentArrayQueue<ReceiverCmd> commandQueue)
     {
+        this.transportPoller = transportPoller;
+        this.commandQueue = commandQueue;
+        roleName = 0 == shardIndex ? "receiver" : "receiver-" + shardIndex;
         statusMessageTimeout = ctx.statusMessageTimeout();
-        transportPoller = ctx.receiverNioSelector();
-        commandQueue = ctx.receiverCommandQueue();
         totalBytesReceived = ctx.systemCounters().bytesReceived();
+        receiveBatchLimitHits = ctx.systemCounters().receiveBatchLimitHits();
         clock = ctx.conductorTimerWheel().clock();
     }
 
     public String roleName()
     {
-        return "receiver";
+        return roleName;
     }
 
     public int doWork() throws Exception
     {
         int workCount = commandQueue.drain(this);
-        final int bytesReceived = transportPoller.pollTransports();
+        final int bytesReceived = transportPoller.pollTransports(
+            Configuration.RECEIVE_BATCH_DATAGRAMS, Configuration.RECEIVE_BATCH_BYTES, receiveBatchLimitHits);
 
         final long now = clock.time();
         for (int i = connections.size() - 1; i >= 0; i--)
@@ -71,11 +82,16 @@ public class Receiver implements Agent, Consumer<ReceiverCmd>
 
         timeoutPendingSetupMessages(now);
 
-        totalBytesReceived.addOrdered(bytesReceived);
+        totalBytesReceived.add(bytesReceived);
 
         return workCount + bytesReceived;
     }
 
+    public TransportPoller transportPoller()
+    {
+        return transportPoller;
+    }
+
     public void addPendingSetupMessage(final int sessionId, final int streamId, final ReceiveChannelEndpoint channelEndpoint)
     {
         final PendingSetupMessageFromSource cmd = new PendingSetupMessageFromSource(sessionId, streamId, channelEndpoint);
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+/**
+ * Strategy for assigning a {@link ReceiveChannelEndpoint} to one of the {@link Receiver} shards of the media driver.
+ */
+public interface ReceiverShardPolicy
+{
+    /**
+     * Select the shard which will service the endpoint for a channel.
+     *
+     * @param udpChannel for the endpoint being created.
+     * @param shardCount number of {@link Receiver} shards running in the media driver.
+     * @return the index of the shard in the range 0 to shardCount - 1.
+     */
+    int shardIndex(UdpChannel udpChannel, int shardCount);
+}
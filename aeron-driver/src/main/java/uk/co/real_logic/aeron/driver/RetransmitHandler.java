@@ -17,6 +17,7 @@ package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.aeron.common.FeedbackDelayGenerator;
 import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.aeron.common.protocol.NakFlyweight;
 import uk.co.real_logic.agrona.TimerWheel;
 import uk.co.real_logic.agrona.collections.Long2ObjectHashMap;
 import uk.co.real_logic.agrona.concurrent.AtomicCounter;
@@ -41,6 +42,8 @@ public class RetransmitHandler
      */
     public static final int MAX_RETRANSMITS = Configuration.MAX_RETRANSMITS_DEFAULT;
 
+    private static final long DELAY_NOT_DETERMINED = -1;
+
     private final TimerWheel timerWheel;
     private final Queue<RetransmitAction> retransmitActionPool = new OneToOneConcurrentArrayQueue<>(MAX_RETRANSMITS);
     private final Long2ObjectHashMap<RetransmitAction> activeRetransmitByPositionMap = new Long2ObjectHashMap<>();
@@ -95,33 +98,23 @@ public class RetransmitHandler
      */
     public void onNak(final int termId, final int termOffset, final int length)
     {
-        if (isInvalid(termOffset))
-        {
-            return;
-        }
+        addRetransmit(termId, termOffset, length, DELAY_NOT_DETERMINED);
+    }
 
-        final long position = computePosition(termId, termOffset, positionBitsToShift, initialTermId);
+    /**
+     * Called on reception of a NAK, which may carry several ranges, to start retransmits handling for the ranges as a
+     * batch. All retransmits started for the NAK share one delay so the ranges are resent together.
+     *
+     * @param nakMessage holding the term id and ranges of missing data.
+     */
+    public void onNak(final NakFlyweight nakMessage)
+    {
+        final int termId = nakMessage.termId();
+        long delay = DELAY_NOT_DETERMINED;
 
-        if (!retransmitActionPool.isEmpty() && null == activeRetransmitByPositionMap.get(position))
+        for (int i = 0, rangeCount = nakMessage.rangeCount(); i < rangeCount; i++)
         {
-            final RetransmitAction action = retransmitActionPool.poll();
-            action.termId = termId;
-            action.termOffset = termOffset;
-            action.length = Math.min(length, capacity - termOffset);
-            action.position = position;
-
-            final long delay = determineRetransmitDelay();
-            if (0 == delay)
-            {
-                perform(action);
-                action.linger(determineLingerTimeout());
-            }
-            else
-            {
-                action.delay(delay);
-            }
-
-            activeRetransmitByPositionMap.put(position, action);
+            delay = addRetransmit(termId, nakMessage.rangeTermOffset(i), nakMessage.rangeLength(i), delay);
         }
     }
 
@@ -148,6 +141,45 @@ public class RetransmitHandler
         }
     }
 
+    private long addRetransmit(final int termId, final int termOffset, final int length, final long batchDelay)
+    {
+        if (isInvalid(termOffset))
+        {
+            return batchDelay;
+        }
+
+        long delay = batchDelay;
+        final long position = computePosition(termId, termOffset, positionBitsToShift, initialTermId);
+
+        if (!retransmitActionPool.isEmpty() && null == activeRetransmitByPositionMap.get(position))
+        {
+            final RetransmitAction action = retransmitActionPool.poll();
+            action.termId = termId;
+            action.termOffset = termOffset;
+            action.length = Math.min(length, capacity - termOffset);
+            action.position = position;
+
+            if (DELAY_NOT_DETERMINED == delay)
+            {
+                delay = determineRetransmitDelay();
+            }
+
+            if (0 == delay)
+            {
+                perform(action);
+                action.linger(determineLingerTimeout());
+            }
+            else
+            {
+                action.delay(delay);
+            }
+
+            activeRetransmitByPositionMap.put(position, action);
+        }
+
+        return delay;
+    }
+
     private boolean isInvalid(final int termOffset)
     {
         final boolean isInvalid = termOffset >= (capacity - DataHeaderFlyweight.HEADER_LENGTH);
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+/**
+ * Assign receive channel endpoints to {@link Receiver} shards in turn as they are created.
+ */
+public class RoundRobinReceiverShardPolicy implements ReceiverShardPolicy
+{
+    private int nextShardIndex = 0;
+
+    public int shardIndex(final UdpChannel udpChannel, final int shardCount)
+    {
+        final int shardIndex = nextShardIndex % shardCount;
+        nextShardIndex = shardIndex + 1;
+
+        return shardIndex;
+    }
+}
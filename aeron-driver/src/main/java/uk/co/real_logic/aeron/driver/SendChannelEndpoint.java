@@ -46,7 +46,12 @@ public class SendChannelEndpoint implements AutoCloseable
         final SystemCounters systemCounters)
     {
         this.transport = new SenderUdpChannelTransport(
-            udpChannel, this::onStatusMessage, this::onNakMessage, logger, lossGenerator);
+            udpChannel,
+            this::onStatusMessage,
+            this::onNakMessage,
+            logger,
+            lossGenerator,
+            systemCounters.portUnreachableErrors());
         this.nakMessagesReceived = systemCounters.nakMessagesReceived();
         this.statusMessagesReceived = systemCounters.statusMessagesReceived();
     }
@@ -214,7 +219,7 @@ public class SendChannelEndpoint implements AutoCloseable
 
         if (null != assembly)
         {
-            assembly.retransmitHandler.onNak(nakMessage.termId(), nakMessage.termOffset(), nakMessage.length());
+            assembly.retransmitHandler.onNak(nakMessage);
             nakMessagesReceived.orderedIncrement();
         }
     }
@@ -15,6 +15,7 @@
  */
 package uk.co.real_logic.aeron.driver;
 
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.aeron.common.event.EventLogger;
 import uk.co.real_logic.aeron.common.protocol.NakFlyweight;
@@ -43,22 +44,30 @@ public final class SenderUdpChannelTransport extends UdpChannelTransport
     /**
      * Construct a transport for use with receiving and processing control frames
      *
-     * Does not register
+     * Does not register. Unicast transports with a single destination are connected to the remote control address
+     * when the channel has the connect=true parameter.
      *
      * @param udpChannel        of the transport
      * @param smMessageHandler  to call when status message frames are received
      * @param nakMessageHandler to call when NAK frames are received
      * @param logger            for logging
      * @param lossGenerator     for loss generation
+     * @param portUnreachableErrors incremented when the channel reports an ICMP port unreachable error
      */
     public SenderUdpChannelTransport(
         final UdpChannel udpChannel,
         final StatusMessageHandler smMessageHandler,
         final NakMessageHandler nakMessageHandler,
         final EventLogger logger,
-        final LossGenerator lossGenerator)
+        final LossGenerator lossGenerator,
+        final AtomicCounter portUnreachableErrors)
     {
-        super(udpChannel, udpChannel.remoteControl(), udpChannel.localControl(), lossGenerator, logger);
+        super(udpChannel, udpChannel.remoteControl(), udpChannel.localControl(), lossGenerator, logger, portUnreachableErrors);
+
+        if (udpChannel.isConnectRequested() && !udpChannel.isMulticast() && !udpChannel.isMultiDestination())
+        {
+            connect(udpChannel.remoteControl());
+        }
 
         this.smMessageHandler = smMessageHandler;
         this.nakMessageHandler = nakMessageHandler;
@@ -74,8 +83,11 @@ public final class SenderUdpChannelTransport extends UdpChannelTransport
         switch (messageType)
         {
             case HDR_TYPE_NAK:
-                nakMessageHandler.onMessage(nakMessage);
-                framesRead = 1;
+                if (nakMessage.frameLength() <= length)
+                {
+                    nakMessageHandler.onMessage(nakMessage);
+                    framesRead = 1;
+                }
                 break;
 
             case HDR_TYPE_SM:
@@ -22,23 +22,56 @@ import java.util.Map;
 
 /**
  * Subscription registration from a client used for liveness tracking
+ *
+ * Subscriptions to the {@link uk.co.real_logic.aeron.common.CommonContext#IPC_CHANNEL} have no channel endpoint and
+ * are linked to {@link IpcPublication}s rather than {@link NetworkConnection}s. Spy subscriptions, with the
+ * {@link uk.co.real_logic.aeron.common.CommonContext#SPY_PREFIX}, have no channel endpoint and are linked to the
+ * {@link NetworkPublication}s on the spied channel.
  */
 public class SubscriptionLink
 {
     private final long registrationId;
     private final int streamId;
     private final ReceiveChannelEndpoint channelEndpoint;
+    private final UdpChannel spiedChannel;
     private final AeronClient aeronClient;
     private final Map<NetworkConnection, ReadOnlyPosition> positionByConnectionMap = new IdentityHashMap<>();
+    private final Map<IpcPublication, ReadOnlyPosition> positionByIpcPublicationMap = new IdentityHashMap<>();
+    private final Map<NetworkPublication, ReadOnlyPosition> positionBySpiedPublicationMap = new IdentityHashMap<>();
+
+    public SubscriptionLink(
+        final long registrationId,
+        final ReceiveChannelEndpoint channelEndpoint,
+        final int streamId,
+        final AeronClient aeronClient)
+    {
+        this(registrationId, channelEndpoint, null, streamId, aeronClient);
+    }
+
+    public SubscriptionLink(final long registrationId, final int streamId, final AeronClient aeronClient)
+    {
+        this(registrationId, null, null, streamId, aeronClient);
+    }
 
     public SubscriptionLink(
+        final long registrationId,
+        final UdpChannel spiedChannel,
+        final int streamId,
+        final AeronClient aeronClient)
+    {
+        this(registrationId, null, spiedChannel, streamId, aeronClient);
+    }
+
+    private SubscriptionLink(
         final long registrationId,
         final ReceiveChannelEndpoint channelEndpoint,
+        final UdpChannel spiedChannel,
         final int streamId,
         final AeronClient aeronClient)
     {
         this.registrationId = registrationId;
         this.channelEndpoint = channelEndpoint;
+        this.spiedChannel = spiedChannel;
         this.streamId = streamId;
         this.aeronClient = aeronClient;
     }
@@ -68,6 +101,56 @@ public class SubscriptionLink
         return channelEndpoint == this.channelEndpoint && streamId == this.streamId;
     }
 
+    public UdpChannel spiedChannel()
+    {
+        return spiedChannel;
+    }
+
+    public boolean isIpc()
+    {
+        return null == channelEndpoint && null == spiedChannel;
+    }
+
+    public boolean isSpy()
+    {
+        return null != spiedChannel;
+    }
+
+    public boolean matchesSpy(final UdpChannel udpChannel, final int streamId)
+    {
+        return isSpy() && spiedChannel.equals(udpChannel) && streamId == this.streamId;
+    }
+
+    public void addSpiedPublication(final NetworkPublication publication, final ReadOnlyPosition position)
+    {
+        positionBySpiedPublicationMap.put(publication, position);
+    }
+
+    public ReadOnlyPosition spiedPosition(final NetworkPublication publication)
+    {
+        return positionBySpiedPublicationMap.get(publication);
+    }
+
+    public boolean removeSpiedPublication(final NetworkPublication publication)
+    {
+        return null != positionBySpiedPublicationMap.remove(publication);
+    }
+
+    public boolean matchesIpc(final int streamId)
+    {
+        return isIpc() && streamId == this.streamId;
+    }
+
+    public void addIpcPublication(final IpcPublication publication, final ReadOnlyPosition position)
+    {
+        positionByIpcPublicationMap.put(publication, position);
+    }
+
+    public void removeIpcPublication(final IpcPublication publication)
+    {
+        positionByIpcPublicationMap.remove(publication);
+    }
+
     public void addConnection(final NetworkConnection connection, final ReadOnlyPosition position)
     {
         positionByConnectionMap.put(connection, position);
@@ -76,5 +159,7 @@ public class SubscriptionLink
     public void close()
     {
         positionByConnectionMap.forEach(NetworkConnection::removeSubscriber);
+        positionByIpcPublicationMap.forEach(IpcPublication::removeSubscriber);
+        positionBySpiedPublicationMap.forEach(NetworkPublication::removeSpy);
     }
 }
@@ -42,6 +42,12 @@ public class SystemCounters implements AutoCloseable
     private final AtomicCounter nakMessageShortSends;
     private final AtomicCounter clientKeepAlives;
     private final AtomicCounter senderFlowControlLimits;
+    private final AtomicCounter termBytesCleaned;
+    private final AtomicCounter termCleaningLag;
+    private final AtomicCounter logBufferPoolHits;
+    private final AtomicCounter logBufferPoolMisses;
+    private final AtomicCounter receiveBatchLimitHits;
+    private final AtomicCounter portUnreachableErrors;
 
     public SystemCounters(final CountersManager countersManager)
     {
@@ -67,6 +73,12 @@ public class SystemCounters implements AutoCloseable
         nakMessageShortSends = countersManager.newCounter("NAK Message short sends");
         clientKeepAlives = countersManager.newCounter("Client keep-alives");
         senderFlowControlLimits = countersManager.newCounter("Sender flow control limits applied");
+        termBytesCleaned = countersManager.newCounter("Term bytes cleaned");
+        termCleaningLag = countersManager.newCounter("Term cleaning lag in bytes");
+        logBufferPoolHits = countersManager.newCounter("Log buffer pool hits");
+        logBufferPoolMisses = countersManager.newCounter("Log buffer pool misses");
+        receiveBatchLimitHits = countersManager.newCounter("Receive batch limit hits");
+        portUnreachableErrors = countersManager.newCounter("ICMP port unreachable errors");
     }
 
     public void close()
@@ -93,6 +105,12 @@ public class SystemCounters implements AutoCloseable
         nakMessageShortSends.close();
         clientKeepAlives.close();
         senderFlowControlLimits.close();
+        termBytesCleaned.close();
+        termCleaningLag.close();
+        logBufferPoolHits.close();
+        logBufferPoolMisses.close();
+        receiveBatchLimitHits.close();
+        portUnreachableErrors.close();
     }
 
     public AtomicCounter bytesSent()
@@ -203,4 +221,34 @@ public class SystemCounters implements AutoCloseable
     {
         return senderFlowControlLimits;
     }
+
+    public AtomicCounter termBytesCleaned()
+    {
+        return termBytesCleaned;
+    }
+
+    public AtomicCounter termCleaningLag()
+    {
+        return termCleaningLag;
+    }
+
+    public AtomicCounter logBufferPoolHits()
+    {
+        return logBufferPoolHits;
+    }
+
+    public AtomicCounter logBufferPoolMisses()
+    {
+        return logBufferPoolMisses;
+    }
+
+    public AtomicCounter receiveBatchLimitHits()
+    {
+        return receiveBatchLimitHits;
+    }
+
+    public AtomicCounter portUnreachableErrors()
+    {
+        return portUnreachableErrors;
+    }
 }
@@ -16,6 +16,7 @@
 package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.agrona.LangUtil;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
@@ -172,6 +173,50 @@ public class TransportPoller implements AutoCloseable
         return bytesReceived;
     }
 
+    /**
+     * Explicit event loop processing as a poll which drains each ready transport in batches.
+     *
+     * @param maxDatagrams   to receive from each transport in a poll.
+     * @param maxBytes       of datagrams after which receiving from a transport stops for the poll.
+     * @param batchLimitHits incremented each time a transport batch ends on a limit.
+     * @return the number of bytes received.
+     */
+    public int pollTransports(final int maxDatagrams, final int maxBytes, final AtomicCounter batchLimitHits)
+    {
+        int bytesReceived = 0;
+        try
+        {
+            final UdpChannelTransport[] transports = this.transports;
+            final int numTransports = transports.length;
+            if (numTransports <= ITERATION_THRESHOLD)
+            {
+                for (int i = numTransports - 1; i >= 0; i--)
+                {
+                    bytesReceived += transports[i].pollForData(maxDatagrams, maxBytes, batchLimitHits);
+                }
+            }
+            else
+            {
+                selector.selectNow();
+
+                final SelectionKey[] keys = selectedKeySet.keys();
+                for (int i = selectedKeySet.size() - 1; i >= 0; i--)
+                {
+                    final UdpChannelTransport transport = (UdpChannelTransport)keys[i].attachment();
+                    bytesReceived += transport.pollForData(maxDatagrams, maxBytes, batchLimitHits);
+                }
+
+                selectedKeySet.reset();
+            }
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        return bytesReceived;
+    }
+
     /**
      * Explicit call to selectNow but without processing of selected keys.
      */
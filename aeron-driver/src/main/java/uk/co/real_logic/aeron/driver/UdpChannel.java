@@ -19,6 +19,7 @@ import uk.co.real_logic.aeron.common.ErrorCode;
 import uk.co.real_logic.aeron.common.UriUtil;
 import uk.co.real_logic.aeron.common.uri.AeronUri;
 import uk.co.real_logic.aeron.common.uri.InterfaceSearchAddress;
+import uk.co.real_logic.aeron.common.uri.SocketAddressUtil;
 import uk.co.real_logic.aeron.driver.exceptions.InvalidChannelException;
 import uk.co.real_logic.agrona.BitUtil;
 
@@ -33,14 +34,23 @@ import static java.lang.System.lineSeparator;
 import static java.net.InetAddress.getByAddress;
 import static uk.co.real_logic.aeron.common.NetworkUtil.*;
 import static uk.co.real_logic.aeron.common.Strings.isEmpty;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.MAX_UDP_PAYLOAD_LENGTH;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
+import static uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight.HEADER_LENGTH;
 
 /**
  * Encapsulation of UDP Channels
  * <p>
  * Format of URI:
  * <code>
- * udp://[interface[:port]@]ip:port
+ * udp://[interface[:port]@]ip:port[?term-length=length&amp;mtu=length&amp;destinations=ip:port[,ip:port]*]
  * </code>
+ * <p>
+ * The optional term-length and mtu parameters override the media driver defaults for publications on the channel.
+ * <p>
+ * The optional destinations parameter adds further unicast destinations to which publications on the channel send
+ * in addition to the remote address, so each message is written to the log once and sent to every destination.
  */
 public final class UdpChannel
 {
@@ -50,6 +60,10 @@ public final class UdpChannel
     private static final String LOCAL_KEY = "local";
     private static final String INTERFACE_KEY = "interface";
     private static final String GROUP_KEY = "group";
+    private static final String TERM_LENGTH_KEY = "term-length";
+    private static final String MTU_LENGTH_KEY = "mtu";
+    private static final String DESTINATIONS_KEY = "destinations";
+    private static final String CONNECT_KEY = "connect";
 
     private static final String[] UNICAST_KEYS = { LOCAL_KEY, REMOTE_KEY };
     private static final String[] MULTICAST_KEYS = { GROUP_KEY, INTERFACE_KEY };
@@ -58,11 +72,15 @@ public final class UdpChannel
     private final InetSocketAddress localData;
     private final InetSocketAddress remoteControl;
     private final InetSocketAddress localControl;
+    private final InetSocketAddress[] destinations;
 
     private final String uriStr;
     private final String canonicalForm;
     private final NetworkInterface localInterface;
     private final ProtocolFamily protocolFamily;
+    private final int termLength;
+    private final int mtuLength;
+    private final boolean isConnectRequested;
 
     /**
      * Parse URI and create channel
@@ -78,10 +96,19 @@ public final class UdpChannel
 
             validateConfiguration(uri);
 
-            final Context context = new Context().uriStr(uriStr);
+            final Context context = new Context()
+                .uriStr(uriStr)
+                .termLength(parseTermLength(uri))
+                .mtuLength(parseMtuLength(uri))
+                .isConnectRequested("true".equals(uri.get(CONNECT_KEY)));
 
             if (isMulticast(uri))
             {
+                if (uri.containsKey(DESTINATIONS_KEY))
+                {
+                    throw new IllegalArgumentException("Destinations are only supported on unicast channels");
+                }
+
                 final InetSocketAddress dataAddress = uri.getSocketAddress(GROUP_KEY);
                 final byte[] addressAsBytes = dataAddress.getAddress().getAddress();
 
@@ -105,6 +132,7 @@ public final class UdpChannel
                        .remoteDataAddress(dataAddress)
                        .localInterface(localInterface)
                        .protocolFamily(protocolFamily)
+                       .destinations(new InetSocketAddress[]{ dataAddress })
                        .canonicalForm(canonicalise(localAddress, dataAddress));
             }
             else
@@ -117,12 +145,15 @@ public final class UdpChannel
                                 ? getProtocolFamily(remoteAddress.getAddress())
                                 : getProtocolFamily(localAddress.getAddress());
 
+                final InetSocketAddress[] destinations = parseDestinations(uri, remoteAddress);
+
                 context.remoteControlAddress(remoteAddress)
                        .remoteDataAddress(remoteAddress)
                        .localControlAddress(localAddress)
                        .localDataAddress(localAddress)
                        .protocolFamily(protocolFamily)
-                       .canonicalForm(canonicalise(localAddress, remoteAddress));
+                       .destinations(destinations)
+                       .canonicalForm(canonicalise(localAddress, destinations));
             }
 
             return new UdpChannel(context);
@@ -133,6 +164,57 @@ public final class UdpChannel
         }
     }
 
+    private static int parseTermLength(final AeronUri uri)
+    {
+        final int termLength = uri.getInt(TERM_LENGTH_KEY, 0);
+        if (uri.containsKey(TERM_LENGTH_KEY) && (termLength < TERM_MIN_LENGTH || !BitUtil.isPowerOfTwo(termLength)))
+        {
+            throw new IllegalArgumentException(
+                format("Term length must be a power of 2 and at least %d: %d", TERM_MIN_LENGTH, termLength));
+        }
+
+        return termLength;
+    }
+
+    private static int parseMtuLength(final AeronUri uri)
+    {
+        final int mtuLength = uri.getInt(MTU_LENGTH_KEY, 0);
+        if (uri.containsKey(MTU_LENGTH_KEY) &&
+            (mtuLength <= HEADER_LENGTH || mtuLength > MAX_UDP_PAYLOAD_LENGTH || 0 != (mtuLength & (FRAME_ALIGNMENT - 1))))
+        {
+            throw new IllegalArgumentException(format(
+                "MTU must be greater than %d, no greater than %d, and a multiple of %d: %d",
+                HEADER_LENGTH, MAX_UDP_PAYLOAD_LENGTH, FRAME_ALIGNMENT, mtuLength));
+        }
+
+        return mtuLength;
+    }
+
+    private static InetSocketAddress[] parseDestinations(final AeronUri uri, final InetSocketAddress remoteAddress)
+    {
+        if (!uri.containsKey(DESTINATIONS_KEY))
+        {
+            return new InetSocketAddress[]{ remoteAddress };
+        }
+
+        final String[] destinationStrings = uri.get(DESTINATIONS_KEY).split(",");
+        final InetSocketAddress[] destinations = new InetSocketAddress[destinationStrings.length + 1];
+        destinations[0] = remoteAddress;
+
+        for (int i = 0; i < destinationStrings.length; i++)
+        {
+            final InetSocketAddress destination = SocketAddressUtil.parse(destinationStrings[i].trim());
+            if (destination.getAddress().isMulticastAddress())
+            {
+                throw new IllegalArgumentException("Destinations must be unicast addresses: " + destination);
+            }
+
+            destinations[i + 1] = destination;
+        }
+
+        return destinations;
+    }
+
     private static void validateDataAddress(final byte[] addressAsBytes)
     {
         if (BitUtil.isEven(addressAsBytes[addressAsBytes.length - 1]))
@@ -211,6 +293,10 @@ public final class UdpChannel
                 .media(UDP_MEDIA_ID)
                 .param(GROUP_KEY, group)
                 .param(INTERFACE_KEY, inf)
+                .param(TERM_LENGTH_KEY, params.get(TERM_LENGTH_KEY))
+                .param(MTU_LENGTH_KEY, params.get(MTU_LENGTH_KEY))
+                .param(DESTINATIONS_KEY, params.get(DESTINATIONS_KEY))
+                .param(CONNECT_KEY, params.get(CONNECT_KEY))
                 .newInstance();
         }
         else
@@ -222,6 +308,10 @@ public final class UdpChannel
                 .media(UDP_MEDIA_ID)
                 .param(REMOTE_KEY, remote)
                 .param(LOCAL_KEY, local)
+                .param(TERM_LENGTH_KEY, params.get(TERM_LENGTH_KEY))
+                .param(MTU_LENGTH_KEY, params.get(MTU_LENGTH_KEY))
+                .param(DESTINATIONS_KEY, params.get(DESTINATIONS_KEY))
+                .param(CONNECT_KEY, params.get(CONNECT_KEY))
                 .newInstance();
         }
     }
@@ -314,16 +404,40 @@ public final class UdpChannel
         return localControl;
     }
 
+    /**
+     * Destinations to which data is sent, starting with the remote data address.
+     *
+     * @return destinations to which data is sent.
+     */
+    public InetSocketAddress[] destinations()
+    {
+        return destinations;
+    }
+
+    /**
+     * Does channel send to more than one unicast destination or not
+     *
+     * @return does channel send to more than one unicast destination or not
+     */
+    public boolean isMultiDestination()
+    {
+        return destinations.length > 1;
+    }
+
     private UdpChannel(final Context context)
     {
         this.remoteData = context.remoteData;
         this.localData = context.localData;
         this.remoteControl = context.remoteControl;
         this.localControl = context.localControl;
+        this.destinations = context.destinations;
         this.uriStr = context.uriStr;
         this.canonicalForm = context.canonicalForm;
         this.localInterface = context.localInterface;
         this.protocolFamily = context.protocolFamily;
+        this.termLength = context.termLength;
+        this.mtuLength = context.mtuLength;
+        this.isConnectRequested = context.isConnectRequested;
     }
 
     /**
@@ -392,6 +506,29 @@ public final class UdpChannel
             remoteData.getPort());
     }
 
+    /**
+     * Return the canonical form of a channel with one or more destinations. The form for a single destination is as per
+     * {@link #canonicalise(InetSocketAddress, InetSocketAddress)} with each further destination appended as
+     * -remoteAddress-remotePort.
+     *
+     * @param localData    address of the channel.
+     * @param destinations of the channel starting with the remote data address.
+     * @return canonical representation as a string
+     */
+    public static String canonicalise(final InetSocketAddress localData, final InetSocketAddress[] destinations)
+    {
+        final StringBuilder builder = new StringBuilder(canonicalise(localData, destinations[0]));
+        for (int i = 1; i < destinations.length; i++)
+        {
+            builder.append('-')
+                   .append(BitUtil.toHex(destinations[i].getAddress().getAddress()))
+                   .append('-')
+                   .append(destinations[i].getPort());
+        }
+
+        return builder.toString();
+    }
+
     /**
      * Does channel represent a multicast or not
      *
@@ -428,16 +565,55 @@ public final class UdpChannel
         return protocolFamily;
     }
 
+    /**
+     * Term length for publications on the channel as given by the term-length parameter.
+     *
+     * @param defaultTermLength to be used if the channel has no term-length parameter.
+     * @return the term length for publications on the channel.
+     */
+    public int termLength(final int defaultTermLength)
+    {
+        return 0 != termLength ? termLength : defaultTermLength;
+    }
+
+    /**
+     * MTU length for publications on the channel as given by the mtu parameter.
+     *
+     * @param defaultMtuLength to be used if the channel has no mtu parameter.
+     * @return the MTU length for publications on the channel.
+     */
+    public int mtuLength(final int defaultMtuLength)
+    {
+        return 0 != mtuLength ? mtuLength : defaultMtuLength;
+    }
+
+    /**
+     * Has the channel asked for its transports to be connected with the connect=true parameter. A sender is connected
+     * to its single destination and a receiver to the sender address named in the channel. A connected transport
+     * avoids per datagram address handling but drops datagrams from other peers and reports ICMP port unreachable
+     * errors.
+     *
+     * @return true if the transports should be connected.
+     */
+    public boolean isConnectRequested()
+    {
+        return isConnectRequested;
+    }
+
     private static class Context
     {
         private InetSocketAddress remoteData;
         private InetSocketAddress localData;
         private InetSocketAddress remoteControl;
         private InetSocketAddress localControl;
+        private InetSocketAddress[] destinations;
         private String uriStr;
         private String canonicalForm;
         private NetworkInterface localInterface;
         private ProtocolFamily protocolFamily;
+        private int termLength;
+        private int mtuLength;
+        private boolean isConnectRequested;
 
         public Context uriStr(final String uri)
         {
@@ -469,6 +645,12 @@ public final class UdpChannel
             return this;
         }
 
+        public Context destinations(final InetSocketAddress[] destinations)
+        {
+            this.destinations = destinations;
+            return this;
+        }
+
         public Context canonicalForm(final String canonicalForm)
         {
             this.canonicalForm = canonicalForm;
@@ -486,6 +668,24 @@ public final class UdpChannel
             this.protocolFamily = protocolFamily;
             return this;
         }
+
+        public Context termLength(final int termLength)
+        {
+            this.termLength = termLength;
+            return this;
+        }
+
+        public Context mtuLength(final int mtuLength)
+        {
+            this.mtuLength = mtuLength;
+            return this;
+        }
+
+        public Context isConnectRequested(final boolean isConnectRequested)
+        {
+            this.isConnectRequested = isConnectRequested;
+            return this;
+        }
     }
 
     private static String errorNoMatchingInterfaces(
@@ -16,7 +16,9 @@
 package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.agrona.LangUtil;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor;
 import uk.co.real_logic.aeron.common.event.EventCode;
 import uk.co.real_logic.aeron.common.event.EventLogger;
 import uk.co.real_logic.aeron.common.protocol.HeaderFlyweight;
@@ -24,6 +26,7 @@ import uk.co.real_logic.aeron.common.protocol.HeaderFlyweight;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.NetworkInterface;
+import java.net.PortUnreachableException;
 import java.net.SocketOption;
 import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
@@ -33,28 +36,34 @@ import java.nio.channels.SelectionKey;
 
 public abstract class UdpChannelTransport implements AutoCloseable
 {
+    protected static final int NO_DATAGRAM = -1;
+
     private final DatagramChannel datagramChannel;
     private final UdpChannel udpChannel;
-    private final ByteBuffer receiveByteBuffer = ByteBuffer.allocateDirect(Configuration.READ_BYTE_BUFFER_LENGTH);
+    private ByteBuffer receiveByteBuffer = ByteBuffer.allocateDirect(Configuration.READ_BYTE_BUFFER_LENGTH);
     private final UnsafeBuffer receiveBuffer = new UnsafeBuffer(receiveByteBuffer);
     private final HeaderFlyweight header = new HeaderFlyweight();
     private final EventLogger logger;
     private final boolean multicast;
     private final LossGenerator lossGenerator;
+    private final AtomicCounter portUnreachableErrors;
 
     private SelectionKey registeredKey;
     private TransportPoller registeredTransportPoller;
+    private InetSocketAddress connectedAddress;
 
     public UdpChannelTransport(
         final UdpChannel udpChannel,
         final InetSocketAddress endPointSocketAddress,
         final InetSocketAddress bindAddress,
         final LossGenerator lossGenerator,
-        final EventLogger logger)
+        final EventLogger logger,
+        final AtomicCounter portUnreachableErrors)
     {
         this.udpChannel = udpChannel;
         this.lossGenerator = lossGenerator;
         this.logger = logger;
+        this.portUnreachableErrors = portUnreachableErrors;
 
         header.wrap(receiveBuffer, 0);
 
@@ -112,6 +121,37 @@ public abstract class UdpChannelTransport implements AutoCloseable
         }
     }
 
+    /**
+     * Connect the underlying {@link DatagramChannel} to a single peer so datagrams are sent with write and received
+     * with read, avoiding per datagram address handling. Once connected all sends go to the peer and datagrams from
+     * any other source are discarded by the kernel.
+     *
+     * @param remoteAddress of the peer to connect to.
+     */
+    protected void connect(final InetSocketAddress remoteAddress)
+    {
+        try
+        {
+            datagramChannel.connect(remoteAddress);
+            connectedAddress = remoteAddress;
+        }
+        catch (final IOException ex)
+        {
+            throw new RuntimeException(
+                String.format("channel \"%s\" : %s", udpChannel.originalUriString(), ex.toString()), ex);
+        }
+    }
+
+    /**
+     * Is the transport connected to a single peer.
+     *
+     * @return true if the transport is connected to a single peer.
+     */
+    public boolean isConnected()
+    {
+        return null != connectedAddress;
+    }
+
     /**
      * Register this transport for reading from a {@link TransportPoller}.
      *
@@ -146,6 +186,8 @@ public abstract class UdpChannelTransport implements AutoCloseable
     /**
      * Send contents of {@link java.nio.ByteBuffer} to remote address
      *
+     * When the transport is connected the datagram is written to the connected peer which must be the remote address.
+     *
      * @param buffer        to send
      * @param remoteAddress to send to
      * @return number of bytes sent
@@ -157,7 +199,19 @@ public abstract class UdpChannelTransport implements AutoCloseable
         int bytesSent = 0;
         try
         {
-            bytesSent = datagramChannel.send(buffer, remoteAddress);
+            if (null != connectedAddress)
+            {
+                bytesSent = datagramChannel.write(buffer);
+            }
+            else
+            {
+                bytesSent = datagramChannel.send(buffer, remoteAddress);
+            }
+        }
+        catch (final PortUnreachableException ex)
+        {
+            // peer not yet listening, a connected channel reports the ICMP error on the next operation
+            portUnreachableErrors.increment();
         }
         catch (final IOException ex)
         {
@@ -234,6 +288,31 @@ public abstract class UdpChannelTransport implements AutoCloseable
         return receiveByteBuffer.capacity();
     }
 
+    /**
+     * Grow the {@link ByteBuffer} used for reception so datagrams of a given length can be received without
+     * truncation. Growth is capped at {@link FrameDescriptor#MAX_UDP_PAYLOAD_LENGTH} and the current contents
+     * are preserved so a frame being dispatched remains valid.
+     *
+     * This must be called on the thread that polls the transport.
+     *
+     * @param length of the largest datagram expected.
+     */
+    protected void ensureReceiveBufferCapacity(final int length)
+    {
+        final int capacity = receiveByteBuffer.capacity();
+        final int requiredCapacity = Math.min(length, FrameDescriptor.MAX_UDP_PAYLOAD_LENGTH);
+
+        if (requiredCapacity > capacity)
+        {
+            final ByteBuffer newByteBuffer = ByteBuffer.allocateDirect(requiredCapacity);
+            receiveByteBuffer.clear();
+            newByteBuffer.put(receiveByteBuffer);
+
+            receiveByteBuffer = newByteBuffer;
+            receiveBuffer.wrap(newByteBuffer);
+        }
+    }
+
     protected abstract int dispatch(int headerType, UnsafeBuffer receiveBuffer, int length, InetSocketAddress srcAddress);
 
     /**
@@ -242,26 +321,41 @@ public abstract class UdpChannelTransport implements AutoCloseable
      * @return number of bytes received.
      */
     public int pollForData()
+    {
+        return Math.max(receiveAndDispatch(), 0);
+    }
+
+    /**
+     * Attempt to receive waiting datagrams in a batch. The batch ends when no more datagrams are waiting, when
+     * maxDatagrams have been received, or when at least maxBytes have been received.
+     *
+     * @param maxDatagrams   to receive in the batch.
+     * @param maxBytes       received after which the batch ends.
+     * @param batchLimitHits incremented when the batch ends on a limit while datagrams may still be waiting.
+     * @return number of bytes received.
+     */
+    public int pollForData(final int maxDatagrams, final int maxBytes, final AtomicCounter batchLimitHits)
     {
         int bytesReceived = 0;
-        final InetSocketAddress srcAddress = receive();
+        int datagrams = 0;
+        boolean drained = false;
 
-        if (null != srcAddress)
+        while (datagrams < maxDatagrams && bytesReceived < maxBytes)
         {
-            final int length = receiveByteBuffer.position();
-            if (lossGenerator.shouldDropFrame(srcAddress, length))
+            final int datagramBytesReceived = receiveAndDispatch();
+            if (NO_DATAGRAM == datagramBytesReceived)
             {
-                logger.logFrameInDropped(receiveByteBuffer, 0, length, srcAddress);
+                drained = true;
+                break;
             }
-            else
-            {
-                logger.logFrameIn(receiveByteBuffer, 0, length, srcAddress);
 
-                if (isValidFrame(receiveBuffer, length))
-                {
-                    bytesReceived = dispatch(header.headerType(), receiveBuffer, length, srcAddress);
-                }
-            }
+            datagrams++;
+            bytesReceived += datagramBytesReceived;
+        }
+
+        if (!drained)
+        {
+            batchLimitHits.increment();
         }
 
         return bytesReceived;
@@ -272,6 +366,93 @@ public abstract class UdpChannelTransport implements AutoCloseable
         return receiveBuffer;
     }
 
+    protected ByteBuffer receiveByteBuffer()
+    {
+        return receiveByteBuffer;
+    }
+
+    /**
+     * Counter of ICMP port unreachable errors reported on the channel, which only happens when it is connected.
+     * The counter is shared by sender and receiver transports on different threads so must be updated atomically.
+     *
+     * @return counter of ICMP port unreachable errors reported on the channel.
+     */
+    protected AtomicCounter portUnreachableErrors()
+    {
+        return portUnreachableErrors;
+    }
+
+    protected InetSocketAddress connectedAddress()
+    {
+        return connectedAddress;
+    }
+
+    /**
+     * Receive a waiting datagram into the receive buffer and dispatch it. Subclasses may override to receive
+     * datagrams elsewhere provided they dispatch them in the same way.
+     *
+     * @return number of bytes received or {@link #NO_DATAGRAM} if no datagram was waiting.
+     */
+    protected int receiveAndDispatch()
+    {
+        int bytesReceived = NO_DATAGRAM;
+        final InetSocketAddress srcAddress = receive();
+
+        if (null != srcAddress)
+        {
+            bytesReceived = onDatagram(srcAddress);
+        }
+
+        return bytesReceived;
+    }
+
+    /**
+     * Dispatch a datagram held in the receive buffer from position 0 up to its current position.
+     *
+     * @param srcAddress of the datagram.
+     * @return number of bytes received.
+     */
+    protected int onDatagram(final InetSocketAddress srcAddress)
+    {
+        int bytesReceived = 0;
+        final int length = receiveByteBuffer.position();
+
+        if (!isDropped(receiveByteBuffer, length, length, srcAddress) && isValidFrame(receiveBuffer, length))
+        {
+            bytesReceived = dispatch(header.headerType(), receiveBuffer, length, srcAddress);
+        }
+
+        return bytesReceived;
+    }
+
+    /**
+     * Apply loss generation to a received datagram and log it as received or dropped.
+     *
+     * @param buffer     holding the datagram from index 0.
+     * @param length     of the datagram.
+     * @param heldLength of the datagram held in the buffer, which is less than length when the remainder was received
+     *                   elsewhere.
+     * @param srcAddress of the datagram.
+     * @return true if the datagram is to be dropped.
+     */
+    protected boolean isDropped(
+        final ByteBuffer buffer, final int length, final int heldLength, final InetSocketAddress srcAddress)
+    {
+        boolean isDropped = false;
+
+        if (lossGenerator.shouldDropFrame(srcAddress, length))
+        {
+            logger.logFrameInDropped(buffer, 0, heldLength, srcAddress);
+            isDropped = true;
+        }
+        else
+        {
+            logger.logFrameIn(buffer, 0, heldLength, srcAddress);
+        }
+
+        return isDropped;
+    }
+
     private boolean isValidFrame(final UnsafeBuffer receiveBuffer, final int length)
     {
         boolean isFrameValid = true;
@@ -297,12 +478,26 @@ public abstract class UdpChannelTransport implements AutoCloseable
         InetSocketAddress address = null;
         try
         {
-            address = (InetSocketAddress)datagramChannel.receive(receiveByteBuffer);
+            if (null != connectedAddress)
+            {
+                if (datagramChannel.read(receiveByteBuffer) > 0)
+                {
+                    address = connectedAddress;
+                }
+            }
+            else
+            {
+                address = (InetSocketAddress)datagramChannel.receive(receiveByteBuffer);
+            }
         }
         catch (final ClosedByInterruptException ignored)
         {
             // do nothing
         }
+        catch (final PortUnreachableException ex)
+        {
+            portUnreachableErrors.increment();
+        }
         catch (final Exception ex)
         {
             LangUtil.rethrowUnchecked(ex);
@@ -25,6 +25,7 @@ import java.io.File;
  * Root directory is the "aeron.data.dir"
  * Senders are under "${aeron.data.dir}/publications"
  * Receivers are under "${aeron.data.dir}/subscriptions"
+ * Pooled log buffers awaiting reuse are under "${aeron.data.dir}/pool"
  *
  * Both publications and subscriptions share the same structure of "sessionId/streamId/termId".
  */
@@ -32,9 +33,11 @@ class FileMappingConvention
 {
     public static final String PUBLICATIONS = "publications";
     public static final String CONNECTIONS = "connections";
+    public static final String POOL = "pool";
 
     private final File connectionsDir;
     private final File publicationsDir;
+    private final File poolDir;
 
     public FileMappingConvention(final String dataDirName)
     {
@@ -43,6 +46,7 @@ class FileMappingConvention
 
         publicationsDir = new File(dataDir, PUBLICATIONS);
         connectionsDir = new File(dataDir, CONNECTIONS);
+        poolDir = new File(dataDir, POOL);
     }
 
     /**
@@ -65,6 +69,16 @@ class FileMappingConvention
         return connectionsDir;
     }
 
+    /**
+     * Get the directory used for pooled log buffer files awaiting reuse.
+     *
+     * @return the directory used for pooled log buffer files awaiting reuse.
+     */
+    public File poolDir()
+    {
+        return poolDir;
+    }
+
     public static File streamLocation(
         final File rootDir,
         final String channel,
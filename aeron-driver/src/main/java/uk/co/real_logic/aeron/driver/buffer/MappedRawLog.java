@@ -40,20 +40,37 @@ class MappedRawLog implements RawLog
 
     private final RawLogPartition[] partitions;
     private final EventLogger logger;
-    private final File logFile;
+    private final RawLogPool pool;
     private final MappedByteBuffer[] mappedBuffers;
     private final UnsafeBuffer logMetaDataBuffer;
-
-    MappedRawLog(final File location, final FileChannel blankTemplate, final int termLength, final EventLogger logger)
+    private File logFile;
+    private boolean isSparse;
+
+    MappedRawLog(
+        final File location,
+        final FileChannel blankTemplate,
+        final int termLength,
+        final RawLogPool pool,
+        final EventLogger logger)
     {
+        this.isSparse = null == blankTemplate;
         this.logger = logger;
+        this.pool = pool;
         this.logFile = location;
         partitions = new RawLogPartition[PARTITION_COUNT];
 
-        try (final FileChannel logChannel = new RandomAccessFile(logFile, "rw").getChannel())
+        try (final RandomAccessFile file = new RandomAccessFile(logFile, "rw");
+             final FileChannel logChannel = file.getChannel())
         {
             final long logLength = computeLogLength(termLength);
-            blankTemplate.transferTo(0, logLength, logChannel);
+            if (isSparse)
+            {
+                file.setLength(logLength);
+            }
+            else
+            {
+                blankTemplate.transferTo(0, logLength, logChannel);
+            }
 
             if (logLength <= Integer.MAX_VALUE)
             {
@@ -101,7 +118,25 @@ class MappedRawLog implements RawLog
         }
     }
 
+    /**
+     * Close the log by returning it to the pool if pooled, otherwise it is unmapped and the file deleted.
+     */
     public void close()
+    {
+        if (null != pool)
+        {
+            pool.recycle(this);
+        }
+        else
+        {
+            free();
+        }
+    }
+
+    /**
+     * Unmap the log and delete the file.
+     */
+    void free()
     {
         for (final MappedByteBuffer buffer : mappedBuffers)
         {
@@ -114,6 +149,45 @@ class MappedRawLog implements RawLog
         }
     }
 
+    /**
+     * Move the log file to a new location while keeping the existing mapping.
+     *
+     * @param location to which the log file is moved.
+     */
+    void moveTo(final File location)
+    {
+        if (!logFile.renameTo(location))
+        {
+            throw new IllegalStateException(String.format("Failed to move log buffer %s to %s", logFile, location));
+        }
+
+        logFile = location;
+    }
+
+    /**
+     * Zero out the terms and meta data so the log can be reused. This populates every page so the log is no
+     * longer sparse.
+     */
+    void clean()
+    {
+        for (final MappedByteBuffer buffer : mappedBuffers)
+        {
+            new UnsafeBuffer(buffer).setMemory(0, buffer.capacity(), (byte)0);
+        }
+
+        isSparse = false;
+    }
+
+    /**
+     * The length of each term in the log.
+     *
+     * @return the length of each term in the log.
+     */
+    int termLength()
+    {
+        return partitions[0].termBuffer().capacity();
+    }
+
     public Stream<RawLogPartition> stream()
     {
         return Stream.of(partitions);
@@ -160,4 +234,9 @@ class MappedRawLog implements RawLog
     {
         return logFile.getAbsolutePath();
     }
+
+    public boolean isSparse()
+    {
+        return isSparse;
+    }
 }
@@ -20,12 +20,20 @@ import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import java.nio.ByteBuffer;
 import java.util.stream.Stream;
 
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.PARTITION_COUNT;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.computeLogLength;
+
 /**
  * Represents the collection of term and associated state buffers for the connection between a publisher and subscriber
  * connection for the replicated log.
  */
 public interface RawLog extends AutoCloseable
 {
+    /**
+     * Page size assumed when estimating the resident bytes of a sparse log.
+     */
+    int PAGE_SIZE = 4 * 1024;
+
     /**
      * A {@link Stream} of the {@link RawLogPartition} buffers.
      *
@@ -61,5 +69,36 @@ public interface RawLog extends AutoCloseable
      */
     String logFileName();
 
+    /**
+     * Is the log file sparse so that pages of the terms are only populated as they are written.
+     *
+     * @return true if the log file is sparse otherwise false if fully populated on creation.
+     */
+    boolean isSparse();
+
+    /**
+     * Estimate the number of bytes of the log which are resident given the number of bytes written to the terms.
+     * Term cleaning only zeroes up to the tail of a term so does not populate pages which have not been written.
+     *
+     * @param bytesWritten to the terms since the log was created.
+     * @return the estimate of the number of bytes of the log which are resident.
+     */
+    default long residentBytes(final long bytesWritten)
+    {
+        final int termLength = partitions()[0].termBuffer().capacity();
+        final long logLength = computeLogLength(termLength);
+
+        long residentBytes = logLength;
+        if (isSparse())
+        {
+            final long termsLength = (long)termLength * PARTITION_COUNT;
+            final long pagesWrittenLength = ((bytesWritten + PAGE_SIZE - 1) / PAGE_SIZE) * PAGE_SIZE;
+
+            residentBytes = (logLength - termsLength) + Math.min(pagesWrittenLength, termsLength);
+        }
+
+        return residentBytes;
+    }
+
     void close();
 }
@@ -18,6 +18,7 @@ package uk.co.real_logic.aeron.driver.buffer;
 import uk.co.real_logic.agrona.IoUtil;
 import uk.co.real_logic.aeron.common.event.EventLogger;
 import uk.co.real_logic.agrona.LangUtil;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 
 import java.io.File;
 import java.nio.channels.FileChannel;
@@ -27,6 +28,13 @@ import static uk.co.real_logic.aeron.driver.buffer.FileMappingConvention.streamL
 
 /**
  * Factory for creating new {@link RawLog} in the publications or subscriptions directories as appropriate.
+ * <p>
+ * When a pool size is given, logs with the publication term length are pre-created in the background and closed logs
+ * are recycled rather than deleted. A closed log is only recycled after a delay longer than the client liveness timeout
+ * so it is not reused while a client may still have it mapped.
+ * <p>
+ * When sparse files are used the logs are created by setting the file length rather than copying a blank template,
+ * so pages are only populated as the terms are written.
  */
 public class RawLogFactory implements AutoCloseable
 {
@@ -36,12 +44,27 @@ public class RawLogFactory implements AutoCloseable
     private final File publicationsDir;
     private final File connectionsDir;
     private final EventLogger logger;
+    private final RawLogPool rawLogPool;
 
     public RawLogFactory(
         final String dataDirectoryName,
         final int publicationTermBufferLength,
         final int connectionTermBufferMaxLength,
         final EventLogger logger)
+    {
+        this(dataDirectoryName, publicationTermBufferLength, connectionTermBufferMaxLength, false, 0, 0, null, null, logger);
+    }
+
+    public RawLogFactory(
+        final String dataDirectoryName,
+        final int publicationTermBufferLength,
+        final int connectionTermBufferMaxLength,
+        final boolean useSparseFiles,
+        final int poolSize,
+        final long recycleDelayNs,
+        final AtomicCounter poolHits,
+        final AtomicCounter poolMisses,
+        final EventLogger logger)
     {
         this.logger = logger;
 
@@ -55,20 +78,55 @@ public class RawLogFactory implements AutoCloseable
         this.publicationTermBufferLength = publicationTermBufferLength;
         this.connectionTermBufferMaxLength = connectionTermBufferMaxLength;
 
-        final int maxTermLength = Math.max(publicationTermBufferLength, connectionTermBufferMaxLength);
-        final long blankTemplateLength = computeLogLength(maxTermLength);
+        if (useSparseFiles)
+        {
+            blankTemplate = null;
+        }
+        else
+        {
+            final int maxTermLength = Math.max(publicationTermBufferLength, connectionTermBufferMaxLength);
+            final long blankTemplateLength = computeLogLength(maxTermLength);
+
+            blankTemplate = createTemplateFile(dataDirectoryName, "blankTemplate", blankTemplateLength);
+        }
 
-        blankTemplate = createTemplateFile(dataDirectoryName, "blankTemplate", blankTemplateLength);
+        if (poolSize > 0)
+        {
+            final File poolDir = fileMappingConvention.poolDir();
+            IoUtil.ensureDirectoryExists(poolDir, FileMappingConvention.POOL);
+
+            rawLogPool = new RawLogPool(
+                poolDir,
+                blankTemplate,
+                poolSize,
+                recycleDelayNs,
+                new int[]{ publicationTermBufferLength },
+                poolHits,
+                poolMisses,
+                logger);
+        }
+        else
+        {
+            rawLogPool = null;
+        }
     }
 
     /**
-     * Close the template files.
+     * Close the pool and the template files.
      */
     public void close()
     {
         try
         {
-            blankTemplate.close();
+            if (null != rawLogPool)
+            {
+                rawLogPool.close();
+            }
+
+            if (null != blankTemplate)
+            {
+                blankTemplate.close();
+            }
         }
         catch (final Exception ex)
         {
@@ -79,15 +137,24 @@ public class RawLogFactory implements AutoCloseable
     /**
      * Create new {@link RawLog} in the publications directory for the supplied triplet.
      *
-     * @param channel       address on the media to send to.
-     * @param sessionId     under which transmissions are made.
-     * @param streamId      within the channel address to separate message flows.
-     * @param correlationId to use to distinguish this publication
+     * @param channel          address on the media to send to.
+     * @param sessionId        under which transmissions are made.
+     * @param streamId         within the channel address to separate message flows.
+     * @param correlationId    to use to distinguish this publication
+     * @param termBufferLength to use for the log buffer
      * @return the newly allocated {@link RawLog}
      */
-    public RawLog newPublication(final String channel, final int sessionId, final int streamId, final long correlationId)
+    public RawLog newPublication(
+        final String channel, final int sessionId, final int streamId, final long correlationId, final int termBufferLength)
     {
-        return newInstance(publicationsDir, channel, sessionId, streamId, correlationId, publicationTermBufferLength);
+        final int maxTermBufferLength = Math.max(publicationTermBufferLength, connectionTermBufferMaxLength);
+        if (termBufferLength > maxTermBufferLength)
+        {
+            throw new IllegalArgumentException(
+                "publication term buffer larger than max length: " + termBufferLength + " > " + maxTermBufferLength);
+        }
+
+        return newInstance(publicationsDir, channel, sessionId, streamId, correlationId, termBufferLength);
     }
 
     /**
@@ -130,6 +197,17 @@ public class RawLogFactory implements AutoCloseable
     {
         final File location = streamLocation(rootDir, channel, sessionId, streamId, correlationId);
 
-        return new MappedRawLog(location, blankTemplate, termBufferLength, logger);
+        MappedRawLog rawLog = null;
+        if (null != rawLogPool)
+        {
+            rawLog = rawLogPool.take(location, termBufferLength);
+        }
+
+        if (null == rawLog)
+        {
+            rawLog = new MappedRawLog(location, blankTemplate, termBufferLength, rawLogPool, logger);
+        }
+
+        return rawLog;
     }
 }
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver.buffer;
+
+import uk.co.real_logic.aeron.common.event.EventLogger;
+import uk.co.real_logic.agrona.LangUtil;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of pre-created and pre-mapped {@link MappedRawLog}s so publications and connections can be set up without
+ * blanking and mapping a new file on the conductor thread.
+ * <p>
+ * Files are created in the pool directory by a background thread and renamed into their stream location when taken.
+ * Closed logs are zeroed by the background thread and returned to the pool rather than deleted. Up to the pool size
+ * of idle logs are kept for each term length.
+ * <p>
+ * A closed log is only reclaimed after the recycle delay, which must be longer than the client liveness timeout, so
+ * any client which still has it mapped will have unmapped it or been timed out before the file is reused.
+ */
+class RawLogPool implements AutoCloseable
+{
+    private final ConcurrentHashMap<Integer, Queue<MappedRawLog>> idleLogsByTermLength = new ConcurrentHashMap<>();
+    private final Set<MappedRawLog> lingeringLogs = ConcurrentHashMap.newKeySet();
+    private final ScheduledThreadPoolExecutor executor;
+    private final File poolDir;
+    private final FileChannel blankTemplate;
+    private final int poolSize;
+    private final long recycleDelayNs;
+    private final int[] preCreatedTermLengths;
+    private final AtomicCounter poolHits;
+    private final AtomicCounter poolMisses;
+    private final EventLogger logger;
+
+    private long nextFileId = 0; // Only accessed on the executor thread
+    private volatile boolean isClosed = false;
+
+    RawLogPool(
+        final File poolDir,
+        final FileChannel blankTemplate,
+        final int poolSize,
+        final long recycleDelayNs,
+        final int[] preCreatedTermLengths,
+        final AtomicCounter poolHits,
+        final AtomicCounter poolMisses,
+        final EventLogger logger)
+    {
+        this.poolDir = poolDir;
+        this.blankTemplate = blankTemplate;
+        this.poolSize = poolSize;
+        this.recycleDelayNs = recycleDelayNs;
+        this.preCreatedTermLengths = preCreatedTermLengths;
+        this.poolHits = poolHits;
+        this.poolMisses = poolMisses;
+        this.logger = logger;
+
+        executor = new ScheduledThreadPoolExecutor(
+            1,
+            (runnable) ->
+            {
+                final Thread thread = new Thread(runnable, "aeron-raw-log-pool");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        for (final int termLength : preCreatedTermLengths)
+        {
+            executor.execute(() -> replenish(termLength));
+        }
+    }
+
+    /**
+     * Stop the background thread, waiting for outstanding work, and free all idle and lingering logs.
+     */
+    public void close()
+    {
+        isClosed = true;
+        executor.shutdown();
+
+        try
+        {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        catch (final InterruptedException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        idleLogsByTermLength.values().forEach((idleLogs) -> idleLogs.forEach(MappedRawLog::free));
+        idleLogsByTermLength.clear();
+        lingeringLogs.forEach(MappedRawLog::free);
+        lingeringLogs.clear();
+    }
+
+    /**
+     * Take an idle log from the pool and move it to the stream location.
+     *
+     * @param location   for the log file of the stream.
+     * @param termLength of the terms in the log.
+     * @return the log which has been moved to location or null if none are idle for the term length.
+     */
+    MappedRawLog take(final File location, final int termLength)
+    {
+        final MappedRawLog rawLog = idleLogs(termLength).poll();
+        if (null == rawLog)
+        {
+            poolMisses.orderedIncrement();
+        }
+        else
+        {
+            poolHits.orderedIncrement();
+            rawLog.moveTo(location);
+        }
+
+        if (isPreCreated(termLength))
+        {
+            executor.execute(() -> replenish(termLength));
+        }
+
+        return rawLog;
+    }
+
+    /**
+     * Return a closed log to the pool. After the recycle delay it will be zeroed and kept if the pool is not full,
+     * otherwise freed.
+     *
+     * @param rawLog which has been closed.
+     */
+    void recycle(final MappedRawLog rawLog)
+    {
+        if (isClosed)
+        {
+            rawLog.free();
+        }
+        else
+        {
+            lingeringLogs.add(rawLog);
+            executor.schedule(() -> reclaim(rawLog), recycleDelayNs, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * The number of idle logs for a term length.
+     *
+     * @param termLength of the terms in the log.
+     * @return the number of idle logs for the term length.
+     */
+    int idleCount(final int termLength)
+    {
+        return idleLogs(termLength).size();
+    }
+
+    private void replenish(final int termLength)
+    {
+        try
+        {
+            final Queue<MappedRawLog> idleLogs = idleLogs(termLength);
+            while (!isClosed && idleLogs.size() < poolSize)
+            {
+                idleLogs.offer(new MappedRawLog(newPoolFile(termLength), blankTemplate, termLength, this, logger));
+            }
+        }
+        catch (final Exception ex)
+        {
+            logger.logException(ex);
+        }
+    }
+
+    private void reclaim(final MappedRawLog rawLog)
+    {
+        lingeringLogs.remove(rawLog);
+
+        try
+        {
+            final int termLength = rawLog.termLength();
+            final Queue<MappedRawLog> idleLogs = idleLogs(termLength);
+
+            if (!isClosed && idleLogs.size() < poolSize)
+            {
+                rawLog.clean();
+                rawLog.moveTo(newPoolFile(termLength));
+                idleLogs.offer(rawLog);
+            }
+            else
+            {
+                rawLog.free();
+            }
+        }
+        catch (final Exception ex)
+        {
+            logger.logException(ex);
+        }
+    }
+
+    private Queue<MappedRawLog> idleLogs(final int termLength)
+    {
+        return idleLogsByTermLength.computeIfAbsent(termLength, (length) -> new ConcurrentLinkedQueue<>());
+    }
+
+    private boolean isPreCreated(final int termLength)
+    {
+        boolean isPreCreated = false;
+        for (final int length : preCreatedTermLengths)
+        {
+            if (length == termLength)
+            {
+                isPreCreated = true;
+                break;
+            }
+        }
+
+        return isPreCreated;
+    }
+
+    private File newPoolFile(final int termLength)
+    {
+        return new File(poolDir, String.format("%X-%X.logbuffer", termLength, nextFileId++));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import java.net.InetSocketAddress;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.aeron.driver.NetworkConnection.Status.INACTIVE;
+
+public class DataPacketDispatcherTest
+{
+    private static final int STREAM_ID = 10;
+    private static final int SESSION_ID = 1;
+    private static final int OTHER_SESSION_ID = 2;
+    private static final int TERM_ID = 3;
+    private static final int LENGTH = DataHeaderFlyweight.HEADER_LENGTH + 16;
+    private static final InetSocketAddress SRC_ADDRESS = new InetSocketAddress("localhost", 4510);
+
+    private final DriverConductorProxy mockConductorProxy = mock(DriverConductorProxy.class);
+    private final Receiver mockReceiver = mock(Receiver.class);
+    private final ReceiveChannelEndpoint mockChannelEndpoint = mock(ReceiveChannelEndpoint.class);
+    private final UdpChannelTransport mockTransport = mock(UdpChannelTransport.class);
+    private final NetworkConnection mockConnection = mock(NetworkConnection.class);
+    private final NetworkConnection mockOtherConnection = mock(NetworkConnection.class);
+
+    private final UnsafeBuffer dataBuffer = new UnsafeBuffer(new byte[LENGTH]);
+    private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+
+    private DataPacketDispatcher dispatcher;
+
+    @Before
+    public void setUp()
+    {
+        when(mockChannelEndpoint.transport()).thenReturn(mockTransport);
+        when(mockConnection.sessionId()).thenReturn(SESSION_ID);
+        when(mockConnection.streamId()).thenReturn(STREAM_ID);
+        when(mockOtherConnection.sessionId()).thenReturn(OTHER_SESSION_ID);
+        when(mockOtherConnection.streamId()).thenReturn(STREAM_ID);
+
+        dataHeader.wrap(dataBuffer, 0);
+        dataHeader.termId(TERM_ID).streamId(STREAM_ID);
+
+        dispatcher = new DataPacketDispatcher(mockConductorProxy, mockReceiver, mockChannelEndpoint);
+        dispatcher.addSubscription(STREAM_ID);
+        dispatcher.addConnection(mockConnection);
+        dispatcher.addConnection(mockOtherConnection);
+    }
+
+    @Test
+    public void shouldDispatchDataToConnectionForSessionAndStream()
+    {
+        dispatch(SESSION_ID);
+        dispatch(OTHER_SESSION_ID);
+        dispatch(SESSION_ID);
+
+        verify(mockConnection, times(2)).insertPacket(TERM_ID, 0, dataBuffer, LENGTH);
+        verify(mockOtherConnection, times(1)).insertPacket(TERM_ID, 0, dataBuffer, LENGTH);
+    }
+
+    @Test
+    public void shouldElicitSetupForUnknownSessionOnSubscribedStream()
+    {
+        final int unknownSessionId = 7;
+        dispatch(unknownSessionId);
+
+        verify(mockChannelEndpoint).sendSetupElicitingStatusMessage(SRC_ADDRESS, unknownSessionId, STREAM_ID);
+        verify(mockReceiver).addPendingSetupMessage(unknownSessionId, STREAM_ID, mockChannelEndpoint);
+    }
+
+    @Test
+    public void shouldNotDispatchToRemovedConnectionAfterCachedHit()
+    {
+        dispatch(SESSION_ID);
+        dispatcher.removeConnection(mockConnection);
+        dispatch(SESSION_ID);
+
+        verify(mockConnection, times(1)).insertPacket(TERM_ID, 0, dataBuffer, LENGTH);
+        verify(mockChannelEndpoint).sendSetupElicitingStatusMessage(SRC_ADDRESS, SESSION_ID, STREAM_ID);
+    }
+
+    @Test
+    public void shouldNotDispatchOrElicitSetupAfterSubscriptionRemoved()
+    {
+        dispatch(SESSION_ID);
+        dispatcher.onRemoveSubscription(STREAM_ID);
+        dispatch(SESSION_ID);
+        dispatch(OTHER_SESSION_ID);
+
+        verify(mockConnection, times(1)).insertPacket(TERM_ID, 0, dataBuffer, LENGTH);
+        verify(mockOtherConnection, never()).insertPacket(anyInt(), anyInt(), any(), anyInt());
+        verify(mockConnection).status(INACTIVE);
+        verify(mockOtherConnection).status(INACTIVE);
+        verify(mockChannelEndpoint, never()).sendSetupElicitingStatusMessage(any(), anyInt(), eq(STREAM_ID));
+    }
+
+    private void dispatch(final int sessionId)
+    {
+        dataHeader.sessionId(sessionId);
+        dispatcher.onDataPacket(dataHeader, dataBuffer, LENGTH, SRC_ADDRESS);
+    }
+}
@@ -26,13 +26,15 @@ import uk.co.real_logic.aeron.common.command.*;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.agrona.concurrent.CountersManager;
-import uk.co.real_logic.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import uk.co.real_logic.agrona.concurrent.ManyToOneConcurrentArrayQueue;
 import uk.co.real_logic.agrona.concurrent.ringbuffer.ManyToOneRingBuffer;
 import uk.co.real_logic.agrona.concurrent.ringbuffer.RingBuffer;
 import uk.co.real_logic.agrona.concurrent.ringbuffer.RingBufferDescriptor;
 import uk.co.real_logic.aeron.common.event.EventConfiguration;
 import uk.co.real_logic.aeron.common.event.EventLogger;
+import uk.co.real_logic.aeron.driver.buffer.RawLog;
 import uk.co.real_logic.aeron.driver.buffer.RawLogFactory;
+import uk.co.real_logic.aeron.driver.buffer.RawLogPartition;
 
 import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
@@ -42,13 +44,16 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.*;
+import static uk.co.real_logic.aeron.common.CommonContext.IPC_CHANNEL;
+import static uk.co.real_logic.aeron.common.CommonContext.SPY_PREFIX;
 import static uk.co.real_logic.aeron.common.ErrorCode.INVALID_CHANNEL;
 import static uk.co.real_logic.aeron.common.ErrorCode.UNKNOWN_PUBLICATION;
 import static uk.co.real_logic.aeron.common.command.ControlProtocolEvents.ADD_PUBLICATION;
 import static uk.co.real_logic.aeron.common.command.ControlProtocolEvents.REMOVE_PUBLICATION;
-import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.TERM_META_DATA_LENGTH;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
 import static uk.co.real_logic.aeron.driver.Configuration.*;
 import static uk.co.real_logic.aeron.driver.ThreadingMode.DEDICATED;
+import static uk.co.real_logic.agrona.BitUtil.SIZE_OF_LONG;
 
 public class DriverConductorTest
 {
@@ -86,6 +91,7 @@ public class DriverConductorTest
     private final EventLogger mockConductorLogger = mock(EventLogger.class);
 
     private final SenderProxy senderProxy = mock(SenderProxy.class);
+    private final AtomicCounter mockTermBytesCleaned = mock(AtomicCounter.class);
     private final ReceiverProxy receiverProxy = mock(ReceiverProxy.class);
 
     private long currentTime;
@@ -93,6 +99,7 @@ public class DriverConductorTest
         () -> currentTime, CONDUCTOR_TICK_DURATION_US, TimeUnit.MICROSECONDS, CONDUCTOR_TICKS_PER_WHEEL);
 
     private DriverConductor driverConductor;
+    private RawLog publicationRawLog;
 
     private final Answer<Void> closeChannelEndpointAnswer =
         (invocation) ->
@@ -104,25 +111,31 @@ public class DriverConductorTest
             return null;
         };
 
+    private CountersManager countersManager;
+
     @Before
     public void setUp() throws Exception
     {
-        when(mockRawLogFactory.newPublication(anyObject(), anyInt(), anyInt(), anyInt()))
-            .thenReturn(LogBufferHelper.newTestLogBuffers(TERM_BUFFER_SZ, TERM_META_DATA_LENGTH));
+        when(mockRawLogFactory.newPublication(anyObject(), anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(
+            (invocation) ->
+            {
+                publicationRawLog = LogBufferHelper.newTestLogBuffers(TERM_BUFFER_SZ, TERM_META_DATA_LENGTH);
+                return publicationRawLog;
+            });
 
         currentTime = 0;
 
         final UnsafeBuffer counterBuffer = new UnsafeBuffer(new byte[BUFFER_LENGTH]);
-        final CountersManager countersManager = new CountersManager(new UnsafeBuffer(new byte[BUFFER_LENGTH]), counterBuffer);
+        countersManager = new CountersManager(new UnsafeBuffer(new byte[BUFFER_LENGTH]), counterBuffer);
 
         final MediaDriver.Context ctx = new MediaDriver.Context()
-            .receiverNioSelector(transportPoller)
             .senderNioSelector(transportPoller)
             .unicastSenderFlowControl(UnicastFlowControl::new)
             .multicastSenderFlowControl(MaxMulticastFlowControl::new)
+            .multiDestinationSenderFlowControl(MinMulticastFlowControl::new)
             .conductorTimerWheel(wheel)
             // TODO: remove
-            .conductorCommandQueue(new OneToOneConcurrentArrayQueue<>(1024))
+            .conductorCommandQueue(new ManyToOneConcurrentArrayQueue<>(1024))
             .eventLogger(mockConductorLogger)
             .rawLogBuffersFactory(mockRawLogFactory)
             .countersManager(countersManager);
@@ -135,9 +148,12 @@ public class DriverConductorTest
         final SystemCounters mockSystemCounters = mock(SystemCounters.class);
         ctx.systemCounters(mockSystemCounters);
         when(mockSystemCounters.bytesReceived()).thenReturn(mock(AtomicCounter.class));
+        when(mockSystemCounters.receiveBatchLimitHits()).thenReturn(mock(AtomicCounter.class));
         when(mockSystemCounters.clientKeepAlives()).thenReturn(mock(AtomicCounter.class));
+        when(mockSystemCounters.termBytesCleaned()).thenReturn(mockTermBytesCleaned);
+        when(mockSystemCounters.termCleaningLag()).thenReturn(mock(AtomicCounter.class));
 
-        ctx.receiverProxy(receiverProxy);
+        ctx.receiverProxies(receiverProxy);
         ctx.senderProxy(senderProxy);
         ctx.driverConductorProxy(new DriverConductorProxy(DEDICATED, ctx.conductorCommandQueue(), mock(AtomicCounter.class)));
 
@@ -166,6 +182,80 @@ public class DriverConductorTest
             any(), anyLong(), anyInt());
     }
 
+    @Test
+    public void shouldUseTermLengthAndMtuFromChannelForPublication() throws Exception
+    {
+        final int termLength = TERM_BUFFER_SZ / 2;
+        final int mtuLength = 2048;
+
+        publicationMessage.wrap(writeBuffer, 0);
+        publicationMessage.streamId(2);
+        publicationMessage.sessionId(1);
+        publicationMessage.channel(CHANNEL_URI + 4000 + "?term-length=" + termLength + "&mtu=" + mtuLength);
+        publicationMessage.clientId(CLIENT_ID);
+        publicationMessage.correlationId(CORRELATION_ID_1);
+        fromClientCommands.write(ADD_PUBLICATION, writeBuffer, 0, publicationMessage.length());
+
+        driverConductor.doWork();
+
+        verify(mockRawLogFactory).newPublication(anyObject(), eq(1), eq(2), eq(CORRELATION_ID_1), eq(termLength));
+        assertThat(mtuLength(publicationRawLog.logMetaData()), is(mtuLength));
+    }
+
+    @Test
+    public void shouldUseMultiDestinationFlowControlForPublicationWithDestinations() throws Exception
+    {
+        writePublicationMessage(
+            ADD_PUBLICATION, 1, 2, CHANNEL_URI + 4000 + "?destinations=localhost:4001", CORRELATION_ID_1);
+
+        driverConductor.doWork();
+
+        final ArgumentCaptor<FlowControl> captor = ArgumentCaptor.forClass(FlowControl.class);
+        verify(senderProxy).newPublication(any(), any(), captor.capture());
+        assertThat(captor.getValue(), instanceOf(MinMulticastFlowControl.class));
+    }
+
+    @Test
+    public void shouldErrorOnAddPublicationWithDifferentTermLengthToExisting() throws Exception
+    {
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, 4000, CORRELATION_ID_1);
+        writePublicationMessage(
+            ADD_PUBLICATION, 1, 2, CHANNEL_URI + 4000 + "?term-length=" + (TERM_BUFFER_SZ / 2), CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        verify(mockClientProxy).onError(eq(INVALID_CHANNEL), argThat(not(isEmptyOrNullString())), any(), anyInt());
+        verify(mockClientProxy, times(1)).onPublicationReady(any(), anyInt(), anyInt(), any(), anyLong(), anyInt());
+        verifyExceptionLogged();
+    }
+
+    @Test
+    public void shouldErrorOnAddPublicationWithDifferentMtuToExisting() throws Exception
+    {
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, 4000, CORRELATION_ID_1);
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, CHANNEL_URI + 4000 + "?mtu=2048", CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        verify(mockClientProxy).onError(eq(INVALID_CHANNEL), argThat(not(isEmptyOrNullString())), any(), anyInt());
+        verify(mockClientProxy, times(1)).onPublicationReady(any(), anyInt(), anyInt(), any(), anyLong(), anyInt());
+        verifyExceptionLogged();
+    }
+
+    @Test
+    public void shouldReuseExistingPublicationWhenChannelParamsMatch() throws Exception
+    {
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, 4000, CORRELATION_ID_1);
+        writePublicationMessage(
+            ADD_PUBLICATION, 1, 2, CHANNEL_URI + 4000 + "?term-length=" + TERM_BUFFER_SZ, CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        verify(mockClientProxy, never()).onError(any(), any(), any(), anyInt());
+        verify(mockClientProxy, times(2)).onPublicationReady(any(), anyInt(), anyInt(), any(), anyLong(), anyInt());
+        verifySenderNotifiedOfNewPublication();
+    }
+
     @Test
     public void shouldBeAbleToAddSingleSubscription() throws Exception
     {
@@ -236,6 +326,159 @@ public class DriverConductorTest
         verify(senderProxy, times(4)).closePublication(any());
     }
 
+    @Test
+    public void shouldLinkIpcSubscriptionToExistingIpcPublication() throws Exception
+    {
+        writeIpcPublicationMessage(ADD_PUBLICATION, 1, STREAM_ID_1, CORRELATION_ID_1);
+        writeSubscriptionMessage(ControlProtocolEvents.ADD_SUBSCRIPTION, IPC_CHANNEL, STREAM_ID_1, CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        verify(mockClientProxy).onPublicationReady(
+            eq(IPC_CHANNEL), eq(STREAM_ID_1), eq(1), eq(publicationRawLog), eq(CORRELATION_ID_1), anyInt());
+        verify(mockClientProxy).onConnectionReady(
+            eq(IPC_CHANNEL), eq(STREAM_ID_1), eq(1), eq(0L), eq(publicationRawLog), eq(CORRELATION_ID_1), any(), any());
+        verify(senderProxy, never()).newPublication(any(), any(), any());
+        verify(receiverProxy, never()).addSubscription(any(), anyInt());
+    }
+
+    @Test
+    public void shouldLinkIpcPublicationToExistingIpcSubscription() throws Exception
+    {
+        writeSubscriptionMessage(ControlProtocolEvents.ADD_SUBSCRIPTION, IPC_CHANNEL, STREAM_ID_1, CORRELATION_ID_1);
+        writeIpcPublicationMessage(ADD_PUBLICATION, 1, STREAM_ID_1, CORRELATION_ID_2);
+        writeIpcPublicationMessage(ADD_PUBLICATION, 1, STREAM_ID_2, CORRELATION_ID_3);
+
+        driverConductor.doWork();
+
+        verify(mockClientProxy).operationSucceeded(CORRELATION_ID_1);
+        verify(mockClientProxy, times(1)).onConnectionReady(
+            eq(IPC_CHANNEL), eq(STREAM_ID_1), eq(1), eq(0L), any(), eq(CORRELATION_ID_2), any(), any());
+        verify(mockClientProxy, never()).onConnectionReady(
+            any(), eq(STREAM_ID_2), anyInt(), anyLong(), any(), anyLong(), any(), any());
+    }
+
+    @Test
+    public void shouldNotifyInactiveConnectionWhenIpcPublicationRemoved() throws Exception
+    {
+        writeSubscriptionMessage(ControlProtocolEvents.ADD_SUBSCRIPTION, IPC_CHANNEL, STREAM_ID_1, CORRELATION_ID_1);
+        writeIpcPublicationMessage(ADD_PUBLICATION, 1, STREAM_ID_1, CORRELATION_ID_2);
+        removePublicationMessage(CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        processTimersUntil(() -> wheel.clock().time() >= PUBLICATION_LINGER_NS * 2);
+
+        verify(mockClientProxy).onInactiveConnection(eq(CORRELATION_ID_2), eq(1), eq(STREAM_ID_1), eq(0L), eq(IPC_CHANNEL));
+    }
+
+    @Test
+    public void shouldOnlyCloseIpcPublicationAfterLingeringWhenInactive() throws Exception
+    {
+        when(mockRawLogFactory.newPublication(anyObject(), anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(
+            (invocation) ->
+            {
+                publicationRawLog = spy(LogBufferHelper.newTestLogBuffers(TERM_BUFFER_SZ, TERM_META_DATA_LENGTH));
+                return publicationRawLog;
+            });
+
+        writeSubscriptionMessage(ControlProtocolEvents.ADD_SUBSCRIPTION, IPC_CHANNEL, STREAM_ID_1, CORRELATION_ID_1);
+        writeIpcPublicationMessage(ADD_PUBLICATION, 1, STREAM_ID_1, CORRELATION_ID_2);
+        removePublicationMessage(CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        processTimersUntil(() -> wheel.clock().time() >= PUBLICATION_LINGER_NS * 2);
+
+        verify(mockClientProxy).onInactiveConnection(eq(CORRELATION_ID_2), eq(1), eq(STREAM_ID_1), eq(0L), eq(IPC_CHANNEL));
+        verify(publicationRawLog, never()).close();
+
+        final long lingerStartTime = wheel.clock().time();
+        processTimersUntil(() -> wheel.clock().time() >= lingerStartTime + CONNECTION_LIVENESS_TIMEOUT_NS + 1);
+
+        verify(publicationRawLog).close();
+    }
+
+    @Test
+    public void shouldLinkSpySubscriptionToExistingNetworkPublication() throws Exception
+    {
+        final String spyChannel = SPY_PREFIX + CHANNEL_URI + 4000;
+
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, 4000, CORRELATION_ID_1);
+        writeSubscriptionMessage(ControlProtocolEvents.ADD_SUBSCRIPTION, spyChannel, 2, CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        verify(mockClientProxy).operationSucceeded(CORRELATION_ID_2);
+        verify(mockClientProxy).onConnectionReady(
+            eq(spyChannel), eq(2), eq(1), eq(0L), eq(publicationRawLog), eq(CORRELATION_ID_2), any(), any());
+        verify(receiverProxy, never()).addSubscription(any(), anyInt());
+        assertNull(driverConductor.receiverChannelEndpoint(UdpChannel.parse(CHANNEL_URI + 4000)));
+    }
+
+    @Test
+    public void shouldLinkNetworkPublicationToExistingSpySubscription() throws Exception
+    {
+        final String spyChannel = SPY_PREFIX + CHANNEL_URI + 4000;
+
+        writeSubscriptionMessage(ControlProtocolEvents.ADD_SUBSCRIPTION, spyChannel, 2, CORRELATION_ID_1);
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, 4000, CORRELATION_ID_2);
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, 4001, CORRELATION_ID_3);
+
+        driverConductor.doWork();
+
+        verify(mockClientProxy, times(1)).onConnectionReady(
+            eq(spyChannel), eq(2), eq(1), eq(0L), any(), eq(CORRELATION_ID_1), any(), any());
+    }
+
+    @Test
+    public void shouldNotifySpyOfInactiveConnectionWhenNetworkPublicationRemoved() throws Exception
+    {
+        final String spyChannel = SPY_PREFIX + CHANNEL_URI + 4000;
+
+        writeSubscriptionMessage(ControlProtocolEvents.ADD_SUBSCRIPTION, spyChannel, 2, CORRELATION_ID_1);
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, 4000, CORRELATION_ID_2);
+        removePublicationMessage(CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        processTimersUntil(() -> wheel.clock().time() >= PUBLICATION_LINGER_NS);
+
+        writeKeepaliveClientMessage();
+
+        processTimersUntil(() -> wheel.clock().time() >= PUBLICATION_LINGER_NS * 2);
+
+        verify(senderProxy).closePublication(any());
+        verify(mockClientProxy).onInactiveConnection(eq(CORRELATION_ID_1), eq(1), eq(2), eq(0L), eq(spyChannel));
+    }
+
+    @Test
+    public void shouldNotifySpyOfInactiveConnectionWhenLappedByProducer() throws Exception
+    {
+        final String spyChannel = SPY_PREFIX + CHANNEL_URI + 4000;
+        final int tail = 64;
+
+        writeSubscriptionMessage(ControlProtocolEvents.ADD_SUBSCRIPTION, spyChannel, 2, CORRELATION_ID_1);
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, 4000, CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        final int initialTermId = initialTermId(publicationRawLog.logMetaData());
+
+        rotatePublicationLog(initialTermId, initialTermId + 1, tail);
+        driverConductor.doWork();
+
+        verify(mockClientProxy, never()).onInactiveConnection(anyLong(), anyInt(), anyInt(), anyLong(), anyString());
+
+        rotatePublicationLog(initialTermId, initialTermId + 2, tail);
+        driverConductor.doWork();
+
+        final long producerPosition = (2L * TERM_BUFFER_SZ) + tail;
+        verify(mockClientProxy).onInactiveConnection(
+            eq(CORRELATION_ID_1), eq(1), eq(2), eq(producerPosition), eq(spyChannel));
+        verify(senderProxy, never()).closePublication(any());
+    }
+
     // TODO: check publication refs from 0 to 1
 
     private void removePublicationMessage(final long registrationId)
@@ -422,6 +665,72 @@ public class DriverConductorTest
         assertNotNull(driverConductor.receiverChannelEndpoint(UdpChannel.parse(CHANNEL_URI + 4000)));
     }
 
+    @Test
+    public void shouldCleanRotatedPublicationTermInChunks() throws Exception
+    {
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, 4000, CORRELATION_ID_1);
+
+        driverConductor.doWork();
+
+        final RawLogPartition partition = publicationRawLog.partitions()[2];
+        final UnsafeBuffer termBuffer = partition.termBuffer();
+        final UnsafeBuffer metaDataBuffer = partition.metaDataBuffer();
+        final int lastLongOffset = TERM_BUFFER_SZ - SIZE_OF_LONG;
+
+        termBuffer.putLong(0, -1L);
+        termBuffer.putLong(lastLongOffset, -1L);
+        metaDataBuffer.putInt(TERM_TAIL_COUNTER_OFFSET, TERM_BUFFER_SZ);
+        metaDataBuffer.putIntOrdered(TERM_STATUS_OFFSET, NEEDS_CLEANING);
+
+        driverConductor.doWork();
+
+        assertThat(metaDataBuffer.getIntVolatile(TERM_STATUS_OFFSET), is(IN_CLEANING));
+        assertThat(termBuffer.getLong(0), is(0L));
+        assertThat(termBuffer.getLong(lastLongOffset), is(-1L));
+
+        final int cycles = TERM_BUFFER_SZ / TERM_CLEANING_BUDGET;
+        for (int i = 1; i < cycles; i++)
+        {
+            driverConductor.doWork();
+        }
+
+        assertThat(metaDataBuffer.getIntVolatile(TERM_STATUS_OFFSET), is(CLEAN));
+        assertThat(termBuffer.getLong(lastLongOffset), is(0L));
+        verify(mockTermBytesCleaned, times(cycles)).addOrdered(TERM_CLEANING_BUDGET);
+    }
+
+    @Test
+    public void shouldOnlyCleanRotatedPublicationTermUpToTail() throws Exception
+    {
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, 4000, CORRELATION_ID_1);
+
+        driverConductor.doWork();
+
+        final RawLogPartition partition = publicationRawLog.partitions()[2];
+        final UnsafeBuffer termBuffer = partition.termBuffer();
+        final UnsafeBuffer metaDataBuffer = partition.metaDataBuffer();
+        final int tail = SIZE_OF_LONG;
+
+        termBuffer.putLong(0, -1L);
+        termBuffer.putLong(tail, -1L);
+        metaDataBuffer.putInt(TERM_TAIL_COUNTER_OFFSET, tail);
+        metaDataBuffer.putIntOrdered(TERM_STATUS_OFFSET, NEEDS_CLEANING);
+
+        driverConductor.doWork();
+
+        assertThat(metaDataBuffer.getIntVolatile(TERM_STATUS_OFFSET), is(CLEAN));
+        assertThat(termBuffer.getLong(0), is(0L));
+        assertThat(termBuffer.getLong(tail), is(-1L));
+        verify(mockTermBytesCleaned).addOrdered(tail);
+    }
+
+    private void rotatePublicationLog(final int initialTermId, final int activeTermId, final int tail)
+    {
+        final RawLogPartition partition = publicationRawLog.partitions()[indexByTerm(initialTermId, activeTermId)];
+        partition.metaDataBuffer().putIntOrdered(TERM_TAIL_COUNTER_OFFSET, tail);
+        activeTermId(publicationRawLog.logMetaData(), activeTermId);
+    }
+
     private void verifyReceiverRemovesSubscription(final VerificationMode times)
     {
         verify(receiverProxy, times).removeSubscription(any(), anyInt());
@@ -460,6 +769,32 @@ public class DriverConductorTest
         fromClientCommands.write(msgTypeId, writeBuffer, 0, publicationMessage.length());
     }
 
+    private void writePublicationMessage(
+        final int msgTypeId, final int sessionId, final int streamId, final String channel, final long correlationId)
+    {
+        publicationMessage.wrap(writeBuffer, 0);
+        publicationMessage.streamId(streamId);
+        publicationMessage.sessionId(sessionId);
+        publicationMessage.channel(channel);
+        publicationMessage.clientId(CLIENT_ID);
+        publicationMessage.correlationId(correlationId);
+
+        fromClientCommands.write(msgTypeId, writeBuffer, 0, publicationMessage.length());
+    }
+
+    private void writeIpcPublicationMessage(
+        final int msgTypeId, final int sessionId, final int streamId, final long correlationId)
+    {
+        publicationMessage.wrap(writeBuffer, 0);
+        publicationMessage.streamId(streamId);
+        publicationMessage.sessionId(sessionId);
+        publicationMessage.channel(IPC_CHANNEL);
+        publicationMessage.clientId(CLIENT_ID);
+        publicationMessage.correlationId(correlationId);
+
+        fromClientCommands.write(msgTypeId, writeBuffer, 0, publicationMessage.length());
+    }
+
     private void verifySenderNotifiedOfNewPublication()
     {
         final ArgumentCaptor<NetworkPublication> captor = ArgumentCaptor.forClass(NetworkPublication.class);
@@ -71,6 +71,11 @@ public class LogBufferHelper
                 return "stream.log";
             }
 
+            public boolean isSparse()
+            {
+                return false;
+            }
+
             public void close()
             {
             }
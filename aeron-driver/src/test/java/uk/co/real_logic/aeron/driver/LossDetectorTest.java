@@ -16,7 +16,6 @@
 package uk.co.real_logic.aeron.driver;
 
 import org.junit.Test;
-import org.mockito.InOrder;
 import uk.co.real_logic.aeron.common.StaticDelayGenerator;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.TermRebuilder;
@@ -26,9 +25,14 @@ import uk.co.real_logic.agrona.TimerWheel;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.computePosition;
@@ -175,6 +179,8 @@ public class LossDetectorTest
         insertDataFrame(offsetOfMessage(4));
         insertDataFrame(offsetOfMessage(6));
 
+        final List<int[]> nakedTermOffsets = recordMultiGapNaks();
+
         handler.scan(termBuffer, rebuildPosition, hwmPosition, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
         processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(40));
         insertDataFrame(offsetOfMessage(1));
@@ -182,10 +188,34 @@ public class LossDetectorTest
         handler.scan(termBuffer, rebuildPosition, hwmPosition, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
         processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(80));
 
-        final InOrder inOrder = inOrder(nakMessageSender);
-        inOrder.verify(nakMessageSender, atLeast(1)).onLossDetected(TERM_ID, offsetOfMessage(1), gapLength());
-        inOrder.verify(nakMessageSender, atLeast(1)).onLossDetected(TERM_ID, offsetOfMessage(3), gapLength());
-        inOrder.verify(nakMessageSender, never()).onLossDetected(TERM_ID, offsetOfMessage(5), gapLength());
+        final int[] firstNak = {offsetOfMessage(1), offsetOfMessage(3), offsetOfMessage(5)};
+        final int[] lastNak = {offsetOfMessage(3), offsetOfMessage(5)};
+        assertThat(nakedTermOffsets.get(0), is(firstNak));
+        assertThat(nakedTermOffsets.get(nakedTermOffsets.size() - 1), is(lastNak));
+        verify(nakMessageSender, never()).onLossDetected(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldNakUpToMaxGapsTogether()
+    {
+        handler = new LossDetector(wheel, DELAY_GENERATOR_WITH_IMMEDIATE, nakMessageSender, 2);
+
+        final long rebuildPosition = ACTIVE_TERM_POSITION;
+        final long hwmPosition = ACTIVE_TERM_POSITION + (ALIGNED_FRAME_LENGTH * 7);
+
+        insertDataFrame(offsetOfMessage(0));
+        insertDataFrame(offsetOfMessage(2));
+        insertDataFrame(offsetOfMessage(4));
+        insertDataFrame(offsetOfMessage(6));
+
+        final List<int[]> nakedTermOffsets = recordMultiGapNaks();
+
+        handler.scan(termBuffer, rebuildPosition, hwmPosition, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+
+        final int[] expectedNak = {offsetOfMessage(1), offsetOfMessage(3)};
+        assertThat(nakedTermOffsets.size(), is(1));
+        assertThat(nakedTermOffsets.get(0), is(expectedNak));
+        verify(nakMessageSender).onLossDetected(eq(TERM_ID), any(int[].class), any(int[].class), eq(2));
     }
 
     @Test
@@ -317,6 +347,21 @@ public class LossDetectorTest
         TermRebuilder.insert(termBuffer, offset, rcvBuffer, 0, payload.length + DataHeaderFlyweight.HEADER_LENGTH);
     }
 
+    private List<int[]> recordMultiGapNaks()
+    {
+        final List<int[]> nakedTermOffsets = new ArrayList<>();
+        doAnswer(
+            (invocation) ->
+            {
+                final Object[] args = invocation.getArguments();
+                nakedTermOffsets.add(Arrays.copyOf((int[])args[1], (int)args[3]));
+                return null;
+            })
+            .when(nakMessageSender).onLossDetected(anyInt(), any(int[].class), any(int[].class), anyInt());
+
+        return nakedTermOffsets;
+    }
+
     private int offsetOfMessage(final int index)
     {
         return index * ALIGNED_FRAME_LENGTH;
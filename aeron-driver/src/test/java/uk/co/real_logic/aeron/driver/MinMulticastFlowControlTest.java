@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MinMulticastFlowControlTest
+{
+    private static final int INITIAL_TERM_ID = 7;
+    private static final int TERM_BUFFER_LENGTH = LogBufferDescriptor.TERM_MIN_LENGTH;
+    private static final int WINDOW_LENGTH = 1024;
+    private static final long RECEIVER_TIMEOUT_NS = TimeUnit.SECONDS.toNanos(2);
+
+    private final InetSocketAddress fastReceiver = new InetSocketAddress("localhost", 40001);
+    private final InetSocketAddress slowReceiver = new InetSocketAddress("localhost", 40002);
+
+    private long currentTime;
+
+    private final MinMulticastFlowControl flowControl = new MinMulticastFlowControl(() -> currentTime, RECEIVER_TIMEOUT_NS);
+
+    @Before
+    public void setUp()
+    {
+        flowControl.initialPositionLimit(INITIAL_TERM_ID, TERM_BUFFER_LENGTH);
+    }
+
+    @Test
+    public void shouldLimitToSingleReceiver()
+    {
+        assertThat(flowControl.onStatusMessage(INITIAL_TERM_ID, 512, WINDOW_LENGTH, fastReceiver), is(512L + WINDOW_LENGTH));
+        assertThat(flowControl.receiverCount(), is(1));
+    }
+
+    @Test
+    public void shouldLimitToSlowestReceiver()
+    {
+        flowControl.onStatusMessage(INITIAL_TERM_ID, 0, WINDOW_LENGTH, slowReceiver);
+
+        assertThat(flowControl.onStatusMessage(INITIAL_TERM_ID, 4096, WINDOW_LENGTH, fastReceiver), is((long)WINDOW_LENGTH));
+        assertThat(flowControl.onStatusMessage(INITIAL_TERM_ID, 1024, WINDOW_LENGTH, slowReceiver), is(1024L + WINDOW_LENGTH));
+        assertThat(flowControl.receiverCount(), is(2));
+    }
+
+    @Test
+    public void shouldDropReceiverThatHasTimedOut()
+    {
+        flowControl.onStatusMessage(INITIAL_TERM_ID, 0, WINDOW_LENGTH, slowReceiver);
+
+        currentTime += RECEIVER_TIMEOUT_NS;
+        assertThat(flowControl.onStatusMessage(INITIAL_TERM_ID, 4096, WINDOW_LENGTH, fastReceiver), is((long)WINDOW_LENGTH));
+
+        currentTime += 1;
+        assertThat(flowControl.onStatusMessage(INITIAL_TERM_ID, 4096, WINDOW_LENGTH, fastReceiver), is(4096L + WINDOW_LENGTH));
+        assertThat(flowControl.receiverCount(), is(1));
+    }
+
+    @Test
+    public void shouldTrackReceiverAgainAfterItReturns()
+    {
+        flowControl.onStatusMessage(INITIAL_TERM_ID, 0, WINDOW_LENGTH, slowReceiver);
+
+        currentTime += RECEIVER_TIMEOUT_NS + 1;
+        flowControl.onStatusMessage(INITIAL_TERM_ID, 4096, WINDOW_LENGTH, fastReceiver);
+
+        assertThat(flowControl.onStatusMessage(INITIAL_TERM_ID, 2048, WINDOW_LENGTH, slowReceiver), is(2048L + WINDOW_LENGTH));
+        assertThat(flowControl.receiverCount(), is(2));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ReceiverShardPolicyTest
+{
+    private static final int SHARD_COUNT = 3;
+
+    private final UdpChannel channelOne = UdpChannel.parse("udp://localhost:40001");
+    private final UdpChannel channelTwo = UdpChannel.parse("udp://localhost:40002");
+
+    @Test
+    public void shouldAssignShardsInTurnForRoundRobin()
+    {
+        final ReceiverShardPolicy shardPolicy = new RoundRobinReceiverShardPolicy();
+
+        assertThat(shardPolicy.shardIndex(channelOne, SHARD_COUNT), is(0));
+        assertThat(shardPolicy.shardIndex(channelTwo, SHARD_COUNT), is(1));
+        assertThat(shardPolicy.shardIndex(channelOne, SHARD_COUNT), is(2));
+        assertThat(shardPolicy.shardIndex(channelTwo, SHARD_COUNT), is(0));
+    }
+
+    @Test
+    public void shouldAssignSameShardForSameChannelByHash()
+    {
+        final ReceiverShardPolicy shardPolicy = new HashReceiverShardPolicy();
+        final int shardIndex = shardPolicy.shardIndex(channelOne, SHARD_COUNT);
+
+        assertThat(shardPolicy.shardIndex(UdpChannel.parse("udp://localhost:40001"), SHARD_COUNT), is(shardIndex));
+    }
+
+    @Test
+    public void shouldAssignShardWithinRangeByHash()
+    {
+        final ReceiverShardPolicy shardPolicy = new HashReceiverShardPolicy();
+
+        for (int port = 40000; port < 40100; port++)
+        {
+            final int shardIndex = shardPolicy.shardIndex(UdpChannel.parse("udp://localhost:" + port), SHARD_COUNT);
+
+            assertThat(shardIndex >= 0 && shardIndex < SHARD_COUNT, is(true));
+        }
+    }
+}
@@ -22,6 +22,8 @@ import uk.co.real_logic.aeron.common.FeedbackDelayGenerator;
 import uk.co.real_logic.agrona.TimerWheel;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.agrona.concurrent.AtomicCounter;
+import uk.co.real_logic.agrona.concurrent.CountersManager;
+import uk.co.real_logic.agrona.concurrent.ManyToOneConcurrentArrayQueue;
 import uk.co.real_logic.agrona.concurrent.NanoClock;
 import uk.co.real_logic.agrona.concurrent.OneToOneConcurrentArrayQueue;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor;
@@ -35,6 +37,7 @@ import uk.co.real_logic.aeron.driver.buffer.RawLog;
 import uk.co.real_logic.aeron.driver.buffer.RawLogFactory;
 import uk.co.real_logic.aeron.driver.cmd.CreateConnectionCmd;
 import uk.co.real_logic.aeron.driver.cmd.DriverConductorCmd;
+import uk.co.real_logic.aeron.driver.cmd.ReceiverCmd;
 import uk.co.real_logic.agrona.concurrent.status.AtomicLongPosition;
 import uk.co.real_logic.agrona.concurrent.status.Position;
 import uk.co.real_logic.agrona.concurrent.status.ReadOnlyPosition;
@@ -42,13 +45,16 @@ import uk.co.real_logic.agrona.concurrent.status.ReadOnlyPosition;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.*;
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
@@ -103,7 +109,8 @@ public class ReceiverTest
     private InetSocketAddress senderAddress = new InetSocketAddress("localhost", 40123);
     private Receiver receiver;
     private ReceiverProxy receiverProxy;
-    private OneToOneConcurrentArrayQueue<DriverConductorCmd> toConductorQueue;
+    private DriverConductorProxy driverConductorProxy;
+    private ManyToOneConcurrentArrayQueue<DriverConductorCmd> toConductorQueue;
 
     private ReceiveChannelEndpoint receiveChannelEndpoint;
 
@@ -117,25 +124,25 @@ public class ReceiverTest
         when(mockSystemCounters.statusMessagesSent()).thenReturn(mock(AtomicCounter.class));
         when(mockSystemCounters.flowControlUnderRuns()).thenReturn(mock(AtomicCounter.class));
         when(mockSystemCounters.bytesReceived()).thenReturn(mock(AtomicCounter.class));
+        when(mockSystemCounters.receiveBatchLimitHits()).thenReturn(mock(AtomicCounter.class));
 
         final MediaDriver.Context ctx = new MediaDriver.Context()
-            .conductorCommandQueue(new OneToOneConcurrentArrayQueue<>(1024))
-            .receiverNioSelector(mockTransportPoller)
+            .conductorCommandQueue(new ManyToOneConcurrentArrayQueue<>(1024))
             .senderNioSelector(mockTransportPoller)
             .rawLogBuffersFactory(mockRawLogFactory)
             .conductorTimerWheel(timerWheel)
             .systemCounters(mockSystemCounters)
-            .receiverCommandQueue(new OneToOneConcurrentArrayQueue<>(1024))
             .eventLogger(mockLogger);
 
         toConductorQueue = ctx.conductorCommandQueue();
-        final DriverConductorProxy driverConductorProxy =
+        driverConductorProxy =
             new DriverConductorProxy(ThreadingMode.DEDICATED, toConductorQueue, mock(AtomicCounter.class));
         ctx.driverConductorProxy(driverConductorProxy);
 
-        receiverProxy = new ReceiverProxy(ThreadingMode.DEDICATED, ctx.receiverCommandQueue(), mock(AtomicCounter.class));
+        final OneToOneConcurrentArrayQueue<ReceiverCmd> receiverCommandQueue = new OneToOneConcurrentArrayQueue<>(1024);
+        receiverProxy = new ReceiverProxy(ThreadingMode.DEDICATED, receiverCommandQueue, mock(AtomicCounter.class));
 
-        receiver = new Receiver(ctx);
+        receiver = new Receiver(ctx, 0, mockTransportPoller, receiverCommandQueue);
 
         senderChannel = DatagramChannel.open();
         senderChannel.bind(senderAddress);
@@ -183,6 +190,7 @@ public class ReceiverTest
             mockFeedbackDelayGenerator,
             POSITIONS,
             mockHighestReceivedPosition,
+            mock(Position.class),
             clock,
             mockSystemCounters,
             SOURCE_ADDRESS,
@@ -223,6 +231,29 @@ public class ReceiverTest
         assertThat(statusHeader.frameLength(), is(StatusMessageFlyweight.HEADER_LENGTH));
     }
 
+    @Test
+    public void shouldGrowReceiveBufferToSenderMtuOnSetup() throws Exception
+    {
+        receiverProxy.registerReceiveChannelEndpoint(receiveChannelEndpoint);
+        receiverProxy.addSubscription(receiveChannelEndpoint, STREAM_ID);
+
+        receiver.doWork();
+
+        fillSetupFrame(setupHeader);
+        setupHeader.mtuLength(FrameDescriptor.MAX_UDP_PAYLOAD_LENGTH);
+        senderChannel.send(setupFrameBuffer, UDP_CHANNEL.remoteData());
+
+        final UdpChannelTransport transport = receiveChannelEndpoint.transport();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (transport.receiveBufferCapacity() < FrameDescriptor.MAX_UDP_PAYLOAD_LENGTH && System.nanoTime() < deadline)
+        {
+            transport.pollForData();
+        }
+
+        assertThat(transport.receiveBufferCapacity(), is(FrameDescriptor.MAX_UDP_PAYLOAD_LENGTH));
+        assertThat(toConductorQueue.drain((e) -> assertThat(((CreateConnectionCmd)e).sessionId(), is(SESSION_ID))), is(1));
+    }
+
     @Test
     public void shouldInsertDataIntoLogAfterInitialExchange() throws Exception
     {
@@ -255,6 +286,7 @@ public class ReceiverTest
                         mockFeedbackDelayGenerator,
                         POSITIONS,
                         mockHighestReceivedPosition,
+                        mock(Position.class),
                         clock,
                         mockSystemCounters,
                         SOURCE_ADDRESS,
@@ -316,6 +348,7 @@ public class ReceiverTest
                         mockFeedbackDelayGenerator,
                         POSITIONS,
                         mockHighestReceivedPosition,
+                        mock(Position.class),
                         clock,
                         mockSystemCounters,
                         SOURCE_ADDRESS,
@@ -380,6 +413,7 @@ public class ReceiverTest
                         mockFeedbackDelayGenerator,
                         POSITIONS,
                         mockHighestReceivedPosition,
+                        mock(Position.class),
                         clock,
                         mockSystemCounters,
                         SOURCE_ADDRESS,
@@ -448,6 +482,7 @@ public class ReceiverTest
                         mockFeedbackDelayGenerator,
                         POSITIONS,
                         mockHighestReceivedPosition,
+                        mock(Position.class),
                         clock,
                         mockSystemCounters,
                         SOURCE_ADDRESS,
@@ -481,6 +516,264 @@ public class ReceiverTest
         assertThat(messagesRead, is(1));
     }
 
+    @Test
+    public void shouldReceiveInOrderDataDirectlyIntoTermWhenConnectedToSender() throws Exception
+    {
+        final ReceiveChannelEndpoint connectedEndpoint = newConnectedReceiveChannelEndpoint();
+        try
+        {
+            final NetworkConnection connection = addConnection(connectedEndpoint);
+            final int alignedFrameLength =
+                align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FrameDescriptor.FRAME_ALIGNMENT);
+
+            sendDataFrameAndPoll(connectedEndpoint, 0);
+            sendDataFrameAndPoll(connectedEndpoint, alignedFrameLength);
+
+            verify(connection, times(1)).insertNextPacket(any(UnsafeBuffer.class), anyInt());
+
+            final int messagesRead = termReaders[ACTIVE_INDEX].read(
+                0,
+                (buffer, offset, length, header) ->
+                {
+                    assertThat(header.sessionId(), is(SESSION_ID));
+                    assertThat(header.frameLength(), is(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length));
+                    assertThat(buffer.getByte(offset), is(FAKE_PAYLOAD[0]));
+                },
+                Integer.MAX_VALUE);
+
+            assertThat(messagesRead, is(2));
+            assertThat(termReaders[ACTIVE_INDEX].offset(), is(2 * alignedFrameLength));
+        }
+        finally
+        {
+            connectedEndpoint.close();
+        }
+    }
+
+    @Test
+    public void shouldFallBackToReceiveBufferForOutOfOrderDataWhenConnectedToSender() throws Exception
+    {
+        final ReceiveChannelEndpoint connectedEndpoint = newConnectedReceiveChannelEndpoint();
+        try
+        {
+            final NetworkConnection connection = addConnection(connectedEndpoint);
+            final int alignedFrameLength =
+                align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FrameDescriptor.FRAME_ALIGNMENT);
+
+            sendDataFrameAndPoll(connectedEndpoint, 0);
+            sendDataFrameAndPoll(connectedEndpoint, 2 * alignedFrameLength);
+
+            verify(connection, never()).insertNextPacket(any(UnsafeBuffer.class), anyInt());
+
+            final UnsafeBuffer termBuffer = rawLog.partitions()[ACTIVE_INDEX].termBuffer();
+            for (int i = alignedFrameLength; i < 2 * alignedFrameLength; i++)
+            {
+                assertThat(termBuffer.getByte(i), is((byte)0));
+            }
+
+            final int messagesRead = termReaders[ACTIVE_INDEX].read(
+                2 * alignedFrameLength,
+                (buffer, offset, length, header) ->
+                {
+                    assertThat(header.termOffset(), is(2 * alignedFrameLength));
+                    assertThat(buffer.getByte(offset), is(FAKE_PAYLOAD[0]));
+                },
+                Integer.MAX_VALUE);
+
+            assertThat(messagesRead, is(1));
+        }
+        finally
+        {
+            connectedEndpoint.close();
+        }
+    }
+
+    @Test
+    public void shouldNotConnectReceiverTransportToSenderUnlessRequested() throws Exception
+    {
+        final String uri = "udp://localhost:" + senderAddress.getPort() + "@localhost:45680";
+        final ReceiveChannelEndpoint endpoint = new ReceiveChannelEndpoint(
+            UdpChannel.parse(uri), driverConductorProxy, receiver, mockLogger, mockSystemCounters, (address, length) -> false);
+
+        try
+        {
+            assertFalse(endpoint.transport().isConnected());
+        }
+        finally
+        {
+            endpoint.close();
+        }
+    }
+
+    private ReceiveChannelEndpoint newConnectedReceiveChannelEndpoint()
+    {
+        final String uri = "udp://localhost:" + senderAddress.getPort() + "@localhost:45680?connect=true";
+        final ReceiveChannelEndpoint endpoint = new ReceiveChannelEndpoint(
+            UdpChannel.parse(uri), driverConductorProxy, receiver, mockLogger, mockSystemCounters, (address, length) -> false);
+
+        assertTrue(endpoint.transport().isConnected());
+
+        return endpoint;
+    }
+
+    private NetworkConnection addConnection(final ReceiveChannelEndpoint endpoint) throws Exception
+    {
+        receiverProxy.registerReceiveChannelEndpoint(endpoint);
+        receiverProxy.addSubscription(endpoint, STREAM_ID);
+        receiver.doWork();
+
+        final NetworkConnection connection = spy(new NetworkConnection(
+            CORRELATION_ID, endpoint,
+            senderAddress,
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            ACTIVE_TERM_ID,
+            INITIAL_TERM_OFFSET,
+            INITIAL_WINDOW_LENGTH,
+            rawLog,
+            timerWheel,
+            mockFeedbackDelayGenerator,
+            POSITIONS,
+            mockHighestReceivedPosition,
+            mock(Position.class),
+            clock,
+            mockSystemCounters,
+            SOURCE_ADDRESS,
+            mockLogger));
+
+        receiverProxy.newConnection(endpoint, connection);
+        receiver.doWork();
+
+        return connection;
+    }
+
+    private void sendDataFrameAndPoll(final ReceiveChannelEndpoint endpoint, final int termOffset) throws Exception
+    {
+        fillDataFrame(dataHeader, termOffset, FAKE_PAYLOAD);
+        dataFrameBuffer.position(0).limit(dataHeader.frameLength());
+        senderChannel.send(dataFrameBuffer, new InetSocketAddress("localhost", 45680));
+        dataFrameBuffer.clear();
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (0 == endpoint.transport().pollForData() && System.nanoTime() < deadline)
+        {
+            Thread.yield();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void shouldDeliverEveryConnectionCreatedByMultipleReceiversConcurrently() throws Exception
+    {
+        final int connectionsPerReceiver = 10_000;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final Thread[] receiverThreads = new Thread[2];
+
+        for (int i = 0; i < receiverThreads.length; i++)
+        {
+            final int firstSessionId = i * connectionsPerReceiver;
+            receiverThreads[i] = new Thread(
+                () ->
+                {
+                    try
+                    {
+                        startLatch.await();
+                    }
+                    catch (final InterruptedException ignore)
+                    {
+                        return;
+                    }
+
+                    for (int sessionId = firstSessionId; sessionId < firstSessionId + connectionsPerReceiver; sessionId++)
+                    {
+                        driverConductorProxy.createConnection(
+                            sessionId,
+                            STREAM_ID,
+                            INITIAL_TERM_ID,
+                            ACTIVE_TERM_ID,
+                            0,
+                            TERM_BUFFER_LENGTH,
+                            FrameDescriptor.FRAME_ALIGNMENT * 4,
+                            senderAddress,
+                            senderAddress,
+                            receiveChannelEndpoint);
+                    }
+                });
+            receiverThreads[i].start();
+        }
+
+        final int totalConnections = receiverThreads.length * connectionsPerReceiver;
+        final BitSet sessionIds = new BitSet(totalConnections);
+        final int[] connectionCount = new int[1];
+
+        startLatch.countDown();
+        while (connectionCount[0] < totalConnections)
+        {
+            toConductorQueue.drain(
+                (e) ->
+                {
+                    sessionIds.set(((CreateConnectionCmd)e).sessionId());
+                    connectionCount[0]++;
+                });
+        }
+
+        for (final Thread receiverThread : receiverThreads)
+        {
+            receiverThread.join();
+        }
+
+        assertThat(connectionCount[0], is(totalConnections));
+        assertThat(sessionIds.cardinality(), is(totalConnections));
+    }
+
+    @Test(timeout = 10000)
+    public void shouldCountBytesReceivedByMultipleReceiversWithoutLosingUpdates() throws Exception
+    {
+        final int bytesPerPoll = 100;
+        final int pollsPerReceiver = 100_000;
+        final SystemCounters systemCounters = new SystemCounters(
+            new CountersManager(new UnsafeBuffer(new byte[64 * 1024]), new UnsafeBuffer(new byte[64 * 1024])));
+        final MediaDriver.Context ctx = new MediaDriver.Context()
+            .conductorTimerWheel(timerWheel)
+            .systemCounters(systemCounters);
+
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final Thread[] receiverThreads = new Thread[4];
+
+        for (int i = 0; i < receiverThreads.length; i++)
+        {
+            final TransportPoller transportPoller = mock(TransportPoller.class);
+            when(transportPoller.pollTransports(anyInt(), anyInt(), any(AtomicCounter.class))).thenReturn(bytesPerPoll);
+
+            final Receiver shardReceiver = new Receiver(ctx, i, transportPoller, new OneToOneConcurrentArrayQueue<>(1024));
+            receiverThreads[i] = new Thread(
+                () ->
+                {
+                    try
+                    {
+                        startLatch.await();
+                        for (int poll = 0; poll < pollsPerReceiver; poll++)
+                        {
+                            shardReceiver.doWork();
+                        }
+                    }
+                    catch (final Exception ignore)
+                    {
+                    }
+                });
+            receiverThreads[i].start();
+        }
+
+        startLatch.countDown();
+        for (final Thread receiverThread : receiverThreads)
+        {
+            receiverThread.join();
+        }
+
+        final long expectedBytes = (long)receiverThreads.length * pollsPerReceiver * bytesPerPoll;
+        assertThat(systemCounters.bytesReceived().get(), is(expectedBytes));
+    }
+
     private void fillDataFrame(final DataHeaderFlyweight header, final int termOffset, final byte[] payload)
     {
         header.wrap(dataBuffer, 0);
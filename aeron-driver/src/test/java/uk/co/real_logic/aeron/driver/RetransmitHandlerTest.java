@@ -26,6 +26,7 @@ import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.*;
 import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.aeron.common.protocol.HeaderFlyweight;
+import uk.co.real_logic.aeron.common.protocol.NakFlyweight;
 
 import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
@@ -208,6 +209,30 @@ public class RetransmitHandlerTest
         verifyZeroInteractions(retransmitSender);
     }
 
+    @Theory
+    public void shouldRetransmitEachRangeOfMultiRangeNak(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 10);
+
+        final NakFlyweight nakMessage = new NakFlyweight();
+        nakMessage.wrap(new UnsafeBuffer(new byte[NakFlyweight.frameLengthForRanges(3)]), 0);
+        nakMessage.termId(TERM_ID)
+                  .frameLength(NakFlyweight.frameLengthForRanges(3));
+        nakMessage.range(0, offsetOfFrame(1), ALIGNED_FRAME_LENGTH)
+                  .range(1, offsetOfFrame(4), ALIGNED_FRAME_LENGTH * 2)
+                  .range(2, offsetOfFrame(8), ALIGNED_FRAME_LENGTH);
+
+        handler.onNak(nakMessage);
+        verifyZeroInteractions(retransmitSender);
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        final InOrder inOrder = inOrder(retransmitSender);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(4), ALIGNED_FRAME_LENGTH * 2);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(8), ALIGNED_FRAME_LENGTH);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
     private RetransmitHandler newZeroDelayRetransmitHandler()
     {
         return new RetransmitHandler(
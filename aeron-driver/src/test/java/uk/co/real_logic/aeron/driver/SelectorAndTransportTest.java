@@ -18,6 +18,7 @@ package uk.co.real_logic.aeron.driver;
 import org.junit.After;
 import org.junit.Test;
 import uk.co.real_logic.agrona.BitUtil;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor;
 import uk.co.real_logic.aeron.common.event.EventLogger;
@@ -30,8 +31,11 @@ import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 public class SelectorAndTransportTest
 {
@@ -44,6 +48,8 @@ public class SelectorAndTransportTest
 
     private static final UdpChannel SRC_DST = UdpChannel.parse("udp://localhost:" + SRC_PORT + "@localhost:" + RCV_PORT);
     private static final UdpChannel RCV_DST = UdpChannel.parse("udp://localhost:" + RCV_PORT);
+    private static final UdpChannel SRC_DST_CONNECTED =
+        UdpChannel.parse("udp://localhost:" + SRC_PORT + "@localhost:" + RCV_PORT + "?connect=true");
 
     private static final LossGenerator NO_LOSS = (address, length) -> false;
 
@@ -57,6 +63,7 @@ public class SelectorAndTransportTest
     private final InetSocketAddress srcRemoteAddress = new InetSocketAddress("localhost", RCV_PORT);
 
     private final EventLogger mockTransportLogger = mock(EventLogger.class);
+    private final AtomicCounter portUnreachableErrors = mock(AtomicCounter.class);
 
     private final DataPacketHandler mockDataPacketHandler = mock(DataPacketHandler.class);
     private final SetupMessageHandler mockSetupMessageHandler = mock(SetupMessageHandler.class);
@@ -100,9 +107,9 @@ public class SelectorAndTransportTest
     {
         transportPoller = new TransportPoller();
         receiverTransport = new ReceiverUdpChannelTransport(
-            RCV_DST, mockDataPacketHandler, mockSetupMessageHandler, mockTransportLogger, NO_LOSS);
+            RCV_DST, mockDataPacketHandler, mockSetupMessageHandler, mockTransportLogger, NO_LOSS, portUnreachableErrors);
         senderTransport = new SenderUdpChannelTransport(
-            SRC_DST, mockStatusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS);
+            SRC_DST, mockStatusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS, portUnreachableErrors);
 
         receiverTransport.registerForRead(transportPoller);
         senderTransport.registerForRead(transportPoller);
@@ -110,6 +117,68 @@ public class SelectorAndTransportTest
         processLoop(transportPoller, 5);
     }
 
+    @Test(timeout = 1000)
+    public void shouldNotConnectUnicastSenderTransportByDefault() throws Exception
+    {
+        transportPoller = new TransportPoller();
+        senderTransport = new SenderUdpChannelTransport(
+            SRC_DST, mockStatusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS, portUnreachableErrors);
+
+        assertFalse(senderTransport.isConnected());
+        assertFalse(senderTransport.datagramChannel().isConnected());
+    }
+
+    @Test(timeout = 1000)
+    public void shouldConnectUnicastSenderTransportOnlyWhenRequested() throws Exception
+    {
+        transportPoller = new TransportPoller();
+        receiverTransport = new ReceiverUdpChannelTransport(
+            RCV_DST, mockDataPacketHandler, mockSetupMessageHandler, mockTransportLogger, NO_LOSS, portUnreachableErrors);
+        senderTransport = new SenderUdpChannelTransport(
+            SRC_DST_CONNECTED,
+            mockStatusMessageHandler,
+            mockNakMessageHandler,
+            mockTransportLogger,
+            NO_LOSS,
+            portUnreachableErrors);
+
+        assertTrue(senderTransport.isConnected());
+        assertTrue(senderTransport.datagramChannel().isConnected());
+        assertFalse(receiverTransport.isConnected());
+    }
+
+    @Test(timeout = 1000)
+    public void shouldCountPortUnreachableErrorsOnConnectedSenderTransport() throws Exception
+    {
+        transportPoller = new TransportPoller();
+        senderTransport = new SenderUdpChannelTransport(
+            SRC_DST_CONNECTED,
+            mockStatusMessageHandler,
+            mockNakMessageHandler,
+            mockTransportLogger,
+            NO_LOSS,
+            portUnreachableErrors);
+
+        encodeDataHeader.wrap(buffer, 0);
+        encodeDataHeader.version(HeaderFlyweight.CURRENT_VERSION)
+                        .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+                        .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+                        .frameLength(FRAME_LENGTH);
+
+        while (true)
+        {
+            byteBuffer.position(0).limit(FRAME_LENGTH);
+            if (0 == senderTransport.sendTo(byteBuffer, srcRemoteAddress))
+            {
+                break;
+            }
+
+            Thread.yield();
+        }
+
+        verify(portUnreachableErrors).increment();
+    }
+
     @Test(timeout = 1000)
     public void shouldSendEmptyDataFrameUnicastFromSourceToReceiver() throws Exception
     {
@@ -132,9 +201,9 @@ public class SelectorAndTransportTest
 
         transportPoller = new TransportPoller();
         receiverTransport = new ReceiverUdpChannelTransport(
-            RCV_DST, dataPacketHandler, mockSetupMessageHandler, mockTransportLogger, NO_LOSS);
+            RCV_DST, dataPacketHandler, mockSetupMessageHandler, mockTransportLogger, NO_LOSS, portUnreachableErrors);
         senderTransport = new SenderUdpChannelTransport(
-            SRC_DST, mockStatusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS);
+            SRC_DST, mockStatusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS, portUnreachableErrors);
 
         receiverTransport.registerForRead(transportPoller);
         senderTransport.registerForRead(transportPoller);
@@ -182,9 +251,9 @@ public class SelectorAndTransportTest
 
         transportPoller = new TransportPoller();
         receiverTransport = new ReceiverUdpChannelTransport(
-            RCV_DST, dataPacketHandler, mockSetupMessageHandler, mockTransportLogger, NO_LOSS);
+            RCV_DST, dataPacketHandler, mockSetupMessageHandler, mockTransportLogger, NO_LOSS, portUnreachableErrors);
         senderTransport = new SenderUdpChannelTransport(
-            SRC_DST, mockStatusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS);
+            SRC_DST, mockStatusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS, portUnreachableErrors);
 
         receiverTransport.registerForRead(transportPoller);
         senderTransport.registerForRead(transportPoller);
@@ -219,6 +288,59 @@ public class SelectorAndTransportTest
         assertThat(dataHeadersReceived.get(), is(1));
     }
 
+    @Test(timeout = 1000)
+    public void shouldReceiveDatagramsInBatchesAndCountBatchLimitHits() throws Exception
+    {
+        final AtomicInteger dataHeadersReceived = new AtomicInteger(0);
+        final DataPacketHandler dataPacketHandler =
+            (header, buffer, length, srcAddress) ->
+            {
+                dataHeadersReceived.incrementAndGet();
+                return length;
+            };
+        final AtomicCounter batchLimitHits = mock(AtomicCounter.class);
+
+        transportPoller = new TransportPoller();
+        receiverTransport = new ReceiverUdpChannelTransport(
+            RCV_DST, dataPacketHandler, mockSetupMessageHandler, mockTransportLogger, NO_LOSS, portUnreachableErrors);
+        senderTransport = new SenderUdpChannelTransport(
+            SRC_DST, mockStatusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS, portUnreachableErrors);
+
+        receiverTransport.registerForRead(transportPoller);
+        senderTransport.registerForRead(transportPoller);
+
+        encodeDataHeader.wrap(buffer, 0);
+        encodeDataHeader.version(HeaderFlyweight.CURRENT_VERSION)
+                        .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+                        .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+                        .frameLength(FRAME_LENGTH);
+        encodeDataHeader.sessionId(SESSION_ID)
+                        .streamId(STREAM_ID)
+                        .termId(TERM_ID);
+
+        processLoop(transportPoller, 5);
+        for (int i = 0; i < 3; i++)
+        {
+            byteBuffer.position(0).limit(FRAME_LENGTH);
+            senderTransport.sendTo(byteBuffer, srcRemoteAddress);
+        }
+
+        while (dataHeadersReceived.get() < 2)
+        {
+            transportPoller.pollTransports(2, Integer.MAX_VALUE, batchLimitHits);
+        }
+
+        assertThat(dataHeadersReceived.get(), is(2));
+        verify(batchLimitHits).increment();
+
+        while (dataHeadersReceived.get() < 3)
+        {
+            transportPoller.pollTransports(2, Integer.MAX_VALUE, batchLimitHits);
+        }
+
+        verify(batchLimitHits).increment();
+    }
+
     @Test(timeout = 1000)
     public void shouldHandleSmFrameFromReceiverToSender() throws Exception
     {
@@ -233,9 +355,9 @@ public class SelectorAndTransportTest
 
         transportPoller = new TransportPoller();
         receiverTransport = new ReceiverUdpChannelTransport(
-            RCV_DST, mockDataPacketHandler, mockSetupMessageHandler, mockTransportLogger, NO_LOSS);
+            RCV_DST, mockDataPacketHandler, mockSetupMessageHandler, mockTransportLogger, NO_LOSS, portUnreachableErrors);
         senderTransport = new SenderUdpChannelTransport(
-            SRC_DST, statusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS);
+            SRC_DST, statusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS, portUnreachableErrors);
 
         receiverTransport.registerForRead(transportPoller);
         senderTransport.registerForRead(transportPoller);
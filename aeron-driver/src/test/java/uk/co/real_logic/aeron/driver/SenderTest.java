@@ -133,6 +133,7 @@ public class SenderTest
             rawLog,
             new AtomicLongPosition(),
             mock(Position.class),
+            mock(Position.class),
             SESSION_ID,
             STREAM_ID,
             INITIAL_TERM_ID,
@@ -225,6 +226,50 @@ public class SenderTest
         assertThat(dataHeader.version(), is((short)HeaderFlyweight.CURRENT_VERSION));
     }
 
+    @Test
+    public void shouldSendDataFrameToEachDestination() throws Exception
+    {
+        final UdpChannel multiDestinationChannel =
+            UdpChannel.parse("udp://localhost:40123?destinations=localhost:40124,localhost:40125");
+        final SendChannelEndpoint mockMultiDestinationEndpoint = mock(SendChannelEndpoint.class);
+        when(mockMultiDestinationEndpoint.udpChannel()).thenReturn(multiDestinationChannel);
+        when(mockMultiDestinationEndpoint.sendTo(anyObject(), anyObject())).thenAnswer(saveByteBufferAnswer);
+
+        final NetworkPublication multiDestinationPublication = new NetworkPublication(
+            mockMultiDestinationEndpoint,
+            wheel.clock(),
+            rawLog,
+            new AtomicLongPosition(),
+            mock(Position.class),
+            mock(Position.class),
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            MAX_FRAME_LENGTH,
+            flowControl.initialPositionLimit(INITIAL_TERM_ID, TERM_BUFFER_LENGTH),
+            mockSystemCounters);
+
+        multiDestinationPublication.senderPositionLimit(
+            flowControl.onStatusMessage(INITIAL_TERM_ID, 0, ALIGNED_FRAME_LENGTH, rcvAddress));
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocate(PAYLOAD.length));
+        buffer.putBytes(0, PAYLOAD);
+
+        termAppenders[0].append(buffer, 0, PAYLOAD.length);
+        multiDestinationPublication.send();
+
+        assertThat(receivedFrames.size(), is(3));
+
+        for (final InetSocketAddress destination : multiDestinationChannel.destinations())
+        {
+            verify(mockMultiDestinationEndpoint).sendTo(any(ByteBuffer.class), eq(destination));
+
+            dataHeader.wrap(receivedFrames.remove(), 0);
+            assertThat(dataHeader.frameLength(), is(ALIGNED_FRAME_LENGTH));
+            assertThat(dataHeader.termOffset(), is(offsetOfMessage(1)));
+        }
+    }
+
     @Test
     public void shouldBeAbleToSendOnChannelTwice() throws Exception
     {
@@ -300,6 +345,34 @@ public class SenderTest
         assertThat(dataHeader.version(), is((short)HeaderFlyweight.CURRENT_VERSION));
     }
 
+    @Test
+    public void shouldSendMultipleMtuLengthDatagramsInOneDutyCycle() throws Exception
+    {
+        final int messageCount = 3;
+        publication.senderPositionLimit(
+            flowControl.onStatusMessage(INITIAL_TERM_ID, 0, messageCount * MAX_FRAME_LENGTH, rcvAddress));
+
+        final int payloadLength = MAX_FRAME_LENGTH - HEADER.capacity();
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocate(payloadLength));
+
+        for (int i = 0; i < messageCount; i++)
+        {
+            termAppenders[0].append(buffer, 0, payloadLength);
+        }
+
+        sender.doWork();
+
+        assertThat(receivedFrames.size(), is(messageCount));
+        for (int i = 0; i < messageCount; i++)
+        {
+            final ByteBuffer frame = receivedFrames.remove();
+            assertThat(frame.capacity(), is(MAX_FRAME_LENGTH));
+
+            dataHeader.wrap(frame, 0);
+            assertThat(dataHeader.termOffset(), is(i * MAX_FRAME_LENGTH));
+        }
+    }
+
     @Test
     public void shouldNotSendUntilStatusMessageReceived() throws Exception
     {
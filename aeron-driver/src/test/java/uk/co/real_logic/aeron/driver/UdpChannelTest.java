@@ -16,7 +16,10 @@
 package uk.co.real_logic.aeron.driver;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.net.*;
 import java.util.HashMap;
@@ -95,6 +98,97 @@ public class UdpChannelTest
         UdpChannel.parse("aeron:udp");
     }
 
+    @Test
+    public void shouldParseTermLengthAndMtuWithAeronUri() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("aeron:udp?remote=localhost:40124|term-length=131072|mtu=8192");
+
+        assertThat(udpChannel.termLength(65536), is(131072));
+        assertThat(udpChannel.mtuLength(4096), is(8192));
+        assertThat(udpChannel.canonicalForm(), is(UdpChannel.parse("aeron:udp?remote=localhost:40124").canonicalForm()));
+    }
+
+    @Test
+    public void shouldParseTermLengthAndMtu() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("udp://localhost:40124?term-length=131072&mtu=8192");
+
+        assertThat(udpChannel.termLength(65536), is(131072));
+        assertThat(udpChannel.mtuLength(4096), is(8192));
+    }
+
+    @Test
+    public void shouldDefaultTermLengthAndMtuWhenNotSpecified() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("aeron:udp?remote=localhost:40124");
+
+        assertThat(udpChannel.termLength(65536), is(65536));
+        assertThat(udpChannel.mtuLength(4096), is(4096));
+    }
+
+    @Test
+    public void shouldOnlyRequestConnectWhenSpecified() throws Exception
+    {
+        assertTrue(UdpChannel.parse("aeron:udp?remote=localhost:40124|connect=true").isConnectRequested());
+        assertTrue(UdpChannel.parse("udp://localhost:40124?connect=true").isConnectRequested());
+        assertFalse(UdpChannel.parse("aeron:udp?remote=localhost:40124").isConnectRequested());
+    }
+
+    @Test(expected = InvalidChannelException.class)
+    public void shouldThrowExceptionOnTermLengthNotPowerOfTwo() throws Exception
+    {
+        UdpChannel.parse("aeron:udp?remote=localhost:40124|term-length=100000");
+    }
+
+    @Test(expected = InvalidChannelException.class)
+    public void shouldThrowExceptionOnMtuGreaterThanMaxUdpPayload() throws Exception
+    {
+        UdpChannel.parse("aeron:udp?remote=localhost:40124|mtu=65536");
+    }
+
+    @Test(expected = InvalidChannelException.class)
+    public void shouldThrowExceptionOnMtuNotFrameAligned() throws Exception
+    {
+        UdpChannel.parse("aeron:udp?remote=localhost:40124|mtu=1001");
+    }
+
+    @Test
+    public void shouldParseDestinations() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("udp://localhost:40124?destinations=localhost:40125,localhost:40126");
+
+        assertTrue(udpChannel.isMultiDestination());
+        assertThat(udpChannel.destinations().length, is(3));
+        assertThat(udpChannel.destinations()[0], is(udpChannel.remoteData()));
+        assertThat(udpChannel.destinations()[1], is(new InetSocketAddress("localhost", 40125)));
+        assertThat(udpChannel.destinations()[2], is(new InetSocketAddress("localhost", 40126)));
+    }
+
+    @Test
+    public void shouldParseDestinationsWithAeronUri() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("aeron:udp?remote=localhost:40124|destinations=localhost:40125");
+
+        assertThat(udpChannel.destinations().length, is(2));
+        assertThat(udpChannel.destinations()[1], is(new InetSocketAddress("localhost", 40125)));
+        assertThat(udpChannel.canonicalForm(), is(not(UdpChannel.parse("aeron:udp?remote=localhost:40124").canonicalForm())));
+    }
+
+    @Test
+    public void shouldHaveSingleDestinationWhenNotSpecified() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("udp://localhost:40124");
+
+        assertFalse(udpChannel.isMultiDestination());
+        assertThat(udpChannel.destinations(), is(new InetSocketAddress[]{ udpChannel.remoteData() }));
+    }
+
+    @Test(expected = InvalidChannelException.class)
+    public void shouldThrowExceptionOnDestinationsForMulticast() throws Exception
+    {
+        UdpChannel.parse("aeron:udp?group=224.10.9.9:40124|destinations=localhost:40125");
+    }
+
     @Test(expected = InvalidChannelException.class)
     public void shouldThrowExceptionOnEvenMulticastAddress() throws Exception
     {
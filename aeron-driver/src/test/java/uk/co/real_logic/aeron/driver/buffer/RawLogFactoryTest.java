@@ -30,6 +30,7 @@ import java.io.IOException;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
 public class RawLogFactoryTest
@@ -62,7 +63,7 @@ public class RawLogFactoryTest
     public void shouldCreateCorrectLengthAndZeroedFilesForPublication() throws Exception
     {
         final String canonicalForm = udpChannel.canonicalForm();
-        final RawLog rawLog = rawLogFactory.newPublication(canonicalForm, SESSION_ID, STREAM_ID, CREATION_ID);
+        final RawLog rawLog = rawLogFactory.newPublication(canonicalForm, SESSION_ID, STREAM_ID, CREATION_ID, TERM_BUFFER_LENGTH);
 
         rawLog.stream().forEach(
             (partition) ->
@@ -106,6 +107,30 @@ public class RawLogFactoryTest
             });
     }
 
+    @Test
+    public void shouldCreateSparseFilesWithResidentBytesEstimate() throws Exception
+    {
+        rawLogFactory.close();
+        rawLogFactory = new RawLogFactory(
+            DATA_DIR.getAbsolutePath(), TERM_BUFFER_LENGTH, TERM_BUFFER_MAX_LENGTH, true, 0, 0, null, null, logger);
+
+        final String canonicalForm = udpChannel.canonicalForm();
+        final RawLog rawLog = rawLogFactory.newPublication(canonicalForm, SESSION_ID, STREAM_ID, CREATION_ID, TERM_BUFFER_LENGTH);
+
+        final long logLength = LogBufferDescriptor.computeLogLength(TERM_BUFFER_LENGTH);
+        final long metaDataLength = logLength - (TERM_BUFFER_LENGTH * (long)LogBufferDescriptor.PARTITION_COUNT);
+
+        assertTrue(rawLog.isSparse());
+        assertThat(new File(rawLog.logFileName()).length(), is(logLength));
+        assertThat(rawLog.partitions()[0].termBuffer().getByte(TERM_BUFFER_LENGTH - 1), is((byte)0));
+
+        assertThat(rawLog.residentBytes(0), is(metaDataLength));
+        assertThat(rawLog.residentBytes(1), is(metaDataLength + RawLog.PAGE_SIZE));
+        assertThat(rawLog.residentBytes(Long.MAX_VALUE / 2), is(logLength));
+
+        rawLog.close();
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void shouldExceptionIfRequestedTermBufferLengthGreaterThanMax()
     {
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver.buffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.aeron.common.event.EventLogger;
+import uk.co.real_logic.agrona.IoUtil;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.computeLogLength;
+
+public class RawLogPoolTest
+{
+    private static final File DATA_DIR = new File(IoUtil.tmpDirName(), "poolDataDir");
+    private static final int TERM_LENGTH = TERM_MIN_LENGTH;
+    private static final int POOL_SIZE = 2;
+    private static final long RECYCLE_DELAY_NS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AtomicCounter poolHits = mock(AtomicCounter.class);
+    private final AtomicCounter poolMisses = mock(AtomicCounter.class);
+    private final EventLogger logger = mock(EventLogger.class);
+
+    private FileChannel blankTemplate;
+    private RawLogPool pool;
+
+    @Before
+    public void setUp()
+    {
+        IoUtil.ensureDirectoryExists(DATA_DIR, "data");
+        blankTemplate = IoUtil.createEmptyFile(new File(DATA_DIR, "blankTemplate"), computeLogLength(TERM_LENGTH * 2));
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        if (null != pool)
+        {
+            pool.close();
+        }
+
+        blankTemplate.close();
+        IoUtil.delete(DATA_DIR, true);
+    }
+
+    @Test
+    public void shouldPreCreateLogsAndMoveThemOnTake()
+    {
+        pool = newPool(TERM_LENGTH);
+        awaitUntil(() -> pool.idleCount(TERM_LENGTH) == POOL_SIZE);
+
+        final File location = new File(DATA_DIR, "stream.logbuffer");
+        final MappedRawLog rawLog = pool.take(location, TERM_LENGTH);
+
+        assertThat(rawLog, notNullValue());
+        assertThat(rawLog.logFileName(), is(location.getAbsolutePath()));
+        assertTrue(location.exists());
+        verify(poolHits).orderedIncrement();
+
+        awaitUntil(() -> pool.idleCount(TERM_LENGTH) == POOL_SIZE);
+    }
+
+    @Test
+    public void shouldMissWhenNoIdleLogForTermLength()
+    {
+        pool = newPool();
+
+        assertThat(pool.take(new File(DATA_DIR, "stream.logbuffer"), TERM_LENGTH), nullValue());
+        verify(poolMisses).orderedIncrement();
+    }
+
+    @Test
+    public void shouldRecycleClosedLogAsZeroed()
+    {
+        pool = newPool();
+
+        final File firstLocation = new File(DATA_DIR, "first.logbuffer");
+        final MappedRawLog rawLog = new MappedRawLog(firstLocation, blankTemplate, TERM_LENGTH, pool, logger);
+        final UnsafeBuffer termBuffer = rawLog.partitions()[0].termBuffer();
+        termBuffer.putLong(0, -1L);
+
+        rawLog.close();
+        awaitUntil(() -> pool.idleCount(TERM_LENGTH) == 1);
+
+        assertFalse(firstLocation.exists());
+
+        final File secondLocation = new File(DATA_DIR, "second.logbuffer");
+        final MappedRawLog recycledLog = pool.take(secondLocation, TERM_LENGTH);
+
+        assertThat(recycledLog, is(rawLog));
+        assertThat(termBuffer.getLong(0), is(0L));
+        assertTrue(secondLocation.exists());
+    }
+
+    @Test
+    public void shouldNotRecycleClosedLogBeforeRecycleDelay() throws Exception
+    {
+        pool = new RawLogPool(
+            DATA_DIR, blankTemplate, POOL_SIZE, TimeUnit.SECONDS.toNanos(60), new int[0], poolHits, poolMisses, logger);
+
+        final File location = new File(DATA_DIR, "lingering.logbuffer");
+        final MappedRawLog rawLog = new MappedRawLog(location, blankTemplate, TERM_LENGTH, pool, logger);
+
+        rawLog.close();
+        Thread.sleep(100);
+
+        assertTrue(location.exists());
+        assertThat(pool.idleCount(TERM_LENGTH), is(0));
+    }
+
+    @Test
+    public void shouldLogExceptionWhenReplenishFails()
+    {
+        final File missingDir = new File(DATA_DIR, "missing");
+        pool = new RawLogPool(
+            missingDir, blankTemplate, POOL_SIZE, RECYCLE_DELAY_NS, new int[]{ TERM_LENGTH }, poolHits, poolMisses, logger);
+
+        verify(logger, timeout(10_000)).logException(any(Exception.class));
+        assertThat(pool.idleCount(TERM_LENGTH), is(0));
+    }
+
+    private RawLogPool newPool(final int... preCreatedTermLengths)
+    {
+        return new RawLogPool(
+            DATA_DIR, blankTemplate, POOL_SIZE, RECYCLE_DELAY_NS, preCreatedTermLengths, poolHits, poolMisses, logger);
+    }
+
+    private static void awaitUntil(final BooleanSupplier condition)
+    {
+        final long deadlineNs = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean())
+        {
+            if (System.nanoTime() > deadlineNs)
+            {
+                throw new IllegalStateException("Condition not met in time");
+            }
+
+            Thread.yield();
+        }
+    }
+}
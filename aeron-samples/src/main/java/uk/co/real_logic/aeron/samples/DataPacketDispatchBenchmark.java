@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.samples;
+
+import uk.co.real_logic.aeron.common.StaticDelayGenerator;
+import uk.co.real_logic.aeron.common.event.EventLogger;
+import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.aeron.driver.Configuration;
+import uk.co.real_logic.aeron.driver.DataPacketDispatcher;
+import uk.co.real_logic.aeron.driver.NetworkConnection;
+import uk.co.real_logic.aeron.driver.SystemCounters;
+import uk.co.real_logic.aeron.driver.buffer.RawLog;
+import uk.co.real_logic.aeron.driver.buffer.RawLogFactory;
+import uk.co.real_logic.agrona.IoUtil;
+import uk.co.real_logic.agrona.TimerWheel;
+import uk.co.real_logic.agrona.concurrent.CountersManager;
+import uk.co.real_logic.agrona.concurrent.NanoClock;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.agrona.concurrent.status.AtomicLongPosition;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
+
+/**
+ * Measures the per packet cost of dispatching data frames on a single receive endpoint with 1, 100, and 10,000
+ * sessions. Packets are dispatched either in runs from the same session or spread evenly across all sessions.
+ */
+public class DataPacketDispatchBenchmark
+{
+    private static final int STREAM_ID = 10;
+    private static final int[] SESSION_COUNTS = { 1, 100, 10_000 };
+    private static final int RUN_LENGTH = 64;
+    private static final int PACKETS = 10_000_000;
+    private static final int ITERATIONS = 5;
+    private static final int PACKET_LENGTH = DataHeaderFlyweight.HEADER_LENGTH + 32;
+    private static final InetSocketAddress SRC_ADDRESS = new InetSocketAddress("localhost", 40124);
+
+    private static final UnsafeBuffer PACKET_BUFFER = new UnsafeBuffer(ByteBuffer.allocateDirect(PACKET_LENGTH));
+    private static final DataHeaderFlyweight DATA_HEADER = new DataHeaderFlyweight();
+
+    public static void main(final String[] args) throws Exception
+    {
+        final File dataDir = new File(IoUtil.tmpDirName(), "dispatch-benchmark");
+        IoUtil.ensureDirectoryExists(dataDir, "data");
+
+        final EventLogger logger = new EventLogger(null);
+        final NanoClock clock = System::nanoTime;
+        final TimerWheel timerWheel = new TimerWheel(
+            clock, Configuration.CONDUCTOR_TICK_DURATION_US, TimeUnit.MICROSECONDS, Configuration.CONDUCTOR_TICKS_PER_WHEEL);
+        final SystemCounters systemCounters = new SystemCounters(new CountersManager(
+            new UnsafeBuffer(new byte[1024 * 1024]), new UnsafeBuffer(new byte[64 * 1024])));
+
+        DATA_HEADER.wrap(PACKET_BUFFER, 0);
+        DATA_HEADER.termOffset(0).termId(0).streamId(STREAM_ID).frameLength(PACKET_LENGTH);
+
+        try (final RawLogFactory rawLogFactory =
+                 new RawLogFactory(dataDir.getAbsolutePath(), TERM_MIN_LENGTH, TERM_MIN_LENGTH, logger);
+             final RawLog rawLog = rawLogFactory.newConnection("benchmark", 0, STREAM_ID, 0, TERM_MIN_LENGTH))
+        {
+            for (final int sessionCount : SESSION_COUNTS)
+            {
+                final DataPacketDispatcher dispatcher = new DataPacketDispatcher(null, null, null);
+                dispatcher.addSubscription(STREAM_ID);
+
+                for (int sessionId = 0; sessionId < sessionCount; sessionId++)
+                {
+                    dispatcher.addConnection(new NetworkConnection(
+                        sessionId,
+                        null,
+                        SRC_ADDRESS,
+                        sessionId,
+                        STREAM_ID,
+                        0,
+                        0,
+                        0,
+                        TERM_MIN_LENGTH,
+                        rawLog,
+                        timerWheel,
+                        new StaticDelayGenerator(0, false),
+                        Collections.emptyList(),
+                        new AtomicLongPosition(),
+                        new AtomicLongPosition(),
+                        clock,
+                        systemCounters,
+                        SRC_ADDRESS,
+                        logger));
+                }
+
+                for (int i = 0; i < ITERATIONS; i++)
+                {
+                    report(sessionCount, "runs", dispatch(dispatcher, sessionCount, RUN_LENGTH));
+                    report(sessionCount, "spread", dispatch(dispatcher, sessionCount, 1));
+                }
+            }
+        }
+        finally
+        {
+            IoUtil.delete(dataDir, true);
+        }
+    }
+
+    private static long dispatch(final DataPacketDispatcher dispatcher, final int sessionCount, final int runLength)
+    {
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < PACKETS; i++)
+        {
+            DATA_HEADER.sessionId((i / runLength) % sessionCount);
+            dispatcher.onDataPacket(DATA_HEADER, PACKET_BUFFER, PACKET_LENGTH, SRC_ADDRESS);
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    private static void report(final int sessionCount, final String pattern, final long durationNs)
+    {
+        System.out.format("sessions=%,d pattern=%s %.2f ns/packet\n", sessionCount, pattern, (double)durationNs / PACKETS);
+    }
+}
@@ -144,6 +144,9 @@ public class LogInspector
             case NEEDS_CLEANING:
                 return "NEEDS_CLEANING";
 
+            case IN_CLEANING:
+                return "IN_CLEANING";
+
             default:
                 return status + " <UNKNOWN>";
         }